@@ -16,18 +16,22 @@
 
 package io.cdap.cdap.api.data.schema;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
- * A basic implementation of LRU cache. It uses a map to store cache values and a priority queue for tracking
- * last used time. The implementation only use pure Java class. Due to the limitation of the Java
- * priority queue of not having support for updating priority without removing/adding element, the implementation
- * is O(n) to the number of entries in the cache, hence it is more small cache (n < 100).
+ * A segment-striped implementation of LRU cache. Keys are spread across a power-of-two number of segments, each
+ * of which is an access ordered {@link LinkedHashMap} guarded by its own monitor, so that all operations are O(1)
+ * and threads touching different segments do not contend with each other. The implementation only use pure Java
+ * class.
+ *
+ * The LRU ordering is maintained per segment. For small caches (less than {@link #MIN_SEGMENT_SIZE} * 2 entries)
+ * a single segment is used, which gives exact LRU semantics. For larger caches, the eviction order is an
+ * approximation of the global LRU order.
  *
  * This class is thread safe.
  *
@@ -37,23 +41,46 @@ import javax.annotation.concurrent.ThreadSafe;
 @ThreadSafe
 final class LRUCache<K, V> {
 
-  private final Map<K, V> entries;
-  private final PriorityQueue<TimedKey<K>> orderedKeys;
+  static final int MIN_SEGMENT_SIZE = 16;
+  static final int MAX_SEGMENTS = 16;
+
+  private final Segment<K, V>[] segments;
+  private final int segmentMask;
   private final int maxSize;
+  private final LongAdder hitCount;
+  private final LongAdder missCount;
+  private final LongAdder evictionCount;
 
   /**
    * Creates a {@link LRUCache} that caches the given maximum number of entries.
    *
    * @param maxSize maximum cache size
    */
+  @SuppressWarnings("unchecked")
   LRUCache(int maxSize) {
     if (maxSize <= 0) {
       throw new IllegalArgumentException("Maximum size of LRU Cache must be > 0");
     }
 
-    this.entries = new HashMap<>();
-    this.orderedKeys = new PriorityQueue<>();
+    // Use a power of two number of segments, with each segment holding at least MIN_SEGMENT_SIZE entries
+    int segmentCount = 1;
+    while (segmentCount < MAX_SEGMENTS && (segmentCount << 1) * MIN_SEGMENT_SIZE <= maxSize) {
+      segmentCount <<= 1;
+    }
+
+    this.hitCount = new LongAdder();
+    this.missCount = new LongAdder();
+    this.evictionCount = new LongAdder();
+    this.segments = new Segment[segmentCount];
+    this.segmentMask = segmentCount - 1;
     this.maxSize = maxSize;
+
+    // Distribute the capacity evenly. The first (maxSize % segmentCount) segments get one extra slot
+    // so that the total capacity is exactly maxSize.
+    for (int i = 0; i < segmentCount; i++) {
+      int capacity = maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0);
+      segments[i] = new Segment<>(capacity, evictionCount);
+    }
   }
 
   /**
@@ -63,40 +90,54 @@ final class LRUCache<K, V> {
    * @param value the value to put in the cache
    * @return either the existing value or the new value
    */
-  synchronized V putIfAbsent(K key, V value) {
-    V oldValue = entries.putIfAbsent(key, value);
-    if (oldValue != null) {
-      orderedKeys.removeIf(k -> k.getKey().equals(key));
+  V putIfAbsent(K key, V value) {
+    Segment<K, V> segment = segmentFor(key);
+    V oldValue;
+    synchronized (segment) {
+      // Use get to update the access order
+      oldValue = segment.get(key);
+      if (oldValue == null) {
+        segment.put(key, value);
+      }
     }
-    orderedKeys.add(new TimedKey<>(key));
-    if (orderedKeys.size() > maxSize) {
-      entries.remove(orderedKeys.remove().getKey());
+    if (oldValue == null) {
+      missCount.increment();
+      return value;
     }
-    return oldValue == null ? value : oldValue;
+    hitCount.increment();
+    return oldValue;
   }
 
   /**
    * Computes and puts a value for a given key in the cache if the key is absent in the cache.
+   * The value supplier is called without holding any lock, hence it can be called more than once
+   * for the same key under contention, with only one of the values retained in the cache.
    *
    * @param key the key for lookup in the cache
    * @param valueSupplier the supplier of value to put in the cache
    * @return either the existing value or the new value
    */
-  synchronized V computeIfAbsent(K key, Supplier<V> valueSupplier) {
-    V oldValue = entries.get(key);
-    V returnValue;
-    if (oldValue != null) {
-      orderedKeys.removeIf(k -> k.getKey().equals(key));
-      returnValue = oldValue;
-    } else {
-      returnValue = valueSupplier.get();
-      entries.put(key, returnValue);
+  V computeIfAbsent(K key, Supplier<V> valueSupplier) {
+    Segment<K, V> segment = segmentFor(key);
+    V value;
+    synchronized (segment) {
+      value = segment.get(key);
     }
-    orderedKeys.add(new TimedKey<>(key));
-    if (orderedKeys.size() > maxSize) {
-      entries.remove(orderedKeys.remove().getKey());
+    if (value != null) {
+      hitCount.increment();
+      return value;
     }
-    return returnValue;
+
+    missCount.increment();
+    V newValue = valueSupplier.get();
+    synchronized (segment) {
+      value = segment.get(key);
+      if (value == null) {
+        segment.put(key, newValue);
+        value = newValue;
+      }
+    }
+    return value;
   }
 
   /**
@@ -106,44 +147,101 @@ final class LRUCache<K, V> {
    * @return the associated value or {@code null} if the key is absent in the cache.
    */
   @Nullable
-  synchronized V get(K key) {
-    if (entries.containsKey(key)) {
-      orderedKeys.removeIf(k -> k.getKey().equals(key));
-      orderedKeys.add(new TimedKey<>(key));
+  V get(K key) {
+    Segment<K, V> segment = segmentFor(key);
+    V value;
+    synchronized (segment) {
+      value = segment.get(key);
     }
-    return entries.get(key);
+    if (value == null) {
+      missCount.increment();
+    } else {
+      hitCount.increment();
+    }
+    return value;
   }
 
   /**
-   * Clear the cache.
+   * Clear the cache. The hit, miss and eviction counts are not reset.
    */
-  synchronized void clear() {
-    entries.clear();
-    orderedKeys.clear();
+  void clear() {
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
   }
 
   /**
-   * Class for tracking last used time.
+   * Returns the number of entries in the cache.
+   */
+  int size() {
+    int size = 0;
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Returns the maximum number of entries in the cache.
+   */
+  int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Returns the number of lookups that found an existing entry in the cache.
+   */
+  long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * Returns the number of lookups that didn't find an existing entry in the cache.
+   */
+  long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * Returns the number of entries evicted from the cache due to size limit.
+   */
+  long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  private Segment<K, V> segmentFor(K key) {
+    int hash = key.hashCode();
+    return segments[(hash ^ (hash >>> 16)) & segmentMask];
+  }
+
+  /**
+   * A bounded, access ordered map that forms one segment of the cache.
    *
    * @param <K> type of the key
+   * @param <V> type of the value
    */
-  private static final class TimedKey<K> implements Comparable<TimedKey<K>> {
+  private static final class Segment<K, V> extends LinkedHashMap<K, V> {
 
-    private final long time;
-    private final K key;
-
-    TimedKey(K key) {
-      this.time = System.nanoTime();
-      this.key = key;
-    }
+    private final int capacity;
+    private final LongAdder evictionCount;
 
-    K getKey() {
-      return key;
+    Segment(int capacity, LongAdder evictionCount) {
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+      this.evictionCount = evictionCount;
     }
 
     @Override
-    public int compareTo(TimedKey<K> o) {
-      return Long.compare(time, o.time);
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+      if (size() > capacity) {
+        evictionCount.increment();
+        return true;
+      }
+      return false;
     }
   }
 }
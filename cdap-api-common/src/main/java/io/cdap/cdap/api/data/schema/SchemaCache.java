@@ -33,9 +33,19 @@ import java.io.IOException;
  *   only for top level schemas for not to pollute cache.
  *   </li>
  * </ul>
+ *
+ * The maximum number of cached schemas defaults to {@value #DEFAULT_CACHE_SIZE} and can be changed with the
+ * {@value #CACHE_SIZE_PROPERTY} system property.
  */
 public class SchemaCache {
-  private static final LRUCache<String, Schema> SCHEMA_CACHE = new LRUCache<>(100);
+
+  /**
+   * System property for the maximum number of schemas kept in the cache.
+   */
+  public static final String CACHE_SIZE_PROPERTY = "cdap.schema.cache.size";
+  public static final int DEFAULT_CACHE_SIZE = 1024;
+
+  private static final LRUCache<String, Schema> SCHEMA_CACHE = new LRUCache<>(getCacheSize());
   private static final SchemaTypeAdapter SCHEMA_TYPE_ADAPTER = new SchemaTypeAdapter();
 
   public static final Schema intern(Schema schema) {
@@ -51,4 +61,46 @@ public class SchemaCache {
       }
     });
   }
+
+  /**
+   * Returns the maximum number of schemas that can be kept in the cache.
+   */
+  public static int getMaxSize() {
+    return SCHEMA_CACHE.getMaxSize();
+  }
+
+  /**
+   * Returns the number of schemas currently in the cache.
+   */
+  public static int size() {
+    return SCHEMA_CACHE.size();
+  }
+
+  /**
+   * Returns the number of {@link #intern(Schema)} and {@link #fromJson(String, String)} calls that were served
+   * by an existing cache entry.
+   */
+  public static long getHitCount() {
+    return SCHEMA_CACHE.getHitCount();
+  }
+
+  /**
+   * Returns the number of {@link #intern(Schema)} and {@link #fromJson(String, String)} calls that added a new
+   * cache entry.
+   */
+  public static long getMissCount() {
+    return SCHEMA_CACHE.getMissCount();
+  }
+
+  /**
+   * Returns the number of schemas evicted from the cache due to the size limit.
+   */
+  public static long getEvictionCount() {
+    return SCHEMA_CACHE.getEvictionCount();
+  }
+
+  private static int getCacheSize() {
+    Integer size = Integer.getInteger(CACHE_SIZE_PROPERTY);
+    return size == null || size <= 0 ? DEFAULT_CACHE_SIZE : size;
+  }
 }
@@ -19,6 +19,14 @@ package io.cdap.cdap.api.data.schema;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Unit test for the {@link LRUCache} class.
  */
@@ -65,4 +73,64 @@ public class LRUCacheTest {
     Assert.assertNull(cache.get("key2"));
     Assert.assertNull(cache.get("key3"));
   }
+
+  @Test
+  public void testStats() {
+    LRUCache<String, Integer> cache = new LRUCache<>(1);
+    cache.putIfAbsent("key1", 1);
+    cache.putIfAbsent("key1", 1);
+    cache.computeIfAbsent("key2", () -> 2);
+    cache.get("key2");
+    cache.get("key1");
+
+    Assert.assertEquals(2L, cache.getHitCount());
+    Assert.assertEquals(3L, cache.getMissCount());
+    Assert.assertEquals(1L, cache.getEvictionCount());
+    Assert.assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testSegmentedSizeBound() {
+    LRUCache<Integer, Integer> cache = new LRUCache<>(1000);
+    for (int i = 0; i < 10000; i++) {
+      Assert.assertEquals(Integer.valueOf(i), cache.putIfAbsent(i, i));
+    }
+    Assert.assertEquals(1000, cache.getMaxSize());
+    Assert.assertEquals(1000, cache.size());
+    Assert.assertEquals(9000L, cache.getEvictionCount());
+
+    // Recently inserted entries should still be there
+    Assert.assertEquals(Integer.valueOf(9999), cache.get(9999));
+  }
+
+  @Test
+  public void testConcurrentAccess() throws Exception {
+    int threads = 8;
+    int keys = 200;
+    LRUCache<Integer, Integer> cache = new LRUCache<>(100);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      CountDownLatch startLatch = new CountDownLatch(1);
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        futures.add(executor.submit(() -> {
+          startLatch.await();
+          for (int i = 0; i < 10000; i++) {
+            int key = i % keys;
+            Assert.assertEquals(Integer.valueOf(key), cache.computeIfAbsent(key, () -> key));
+          }
+          return null;
+        }));
+      }
+      startLatch.countDown();
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Assert.assertTrue(cache.size() <= 100);
+    Assert.assertEquals(threads * 10000L, cache.getHitCount() + cache.getMissCount());
+  }
 }
@@ -24,6 +24,7 @@ import io.cdap.cdap.api.dataset.DataSetException;
 import io.cdap.cdap.api.dataset.Dataset;
 import io.cdap.cdap.api.dataset.PartitionNotFoundException;
 
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Future;
@@ -151,6 +152,29 @@ public interface PartitionedFileSet extends Dataset, InputFormatProvider, Output
    */
   Set<PartitionDetail> getPartitions(@Nullable PartitionFilter filter);
 
+  /**
+   * Return an iterator over all partitions matching the partition filter. Unlike
+   * {@link #getPartitions(PartitionFilter)}, the partitions are read while iterating, without holding all of
+   * them in memory. The iterator must be closed after use.
+   *
+   * @param filter If non null, only partitions that match this filter are returned. If null,
+   *               all partitions are returned.
+   */
+  default CloseableIterator<PartitionDetail> getPartitionIterator(@Nullable PartitionFilter filter) {
+    final Iterator<PartitionDetail> iterator = getPartitions(filter).iterator();
+    return new AbstractCloseableIterator<PartitionDetail>() {
+      @Override
+      protected PartitionDetail computeNext() {
+        return iterator.hasNext() ? iterator.next() : endOfData();
+      }
+
+      @Override
+      public void close() {
+        // no-op
+      }
+    };
+  }
+
   /**
    * Incrementally consumes partitions. This method can be used to retrieve partitions that have been created since the
    * last call to this method. Note that it is the client's responsibility to maintain state of the partitions processed
@@ -19,7 +19,11 @@ package io.cdap.cdap.api.dataset.lib;
 import io.cdap.cdap.api.annotation.Beta;
 import io.cdap.cdap.api.dataset.table.TableProperties;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import javax.annotation.Nullable;
 
 /**
@@ -38,6 +42,11 @@ public class PartitionedFileSetProperties extends FileSetProperties {
    */
   public static final String PARTITIONING_FIELD_PREFIX = "partitioning.field.";
 
+  /**
+   * The property name for the list of partitioning fields that have a secondary index.
+   */
+  public static final String INDEXED_FIELDS = "partitioning.indexed.fields";
+
   /**
    * Read the partitioning for a PartitionedFileSet from its properties.
    *
@@ -71,6 +80,26 @@ public class PartitionedFileSetProperties extends FileSetProperties {
     return builder.build();
   }
 
+  /**
+   * Read the partitioning fields that have a secondary index from the properties of a PartitionedFileSet.
+   *
+   * @param properties the dataset properties
+   * @return the names of the indexed fields, or an empty set if no field is indexed
+   */
+  public static Set<String> getIndexedFields(Map<String, String> properties) {
+    String fieldList = properties.get(INDEXED_FIELDS);
+    if (fieldList == null || fieldList.trim().isEmpty()) {
+      return Collections.emptySet();
+    }
+    Set<String> fields = new LinkedHashSet<>();
+    for (String field : fieldList.split(",")) {
+      if (!field.trim().isEmpty()) {
+        fields.add(field.trim());
+      }
+    }
+    return fields;
+  }
+
   /**
    * @return a properties builder
    */
@@ -105,6 +134,16 @@ public class PartitionedFileSetProperties extends FileSetProperties {
       return this;
     }
 
+    /**
+     * Sets the partitioning fields to be indexed. Partition filters with a condition on an indexed field are
+     * evaluated with the index, instead of scanning all partitions, if the condition on the leading field of the
+     * partitioning does not already narrow the scan. The indexed fields can only be set when the dataset is created.
+     */
+    public Builder setIndexedFields(String... fields) {
+      add(INDEXED_FIELDS, String.join(",", new LinkedHashSet<>(Arrays.asList(fields))));
+      return this;
+    }
+
     /**
      * Set the table permissions as a map from user name to a permission string.
      */
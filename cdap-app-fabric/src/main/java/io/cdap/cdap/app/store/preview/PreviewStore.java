@@ -20,11 +20,13 @@ import io.cdap.cdap.api.preview.DataTracer;
 import io.cdap.cdap.app.preview.PreviewRequest;
 import io.cdap.cdap.app.preview.PreviewStatus;
 import io.cdap.cdap.common.ConflictException;
+import io.cdap.cdap.internal.app.preview.PreviewDataPayload;
 import io.cdap.cdap.proto.artifact.AppRequest;
 import io.cdap.cdap.proto.id.ApplicationId;
 import io.cdap.cdap.proto.id.ProgramRunId;
 import io.cdap.cdap.proto.security.Principal;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -44,6 +46,13 @@ public interface PreviewStore {
    */
   void put(ApplicationId applicationId, String tracerName, String propertyName, Object value);
 
+  /**
+   * Add a batch of preview data. All the data are written to the store together.
+   *
+   * @param payloads the preview data to be added, in the order they were traced
+   */
+  void putAll(Collection<PreviewDataPayload> payloads);
+
   /**
    * Get the preview data associated with the given application id.
    *
@@ -28,11 +28,18 @@ import io.cdap.cdap.common.conf.Constants;
 import io.cdap.cdap.internal.app.store.preview.PreviewJsonSerializer;
 import io.cdap.cdap.internal.io.SchemaTypeAdapter;
 import io.cdap.cdap.proto.id.ApplicationId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Default implementation of {@link DataTracer}, the data are preserved using {@link PreviewStore}
  */
 class DefaultDataTracer implements DataTracer {
+  private static final Logger LOG = LoggerFactory.getLogger(DefaultDataTracer.class);
   private static final Gson GSON = new GsonBuilder().registerTypeAdapter(Schema.class, new SchemaTypeAdapter())
     .registerTypeAdapter(StructuredRecord.class, new PreviewJsonSerializer()).create();
 
@@ -41,6 +48,8 @@ class DefaultDataTracer implements DataTracer {
   private final PreviewDataPublisher previewDataPublisher;
   private final CConfiguration cConf;
   private final int maximumTracedRecords;
+  private final int maxRecordsPerProperty;
+  private final ConcurrentMap<String, AtomicInteger> propertyCounts;
 
   DefaultDataTracer(ApplicationId applicationId, String tracerName, PreviewDataPublisher previewDataPublisher,
                     CConfiguration cConf) {
@@ -49,10 +58,22 @@ class DefaultDataTracer implements DataTracer {
     this.previewDataPublisher = previewDataPublisher;
     this.cConf = cConf;
     this.maximumTracedRecords = cConf.getInt(Constants.Preview.MAX_NUM_OF_RECORDS);
+    this.maxRecordsPerProperty = cConf.getInt(Constants.Preview.TRACER_MAX_RECORDS_PER_PROPERTY);
+    this.propertyCounts = new ConcurrentHashMap<>();
   }
 
   @Override
   public void info(String propertyName, Object propertyValue) {
+    if (maxRecordsPerProperty > 0) {
+      int count = propertyCounts.computeIfAbsent(propertyName, k -> new AtomicInteger()).incrementAndGet();
+      if (count > maxRecordsPerProperty) {
+        if (count == maxRecordsPerProperty + 1) {
+          LOG.debug("Number of values traced for property '{}' of tracer '{}' in preview {} reached the limit of {}. " +
+                      "Further values are dropped.", propertyName, tracerName, applicationId, maxRecordsPerProperty);
+        }
+        return;
+      }
+    }
     PreviewDataPayload payload = new PreviewDataPayload(applicationId, tracerName, propertyName, propertyValue);
     PreviewMessage message = new PreviewMessage(PreviewMessage.Type.DATA, applicationId, GSON.toJsonTree(payload));
     previewDataPublisher.publish(applicationId, message);
@@ -49,9 +49,13 @@ import org.apache.tephra.TxConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
 /**
@@ -70,6 +74,7 @@ public class PreviewDataSubscriberService extends AbstractMessagingSubscriberSer
   private int errorCount;
   private String erroredMessageId;
   private MetricsCollectionService metricsCollectionService;
+  private final MetricsContext dataMetricsContext;
 
   /**
    * Constructor.
@@ -87,19 +92,24 @@ public class PreviewDataSubscriberService extends AbstractMessagingSubscriberSer
       cConf.getInt(TxConstants.Manager.CFG_TX_TIMEOUT),
       cConf.getLong(Constants.Metadata.MESSAGING_POLL_DELAY_MILLIS),
       RetryStrategies.fromConfiguration(cConf, "system.preview."),
-      metricsCollectionService.getContext(ImmutableMap.of(
-        Constants.Metrics.Tag.COMPONENT, Constants.Service.MASTER_SERVICES,
-        Constants.Metrics.Tag.INSTANCE_ID, "0",
-        Constants.Metrics.Tag.NAMESPACE, NamespaceId.SYSTEM.getNamespace(),
-        Constants.Metrics.Tag.TOPIC, cConf.get(Constants.Preview.MESSAGING_TOPIC),
-        Constants.Metrics.Tag.CONSUMER, "preview.writer"
-      )));
+      metricsCollectionService.getContext(getMetricsTags(cConf)));
 
     this.messagingContext = new MultiThreadMessagingContext(messagingService);
     this.previewStore = previewStore;
     this.transactionRunner = transactionRunner;
     this.maxRetriesOnError = cConf.getInt(Constants.Metadata.MESSAGING_RETRIES_ON_CONFLICT);
     this.metricsCollectionService = metricsCollectionService;
+    this.dataMetricsContext = metricsCollectionService.getContext(getMetricsTags(cConf));
+  }
+
+  private static Map<String, String> getMetricsTags(CConfiguration cConf) {
+    return ImmutableMap.of(
+      Constants.Metrics.Tag.COMPONENT, Constants.Service.MASTER_SERVICES,
+      Constants.Metrics.Tag.INSTANCE_ID, "0",
+      Constants.Metrics.Tag.NAMESPACE, NamespaceId.SYSTEM.getNamespace(),
+      Constants.Metrics.Tag.TOPIC, cConf.get(Constants.Preview.MESSAGING_TOPIC),
+      Constants.Metrics.Tag.CONSUMER, "preview.writer"
+    );
   }
 
   @Override
@@ -124,6 +134,8 @@ public class PreviewDataSubscriberService extends AbstractMessagingSubscriberSer
   protected void processMessages(StructuredTableContext structuredTableContext,
                                  Iterator<ImmutablePair<String, PreviewMessage>> messages) throws Exception {
     Map<PreviewMessage.Type, PreviewMessageProcessor> processors = new HashMap<>();
+    // Preview data are buffered and written to the store in one batch
+    PreviewDataProcessor dataProcessor = new PreviewDataProcessor();
 
     // Loop over all fetched messages and process them with corresponding PreviewMessageProcessor
     while (messages.hasNext()) {
@@ -131,10 +143,14 @@ public class PreviewDataSubscriberService extends AbstractMessagingSubscriberSer
       String messageId = next.getFirst();
       PreviewMessage message = next.getSecond();
 
+      if (message.getType() == PreviewMessage.Type.DATA) {
+        // Data are only buffered, failures of writing them are accounted to the data message when flushing
+        dataProcessor.add(messageId, message);
+        continue;
+      }
+
       PreviewMessageProcessor processor = processors.computeIfAbsent(message.getType(), type -> {
         switch (type) {
-          case DATA:
-            return new PreviewDataProcessor();
           case STATUS:
             return new PreviewStatusWriter();
           case PROGRAM_RUN_ID:
@@ -149,24 +165,38 @@ public class PreviewDataSubscriberService extends AbstractMessagingSubscriberSer
         LOG.warn("Unsupported preview message type {}. Message ignored.", message.getType());
         continue;
       }
+      // Write the buffered data first so that they are visible before any status change that follows them
+      dataProcessor.flush();
       try {
         processor.processMessage(message);
         errorCount = 0;
       } catch (Exception e) {
-        if (messageId.equals(erroredMessageId)) {
-          errorCount++;
-          if (errorCount >= maxRetriesOnError) {
-            LOG.warn("Skipping preview message {} after processing it has caused {} consecutive errors: {}",
-                     message, errorCount, e.getMessage());
-            continue;
-          }
-        } else {
-          erroredMessageId = messageId;
-          errorCount = 1;
+        if (!shouldSkip(messageId, message, e)) {
+          throw e;
         }
-        throw e;
       }
     }
+    dataProcessor.flush();
+  }
+
+  /**
+   * Records the failure of processing the given message.
+   *
+   * @return {@code true} if the message has failed too many times in a row and should be skipped
+   */
+  private boolean shouldSkip(String messageId, Object message, Exception e) {
+    if (messageId.equals(erroredMessageId)) {
+      errorCount++;
+      if (errorCount >= maxRetriesOnError) {
+        LOG.warn("Skipping preview message {} after processing it has caused {} consecutive errors: {}",
+                 message, errorCount, e.getMessage());
+        return true;
+      }
+    } else {
+      erroredMessageId = messageId;
+      errorCount = 1;
+    }
+    return false;
   }
 
   @Override
@@ -191,11 +221,17 @@ public class PreviewDataSubscriberService extends AbstractMessagingSubscriberSer
   }
 
   /**
-   * The {@link PreviewMessageProcessor} for processing preview data.
+   * Processor for preview data. The data are buffered until {@link #flush()} is called, so that they are written to
+   * the store in batches.
    */
-  private final class PreviewDataProcessor implements PreviewMessageProcessor {
-    @Override
-    public void processMessage(PreviewMessage message) {
+  private final class PreviewDataProcessor {
+    // the buffered preview data, together with the id of the message carrying them
+    private final List<ImmutablePair<String, PreviewDataPayload>> payloads = new ArrayList<>();
+
+    /**
+     * Buffers the preview data carried by the given message.
+     */
+    void add(String messageId, PreviewMessage message) {
       if (!(message.getEntityId() instanceof ApplicationId)) {
         LOG.warn("Missing application id from the preview data information. Ignoring the message {}", message);
         return;
@@ -210,7 +246,44 @@ public class PreviewDataSubscriberService extends AbstractMessagingSubscriberSer
                  message, t);
         return;
       }
-      previewStore.put(applicationId, payload.getTracerName(), payload.getPropertyName(), payload.getPropertyValue());
+      payloads.add(ImmutablePair.of(messageId, new PreviewDataPayload(applicationId, payload.getTracerName(),
+                                                                      payload.getPropertyName(),
+                                                                      payload.getPropertyValue())));
+    }
+
+    /**
+     * Writes all the buffered preview data to the store. If the batch cannot be written, the data are written one
+     * by one, such that a data message which keeps failing is skipped the same way as any other message.
+     */
+    void flush() {
+      if (payloads.isEmpty()) {
+        return;
+      }
+      long startTime = System.nanoTime();
+      int written = 0;
+      try {
+        previewStore.putAll(payloads.stream().map(ImmutablePair::getSecond).collect(Collectors.toList()));
+        written = payloads.size();
+      } catch (Exception e) {
+        LOG.debug("Failed to write {} preview data in batch. Writing them one by one.", payloads.size(), e);
+        for (ImmutablePair<String, PreviewDataPayload> entry : payloads) {
+          PreviewDataPayload payload = entry.getSecond();
+          try {
+            previewStore.put(payload.getApplicationId(), payload.getTracerName(), payload.getPropertyName(),
+                             payload.getPropertyValue());
+            written++;
+          } catch (Exception ex) {
+            if (!shouldSkip(entry.getFirst(), payload, ex)) {
+              throw ex;
+            }
+          }
+        }
+      }
+      errorCount = 0;
+      dataMetricsContext.increment(Constants.Metrics.Preview.DATA_RECORDS, written);
+      dataMetricsContext.gauge(Constants.Metrics.Preview.DATA_FLUSH_LATENCY_MS,
+                               TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+      payloads.clear();
     }
   }
 
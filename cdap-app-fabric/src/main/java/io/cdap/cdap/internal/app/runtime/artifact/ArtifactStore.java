@@ -18,6 +18,8 @@ package io.cdap.cdap.internal.app.runtime.artifact;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -173,6 +175,9 @@ import javax.annotation.Nullable;
  */
 public class ArtifactStore {
   private static final String ARTIFACTS_PATH = "artifacts";
+  // Estimated heap size of the objects decoded from the serialized data, relative to the size of the serialized data.
+  // The decoded objects have object headers, references and boxed collections in place of the compact JSON.
+  private static final int DECODED_DATA_SIZE_FACTOR = 4;
 
   private static final Gson GSON = new GsonBuilder()
     .registerTypeAdapter(Schema.class, new SchemaTypeAdapter())
@@ -186,6 +191,9 @@ public class ArtifactStore {
   private final Impersonator impersonator;
   private final Set<String> requirementBlacklist;
   private final TransactionRunner transactionRunner;
+  // Decoded artifact and plugin data keyed by the serialized data stored in the tables. Since the key is the stored
+  // data itself, an entry can never be stale after the artifact is written, updated or deleted.
+  private final Cache<String, Object> decodedDataCache;
 
   @Inject
   ArtifactStore(CConfiguration cConf,
@@ -200,6 +208,13 @@ public class ArtifactStore {
       new HashSet<>(cConf.getTrimmedStringCollection(Constants.REQUIREMENTS_DATASET_TYPE_EXCLUDE))
         .stream().map(String::toLowerCase).collect(Collectors.toSet());
     this.transactionRunner = transactionRunner;
+    // the cache is weighted by the estimated number of bytes of an entry, which is the serialized data key,
+    // with two bytes per char, plus the objects decoded from it
+    long cacheSizeBytes = Math.max(0L, cConf.getLong(Constants.AppFabric.ARTIFACT_STORE_CACHE_SIZE_MB, 0L) << 20);
+    this.decodedDataCache = CacheBuilder.newBuilder()
+      .maximumWeight(cacheSizeBytes)
+      .<String, Object>weigher((key, value) -> getEntryWeight(key))
+      .build();
   }
 
   /**
@@ -318,8 +333,8 @@ public class ArtifactStore {
       .map(e -> {
         StructuredRow row = e.getValue();
         ArtifactKey artifactKey = ArtifactKey.fromRow(row);
-        ArtifactData data = GSON.fromJson(row.getString(StoreDefinition.ArtifactStore.ARTIFACT_DATA_FIELD),
-                                          ArtifactData.class);
+        ArtifactData data = decode(row.getString(StoreDefinition.ArtifactStore.ARTIFACT_DATA_FIELD),
+                                   ArtifactData.class);
         ArtifactMeta filteredArtifactMeta = filterPlugins(data.meta);
         ArtifactId artifactId = new ArtifactId(artifactKey.name, e.getKey(),
                                                artifactKey.namespace.equals(NamespaceId.SYSTEM.getNamespace()) ?
@@ -381,7 +396,7 @@ public class ArtifactStore {
       if (!row.isPresent()) {
         throw new ArtifactNotFoundException(artifactId.toEntityId());
       }
-      return GSON.fromJson(row.get().getString(StoreDefinition.ArtifactStore.ARTIFACT_DATA_FIELD), ArtifactData.class);
+      return decode(row.get().getString(StoreDefinition.ArtifactStore.ARTIFACT_DATA_FIELD), ArtifactData.class);
     }, IOException.class, ArtifactNotFoundException.class);
 
     try {
@@ -973,6 +988,28 @@ public class ArtifactStore {
     }
   }
 
+  /**
+   * Returns the estimated number of bytes used by a decoded data cache entry with the given serialized data key.
+   */
+  private static int getEntryWeight(String json) {
+    long keyBytes = 2L * json.length();
+    return (int) Math.min(Integer.MAX_VALUE, keyBytes + keyBytes * DECODED_DATA_SIZE_FACTOR);
+  }
+
+  /**
+   * Decodes the given serialized artifact or plugin data. The decoded objects are cached and shared by all the
+   * readers, hence they must not be modified.
+   */
+  private <T> T decode(String json, Class<T> type) {
+    Object decoded = decodedDataCache.getIfPresent(json);
+    if (type.isInstance(decoded)) {
+      return type.cast(decoded);
+    }
+    T result = GSON.fromJson(json, type);
+    decodedDataCache.put(json, result);
+    return result;
+  }
+
   private StructuredTable getTable(StructuredTableContext context, StructuredTableId id) {
     try {
       return context.getTable(id);
@@ -998,8 +1035,8 @@ public class ArtifactStore {
       throw new ArtifactNotFoundException(artifactId.toEntityId());
     }
     // include any plugin classes that are inside the artifact itself and is accepted by the filter
-    ArtifactData artifactData = GSON.fromJson(row.get().getString(StoreDefinition.ArtifactStore.ARTIFACT_DATA_FIELD),
-                                              ArtifactData.class);
+    ArtifactData artifactData = decode(row.get().getString(StoreDefinition.ArtifactStore.ARTIFACT_DATA_FIELD),
+                                       ArtifactData.class);
     Set<PluginClass> plugins = artifactData.meta.getClasses().getPlugins().stream()
       .filter(filter).collect(Collectors.toCollection(LinkedHashSet::new));
 
@@ -1094,8 +1131,8 @@ public class ArtifactStore {
     if (!range.test(artifactId.toEntityId())) {
       return null;
     }
-    PluginData pluginData = GSON.fromJson(row.getString(StoreDefinition.ArtifactStore.PLUGIN_DATA_FIELD),
-                                          PluginData.class);
+    PluginData pluginData = decode(row.getString(StoreDefinition.ArtifactStore.PLUGIN_DATA_FIELD),
+                                   PluginData.class);
     return ImmutablePair.of(new ArtifactDescriptor(
       artifactId.getNamespace().getId(),
       artifactId.toArtifactId(),
@@ -24,6 +24,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.List;
 import javax.annotation.Nullable;
 
 /**
@@ -68,6 +69,36 @@ public final class MonitorSchemas {
     public static final class MonitorRequest {
       public static final Schema SCHEMA = loadSchema(MonitorSchemas.V2.MonitorRequest.class);
     }
+
+    /**
+     * Contains schema for one frame of a multiplexed monitor request, which carries messages of one topic.
+     */
+    public static final class MonitorStreamFrame {
+      public static final Schema SCHEMA = loadSchema(MonitorSchemas.V2.MonitorStreamFrame.class);
+    }
+  }
+
+  /**
+   * Validates the {@link V2.MonitorStreamFrame} schema is a record of topic, publish time and an array of payloads,
+   * as expected by the logic that encodes and decodes the frames. This is to make sure unit tests will fail if the
+   * schema is changed without changing that logic.
+   *
+   * @throws IllegalStateException if the schema is not as expected
+   */
+  static void validateStreamFrameSchema() {
+    Schema schema = V2.MonitorStreamFrame.SCHEMA;
+    if (schema == null) {
+      throw new IllegalStateException("Missing MonitorStreamFrame schema");
+    }
+    List<Schema.Field> fields = schema.getFields();
+    if (fields.size() != 3
+      || fields.get(0).schema().getType() != Schema.Type.STRING
+      || fields.get(1).schema().getType() != Schema.Type.LONG
+      || fields.get(2).schema().getType() != Schema.Type.ARRAY
+      || fields.get(2).schema().getElementType().getType() != Schema.Type.BYTES) {
+      throw new IllegalStateException("MonitorStreamFrame schema should be a record of topic, publish time and "
+                                        + "an array of bytes");
+    }
   }
 
   /**
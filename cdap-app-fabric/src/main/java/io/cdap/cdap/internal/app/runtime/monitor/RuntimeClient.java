@@ -16,10 +16,12 @@
 
 package io.cdap.cdap.internal.app.runtime.monitor;
 
+import com.google.common.collect.Iterators;
 import com.google.common.io.ByteStreams;
 import com.google.common.net.HttpHeaders;
 import com.google.gson.Gson;
 import com.google.inject.Inject;
+import io.cdap.cdap.api.common.Bytes;
 import io.cdap.cdap.api.messaging.Message;
 import io.cdap.cdap.common.BadRequestException;
 import io.cdap.cdap.common.ServiceUnavailableException;
@@ -28,6 +30,7 @@ import io.cdap.cdap.common.conf.Constants;
 import io.cdap.cdap.common.http.DefaultHttpRequestConfig;
 import io.cdap.cdap.common.internal.remote.RemoteClient;
 import io.cdap.cdap.common.internal.remote.RemoteClientFactory;
+import io.cdap.cdap.messaging.data.MessageId;
 import io.cdap.cdap.proto.ProgramRunStatus;
 import io.cdap.cdap.proto.id.NamespaceId;
 import io.cdap.cdap.proto.id.ProgramRunId;
@@ -84,6 +87,7 @@ public class RuntimeClient {
     if (schema.getType() != Schema.Type.ARRAY || schema.getElementType().getType() != Schema.Type.BYTES) {
       throw new IllegalStateException("MonitorRequest schema should be an array of bytes");
     }
+    MonitorSchemas.validateStreamFrameSchema();
     this.stopFuture = new CompletableFuture<>();
   }
 
@@ -99,18 +103,9 @@ public class RuntimeClient {
    */
   public void sendMessages(ProgramRunId programRunId,
                            TopicId topicId, Iterator<Message> messages) throws IOException, BadRequestException {
-    if (!NamespaceId.SYSTEM.equals(topicId.getNamespaceId())) {
-      throw new IllegalArgumentException("Only topic in the system namespace is supported");
-    }
+    validateTopic(topicId);
 
-    String path = String.format("%s/apps/%s/versions/%s/%s/%s/runs/%s/topics/%s",
-                                programRunId.getNamespace(),
-                                programRunId.getApplication(),
-                                programRunId.getVersion(),
-                                programRunId.getType().getCategoryName(),
-                                programRunId.getProgram(),
-                                programRunId.getRun(),
-                                topicId.getTopic());
+    String path = String.format("%s/topics/%s", getProgramRunPath(programRunId), topicId.getTopic());
 
     // Stream out the messages
     HttpURLConnection urlConn = remoteClient.openConnection(HttpMethod.POST, path);
@@ -118,22 +113,39 @@ public class RuntimeClient {
       urlConn.setChunkedStreamingMode(CHUNK_SIZE);
       urlConn.setRequestProperty(HttpHeaders.CONTENT_TYPE, "avro/binary");
 
-      try (OutputStream os = openOutputStream(urlConn)) {
+      try (OutputStream os = openOutputStream(urlConn, false)) {
         writeMessages(messages, EncoderFactory.get().directBinaryEncoder(os, null));
       }
 
-      throwIfError(programRunId, urlConn);
-      try (Reader reader = new InputStreamReader(urlConn.getInputStream(), StandardCharsets.UTF_8)) {
-        ProgramRunInfo programRunInfo = GSON.fromJson(reader, ProgramRunInfo.class);
-        if (programRunInfo.getProgramRunStatus() == ProgramRunStatus.STOPPING) {
-          stopFuture.complete(programRunInfo.getTerminateTimestamp());
-        }
-      }
+      processResponse(programRunId, urlConn);
     } finally {
       closeURLConnection(urlConn);
     }
   }
 
+  /**
+   * Opens a {@link MessageStream} for sending messages of multiple TMS system topics from the given program run
+   * through one streaming request. Messages are delivered to the server as soon as they are sent to the stream,
+   * but they are only acknowledged by the server when the stream is finished.
+   *
+   * @param programRunId the program run id of the program run
+   * @return a {@link MessageStream} for sending messages
+   * @throws IOException if failed to open the stream
+   */
+  public MessageStream openMessageStream(ProgramRunId programRunId) throws IOException {
+    HttpURLConnection urlConn = remoteClient.openConnection(HttpMethod.POST,
+                                                            getProgramRunPath(programRunId) + "/topics");
+    try {
+      urlConn.setChunkedStreamingMode(CHUNK_SIZE);
+      urlConn.setRequestProperty(HttpHeaders.CONTENT_TYPE, "avro/binary");
+      // Use sync flush for compression so that each sent frame can be decoded by the server without delay
+      return new MessageStream(programRunId, urlConn, openOutputStream(urlConn, true));
+    } catch (IOException e) {
+      closeURLConnection(urlConn);
+      throw e;
+    }
+  }
+
   /**
    * Sets the consumer to run on the program being requested to stop.
    *
@@ -189,12 +201,46 @@ public class RuntimeClient {
    * Opens a {@link OutputStream} to the given {@link URLConnection}. If {@link #compression} is {@code true},
    * the output stream will be wrapped with a {@link GZIPOutputStream} with appropriate request header set.
    */
-  private OutputStream openOutputStream(URLConnection urlConn) throws IOException {
+  private OutputStream openOutputStream(URLConnection urlConn, boolean syncFlush) throws IOException {
     if (!compression) {
       return urlConn.getOutputStream();
     }
     urlConn.setRequestProperty(HttpHeaders.CONTENT_ENCODING, "gzip");
-    return new GZIPOutputStream(urlConn.getOutputStream());
+    return new GZIPOutputStream(urlConn.getOutputStream(), syncFlush);
+  }
+
+  /**
+   * Returns the path of the runtime endpoints of the given program run.
+   */
+  private String getProgramRunPath(ProgramRunId programRunId) {
+    return String.format("%s/apps/%s/versions/%s/%s/%s/runs/%s",
+                         programRunId.getNamespace(),
+                         programRunId.getApplication(),
+                         programRunId.getVersion(),
+                         programRunId.getType().getCategoryName(),
+                         programRunId.getProgram(),
+                         programRunId.getRun());
+  }
+
+  private void validateTopic(TopicId topicId) {
+    if (!NamespaceId.SYSTEM.equals(topicId.getNamespaceId())) {
+      throw new IllegalArgumentException("Only topic in the system namespace is supported");
+    }
+  }
+
+  /**
+   * Validates the response of a request for sending messages and completes the {@link #stopFuture}
+   * if the server requests the program to stop.
+   */
+  private void processResponse(ProgramRunId programRunId,
+                               HttpURLConnection urlConn) throws IOException, BadRequestException {
+    throwIfError(programRunId, urlConn);
+    try (Reader reader = new InputStreamReader(urlConn.getInputStream(), StandardCharsets.UTF_8)) {
+      ProgramRunInfo programRunInfo = GSON.fromJson(reader, ProgramRunInfo.class);
+      if (programRunInfo.getProgramRunStatus() == ProgramRunStatus.STOPPING) {
+        stopFuture.complete(programRunInfo.getTerminateTimestamp());
+      }
+    }
   }
 
   /**
@@ -283,6 +329,17 @@ public class RuntimeClient {
     encoder.writeArrayEnd();
   }
 
+  /**
+   * Returns the time when the given message was published to the local TMS, or the current time if it is not known.
+   */
+  private long getPublishTime(Message message) {
+    try {
+      return new MessageId(Bytes.fromHexString(message.getId())).getPublishTimestamp();
+    } catch (Exception e) {
+      return System.currentTimeMillis();
+    }
+  }
+
   /**
    * Encodes and writes all the payloads as one avro array block.
    */
@@ -293,4 +350,68 @@ public class RuntimeClient {
       encoder.writeBytes(payload);
     }
   }
+
+  /**
+   * A streaming request for sending messages of multiple topics from a program run. Messages sent to each topic
+   * are encoded as one frame, as defined by the {@link MonitorSchemas.V2.MonitorStreamFrame}.
+   * This class is not thread safe.
+   */
+  public final class MessageStream {
+
+    private final ProgramRunId programRunId;
+    private final HttpURLConnection urlConn;
+    private final OutputStream os;
+    private final Encoder encoder;
+
+    private MessageStream(ProgramRunId programRunId, HttpURLConnection urlConn, OutputStream os) {
+      this.programRunId = programRunId;
+      this.urlConn = urlConn;
+      this.os = os;
+      this.encoder = EncoderFactory.get().directBinaryEncoder(os, null);
+    }
+
+    /**
+     * Sends messages to the given TMS system topic. The messages are flushed to the server before this method returns.
+     *
+     * @param topicId the topic to write to. The namespace must be {@link NamespaceId#SYSTEM}
+     * @param messages the list of messages to send
+     * @throws IOException if failed to send all the given messages
+     */
+    public void send(TopicId topicId, Iterator<Message> messages) throws IOException {
+      validateTopic(topicId);
+      if (!messages.hasNext()) {
+        return;
+      }
+
+      Message first = messages.next();
+      encoder.writeString(topicId.getTopic());
+      encoder.writeLong(getPublishTime(first));
+      writeMessages(Iterators.concat(Iterators.singletonIterator(first), messages), encoder);
+      encoder.flush();
+      os.flush();
+    }
+
+    /**
+     * Completes the request and waits for the server to process all the messages sent to this stream.
+     *
+     * @throws IOException if failed to complete the request
+     * @throws BadRequestException if the server denial the request due to bad request
+     * @throws ServiceUnavailableException if the server is not available
+     */
+    public void finish() throws IOException, BadRequestException {
+      try {
+        os.close();
+        processResponse(programRunId, urlConn);
+      } finally {
+        closeURLConnection(urlConn);
+      }
+    }
+
+    /**
+     * Aborts the request. Messages sent to this stream might or might not be processed by the server.
+     */
+    public void abort() {
+      urlConn.disconnect();
+    }
+  }
 }
@@ -64,6 +64,11 @@ import java.util.stream.StreamSupport;
 /**
  * A service that periodically relay messages from local TMS to the runtime server.
  * This service runs in the remote runtime.
+ *
+ * If multiplexed relaying is enabled, messages of all topics are sent through one streaming request, which is kept
+ * open for at most {@link Constants.RuntimeMonitor#MULTIPLEXED_STREAM_DURATION_MS}. Messages are only acknowledged
+ * by the server when the request completes, hence the fetch offsets of all topics are committed on completion
+ * and are rolled back if the request failed.
  */
 public class RuntimeClientService extends AbstractRetryableScheduledService {
 
@@ -79,6 +84,10 @@ public class RuntimeClientService extends AbstractRetryableScheduledService {
   private final ProgramRunId programRunId;
   private final RuntimeClient runtimeClient;
   private final int fetchLimit;
+  private final long streamDurationMillis;
+  private boolean multiplexed;
+  private RuntimeClient.MessageStream messageStream;
+  private long messageStreamOpenTime;
   private long programFinishTime;
 
   @Inject
@@ -86,7 +95,11 @@ public class RuntimeClientService extends AbstractRetryableScheduledService {
                        RuntimeClient runtimeClient, ProgramRunId programRunId) {
     super(RetryStrategies.fromConfiguration(cConf, Constants.Service.RUNTIME_MONITOR_RETRY_PREFIX));
     this.messagingContext = new MultiThreadMessagingContext(messagingService);
-    this.pollTimeMillis = cConf.getLong(Constants.RuntimeMonitor.POLL_TIME_MS);
+    this.multiplexed = cConf.getBoolean(Constants.RuntimeMonitor.MULTIPLEXED_ENABLED);
+    this.pollTimeMillis = multiplexed
+      ? cConf.getLong(Constants.RuntimeMonitor.MULTIPLEXED_POLL_TIME_MS)
+      : cConf.getLong(Constants.RuntimeMonitor.POLL_TIME_MS);
+    this.streamDurationMillis = cConf.getLong(Constants.RuntimeMonitor.MULTIPLEXED_STREAM_DURATION_MS);
     this.gracefulShutdownMillis = cConf.getLong(Constants.RuntimeMonitor.GRACEFUL_SHUTDOWN_MS);
     this.programRunId = programRunId;
     this.runtimeClient = runtimeClient;
@@ -99,9 +112,22 @@ public class RuntimeClientService extends AbstractRetryableScheduledService {
   @Override
   protected long runTask() throws Exception {
     long nextPollDelay = pollTimeMillis;
-    for (Map.Entry<String, TopicRelayer> entry : topicRelayers.entrySet()) {
-      TopicRelayer topicRelayer = entry.getValue();
-      nextPollDelay = Math.min(nextPollDelay, topicRelayer.publishMessages());
+    try {
+      // Always keep a stream open in multiplexed mode, so that stop requests are received even with no messages
+      if (multiplexed && messageStream == null) {
+        openMessageStream();
+      }
+      for (Map.Entry<String, TopicRelayer> entry : topicRelayers.entrySet()) {
+        TopicRelayer topicRelayer = entry.getValue();
+        nextPollDelay = Math.min(nextPollDelay, topicRelayer.publishMessages());
+      }
+      if (messageStream != null
+        && (programFinishTime > 0 || System.currentTimeMillis() - messageStreamOpenTime >= streamDurationMillis)) {
+        finishMessageStream();
+      }
+    } catch (Exception e) {
+      abortMessageStream();
+      throw e;
     }
 
     // If we got the program finished state, determine when to shutdown
@@ -131,6 +157,17 @@ public class RuntimeClientService extends AbstractRetryableScheduledService {
 
   @Override
   protected void doShutdown() throws Exception {
+    // Complete the message stream and send the remaining messages with one request per topic,
+    // so that the program state messages are sent after all other messages are acknowledged.
+    multiplexed = false;
+    if (messageStream != null) {
+      try {
+        finishMessageStream();
+      } catch (Exception e) {
+        LOG.debug("Failed to complete the message stream. Messages will be sent again.", e);
+      }
+    }
+
     // Close all the TopicRelay, which will flush out all pending messages
     for (TopicRelayer topicRelayer : topicRelayers.values()) {
       Retries.callWithRetries((Retries.Callable<Void, IOException>) () -> {
@@ -153,6 +190,39 @@ public class RuntimeClientService extends AbstractRetryableScheduledService {
     runtimeClient.onProgramStopRequested(stopper);
   }
 
+  private void openMessageStream() throws IOException {
+    messageStream = runtimeClient.openMessageStream(programRunId);
+    messageStreamOpenTime = System.currentTimeMillis();
+  }
+
+  /**
+   * Completes the current message stream and commits the fetch offsets of all topics. If it failed,
+   * the fetch offsets are rolled back so that the messages are sent again.
+   */
+  private void finishMessageStream() throws IOException, BadRequestException {
+    RuntimeClient.MessageStream stream = messageStream;
+    messageStream = null;
+    try {
+      stream.finish();
+    } catch (Exception e) {
+      topicRelayers.values().forEach(TopicRelayer::rollback);
+      throw e;
+    }
+    topicRelayers.values().forEach(TopicRelayer::commit);
+  }
+
+  /**
+   * Aborts the current message stream, if there is one, and rolls back the fetch offsets of all topics.
+   */
+  private void abortMessageStream() {
+    if (messageStream == null) {
+      return;
+    }
+    messageStream.abort();
+    messageStream = null;
+    topicRelayers.values().forEach(TopicRelayer::rollback);
+  }
+
   /**
    * Creates an instance of {@link TopicRelayer} based on the topic.
    */
@@ -175,6 +245,7 @@ public class RuntimeClientService extends AbstractRetryableScheduledService {
 
     private final TopicId topicId;
     private String lastMessageId;
+    private String committedMessageId;
     private long nextPublishTimeMillis;
     private int totalPublished;
 
@@ -221,6 +292,10 @@ public class RuntimeClientService extends AbstractRetryableScheduledService {
 
           // Update the lastMessageId if sendMessages succeeded
           lastMessageId = messageId[0] == null ? lastMessageId : messageId[0];
+          // Messages sent to the message stream are only acknowledged when the stream completes
+          if (messageStream == null) {
+            commit();
+          }
           totalPublished += messageCount.get();
           progressLog.trace("Processed in total {} messages on topic {}", totalPublished, topicId);
         }
@@ -240,7 +315,27 @@ public class RuntimeClientService extends AbstractRetryableScheduledService {
      * Processes the give list of {@link Message}. By default it sends them through the {@link RuntimeClient}.
      */
     protected void processMessages(Iterator<Message> iterator) throws IOException, BadRequestException {
-      runtimeClient.sendMessages(programRunId, topicId, iterator);
+      if (messageStream != null) {
+        messageStream.send(topicId, iterator);
+      } else {
+        runtimeClient.sendMessages(programRunId, topicId, iterator);
+      }
+    }
+
+    /**
+     * Marks all the messages processed so far as delivered.
+     */
+    void commit() {
+      committedMessageId = lastMessageId;
+    }
+
+    /**
+     * Resets the fetch offset to the last delivered message, so that messages not known to be delivered
+     * are processed again in the next poll.
+     */
+    void rollback() {
+      lastMessageId = committedMessageId;
+      nextPublishTimeMillis = 0L;
     }
 
     @Override
@@ -268,6 +363,7 @@ public class RuntimeClientService extends AbstractRetryableScheduledService {
   private class ProgramStatusTopicRelayer extends TopicRelayer {
 
     private final List<Message> lastProgramStateMessages;
+    private int committedProgramStateMessages;
 
     ProgramStatusTopicRelayer(TopicId topicId) {
       super(topicId);
@@ -291,6 +387,7 @@ public class RuntimeClientService extends AbstractRetryableScheduledService {
         lastProgramStateMessages.addAll(message);
 
         // Send an empty iterator to serve as the heartbeat.
+        // With the message stream, the stream itself serves as the heartbeat.
         super.processMessages(Collections.emptyIterator());
       } else {
         // If the program is not yet finished, just publish the messages
@@ -298,6 +395,21 @@ public class RuntimeClientService extends AbstractRetryableScheduledService {
       }
     }
 
+    @Override
+    void commit() {
+      super.commit();
+      committedProgramStateMessages = lastProgramStateMessages.size();
+    }
+
+    @Override
+    void rollback() {
+      super.rollback();
+      // Remove the buffered messages that will be fetched again
+      while (lastProgramStateMessages.size() > committedProgramStateMessages) {
+        lastProgramStateMessages.remove(lastProgramStateMessages.size() - 1);
+      }
+    }
+
     @Override
     public void close() throws IOException {
       // Keep polling until it sees the program completion
@@ -323,6 +435,7 @@ public class RuntimeClientService extends AbstractRetryableScheduledService {
           LOG.error("Failed to send program state messages to runtime server: {}", lastProgramStateMessages, e);
         }
         lastProgramStateMessages.clear();
+        committedProgramStateMessages = 0;
       }
     }
 
@@ -16,6 +16,7 @@
 
 package io.cdap.cdap.internal.app.runtime.monitor;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Closeables;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -23,6 +24,8 @@ import com.google.inject.Inject;
 import io.cdap.cdap.api.common.Bytes;
 import io.cdap.cdap.api.messaging.MessagingContext;
 import io.cdap.cdap.api.messaging.TopicNotFoundException;
+import io.cdap.cdap.api.metrics.MetricsCollectionService;
+import io.cdap.cdap.api.metrics.MetricsContext;
 import io.cdap.cdap.api.security.AccessException;
 import io.cdap.cdap.common.BadRequestException;
 import io.cdap.cdap.common.conf.CConfiguration;
@@ -60,11 +63,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -86,11 +94,12 @@ public class RuntimeHandler extends AbstractHttpHandler {
   private final boolean eventLogsEnabled;
   private final Location eventLogsBaseLocation;
   private final Set<String> allowedTopics;
+  private final MetricsCollectionService metricsCollectionService;
 
   @Inject
   RuntimeHandler(CConfiguration cConf, MessagingService messagingService,
                  RemoteExecutionLogProcessor logProcessor, RuntimeRequestValidator requestValidator,
-                 LocationFactory locationFactory) {
+                 LocationFactory locationFactory, MetricsCollectionService metricsCollectionService) {
     this.requestValidator = requestValidator;
     this.logProcessor = logProcessor;
     this.messagingContext = new MultiThreadMessagingContext(messagingService);
@@ -98,6 +107,7 @@ public class RuntimeHandler extends AbstractHttpHandler {
     this.eventLogsEnabled = cConf.getBoolean(Constants.AppFabric.SPARK_EVENT_LOGS_ENABLED);
     this.eventLogsBaseLocation = locationFactory.create(cConf.get(Constants.AppFabric.SPARK_EVENT_LOGS_DIR));
     this.allowedTopics = new HashSet<>(RuntimeMonitors.createTopicConfigs(cConf).values());
+    this.metricsCollectionService = metricsCollectionService;
   }
 
   @Override
@@ -112,6 +122,7 @@ public class RuntimeHandler extends AbstractHttpHandler {
     if (schema.getType() != Schema.Type.ARRAY || schema.getElementType().getType() != Schema.Type.BYTES) {
       throw new IllegalStateException("MonitorRequest schema should be an array of bytes");
     }
+    MonitorSchemas.validateStreamFrameSchema();
 
     if (eventLogsEnabled) {
       try {
@@ -147,23 +158,69 @@ public class RuntimeHandler extends AbstractHttpHandler {
                                                  program, run);
     ProgramRunInfo programRunInfo = requestValidator.getProgramRunStatus(programRunId, request);
 
+    TopicId topicId = NamespaceId.SYSTEM.topic(topic);
+    return new MessageBodyConsumer(topicId, createPayloadProcessor(topicId), programRunInfo);
+  }
+
+  /**
+   * Handles call for writing to multiple TMS topics from the program runtime for a given program run through
+   * one long-lived streaming request. The POST body is a sequence of avro encoded frames, each carrying an array
+   * of bytes for one topic. Messages are written to TMS as soon as each frame is received.
+   */
+  @Path("/topics")
+  @POST
+  public BodyConsumer writeMultiplexedMessages(HttpRequest request, HttpResponder responder,
+                                               @PathParam("namespace") String namespace,
+                                               @PathParam("app") String app,
+                                               @PathParam("version") String version,
+                                               @PathParam("program-type") String programType,
+                                               @PathParam("program") String program,
+                                               @PathParam("run") String run) throws Exception {
+
+    if (!"avro/binary".equals(request.headers().get(HttpHeaderNames.CONTENT_TYPE))) {
+      throw new BadRequestException("Only avro/binary content type is supported.");
+    }
+
+    ApplicationId appId = new NamespaceId(namespace).app(app, version);
+    ProgramRunId programRunId = new ProgramRunId(appId,
+                                                 ProgramType.valueOfCategoryName(programType, BadRequestException::new),
+                                                 program, run);
+    ProgramRunInfo programRunInfo = requestValidator.getProgramRunStatus(programRunId, request);
+
+    MetricsContext metricsContext = metricsCollectionService.getContext(
+      ImmutableMap.of(Constants.Metrics.Tag.NAMESPACE, namespace, Constants.Metrics.Tag.APP, app));
+    metricsContext.increment(Constants.Metrics.RuntimeMonitor.RELAY_STREAM_COUNT, 1L);
+
+    // The stream can be open for a while, hence get the latest program run status for the response
+    return new MultiplexedMessageBodyConsumer(programRunId,
+                                              topic -> createPayloadProcessor(NamespaceId.SYSTEM.topic(topic)),
+                                              () -> requestValidator.getProgramRunStatus(programRunId, request),
+                                              programRunInfo, metricsContext);
+  }
+
+  /**
+   * Creates a {@link PayloadProcessor} for writing payloads to the given topic.
+   *
+   * @throws UnauthorizedException if the program runtime is not allowed to write to the given topic
+   */
+  private PayloadProcessor createPayloadProcessor(TopicId topicId) throws UnauthorizedException {
+    String topic = topicId.getTopic();
     if (!allowedTopics.contains(topic)) {
       throw new UnauthorizedException("Access denied for topic " + topic);
     }
 
-    TopicId topicId = NamespaceId.SYSTEM.topic(topic);
     if (topic.startsWith(logsTopicPrefix)) {
-      return new MessageBodyConsumer(topicId, logProcessor::process, programRunInfo);
+      return logProcessor::process;
     }
 
-    return new MessageBodyConsumer(topicId, payloads -> {
+    return payloads -> {
       try {
         messagingContext.getDirectMessagePublisher().publish(topicId.getNamespace(),
                                                              topicId.getTopic(), payloads);
       } catch (TopicNotFoundException e) {
         throw new BadRequestException(e);
       }
-    }, programRunInfo);
+    };
   }
 
   /**
@@ -349,6 +406,186 @@ public class RuntimeHandler extends AbstractHttpHandler {
     }
   }
 
+  /**
+   * A {@link BodyConsumer} to consume a multiplexed request from program runtime for writing messages to
+   * multiple TMS topics. It decodes the frames and writes messages to TMS in a streaming micro-batching fashion.
+   */
+  private static final class MultiplexedMessageBodyConsumer extends BodyConsumer {
+
+    private static final Gson GSON = new Gson();
+
+    private final ProgramRunId programRunId;
+    private final Function<String, PayloadProcessor> payloadProcessorFactory;
+    private final Callable<ProgramRunInfo> programRunInfoFetcher;
+    private final ProgramRunInfo programRunInfo;
+    private final MetricsContext metricsContext;
+    private final Map<String, PayloadProcessor> payloadProcessors;
+    private final Map<String, List<byte[]>> pendingPayloads;
+    private final CompositeByteBuf buffer;
+    private final DelegatingInputStream inputStream;
+    private final Decoder decoder;
+    private ByteBuffer payload;
+    // The topic of the frame being decoded, or null if the next frame is not started yet
+    private String topic;
+    private long publishTime;
+    private long items;
+    private long frameMessages;
+    private long frameBytes;
+
+    MultiplexedMessageBodyConsumer(ProgramRunId programRunId,
+                                   Function<String, PayloadProcessor> payloadProcessorFactory,
+                                   Callable<ProgramRunInfo> programRunInfoFetcher,
+                                   ProgramRunInfo programRunInfo, MetricsContext metricsContext) {
+      this.programRunId = programRunId;
+      this.payloadProcessorFactory = payloadProcessorFactory;
+      this.programRunInfoFetcher = programRunInfoFetcher;
+      this.programRunInfo = programRunInfo;
+      this.metricsContext = metricsContext;
+      this.payloadProcessors = new HashMap<>();
+      this.pendingPayloads = new LinkedHashMap<>();
+      this.buffer = Unpooled.compositeBuffer();
+      this.inputStream = new DelegatingInputStream(new ByteBufInputStream(buffer));
+      this.decoder = DecoderFactory.get().directBinaryDecoder(inputStream, null);
+    }
+
+    @Override
+    public void chunk(ByteBuf request, HttpResponder responder) {
+      buffer.discardReadComponents();
+      buffer.addComponent(true, request.retain());
+      inputStream.setDelegate(new ByteBufInputStream(buffer));
+      try {
+        try {
+          while (inputStream.available() > 0) {
+            if (topic == null) {
+              // Read the frame header and the initial array block
+              inputStream.mark(buffer.readableBytes());
+              String frameTopic = decoder.readString();
+              long frameTime = decoder.readLong();
+              long frameItems = decoder.readArrayStart();
+              payloadProcessors.computeIfAbsent(frameTopic, payloadProcessorFactory);
+              if (frameItems == 0) {
+                continue;
+              }
+              topic = frameTopic;
+              publishTime = frameTime;
+              items = frameItems;
+            }
+
+            // Decode element in the current array block
+            List<byte[]> payloads = pendingPayloads.computeIfAbsent(topic, t -> new LinkedList<>());
+            while (items > 0) {
+              inputStream.mark(buffer.readableBytes());
+
+              // Read the payload size. If the buffer doesn't have that many bytes available, skip the decoding since
+              // more bytes need to be received.
+              long len = decoder.readLong();
+              try {
+                if (inputStream.available() < len) {
+                  return;
+                }
+              } finally {
+                inputStream.reset();
+              }
+
+              payload = decoder.readBytes(payload);
+              payloads.add(Bytes.toBytes(payload));
+              frameMessages++;
+              frameBytes += len;
+              items--;
+            }
+
+            processPayloads(topic);
+
+            // Read the next array block
+            inputStream.mark(buffer.readableBytes());
+            items = decoder.arrayNext();
+            if (items == 0) {
+              frameCompleted();
+            }
+          }
+        } catch (EOFException e) {
+          inputStream.reset();
+        }
+      } catch (IOException | BadRequestException | AccessException e) {
+        responder.sendString(e instanceof UnauthorizedException
+                               ? HttpResponseStatus.FORBIDDEN : HttpResponseStatus.BAD_REQUEST,
+                             "Failed to process request due to exception " + e.getMessage());
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public void finished(HttpResponder responder) {
+      try {
+        try {
+          for (String pendingTopic : pendingPayloads.keySet()) {
+            payloadProcessors.get(pendingTopic).process(pendingPayloads.get(pendingTopic).iterator());
+          }
+          pendingPayloads.clear();
+        } catch (BadRequestException e) {
+          responder.sendString(HttpResponseStatus.BAD_REQUEST, e.getMessage());
+          return;
+        } catch (UnauthorizedException e) {
+          responder.sendString(HttpResponseStatus.FORBIDDEN, e.getMessage());
+          return;
+        } catch (IOException | AccessException e) {
+          responder.sendString(HttpResponseStatus.SERVICE_UNAVAILABLE,
+                               "Failed to process all messages due to " + e.getMessage());
+          return;
+        }
+
+        ProgramRunInfo info = programRunInfo;
+        try {
+          info = programRunInfoFetcher.call();
+        } catch (Exception e) {
+          LOG.debug("Failed to get the latest status of program run {}. Responding with the initial status.",
+                    programRunId, e);
+        }
+        responder.sendJson(HttpResponseStatus.OK, GSON.toJson(info, ProgramRunInfo.class));
+      } finally {
+        Closeables.closeQuietly(inputStream);
+        buffer.release();
+      }
+    }
+
+    @Override
+    public void handleError(Throwable cause) {
+      LOG.error("Exception raised when processing multiplexed message body for program run {}", programRunId, cause);
+      Closeables.closeQuietly(inputStream);
+      buffer.release();
+    }
+
+    /**
+     * Processes the pending payloads of the given topic. If they cannot be processed, they are kept
+     * and will be retried at the next/finished call.
+     */
+    private void processPayloads(String payloadTopic) throws BadRequestException {
+      List<byte[]> payloads = pendingPayloads.get(payloadTopic);
+      if (payloads == null || payloads.isEmpty()) {
+        return;
+      }
+      try {
+        payloadProcessors.get(payloadTopic).process(payloads.iterator());
+        pendingPayloads.remove(payloadTopic);
+      } catch (IOException e) {
+        LOG.debug("Failed to process payload for topic {}. Will be retried", payloadTopic, e);
+      }
+    }
+
+    /**
+     * Emits the metrics of the completed frame and resets the state for decoding the next frame.
+     */
+    private void frameCompleted() {
+      metricsContext.increment(Constants.Metrics.RuntimeMonitor.RELAY_MESSAGE_COUNT, frameMessages);
+      metricsContext.increment(Constants.Metrics.RuntimeMonitor.RELAY_BYTES, frameBytes);
+      metricsContext.gauge(Constants.Metrics.RuntimeMonitor.RELAY_LATENCY_MS,
+                           Math.max(0L, System.currentTimeMillis() - publishTime));
+      topic = null;
+      frameMessages = 0L;
+      frameBytes = 0L;
+    }
+  }
+
   /**
    * An {@link InputStream} that delegates all operations to another {@link InputStream}.
    */
@@ -51,6 +51,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import javax.annotation.Nullable;
@@ -92,11 +93,14 @@ public class JobQueueTable implements JobQueue {
   private final StructuredTable jobQueueTable;
   private final AppMetadataStore appMetadataStore;
   private final int numPartitions;
+  // Partitions that have jobs written in PENDING_CONSTRAINT state through this instance
+  private final Set<Integer> pendingConstraintPartitions;
 
   JobQueueTable(StructuredTable jobQueueTable, AppMetadataStore appMetadataStore, int numPartitions) {
     this.jobQueueTable = jobQueueTable;
     this.appMetadataStore = appMetadataStore;
     this.numPartitions = numPartitions;
+    this.pendingConstraintPartitions = new HashSet<>();
   }
 
   public static JobQueueTable getJobQueue(StructuredTableContext context, CConfiguration cConf) {
@@ -230,6 +234,14 @@ public class JobQueueTable implements JobQueue {
     return numPartitions;
   }
 
+  /**
+   * Returns the set of partitions that have jobs written in {@link Job.State#PENDING_CONSTRAINT} state through
+   * this instance. The jobs are only visible to others after the transaction that wrote them is committed.
+   */
+  public Set<Integer> getPendingConstraintPartitions() {
+    return Collections.unmodifiableSet(pendingConstraintPartitions);
+  }
+
   @Override
   public CloseableIterator<Job> getJobs(int partition, @Nullable Job lastJobProcessed) throws IOException {
     Collection<Field<?>> begin;
@@ -357,6 +369,8 @@ public class JobQueueTable implements JobQueue {
     jobQueueTable.upsert(fields);
     if (job.isToBeDeleted()) {
       writeJobDelete(job, job.getDeleteTimeMillis());
+    } else if (job.getState() == Job.State.PENDING_CONSTRAINT) {
+      pendingConstraintPartitions.add(getPartition(job.getSchedule().getScheduleId()));
     }
   }
 
@@ -46,6 +46,7 @@ import io.cdap.cdap.security.spi.authorization.UnauthorizedException;
 import io.cdap.cdap.spi.data.InvalidFieldException;
 import io.cdap.cdap.spi.data.StructuredRow;
 import io.cdap.cdap.spi.data.StructuredTable;
+import io.cdap.cdap.spi.data.common.MultiRowWriter;
 import io.cdap.cdap.spi.data.table.field.Field;
 import io.cdap.cdap.spi.data.table.field.Fields;
 import io.cdap.cdap.spi.data.table.field.Range;
@@ -111,10 +112,20 @@ public class ProgramScheduleStoreDataset {
 
   private final StructuredTable scheduleStore;
   private final StructuredTable triggerStore;
+  private final Set<String> modifiedTriggerKeys;
 
   ProgramScheduleStoreDataset(StructuredTable scheduleStore, StructuredTable triggerStore) {
     this.scheduleStore = scheduleStore;
     this.triggerStore = triggerStore;
+    this.modifiedTriggerKeys = new HashSet<>();
+  }
+
+  /**
+   * Returns the trigger keys of all the schedules added, updated or deleted through this instance.
+   * This is used to invalidate the {@link ScheduleTriggerIndex} after the transaction is completed.
+   */
+  public Set<String> getModifiedTriggerKeys() {
+    return Collections.unmodifiableSet(modifiedTriggerKeys);
   }
 
   /**
@@ -138,6 +149,26 @@ public class ProgramScheduleStoreDataset {
    */
   private void addScheduleWithStatus(ProgramSchedule schedule, ProgramScheduleStatus status, long currentTime)
     throws AlreadyExistsException, IOException {
+    List<Collection<Field<?>>> scheduleRows = new ArrayList<>();
+    List<Collection<Field<?>>> triggerRows = new ArrayList<>();
+    addScheduleRows(schedule, status, currentTime, scheduleRows, triggerRows);
+    MultiRowWriter.upsert(scheduleStore, scheduleRows);
+    MultiRowWriter.upsert(triggerStore, triggerRows);
+  }
+
+  /**
+   * Generates the rows to write to the schedule and trigger tables for adding a schedule.
+   *
+   * @param schedule the schedule to add
+   * @param status the status of the schedule to add
+   * @param currentTime the current time in milliseconds when adding the schedule
+   * @param scheduleRows list to add the schedule table row to
+   * @param triggerRows list to add the trigger table rows to
+   * @throws AlreadyExistsException if the schedule already exists
+   */
+  private void addScheduleRows(ProgramSchedule schedule, ProgramScheduleStatus status, long currentTime,
+                               List<Collection<Field<?>>> scheduleRows,
+                               List<Collection<Field<?>>> triggerRows) throws AlreadyExistsException, IOException {
     Collection<Field<?>> scheduleKeys = getScheduleKeys(schedule.getScheduleId());
     Optional<StructuredRow> existing = scheduleStore.read(scheduleKeys);
     if (existing.isPresent() && existing.get().getString(StoreDefinition.ProgramScheduleStore.SCHEDULE) != null) {
@@ -148,13 +179,14 @@ public class ProgramScheduleStoreDataset {
     scheduleFields.add(Fields.stringField(StoreDefinition.ProgramScheduleStore.SCHEDULE, GSON.toJson(schedule)));
     scheduleFields.add(Fields.longField(StoreDefinition.ProgramScheduleStore.UPDATE_TIME, currentTime));
     scheduleFields.add(Fields.stringField(StoreDefinition.ProgramScheduleStore.STATUS, status.toString()));
-    scheduleStore.upsert(scheduleFields);
+    scheduleRows.add(scheduleFields);
 
     int count = 0;
     for (String triggerKey : extractTriggerKeys(schedule)) {
+      modifiedTriggerKeys.add(triggerKey);
       Collection<Field<?>> triggerFields = getTriggerKeys(scheduleKeys, count++);
       triggerFields.add(Fields.stringField(StoreDefinition.ProgramScheduleStore.TRIGGER_KEY, triggerKey));
-      triggerStore.upsert(triggerFields);
+      triggerRows.add(triggerFields);
     }
   }
 
@@ -167,9 +199,20 @@ public class ProgramScheduleStoreDataset {
    */
   public long addSchedules(Iterable<? extends ProgramSchedule> schedules) throws AlreadyExistsException, IOException {
     long currentTime = System.currentTimeMillis();
+    List<Collection<Field<?>>> scheduleRows = new ArrayList<>();
+    List<Collection<Field<?>>> triggerRows = new ArrayList<>();
+    Set<ScheduleId> scheduleIds = new HashSet<>();
     for (ProgramSchedule schedule : schedules) {
-      addScheduleWithStatus(schedule, ProgramScheduleStatus.SUSPENDED, currentTime); // initially suspended
+      // Rows are only written at the end, hence need to detect duplicates within the given schedules
+      if (!scheduleIds.add(schedule.getScheduleId())) {
+        throw new AlreadyExistsException(schedule.getScheduleId());
+      }
+      // initially suspended
+      addScheduleRows(schedule, ProgramScheduleStatus.SUSPENDED, currentTime, scheduleRows, triggerRows);
     }
+    // Write all rows together to reduce the number of round trips to the storage
+    MultiRowWriter.upsert(scheduleStore, scheduleRows);
+    MultiRowWriter.upsert(triggerStore, triggerRows);
     return currentTime;
   }
 
@@ -180,7 +223,8 @@ public class ProgramScheduleStoreDataset {
     throws NotFoundException, IOException {
     long currentTime = System.currentTimeMillis();
     // ensure it exists
-    readExistingScheduleRow(scheduleId);
+    StructuredRow existingRow = readExistingScheduleRow(scheduleId);
+    addModifiedTriggerKeys(existingRow);
     // record current time
     Collection<Field<?>> scheduleFields = getScheduleKeys(scheduleId);
     scheduleFields.add(Fields.longField(StoreDefinition.ProgramScheduleStore.UPDATE_TIME, currentTime));
@@ -223,6 +267,7 @@ public class ProgramScheduleStoreDataset {
    * @param deleteTime the timestamp for this deletion
    */
   private void markScheduleAsDeleted(StructuredRow row, long deleteTime) throws IOException {
+    addModifiedTriggerKeys(row);
     markScheduleAsDeleted(getScheduleKeys(row), deleteTime);
   }
 
@@ -331,6 +376,7 @@ public class ProgramScheduleStoreDataset {
     }
     for (ProgramScheduleRecord scheduleRecord : scheduleRecords) {
       ProgramSchedule schedule = scheduleRecord.getSchedule();
+      modifiedTriggerKeys.addAll(extractTriggerKeys(schedule));
       markScheduleAsDeleted(schedule.getScheduleId(), deleteTime);
       triggerStore.deleteAll(Range.singleton(getScheduleKeys(schedule.getScheduleId())));
 
@@ -644,6 +690,16 @@ public class ProgramScheduleStoreDataset {
     return ((SatisfiableTrigger) schedule.getTrigger()).getTriggerKeys();
   }
 
+  /**
+   * Records the trigger keys of the schedule stored in the given row as modified.
+   */
+  private void addModifiedTriggerKeys(StructuredRow row) {
+    String serializedSchedule = row.getString(StoreDefinition.ProgramScheduleStore.SCHEDULE);
+    if (serializedSchedule != null) {
+      modifiedTriggerKeys.addAll(extractTriggerKeys(GSON.fromJson(serializedSchedule, ProgramSchedule.class)));
+    }
+  }
+
   private static Collection<Field<?>> getScheduleKeys(ScheduleId scheduleId) {
     List<Field<?>> keys = new ArrayList<>();
     keys.add(Fields.stringField(StoreDefinition.ProgramScheduleStore.NAMESPACE_FIELD, scheduleId.getNamespace()));
@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.internal.app.runtime.schedule.store;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.cdap.cdap.common.conf.CConfiguration;
+import io.cdap.cdap.common.conf.Constants;
+import io.cdap.cdap.internal.app.runtime.schedule.ProgramScheduleRecord;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * An in-memory index from trigger key to the {@link ProgramScheduleRecord ProgramScheduleRecords} that have a trigger
+ * with that key, as returned by {@link ProgramScheduleStoreDataset#findSchedules(String)}.
+ *
+ * The index is kept consistent with the store by the writers of the store in this process, which call
+ * {@link #beginUpdate()} before starting a transaction that may modify schedules, and {@link #endUpdate(Set)}
+ * with the modified trigger keys after the transaction is completed. Readers load entries missing from the index
+ * from the store and add them through {@link #putAll(Map, long)}, with the index version obtained from
+ * {@link #getVersion()} before the transaction that read them was started. Entries are only added if no schedule
+ * was modified since then, hence the index never contains entries older than a completed update.
+ *
+ * Entries expire after the configured max staleness, which bounds the staleness in case the store is modified by
+ * other processes. The number of entries is bounded by the configured max size, beyond which the least recently
+ * used entries are evicted.
+ */
+@Singleton
+public final class ScheduleTriggerIndex {
+
+  private final long maxStalenessMillis;
+  private final Cache<String, Entry> entries;
+  private long version;
+  private int inflightUpdates;
+
+  @Inject
+  ScheduleTriggerIndex(CConfiguration cConf) {
+    this(cConf.getLong(Constants.Scheduler.TRIGGER_INDEX_MAX_STALENESS_MILLIS),
+         cConf.getLong(Constants.Scheduler.TRIGGER_INDEX_MAX_SIZE));
+  }
+
+  @VisibleForTesting
+  public ScheduleTriggerIndex(long maxStalenessMillis, long maxSize) {
+    this.maxStalenessMillis = maxStalenessMillis;
+    this.entries = CacheBuilder.newBuilder()
+      .expireAfterWrite(Math.max(0L, maxStalenessMillis), TimeUnit.MILLISECONDS)
+      .maximumSize(Math.max(0L, maxSize))
+      .build();
+  }
+
+  /**
+   * Returns the current version of the index, which changes every time schedules are modified.
+   */
+  public synchronized long getVersion() {
+    return version;
+  }
+
+  /**
+   * Returns the {@link Entry} for the given trigger key.
+   *
+   * @return the {@link Entry} or {@code null} if the trigger key is not in the index or its entry is too old
+   */
+  @Nullable
+  public synchronized Entry get(String triggerKey) {
+    return entries.getIfPresent(triggerKey);
+  }
+
+  /**
+   * Adds entries to the index if no schedule was modified since the given version.
+   *
+   * @param records map from trigger key to the schedule records read from the store
+   * @param version the index version obtained before the transaction that read the records was started
+   * @return {@code true} if the entries were added, {@code false} otherwise
+   */
+  public synchronized boolean putAll(Map<String, ? extends Collection<ProgramScheduleRecord>> records, long version) {
+    if (maxStalenessMillis <= 0 || version != this.version || inflightUpdates > 0) {
+      return false;
+    }
+    long now = System.currentTimeMillis();
+    for (Map.Entry<String, ? extends Collection<ProgramScheduleRecord>> entry : records.entrySet()) {
+      entries.put(entry.getKey(), new Entry(entry.getValue(), now));
+    }
+    return true;
+  }
+
+  /**
+   * Marks the beginning of a transaction that may modify schedules. No entries will be added to the index until
+   * the corresponding {@link #endUpdate(Set)} is called.
+   */
+  public synchronized void beginUpdate() {
+    inflightUpdates++;
+  }
+
+  /**
+   * Marks the completion of a transaction started after {@link #beginUpdate()}, regardless of whether
+   * the transaction was committed or not.
+   *
+   * @param modifiedTriggerKeys the trigger keys of all the schedules modified by the transaction
+   */
+  public synchronized void endUpdate(Set<String> modifiedTriggerKeys) {
+    inflightUpdates--;
+    if (!modifiedTriggerKeys.isEmpty()) {
+      version++;
+      entries.invalidateAll(modifiedTriggerKeys);
+    }
+  }
+
+  /**
+   * Returns the number of trigger keys in the index, after evicting the expired entries.
+   */
+  public synchronized long size() {
+    entries.cleanUp();
+    return entries.size();
+  }
+
+  /**
+   * An entry in the index.
+   */
+  public static final class Entry {
+    private final Collection<ProgramScheduleRecord> records;
+    private final long loadTime;
+
+    private Entry(Collection<ProgramScheduleRecord> records, long loadTime) {
+      this.records = Collections.unmodifiableList(new ArrayList<>(records));
+      this.loadTime = loadTime;
+    }
+
+    /**
+     * Returns the schedule records for the trigger key.
+     */
+    public Collection<ProgramScheduleRecord> getRecords() {
+      return records;
+    }
+
+    /**
+     * Returns the time in milliseconds when the entry was loaded from the store.
+     */
+    public long getLoadTime() {
+      return loadTime;
+    }
+  }
+}
@@ -17,20 +17,41 @@
 package io.cdap.cdap.internal.app.services;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.gson.Gson;
+import io.cdap.cdap.api.common.Bytes;
 import io.cdap.cdap.api.messaging.Message;
 import io.cdap.cdap.api.messaging.MessagingContext;
 import io.cdap.cdap.api.metrics.MetricsCollectionService;
+import io.cdap.cdap.api.metrics.MetricsContext;
 import io.cdap.cdap.common.conf.CConfiguration;
 import io.cdap.cdap.common.conf.Constants;
 import io.cdap.cdap.common.service.RetryStrategies;
+import io.cdap.cdap.common.utils.ImmutablePair;
 import io.cdap.cdap.messaging.MessagingService;
 import io.cdap.cdap.messaging.context.MultiThreadMessagingContext;
+import io.cdap.cdap.messaging.data.MessageId;
 import io.cdap.cdap.messaging.subscriber.AbstractMessagingSubscriberService;
 import io.cdap.cdap.proto.Notification;
 import io.cdap.cdap.proto.id.NamespaceId;
+import io.cdap.cdap.spi.data.StructuredTableContext;
 import io.cdap.cdap.spi.data.transaction.TransactionRunner;
+import io.cdap.cdap.spi.data.transaction.TransactionRunners;
 import org.apache.tephra.TxConstants;
+import org.apache.twill.common.Threads;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /**
  * Abstract class that fetches notifications from TMS.
@@ -43,25 +64,71 @@ public abstract class AbstractNotificationSubscriberService extends AbstractMess
   private final String name;
   private final MultiThreadMessagingContext messagingContext;
   private final TransactionRunner transactionRunner;
+  private final MetricsContext metricsContext;
+  private final int parallelism;
+  // ids of messages in partitions that were committed while another partition of the same batch failed
+  private final Set<String> committedMessageIds;
+  private ExecutorService partitionExecutor;
 
   protected AbstractNotificationSubscriberService(String name, CConfiguration cConf, String topicName,
                                                   int fetchSize, long emptyFetchDelayMillis,
                                                   MessagingService messagingService,
                                                   MetricsCollectionService metricsCollectionService,
                                                   TransactionRunner transactionRunner) {
+    this(name, cConf, topicName, fetchSize, emptyFetchDelayMillis, messagingService, metricsCollectionService,
+         transactionRunner, 1);
+  }
+
+  /**
+   * Constructor with parallel processing. See {@link #processMessages(StructuredTableContext, Iterator,
+   * MessagesProcessor)} for how messages are processed when {@code parallelism} is larger than one.
+   */
+  protected AbstractNotificationSubscriberService(String name, CConfiguration cConf, String topicName,
+                                                  int fetchSize, long emptyFetchDelayMillis,
+                                                  MessagingService messagingService,
+                                                  MetricsCollectionService metricsCollectionService,
+                                                  TransactionRunner transactionRunner, int parallelism) {
+    this(name, cConf, topicName, fetchSize, emptyFetchDelayMillis, messagingService,
+         metricsCollectionService.getContext(ImmutableMap.of(
+           Constants.Metrics.Tag.COMPONENT, Constants.Service.MASTER_SERVICES,
+           Constants.Metrics.Tag.INSTANCE_ID, "0",
+           Constants.Metrics.Tag.NAMESPACE, NamespaceId.SYSTEM.getNamespace(),
+           Constants.Metrics.Tag.TOPIC, topicName,
+           Constants.Metrics.Tag.CONSUMER, name
+         )), transactionRunner, parallelism);
+  }
+
+  private AbstractNotificationSubscriberService(String name, CConfiguration cConf, String topicName,
+                                                int fetchSize, long emptyFetchDelayMillis,
+                                                MessagingService messagingService, MetricsContext metricsContext,
+                                                TransactionRunner transactionRunner, int parallelism) {
     super(NamespaceId.SYSTEM.topic(topicName), fetchSize, cConf.getInt(TxConstants.Manager.CFG_TX_TIMEOUT),
           emptyFetchDelayMillis,
           RetryStrategies.fromConfiguration(cConf, "system.notification."),
-          metricsCollectionService.getContext(ImmutableMap.of(
-            Constants.Metrics.Tag.COMPONENT, Constants.Service.MASTER_SERVICES,
-            Constants.Metrics.Tag.INSTANCE_ID, "0",
-            Constants.Metrics.Tag.NAMESPACE, NamespaceId.SYSTEM.getNamespace(),
-            Constants.Metrics.Tag.TOPIC, topicName,
-            Constants.Metrics.Tag.CONSUMER, name
-          )));
+          metricsContext);
     this.name = name;
     this.messagingContext = new MultiThreadMessagingContext(messagingService);
     this.transactionRunner = transactionRunner;
+    this.metricsContext = metricsContext;
+    this.parallelism = parallelism;
+    this.committedMessageIds = new HashSet<>();
+  }
+
+  @Override
+  protected void doStartUp() throws Exception {
+    super.doStartUp();
+    if (parallelism > 1) {
+      partitionExecutor = Executors.newFixedThreadPool(parallelism,
+                                                       Threads.createDaemonThreadFactory(name + "-partition-%d"));
+    }
+  }
+
+  @Override
+  protected void doShutdown() throws Exception {
+    super.doShutdown();
+    if (partitionExecutor != null) {
+      partitionExecutor.shutdown();
+    }
   }
 
   @Override
@@ -83,4 +150,116 @@ public abstract class AbstractNotificationSubscriberService extends AbstractMess
   protected Notification decodeMessage(Message message) {
     return message.decodePayload(r -> GSON.fromJson(r, Notification.class));
   }
+
+  /**
+   * Returns the key for partitioning the given {@link Notification} when parallel processing is enabled.
+   * Notifications with the same key are always processed in order. By default all notifications have the same key.
+   */
+  @Nullable
+  protected String getPartitionKey(Notification notification) {
+    return null;
+  }
+
+  /**
+   * Processes a batch of messages with the given {@link MessagesProcessor}. If parallel processing is enabled,
+   * the messages are divided into at most {@code parallelism} partitions by the key returned from
+   * {@link #getPartitionKey(Notification)}, and the partitions are processed concurrently, each in its own
+   * transaction. Messages with the same key are processed in the fetched order within the same partition.
+   * Otherwise, all messages are processed sequentially with the given context.
+   *
+   * If processing of any partition fails, this method throws after all partitions are completed, such that
+   * the batch is replayed without moving the message id checkpoint. Messages in partitions that were committed
+   * are remembered and skipped in the replay, hence they are not processed twice unless the service restarts
+   * before the replay succeeds. Any state that the processor keeps for a committed partition, such as tasks for
+   * {@link #postProcess()}, is therefore kept as well, instead of being created again by the replay.
+   */
+  protected final void processMessages(StructuredTableContext context,
+                                       Iterator<ImmutablePair<String, Notification>> messages,
+                                       MessagesProcessor processor) throws Exception {
+    List<ImmutablePair<String, Notification>> batch = new ArrayList<>();
+    messages.forEachRemaining(batch::add);
+
+    // Skip messages of partitions that were already committed in a previous attempt of this batch
+    List<ImmutablePair<String, Notification>> pending = committedMessageIds.isEmpty() ? batch : batch.stream()
+      .filter(message -> !committedMessageIds.contains(message.getFirst()))
+      .collect(Collectors.toList());
+
+    List<List<ImmutablePair<String, Notification>>> partitions = partition(pending);
+    if (partitions.size() <= 1) {
+      processor.process(context, pending.iterator());
+    } else {
+      List<Future<?>> futures = new ArrayList<>();
+      for (List<ImmutablePair<String, Notification>> partition : partitions) {
+        futures.add(partitionExecutor.submit(() -> {
+          TransactionRunners.run(transactionRunner, partitionContext -> {
+            processor.process(partitionContext, partition.iterator());
+          }, Exception.class);
+          return null;
+        }));
+      }
+
+      // Always wait for all partitions, so that the next batch won't be processed concurrently with this one
+      Exception failure = null;
+      List<String> committed = new ArrayList<>();
+      for (int i = 0; i < futures.size(); i++) {
+        try {
+          Uninterruptibles.getUninterruptibly(futures.get(i));
+          partitions.get(i).forEach(message -> committed.add(message.getFirst()));
+        } catch (ExecutionException e) {
+          Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+          if (failure == null) {
+            failure = cause;
+          } else {
+            failure.addSuppressed(cause);
+          }
+        }
+      }
+      if (failure != null) {
+        committedMessageIds.addAll(committed);
+        throw failure;
+      }
+    }
+    committedMessageIds.clear();
+
+    if (!batch.isEmpty()) {
+      String lastMessageId = batch.get(batch.size() - 1).getFirst();
+      long publishTime = new MessageId(Bytes.fromHexString(lastMessageId)).getPublishTimestamp();
+      metricsContext.increment(Constants.Metrics.NotificationSubscriber.PROCESSED_MESSAGES, batch.size());
+      metricsContext.gauge(Constants.Metrics.NotificationSubscriber.PROCESS_LAG,
+                           System.currentTimeMillis() - publishTime);
+      metricsContext.gauge(Constants.Metrics.NotificationSubscriber.PARTITIONS, partitions.size());
+    }
+  }
+
+  /**
+   * Divides the messages into partitions by the partition key, preserving the message order within each partition.
+   */
+  private List<List<ImmutablePair<String, Notification>>> partition(
+    List<ImmutablePair<String, Notification>> batch) {
+    if (partitionExecutor == null || batch.size() <= 1) {
+      return batch.isEmpty() ? new ArrayList<>() : Collections.singletonList(batch);
+    }
+    List<List<ImmutablePair<String, Notification>>> partitions = new ArrayList<>();
+    for (int i = 0; i < parallelism; i++) {
+      partitions.add(new ArrayList<>());
+    }
+    for (ImmutablePair<String, Notification> message : batch) {
+      String key = getPartitionKey(message.getSecond());
+      partitions.get(key == null ? 0 : Math.floorMod(key.hashCode(), parallelism)).add(message);
+    }
+    partitions.removeIf(List::isEmpty);
+    return partitions;
+  }
+
+  /**
+   * Processes messages in a transaction.
+   */
+  protected interface MessagesProcessor {
+
+    /**
+     * Processes the given messages with the given {@link StructuredTableContext}.
+     */
+    void process(StructuredTableContext context,
+                 Iterator<ImmutablePair<String, Notification>> messages) throws Exception;
+  }
 }
@@ -87,6 +87,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 
@@ -136,13 +137,15 @@ public class ProgramNotificationSubscriberService extends AbstractNotificationSu
     super("program.status", cConf, cConf.get(Constants.AppFabric.PROGRAM_STATUS_EVENT_TOPIC),
           cConf.getInt(Constants.AppFabric.STATUS_EVENT_FETCH_SIZE),
           cConf.getLong(Constants.AppFabric.STATUS_EVENT_POLL_DELAY_MILLIS),
-          messagingService, metricsCollectionService, transactionRunner);
+          messagingService, metricsCollectionService, transactionRunner,
+          cConf.getInt(Constants.AppFabric.STATUS_EVENT_PROCESSING_PARALLELISM));
     this.recordedProgramStatusPublishTopic = cConf.get(Constants.AppFabric.PROGRAM_STATUS_RECORD_EVENT_TOPIC);
     this.provisionerNotifier = provisionerNotifier;
     this.programLifecycleService = programLifecycleService;
     this.provisioningService = provisioningService;
     this.programStateWriter = programStateWriter;
-    this.tasks = new LinkedList<>();
+    // Tasks can be added concurrently when processing messages in parallel
+    this.tasks = new ConcurrentLinkedQueue<>();
     this.metricsCollectionService = metricsCollectionService;
     this.programCompletionNotifiers = Collections.emptySet();
     this.runRecordMonitorService = runRecordMonitorService;
@@ -205,9 +208,30 @@ public class ProgramNotificationSubscriberService extends AbstractNotificationSu
     getAppMetadataStore(context).persistSubscriberState(getTopicId().getTopic(), "", messageId);
   }
 
+  @Nullable
+  @Override
+  protected String getPartitionKey(Notification notification) {
+    // Partition by application, since processing the status of a workflow also updates its inner programs
+    String programRun = notification.getProperties().get(ProgramOptionConstants.PROGRAM_RUN_ID);
+    if (programRun == null) {
+      return null;
+    }
+    ProgramRunId programRunId = GSON.fromJson(programRun, ProgramRunId.class);
+    return programRunId.getParent().getParent().toString();
+  }
+
   @Override
   protected void processMessages(StructuredTableContext structuredTableContext,
                                  Iterator<ImmutablePair<String, Notification>> messages) throws Exception {
+    // If a partition fails, committed partitions are not replayed, hence their queued tasks only run once
+    processMessages(structuredTableContext, messages, this::processPartition);
+  }
+
+  /**
+   * Processes a partition of messages in a transaction.
+   */
+  private void processPartition(StructuredTableContext structuredTableContext,
+                                Iterator<ImmutablePair<String, Notification>> messages) throws Exception {
     ProgramHeartbeatTable heartbeatDataset = new ProgramHeartbeatTable(structuredTableContext);
     List<Runnable> tasks = new LinkedList<>();
     while (messages.hasNext()) {
@@ -218,8 +242,8 @@ public class ProgramNotificationSubscriberService extends AbstractNotificationSu
       tasks.addAll(runnables);
     }
 
-    // Only add post processing tasks if all messages are processed. If there is exception in the processNotifiation,
-    // messages will be replayed.
+    // Only add post processing tasks if all messages of the partition are processed. If there is exception in the
+    // processNotification, messages of this partition will be replayed.
     this.tasks.addAll(tasks);
   }
 
@@ -197,6 +197,8 @@ public abstract class RunRecordCorrectorService extends AbstractIdleService {
    */
   private Predicate<RunRecordDetail> createFilter(Set<ProgramRunId> excludedIds) {
     long now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    // workflow runs that are known to be in end state, which is final, so that the store is read once per workflow run
+    Set<ProgramRunId> endedWorkflowRuns = new HashSet<>();
     return record -> {
       ProgramRunId programRunId = record.getProgramRunId();
 
@@ -227,10 +229,17 @@ public abstract class RunRecordCorrectorService extends AbstractIdleService {
         }
 
         // Verify the store, if the workflow status is already in end state, correct the underlying program
-        RunRecordDetail workflowRun = store.getRun(workflowProgramId.run(workflowRunId));
-        // the null check if just to avoid the NPE warning, it should never be null
-        if (timeSinceStart > startTimeoutSecs && (workflowRun == null || workflowRun.getStatus().isEndState())) {
-          return true;
+        ProgramRunId workflowProgramRunId = workflowProgramId.run(workflowRunId);
+        if (timeSinceStart > startTimeoutSecs) {
+          if (endedWorkflowRuns.contains(workflowProgramRunId)) {
+            return true;
+          }
+          RunRecordDetail workflowRun = store.getRun(workflowProgramRunId);
+          // the null check if just to avoid the NPE warning, it should never be null
+          if (workflowRun == null || workflowRun.getStatus().isEndState()) {
+            endedWorkflowRuns.add(workflowProgramRunId);
+            return true;
+          }
         }
       }
 
@@ -1356,6 +1356,104 @@ public class AppMetadataStore {
     }
   }
 
+  /**
+   * Get the latest runs of each of the given programs that fit the given set of criteria. This is equivalent to
+   * calling {@link #getRuns(ProgramId, ProgramRunStatus, long, long, int, Predicate)} for each program, but the
+   * run records of all the programs are fetched with one multi-range scan per run record type.
+   *
+   * @param programIds the programs to get the runs for
+   * @param status to filter by
+   * @param startTime the run has to be started on or after this time
+   * @param endTime the run has to be started before this time
+   * @param limitPerProgram maximum number of records to return for each program
+   * @return a map from {@link ProgramId} to the run records of the program, ordered from the latest run.
+   *         It is guaranteed to have an entry for each of the given program id.
+   * @throws IOException if failed to fetch the run records
+   */
+  public Map<ProgramId, List<RunRecordDetail>> getRuns(Collection<ProgramId> programIds, ProgramRunStatus status,
+                                                       long startTime, long endTime,
+                                                       int limitPerProgram) throws IOException {
+    Map<ProgramId, List<RunRecordDetail>> result = new LinkedHashMap<>();
+    for (ProgramId programId : programIds) {
+      result.put(programId, new ArrayList<>());
+    }
+
+    switch (status) {
+      case ALL:
+        addProgramRuns(result, status, startTime, endTime, limitPerProgram, TYPE_RUN_RECORD_ACTIVE);
+        addProgramRuns(result, status, startTime, endTime, limitPerProgram, TYPE_RUN_RECORD_COMPLETED);
+        break;
+      case PENDING:
+      case STARTING:
+      case RUNNING:
+      case SUSPENDED:
+      case STOPPING:
+        addProgramRuns(result, status, startTime, endTime, limitPerProgram, TYPE_RUN_RECORD_ACTIVE);
+        break;
+      default:
+        addProgramRuns(result, status, startTime, endTime, limitPerProgram, TYPE_RUN_RECORD_COMPLETED);
+    }
+    return result;
+  }
+
+  /**
+   * Adds the run records of the given record type to the programs in the given map that have less than
+   * the given number of runs. The runs of all the programs are scanned with one multi-range scan, bounded by
+   * the number of rows the per program scans would read in total. Programs that may have been cut off
+   * by the bound are scanned individually. Rows of each range are returned in key order, hence the runs of
+   * each program are ordered from the latest run, even if rows of different ranges are interleaved.
+   */
+  private void addProgramRuns(Map<ProgramId, List<RunRecordDetail>> result, ProgramRunStatus status,
+                              long startTime, long endTime, int limitPerProgram,
+                              String recordType) throws IOException {
+    Map<ProgramId, List<RunRecordDetail>> runs = new HashMap<>();
+    Collection<Range> ranges = new ArrayList<>();
+    for (Map.Entry<ProgramId, List<RunRecordDetail>> entry : result.entrySet()) {
+      if (entry.getValue().size() < limitPerProgram) {
+        runs.put(entry.getKey(), new ArrayList<>());
+        ranges.add(createRunRecordScanRange(getRunRecordProgramPrefix(recordType, entry.getKey()),
+                                            startTime, endTime));
+      }
+    }
+    if (ranges.isEmpty()) {
+      return;
+    }
+
+    int scanLimitPerProgram = getLimitByStatus(limitPerProgram, status);
+    int scanLimit = (int) Math.min(Integer.MAX_VALUE, (long) scanLimitPerProgram * ranges.size());
+    Map<ProgramId, Integer> scanned = new HashMap<>();
+    int totalScanned = 0;
+
+    try (CloseableIterator<StructuredRow> iterator = getRunRecordsTable().multiScan(ranges, scanLimit)) {
+      while (iterator.hasNext()) {
+        RunRecordDetail meta = deserializeRunRecordMeta(iterator.next());
+        ProgramId programId = meta.getProgramRunId().getParent();
+        totalScanned++;
+        List<RunRecordDetail> programRuns = runs.get(programId);
+        // singleton ranges can be combined by the storage into a broader query, so skip runs of other programs
+        if (programRuns == null || scanned.merge(programId, 1, Integer::sum) > scanLimitPerProgram) {
+          continue;
+        }
+        if ((status == ProgramRunStatus.ALL || status == meta.getStatus())
+          && programRuns.size() + result.get(programId).size() < limitPerProgram) {
+          programRuns.add(meta);
+        }
+      }
+    }
+
+    for (Map.Entry<ProgramId, List<RunRecordDetail>> entry : runs.entrySet()) {
+      ProgramId programId = entry.getKey();
+      List<RunRecordDetail> programRuns = entry.getValue();
+      int limit = limitPerProgram - result.get(programId).size();
+      if (totalScanned >= scanLimit && programRuns.size() < limit
+        && scanned.getOrDefault(programId, 0) < scanLimitPerProgram) {
+        programRuns = new ArrayList<>(getProgramRuns(programId, status, startTime, endTime,
+                                                     limit, null, recordType).values());
+      }
+      result.get(programId).addAll(programRuns);
+    }
+  }
+
   /**
    * Get runs in the given application.
    *
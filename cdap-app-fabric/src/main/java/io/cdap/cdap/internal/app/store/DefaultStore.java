@@ -133,7 +133,8 @@ public class DefaultStore implements Store {
   }
 
   private WorkflowTable getWorkflowTable(StructuredTableContext context) throws TableNotFoundException {
-    return new WorkflowTable(context.getTable(StoreDefinition.WorkflowStore.WORKFLOW_STATISTICS));
+    return new WorkflowTable(context.getTable(StoreDefinition.WorkflowStore.WORKFLOW_STATISTICS),
+                             context.getTable(StoreDefinition.WorkflowStore.WORKFLOW_STATISTICS_BUCKETS));
   }
 
   @Override
@@ -870,6 +871,9 @@ public class DefaultStore implements Store {
       AppMetadataStore appMetadataStore = getAppMetadataStore(context);
 
       Set<ProgramId> existingPrograms = appMetadataStore.filterProgramsExistence(programs);
+      Map<ProgramId, List<RunRecordDetail>> programRuns = appMetadataStore.getRuns(existingPrograms, status,
+                                                                                   startTime, endTime,
+                                                                                   limitPerProgram);
 
       for (ProgramId programId : programs) {
         if (!existingPrograms.contains(programId)) {
@@ -877,9 +881,7 @@ public class DefaultStore implements Store {
           continue;
         }
 
-        List<RunRecord> runs = appMetadataStore.getRuns(programId, status, startTime, endTime,
-                                                        limitPerProgram, null)
-          .values().stream()
+        List<RunRecord> runs = programRuns.get(programId).stream()
           .map(record -> RunRecord.builder(record).build()).collect(Collectors.toList());
         result.add(new ProgramHistory(programId, runs, null));
       }
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.internal.app.store;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A mergeable sketch of durations that answers percentile queries with a bounded relative error. Durations are
+ * counted in buckets with exponentially growing boundaries, such that the value representing a bucket is within
+ * {@link #RELATIVE_ACCURACY} of every duration counted in the bucket. The size of the sketch grows with the
+ * logarithm of the largest duration rather than with the number of durations.
+ */
+final class DurationSketch {
+
+  static final double RELATIVE_ACCURACY = 0.01;
+
+  private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+  private static final double LOG_GAMMA = Math.log(GAMMA);
+
+  // number of durations in each bucket, keyed by the bucket index
+  private final TreeMap<Integer, Long> counts;
+  // number of durations that are not positive
+  private long zeroCount;
+  private long count;
+
+  DurationSketch() {
+    this.counts = new TreeMap<>();
+  }
+
+  /**
+   * Adds a duration to this sketch.
+   */
+  void add(long duration) {
+    count++;
+    if (duration <= 0) {
+      zeroCount++;
+      return;
+    }
+    counts.merge(getIndex(duration), 1L, Long::sum);
+  }
+
+  /**
+   * Adds all the durations of the given sketch to this sketch.
+   */
+  void merge(DurationSketch other) {
+    count += other.count;
+    zeroCount += other.zeroCount;
+    other.counts.forEach((index, bucketCount) -> counts.merge(index, bucketCount, Long::sum));
+  }
+
+  /**
+   * @return the number of durations added to this sketch
+   */
+  long getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the duration at the given percentile. Same as the exact computation over the sorted durations, it is
+   * the duration at position {@code (percentile * count) / 100}.
+   *
+   * @param percentile the percentile between 0 and 100
+   * @return the duration at the percentile, within the {@link #RELATIVE_ACCURACY} of the exact duration
+   */
+  long getPercentile(double percentile) {
+    Preconditions.checkState(count > 0, "Cannot compute percentile of an empty sketch");
+    long rank = Math.min((long) ((percentile * count) / 100), count - 1);
+    if (rank < zeroCount) {
+      return 0L;
+    }
+    long seen = zeroCount;
+    for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+      seen += entry.getValue();
+      if (seen > rank) {
+        return Math.round(getValue(entry.getKey()));
+      }
+    }
+    // Shouldn't happen since the counts of all buckets sum up to the total count
+    return Math.round(getValue(counts.lastKey()));
+  }
+
+  private static int getIndex(long duration) {
+    return (int) Math.ceil(Math.log(duration) / LOG_GAMMA);
+  }
+
+  private static double getValue(int index) {
+    return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+  }
+}
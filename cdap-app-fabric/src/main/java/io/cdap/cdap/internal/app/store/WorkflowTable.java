@@ -24,6 +24,7 @@ import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import io.cdap.cdap.api.dataset.lib.CloseableIterator;
 import io.cdap.cdap.common.app.RunIds;
+import io.cdap.cdap.common.utils.ImmutablePair;
 import io.cdap.cdap.proto.PercentileInformation;
 import io.cdap.cdap.proto.ProgramType;
 import io.cdap.cdap.proto.WorkflowStatistics;
@@ -51,23 +52,30 @@ import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 
 /**
- * Dataset for Completed Workflows and their associated programs
+ * Dataset for Completed Workflows and their associated programs. Besides the record of each completed workflow run,
+ * statistics of the programs in the workflow runs are aggregated per day of the workflow start time, such that
+ * statistics over long time ranges are computed without reading the program runs of every workflow run.
  */
 public class WorkflowTable {
 
   private static final Gson GSON = new Gson();
   private static final Type PROGRAM_RUNS_TYPE = new TypeToken<List<ProgramRun>>() { }.getType();
+  private static final Type NODE_STATISTICS_TYPE = new TypeToken<Map<String, NodeStatistics>>() { }.getType();
+  private static final long BUCKET_SECONDS = TimeUnit.DAYS.toSeconds(1);
 
   private final StructuredTable table;
+  private final StructuredTable bucketTable;
 
-  WorkflowTable(StructuredTable table) {
+  WorkflowTable(StructuredTable table, StructuredTable bucketTable) {
     this.table = table;
+    this.bucketTable = bucketTable;
   }
 
   void write(WorkflowId id, RunRecordDetail runRecordMeta, List<ProgramRun> programRunList) throws IOException {
     long startTs = runRecordMeta.getStartTs();
 
     List<Field<?>> fields = getPrimaryKeyFields(id, startTs);
+    boolean overwrite = table.read(fields).isPresent();
     Long stopTs = runRecordMeta.getStopTs();
     Preconditions.checkState(stopTs != null, "Workflow Stats are written when the workflow has completed. Hence, " +
       "expected workflow stop time to be non-null. Workflow = %s, Run = %s, Stop time = %s", id, runRecordMeta, stopTs);
@@ -77,46 +85,78 @@ public class WorkflowTable {
     fields.add(Fields.stringField(StoreDefinition.WorkflowStore.PROGRAM_RUN_DATA,
                                   GSON.toJson(programRunList, PROGRAM_RUNS_TYPE)));
     table.upsert(fields);
-  }
-
-  public void delete(ApplicationId id) throws IOException {
-    table.deleteAll(
-      Range.singleton(
-        ImmutableList.of(Fields.stringField(StoreDefinition.WorkflowStore.NAMESPACE_FIELD, id.getNamespace()),
-                         Fields.stringField(StoreDefinition.WorkflowStore.APPLICATION_FIELD, id.getApplication()))));
-  }
-
-  @VisibleForTesting
-  void deleteAll() throws IOException {
-    table.deleteAll(
-      Range.from(ImmutableList.of(Fields.stringField(StoreDefinition.WorkflowStore.NAMESPACE_FIELD, "")),
-                 Range.Bound.INCLUSIVE));
+    updateBucket(id, startTs, programRunList, overwrite);
   }
 
   /**
-   * This function scans the workflow.stats dataset for a list of workflow runs in a time range.
+   * Adds the program runs of a completed workflow run to the statistics of the bucket the run belongs to.
    *
-   * @param id The workflow id
-   * @param timeRangeStart Start of the time range that the scan should begin from
-   * @param timeRangeEnd End of the time range that the scan should end at
-   * @return List of WorkflowRunRecords
+   * @param id the workflow id
+   * @param startTs the start time of the workflow run
+   * @param programRuns the program runs of the workflow run
+   * @param overwrite {@code true} if the workflow run was already written before
    */
-  private List<WorkflowRunRecord> scan(WorkflowId id, long timeRangeStart, long timeRangeEnd) throws IOException {
-    List<WorkflowRunRecord> workflowRunRecordList;
-    try (CloseableIterator<StructuredRow> iterator =
-           table.scan(Range.create(getPrimaryKeyFields(id, timeRangeStart), Range.Bound.INCLUSIVE,
-                                   getPrimaryKeyFields(id, timeRangeEnd), Range.Bound.EXCLUSIVE), Integer.MAX_VALUE)) {
-      workflowRunRecordList = new ArrayList<>();
-      while (iterator.hasNext()) {
-        workflowRunRecordList.add(getRunRecordFromRow(iterator.next()));
+  private void updateBucket(WorkflowId id, long startTs, List<ProgramRun> programRuns,
+                            boolean overwrite) throws IOException {
+    long bucketTime = getBucketTime(startTs);
+    List<Field<?>> fields = getBucketKeyFields(id, bucketTime);
+    Optional<StructuredRow> bucketRow = bucketTable.read(fields);
+
+    long runCount = 0;
+    Map<String, NodeStatistics> nodeStatistics;
+    if (bucketRow.isPresent() && !overwrite) {
+      runCount = bucketRow.get().getLong(StoreDefinition.WorkflowStore.RUN_COUNT_FIELD);
+      nodeStatistics = GSON.fromJson(bucketRow.get().getString(StoreDefinition.WorkflowStore.NODE_STATISTICS_FIELD),
+                                     NODE_STATISTICS_TYPE);
+    } else {
+      // Aggregate the other runs in the bucket. It happens for the first run of a bucket, for buckets having runs
+      // written before the statistics were aggregated, and when a run is written again.
+      nodeStatistics = new HashMap<>();
+      try (CloseableIterator<StructuredRow> iterator =
+             table.scan(Range.create(getPrimaryKeyFields(id, bucketTime), Range.Bound.INCLUSIVE,
+                                     getPrimaryKeyFields(id, bucketTime + BUCKET_SECONDS), Range.Bound.EXCLUSIVE),
+                        Integer.MAX_VALUE)) {
+        while (iterator.hasNext()) {
+          StructuredRow row = iterator.next();
+          if (row.getLong(StoreDefinition.WorkflowStore.START_TIME_FIELD) == startTs) {
+            continue;
+          }
+          runCount++;
+          addProgramRuns(nodeStatistics, GSON.fromJson(row.getString(StoreDefinition.WorkflowStore.PROGRAM_RUN_DATA),
+                                                       PROGRAM_RUNS_TYPE));
+        }
       }
     }
-    return workflowRunRecordList;
+    addProgramRuns(nodeStatistics, programRuns);
+
+    fields.add(Fields.longField(StoreDefinition.WorkflowStore.RUN_COUNT_FIELD, runCount + 1));
+    fields.add(Fields.stringField(StoreDefinition.WorkflowStore.NODE_STATISTICS_FIELD,
+                                  GSON.toJson(nodeStatistics, NODE_STATISTICS_TYPE)));
+    bucketTable.upsert(fields);
+  }
+
+  public void delete(ApplicationId id) throws IOException {
+    Range range = Range.singleton(
+      ImmutableList.of(Fields.stringField(StoreDefinition.WorkflowStore.NAMESPACE_FIELD, id.getNamespace()),
+                       Fields.stringField(StoreDefinition.WorkflowStore.APPLICATION_FIELD, id.getApplication())));
+    table.deleteAll(range);
+    bucketTable.deleteAll(range);
+  }
+
+  @VisibleForTesting
+  void deleteAll() throws IOException {
+    Range range = Range.from(ImmutableList.of(Fields.stringField(StoreDefinition.WorkflowStore.NAMESPACE_FIELD, "")),
+                             Range.Bound.INCLUSIVE);
+    table.deleteAll(range);
+    bucketTable.deleteAll(range);
   }
 
   /**
    * This method returns the statistics for a corresponding workflow. The user has to
    * provide a time interval and a list of percentiles that are required.
+   * The statistics of the workflow runs are exact. The statistics of the programs in the workflow are computed from
+   * the statistics aggregated per day for the days fully covered by the time range, and the percentiles of the
+   * program run times are within {@link DurationSketch#RELATIVE_ACCURACY} of the exact values.
    *
    * @param id The workflow id
    * @param startTime The start of the time range from where the user wants the statistics
@@ -129,9 +169,33 @@ public class WorkflowTable {
   @Nullable
   public WorkflowStatistics getStatistics(WorkflowId id, long startTime,
                                           long endTime, List<Double> percentiles) throws Exception {
-    List<WorkflowRunRecord> workflowRunRecords = scan(id, startTime, endTime);
-    int runs = workflowRunRecords.size();
+    Map<Long, ImmutablePair<Long, String>> buckets = scanBuckets(id, startTime, endTime);
+    List<WorkflowRunRecord> workflowRunRecords = new ArrayList<>();
+    Map<String, NodeStatistics> nodeStatistics = new HashMap<>();
+
+    try (CloseableIterator<StructuredRow> iterator =
+           table.scan(Range.create(getPrimaryKeyFields(id, startTime), Range.Bound.INCLUSIVE,
+                                   getPrimaryKeyFields(id, endTime), Range.Bound.EXCLUSIVE), Integer.MAX_VALUE)) {
+      // Rows are sorted by start time, hence the runs of a bucket are consecutive
+      long bucketTime = -1L;
+      List<String> bucketProgramRuns = new ArrayList<>();
+      while (iterator.hasNext()) {
+        StructuredRow row = iterator.next();
+        long rowBucketTime = getBucketTime(row.getLong(StoreDefinition.WorkflowStore.START_TIME_FIELD));
+        if (rowBucketTime != bucketTime) {
+          addBucket(nodeStatistics, buckets.get(bucketTime), bucketProgramRuns);
+          bucketTime = rowBucketTime;
+          bucketProgramRuns.clear();
+        }
+        workflowRunRecords.add(new WorkflowRunRecord(row.getString(StoreDefinition.WorkflowStore.RUN_ID_FIELD),
+                                                     row.getLong(StoreDefinition.WorkflowStore.TIME_TAKEN_FIELD),
+                                                     Collections.emptyList()));
+        bucketProgramRuns.add(row.getString(StoreDefinition.WorkflowStore.PROGRAM_RUN_DATA));
+      }
+      addBucket(nodeStatistics, buckets.get(bucketTime), bucketProgramRuns);
+    }
 
+    int runs = workflowRunRecords.size();
     if (runs == 0) {
       return null;
     }
@@ -146,32 +210,76 @@ public class WorkflowTable {
 
     List<PercentileInformation> percentileInformationList = getPercentiles(workflowRunRecords, percentiles);
 
-    Collection<ProgramRunDetails> programToRunRecord = getProgramRuns(workflowRunRecords);
-
     Map<String, Map<String, String>> programToStatistic = new HashMap<>();
-    for (ProgramRunDetails entry : programToRunRecord) {
-      double avgForProgram = 0;
-      for (long value : entry.getProgramRunList()) {
-        avgForProgram += value;
-      }
-      avgForProgram /= entry.getProgramRunList().size();
+    for (Map.Entry<String, NodeStatistics> entry : nodeStatistics.entrySet()) {
+      NodeStatistics statistics = entry.getValue();
       Map<String, String> programMap = new HashMap<>();
-      programMap.put("type", entry.getProgramType().toString());
-      programMap.put("runs", Long.toString(entry.getProgramRunList().size()));
-      programMap.put("avgRunTime", Double.toString(avgForProgram));
-      programToStatistic.put(entry.getName(), programMap);
-      List<Long> runList = entry.getProgramRunList();
-      Collections.sort(runList);
+      programMap.put("type", statistics.getProgramType().toString());
+      programMap.put("runs", Long.toString(statistics.getRuns()));
+      programMap.put("avgRunTime", Double.toString((double) statistics.getTotalTimeTaken() / statistics.getRuns()));
       for (double percentile : percentiles) {
-        long percentileValue = runList.get((int) ((percentile * runList.size()) / 100));
-        programToStatistic.get(entry.getName()).put(Double.toString(percentile), Long.toString(percentileValue));
+        programMap.put(Double.toString(percentile), Long.toString(statistics.getTimeTaken().getPercentile(percentile)));
       }
+      programToStatistic.put(entry.getKey(), programMap);
     }
 
     return new WorkflowStatistics(startTime, endTime, runs, avgRunTime, percentileInformationList,
                                   programToStatistic);
   }
 
+  /**
+   * Returns the run count and the program statistics of the buckets that start in the given time range, keyed by the
+   * bucket time.
+   */
+  private Map<Long, ImmutablePair<Long, String>> scanBuckets(WorkflowId id, long startTime,
+                                                             long endTime) throws IOException {
+    Map<Long, ImmutablePair<Long, String>> buckets = new HashMap<>();
+    try (CloseableIterator<StructuredRow> iterator =
+           bucketTable.scan(Range.create(getBucketKeyFields(id, startTime), Range.Bound.INCLUSIVE,
+                                         getBucketKeyFields(id, endTime), Range.Bound.EXCLUSIVE), Integer.MAX_VALUE)) {
+      while (iterator.hasNext()) {
+        StructuredRow row = iterator.next();
+        buckets.put(row.getLong(StoreDefinition.WorkflowStore.BUCKET_TIME_FIELD),
+                    ImmutablePair.of(row.getLong(StoreDefinition.WorkflowStore.RUN_COUNT_FIELD),
+                                     row.getString(StoreDefinition.WorkflowStore.NODE_STATISTICS_FIELD)));
+      }
+    }
+    return buckets;
+  }
+
+  /**
+   * Adds the program statistics of the runs in a bucket. The aggregated statistics of the bucket are used if the
+   * bucket is fully covered by the query, that is, they are aggregated over the same number of runs as the runs of
+   * the bucket in the query range. Otherwise the program runs of each workflow run are added.
+   *
+   * @param nodeStatistics the program statistics to add to
+   * @param bucket the run count and the program statistics of the bucket, or {@code null} if there is none
+   * @param programRuns the serialized program runs of the runs of the bucket in the query range
+   */
+  private void addBucket(Map<String, NodeStatistics> nodeStatistics, @Nullable ImmutablePair<Long, String> bucket,
+                         List<String> programRuns) {
+    if (bucket != null && bucket.getFirst() == programRuns.size()) {
+      Map<String, NodeStatistics> bucketStatistics = GSON.fromJson(bucket.getSecond(), NODE_STATISTICS_TYPE);
+      bucketStatistics.forEach((name, statistics) -> {
+        NodeStatistics existing = nodeStatistics.putIfAbsent(name, statistics);
+        if (existing != null) {
+          existing.merge(statistics);
+        }
+      });
+      return;
+    }
+    for (String runs : programRuns) {
+      addProgramRuns(nodeStatistics, GSON.fromJson(runs, PROGRAM_RUNS_TYPE));
+    }
+  }
+
+  private void addProgramRuns(Map<String, NodeStatistics> nodeStatistics, List<ProgramRun> programRuns) {
+    for (ProgramRun run : programRuns) {
+      nodeStatistics.computeIfAbsent(run.getName(), name -> new NodeStatistics(run.getProgramType()))
+        .add(run.getTimeTaken());
+    }
+  }
+
   private List<PercentileInformation> getPercentiles(List<WorkflowRunRecord> workflowRunRecords,
                                                      List<Double> percentiles) {
     int runs = workflowRunRecords.size();
@@ -198,21 +306,6 @@ public class WorkflowTable {
     return workflowRunRecords;
   }
 
-  private Collection<ProgramRunDetails> getProgramRuns(List<WorkflowTable.WorkflowRunRecord> workflowRunRecords) {
-    Map<String, ProgramRunDetails> programToRunRecord = new HashMap<>();
-    for (WorkflowTable.WorkflowRunRecord workflowRunRecord : workflowRunRecords) {
-      for (WorkflowTable.ProgramRun run : workflowRunRecord.getProgramRuns()) {
-        ProgramRunDetails programRunDetails = programToRunRecord.get(run.getName());
-        if (programRunDetails == null) {
-          programRunDetails = new ProgramRunDetails(run.getName(), run.getProgramType(), new ArrayList<Long>());
-          programToRunRecord.put(run.getName(), programRunDetails);
-        }
-        programRunDetails.addToProgramRunList(run.getTimeTaken());
-      }
-    }
-    return programToRunRecord.values();
-  }
-
   @Nullable
   WorkflowRunRecord getRecord(WorkflowId id, String pid) throws IOException {
     RunId runId = RunIds.fromString(pid);
@@ -282,33 +375,45 @@ public class WorkflowTable {
   }
 
   /**
-   * Class to store the name, type and list of runs of the programs across all workflow runs
+   * Class to store the type and the statistics of the run times of a program across workflow runs
    */
-  private static final class ProgramRunDetails {
-    private final String name;
+  private static final class NodeStatistics {
     private final ProgramType programType;
-    private final List<Long> programRunList;
+    private final DurationSketch timeTaken;
+    private long runs;
+    private long totalTimeTaken;
 
-    ProgramRunDetails(String name, ProgramType programType, List<Long> programRunList) {
-      this.name = name;
+    NodeStatistics(ProgramType programType) {
       this.programType = programType;
-      this.programRunList = programRunList;
+      this.timeTaken = new DurationSketch();
     }
 
-    public void addToProgramRunList(long time) {
-      this.programRunList.add(time);
+    void add(long time) {
+      runs++;
+      totalTimeTaken += time;
+      timeTaken.add(time);
     }
 
-    public String getName() {
-      return name;
+    void merge(NodeStatistics other) {
+      runs += other.runs;
+      totalTimeTaken += other.totalTimeTaken;
+      timeTaken.merge(other.timeTaken);
     }
 
-    public ProgramType getProgramType() {
+    ProgramType getProgramType() {
       return programType;
     }
 
-    public List<Long> getProgramRunList() {
-      return programRunList;
+    DurationSketch getTimeTaken() {
+      return timeTaken;
+    }
+
+    long getRuns() {
+      return runs;
+    }
+
+    long getTotalTimeTaken() {
+      return totalTimeTaken;
     }
   }
 
@@ -382,6 +487,20 @@ public class WorkflowTable {
     return fields;
   }
 
+  private static List<Field<?>> getBucketKeyFields(WorkflowId id, long bucketTime) {
+    List<Field<?>> fields = new ArrayList<>();
+    fields.add(Fields.stringField(StoreDefinition.WorkflowStore.NAMESPACE_FIELD, id.getNamespace()));
+    fields.add(Fields.stringField(StoreDefinition.WorkflowStore.APPLICATION_FIELD, id.getApplication()));
+    fields.add(Fields.stringField(StoreDefinition.WorkflowStore.VERSION_FIELD, id.getVersion()));
+    fields.add(Fields.stringField(StoreDefinition.WorkflowStore.PROGRAM_FIELD, id.getProgram()));
+    fields.add(Fields.longField(StoreDefinition.WorkflowStore.BUCKET_TIME_FIELD, bucketTime));
+    return fields;
+  }
+
+  private static long getBucketTime(long startTs) {
+    return startTs - Math.floorMod(startTs, BUCKET_SECONDS);
+  }
+
   private static WorkflowRunRecord getRunRecordFromRow(StructuredRow row) {
     return new WorkflowRunRecord(row.getString(StoreDefinition.WorkflowStore.RUN_ID_FIELD),
                                  row.getLong(StoreDefinition.WorkflowStore.TIME_TAKEN_FIELD),
@@ -33,8 +33,10 @@ import io.cdap.cdap.app.store.preview.PreviewStore;
 import io.cdap.cdap.common.ConflictException;
 import io.cdap.cdap.common.app.RunIds;
 import io.cdap.cdap.data2.dataset2.lib.table.MDSKey;
+import io.cdap.cdap.data2.dataset2.lib.table.leveldb.KeyValue;
 import io.cdap.cdap.data2.dataset2.lib.table.leveldb.LevelDBTableCore;
 import io.cdap.cdap.data2.dataset2.lib.table.leveldb.LevelDBTableService;
+import io.cdap.cdap.internal.app.preview.PreviewDataPayload;
 import io.cdap.cdap.internal.io.SchemaTypeAdapter;
 import io.cdap.cdap.proto.BasicThrowable;
 import io.cdap.cdap.proto.artifact.AppRequest;
@@ -49,9 +51,13 @@ import io.cdap.cdap.proto.security.Principal;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
@@ -70,6 +76,9 @@ public class DefaultPreviewStore implements PreviewStore {
   private static final byte[] RUN = Bytes.toBytes("r");
   private static final byte[] STATUS = Bytes.toBytes("s");
   private static final byte[] POLLERINFO = Bytes.toBytes("i");
+  // Gson instances are thread safe once created, hence the preview data codec is shared by all writes
+  private static final Gson DATA_GSON = new GsonBuilder().registerTypeAdapter(Schema.class, new SchemaTypeAdapter())
+    .registerTypeAdapter(StructuredRecord.class, new PreviewJsonSerializer()).create();
   /*
    * Row storing the preview requests waiting for execution
    * |------------------------------------|--------------------|-----------------|
@@ -105,19 +114,34 @@ public class DefaultPreviewStore implements PreviewStore {
 
   @Override
   public void put(ApplicationId applicationId, String tracerName, String propertyName, Object value) {
-    // PreviewStore is a singleton and we have to create gson for each operation since gson is not thread safe.
-    Gson gson = new GsonBuilder().registerTypeAdapter(Schema.class, new SchemaTypeAdapter())
-      .registerTypeAdapter(StructuredRecord.class, new PreviewJsonSerializer()).create();
-    MDSKey mdsKey = getPreviewRowKeyBuilder(DATA_ROW_KEY_PREFIX, applicationId)
-      .add(tracerName).add(counter.getAndIncrement()).build();
+    putAll(Collections.singletonList(new PreviewDataPayload(applicationId, tracerName, propertyName, value)));
+  }
+
+  @Override
+  public void putAll(Collection<PreviewDataPayload> payloads) {
+    if (payloads.isEmpty()) {
+      return;
+    }
+
+    // Write all columns of all the records with one write batch
+    NavigableMap<byte[], Map<byte[], byte[]>> changes = new TreeMap<>(Bytes.BYTES_COMPARATOR);
+    for (PreviewDataPayload payload : payloads) {
+      MDSKey mdsKey = getPreviewRowKeyBuilder(DATA_ROW_KEY_PREFIX, payload.getApplicationId())
+        .add(payload.getTracerName()).add(counter.getAndIncrement()).build();
+      Map<byte[], byte[]> columns = new TreeMap<>(Bytes.BYTES_COMPARATOR);
+      columns.put(TRACER, Bytes.toBytes(payload.getTracerName()));
+      columns.put(PROPERTY, Bytes.toBytes(payload.getPropertyName()));
+      columns.put(VALUE, Bytes.toBytes(DATA_GSON.toJson(payload.getPropertyValue())));
+      changes.put(mdsKey.getKey(), columns);
+    }
 
     try {
-      previewTable.putDefaultVersion(mdsKey.getKey(), TRACER, Bytes.toBytes(tracerName));
-      previewTable.putDefaultVersion(mdsKey.getKey(), PROPERTY, Bytes.toBytes(propertyName));
-      previewTable.putDefaultVersion(mdsKey.getKey(), VALUE, Bytes.toBytes(gson.toJson(value)));
+      previewTable.persist(changes, KeyValue.LATEST_TIMESTAMP);
     } catch (IOException e) {
-      String message = String.format("Error while putting property '%s' for application '%s' and tracer '%s' in" +
-                                       " preview table.", propertyName, applicationId, tracerName);
+      PreviewDataPayload first = payloads.iterator().next();
+      String message = String.format("Error while putting %d preview data records for application '%s' and tracer " +
+                                       "'%s' in preview table.", payloads.size(), first.getApplicationId(),
+                                     first.getTracerName());
       throw new RuntimeException(message, e);
     }
   }
@@ -41,13 +41,20 @@ public class RunnableTaskLauncher {
     this.injector = injector;
   }
 
-  public RunnableTaskContext launchRunnableTask(RunnableTaskRequest request) throws Exception {
-    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-    if (classLoader == null) {
-      classLoader = getClass().getClassLoader();
+  /**
+   * Loads the given {@link RunnableTask} class and prepares its binding without creating an instance, so that
+   * launching the task afterwards doesn't need to load the classes.
+   */
+  public void warmUp(String className) throws ClassNotFoundException {
+    Class<?> clazz = loadClass(className);
+    if (!RunnableTask.class.isAssignableFrom(clazz)) {
+      throw new ClassCastException(String.format("%s is not a RunnableTask", className));
     }
+    injector.getBinding(clazz);
+  }
 
-    Class<?> clazz = classLoader.loadClass(request.getClassName());
+  public RunnableTaskContext launchRunnableTask(RunnableTaskRequest request) throws Exception {
+    Class<?> clazz = loadClass(request.getClassName());
 
     Object obj = injector.getInstance(clazz);
 
@@ -63,4 +70,12 @@ public class RunnableTaskLauncher {
     runnableTask.run(runnableTaskContext);
     return runnableTaskContext;
   }
+
+  private Class<?> loadClass(String className) throws ClassNotFoundException {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    if (classLoader == null) {
+      classLoader = getClass().getClassLoader();
+    }
+    return classLoader.loadClass(className);
+  }
 }
@@ -20,6 +20,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.inject.Singleton;
 import io.cdap.cdap.api.metrics.MetricsCollectionService;
+import io.cdap.cdap.api.metrics.MetricsContext;
 import io.cdap.cdap.api.service.worker.RunnableTaskContext;
 import io.cdap.cdap.api.service.worker.RunnableTaskParam;
 import io.cdap.cdap.api.service.worker.RunnableTaskRequest;
@@ -47,10 +48,14 @@ import org.slf4j.LoggerFactory;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -82,8 +87,25 @@ public class TaskWorkerHttpHandlerInternal extends AbstractHttpHandler {
 
   private final RunnableTaskLauncher runnableTaskLauncher;
   private final BiConsumer<Boolean, TaskDetails> stopper;
+  private final Consumer<String> serviceStopper;
 
-  private final AtomicBoolean hasInflightRequest = new AtomicBoolean(false);
+  /**
+   * Admission control of requests. A request runs in one of the task slots, or waits in a bounded queue for a slot.
+   * Once the worker must be restarted, no more request is admitted and the worker is stopped when the last
+   * inflight request finishes.
+   */
+  private final Object admissionLock = new Object();
+  private final int maxConcurrentRequests;
+  private final int maxQueuedRequests;
+  private final long queueTimeoutMillis;
+  private int inflightRequests;
+  private int queuedRequests;
+  private boolean stopping;
+
+  /**
+   * Task classes that have been launched or pre-warmed by this handler.
+   */
+  private final Set<String> warmClasses = ConcurrentHashMap.newKeySet();
 
   /**
    * Holds the total number of requests that have been executed by this handler that should count toward max allowed.
@@ -104,29 +126,106 @@ public class TaskWorkerHttpHandlerInternal extends AbstractHttpHandler {
     this.runnableTaskLauncher = new RunnableTaskLauncher(cConf);
     this.metricsCollectionService = metricsCollectionService;
     this.metadataServiceEndpoint = cConf.get(Constants.TaskWorker.METADATA_SERVICE_END_POINT);
+    this.maxConcurrentRequests = Math.max(1, cConf.getInt(Constants.TaskWorker.REQUEST_CONCURRENCY, 1));
+    this.maxQueuedRequests = Math.max(0, cConf.getInt(Constants.TaskWorker.REQUEST_QUEUE_SIZE, 0));
+    this.queueTimeoutMillis = cConf.getLong(Constants.TaskWorker.REQUEST_QUEUE_TIMEOUT_MS, 0L);
+    this.serviceStopper = stopper;
     this.stopper = (terminate, taskDetails) -> {
       emitMetrics(taskDetails);
 
-      if (mustRestart.get()) {
-        stopper.accept(taskDetails.getClassName());
-        return;
+      boolean restart = mustRestart.get();
+      if (!restart) {
+        if (!terminate || taskDetails.getClassName() == null || killAfterRequestCount <= 0) {
+          // No need to restart.
+          requestProcessedCount.decrementAndGet();
+        } else {
+          restart = requestProcessedCount.get() >= killAfterRequestCount;
+        }
       }
+      releaseSlot(restart, taskDetails.getClassName());
+    };
+
+    enablePeriodicRestart(cConf);
+    prewarm(cConf.getTrimmedStringCollection(Constants.TaskWorker.PREWARM_CLASSES));
+  }
 
-      if (!terminate || taskDetails.getClassName() == null || killAfterRequestCount <= 0) {
-        // No need to restart.
-        requestProcessedCount.decrementAndGet();
-        hasInflightRequest.set(false);
-        return;
+  /**
+   * Loads the given task classes and prepares their bindings in the background, so that the first requests for
+   * these tasks don't pay for the class loading.
+   */
+  private void prewarm(Collection<String> classNames) {
+    if (classNames.isEmpty()) {
+      return;
+    }
+    Thread thread = Threads.createDaemonThreadFactory("task-worker-prewarm").newThread(() -> {
+      for (String className : classNames) {
+        try {
+          runnableTaskLauncher.warmUp(className);
+          warmClasses.add(className);
+          LOG.debug("Pre-warmed task class {}", className);
+        } catch (Exception e) {
+          LOG.warn("Failed to pre-warm task class {}", className, e);
+        }
       }
+    });
+    thread.start();
+  }
 
-      if (requestProcessedCount.get() >= killAfterRequestCount) {
-        stopper.accept(taskDetails.getClassName());
-      } else {
-        hasInflightRequest.set(false);
+  /**
+   * Acquires a task slot for a request, waiting in the queue if all the slots are used.
+   *
+   * @return the time in milliseconds spent waiting for the slot, or {@code -1} if the request is not admitted
+   */
+  private long acquireSlot() {
+    long startTime = System.currentTimeMillis();
+    synchronized (admissionLock) {
+      if (stopping) {
+        return -1L;
       }
-    };
+      if (inflightRequests < maxConcurrentRequests) {
+        inflightRequests++;
+        return 0L;
+      }
+      if (queuedRequests >= maxQueuedRequests) {
+        return -1L;
+      }
+      queuedRequests++;
+      try {
+        long deadline = startTime + queueTimeoutMillis;
+        long waitTime = deadline - System.currentTimeMillis();
+        while (!stopping && waitTime > 0) {
+          admissionLock.wait(waitTime);
+          if (!stopping && inflightRequests < maxConcurrentRequests) {
+            inflightRequests++;
+            return System.currentTimeMillis() - startTime;
+          }
+          waitTime = deadline - System.currentTimeMillis();
+        }
+        return -1L;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return -1L;
+      } finally {
+        queuedRequests--;
+      }
+    }
+  }
 
-    enablePeriodicRestart(cConf, stopper);
+  /**
+   * Releases the task slot of a finished request. If the worker must be restarted, no more request is admitted
+   * and the worker is stopped once there is no inflight request.
+   */
+  private void releaseSlot(boolean restart, @Nullable String className) {
+    boolean stopNow;
+    synchronized (admissionLock) {
+      inflightRequests--;
+      stopping = stopping || restart;
+      stopNow = stopping && inflightRequests == 0;
+      admissionLock.notifyAll();
+    }
+    if (stopNow) {
+      serviceStopper.accept(className);
+    }
   }
 
   /**
@@ -135,7 +234,7 @@ public class TaskWorkerHttpHandlerInternal extends AbstractHttpHandler {
    * range = [Duration - DURATION_FRACTION * Duration, Duration + DURATION_FRACTION * Duration]
    * Reason: by randomizing the duration, it is guaranteed that pods do not get restarted at the same time.
    */
-  private void enablePeriodicRestart(CConfiguration cConf, Consumer<String> stopper) {
+  private void enablePeriodicRestart(CConfiguration cConf) {
     int duration = cConf.getInt(Constants.TaskWorker.CONTAINER_KILL_AFTER_DURATION_SECOND, 0);
     int lowerBound = (int) (duration - duration * DURATION_FRACTION);
     int upperBound = (int) (duration + duration * DURATION_FRACTION);
@@ -144,14 +243,18 @@ public class TaskWorkerHttpHandlerInternal extends AbstractHttpHandler {
       Executors.newSingleThreadScheduledExecutor(Threads.createDaemonThreadFactory("task-worker-restart"))
         .schedule(
           () -> {
-            if (hasInflightRequest.compareAndSet(false, true)) {
+            mustRestart.set(true);
+            boolean stopNow;
+            synchronized (admissionLock) {
+              // no more request is admitted, and we restart once the ongoing requests finish.
+              stopNow = !stopping && inflightRequests == 0;
+              stopping = true;
+              admissionLock.notifyAll();
+            }
+            if (stopNow) {
               // there is no ongoing request. pod gets restarted.
-              stopper.accept("");
+              serviceStopper.accept("");
             }
-            // we restart once a request finishes.
-            // TODO: this might delay the pod restart to after executing a new request if the
-            // ongoing request is already in the stopper.
-            mustRestart.set(true);
           }, waitTime, TimeUnit.SECONDS);
     }
   }
@@ -168,7 +271,10 @@ public class TaskWorkerHttpHandlerInternal extends AbstractHttpHandler {
   @POST
   @Path("/run")
   public void run(FullHttpRequest request, HttpResponder responder) {
-    if (!hasInflightRequest.compareAndSet(false, true)) {
+    long queueWaitTime = acquireSlot();
+    if (queueWaitTime < 0) {
+      metricsCollectionService.getContext(Collections.emptyMap())
+        .increment(Constants.Metrics.TaskWorker.REQUEST_REJECTED_COUNT, 1L);
       responder.sendStatus(HttpResponseStatus.TOO_MANY_REQUESTS);
       return;
     }
@@ -180,6 +286,7 @@ public class TaskWorkerHttpHandlerInternal extends AbstractHttpHandler {
       RunnableTaskRequest runnableTaskRequest =
         GSON.fromJson(request.content().toString(StandardCharsets.UTF_8), RunnableTaskRequest.class);
       className = getTaskClassName(runnableTaskRequest);
+      emitStartMetrics(className, queueWaitTime, warmClasses.add(runnableTaskRequest.getClassName()));
       RunnableTaskContext runnableTaskContext = runnableTaskLauncher.launchRunnableTask(runnableTaskRequest);
 
       responder.sendContent(HttpResponseStatus.OK,
@@ -198,6 +305,14 @@ public class TaskWorkerHttpHandlerInternal extends AbstractHttpHandler {
     }
   }
 
+  private void emitStartMetrics(String className, long queueWaitTime, boolean coldStart) {
+    MetricsContext metricsContext =
+      metricsCollectionService.getContext(Collections.singletonMap(Constants.Metrics.Tag.CLASS, className));
+    metricsContext.gauge(Constants.Metrics.TaskWorker.REQUEST_QUEUE_WAIT_MS, queueWaitTime);
+    metricsContext.increment(coldStart ? Constants.Metrics.TaskWorker.REQUEST_COLD_START_COUNT
+                               : Constants.Metrics.TaskWorker.REQUEST_WARM_START_COUNT, 1L);
+  }
+
   private String getTaskClassName(RunnableTaskRequest runnableTaskRequest) {
     return Optional.ofNullable(runnableTaskRequest.getParam())
       .map(RunnableTaskParam::getEmbeddedTaskRequest)
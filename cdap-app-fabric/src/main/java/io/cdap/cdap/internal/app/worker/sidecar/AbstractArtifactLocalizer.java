@@ -16,14 +16,20 @@
 
 package io.cdap.cdap.internal.app.worker.sidecar;
 
+import com.google.common.base.Throwables;
 import com.google.common.io.CharStreams;
 import com.google.common.net.HttpHeaders;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.inject.Inject;
 import io.cdap.cdap.api.artifact.ArtifactScope;
+import io.cdap.cdap.api.common.Bytes;
+import io.cdap.cdap.api.metrics.MetricsCollectionService;
 import io.cdap.cdap.api.retry.RetryableException;
 import io.cdap.cdap.common.ArtifactNotFoundException;
 import io.cdap.cdap.common.ServiceUnavailableException;
 import io.cdap.cdap.common.conf.Constants;
 import io.cdap.cdap.common.internal.remote.RemoteClient;
+import io.cdap.cdap.common.metrics.NoOpMetricsCollectionService;
 import io.cdap.cdap.common.service.RetryStrategy;
 import io.cdap.cdap.common.utils.DirUtils;
 import io.cdap.cdap.common.utils.FileUtils;
@@ -40,31 +46,67 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import javax.annotation.Nullable;
 
 /**
  * Base class for Artifact Localizer and Artifact Cache.
  * Provides functionality to fetch and cache artifacts from a remote endpoint.
+ *
+ * Concurrent fetches of the same artifact are de-duplicated, so that only one request is made to the remote endpoint
+ * and the other callers share its result. An artifact that was fetched or validated within the freshness window is
+ * returned without calling the remote endpoint. Downloaded jars are stored by content hash under the
+ * {@link #BLOBS_DIR} directory and hard linked to the artifact directories, so that identical jars of different
+ * namespaces or peers share the same disk space.
  */
 public abstract class AbstractArtifactLocalizer {
+  public static final String BLOBS_DIR = "blobs";
+
   private static final Logger LOG = LoggerFactory.getLogger(AbstractArtifactLocalizer.class);
 
   protected final String dataDir;
   protected final RetryStrategy retryStrategy;
+  private final long freshnessWindowMillis;
+  private final ConcurrentMap<File, CompletableFuture<File>> inflightFetches;
+  private final ConcurrentMap<File, FetchedArtifact> fetchedArtifacts;
+  private volatile MetricsCollectionService metricsCollectionService;
 
   protected AbstractArtifactLocalizer(String dataDir, RetryStrategy retryStrategy) {
+    this(dataDir, retryStrategy, 0L);
+  }
+
+  protected AbstractArtifactLocalizer(String dataDir, RetryStrategy retryStrategy, long freshnessWindowMillis) {
     this.dataDir = dataDir;
     this.retryStrategy = retryStrategy;
+    this.freshnessWindowMillis = freshnessWindowMillis;
+    this.inflightFetches = new ConcurrentHashMap<>();
+    this.fetchedArtifacts = new ConcurrentHashMap<>();
+    this.metricsCollectionService = new NoOpMetricsCollectionService();
+  }
+
+  @Inject(optional = true)
+  void setMetricsCollectionService(MetricsCollectionService metricsCollectionService) {
+    this.metricsCollectionService = metricsCollectionService;
   }
 
   /**
@@ -79,6 +121,55 @@ public abstract class AbstractArtifactLocalizer {
    * @throws ArtifactNotFoundException If the given artifact does not exist
    */
   protected File fetchArtifact(ArtifactId artifactId, RemoteClient remoteClient, File artifactDir)
+    throws IOException, ArtifactNotFoundException {
+    FetchedArtifact fetched = fetchedArtifacts.get(artifactDir);
+    if (fetched != null) {
+      if (fetched.isFresh() && fetched.getFile().exists()) {
+        LOG.trace("Using artifact {} fetched within the freshness window", artifactId);
+        emitCacheMetric(artifactId, Constants.Metrics.ArtifactLocalizer.CACHE_HIT);
+        return touch(fetched.getFile());
+      }
+      // The artifact is out of the freshness window or it was deleted by the cleaner
+      fetchedArtifacts.remove(artifactDir, fetched);
+    }
+
+    // Only one fetch is performed at a time for the same artifact, concurrent callers wait for its result
+    CompletableFuture<File> future = new CompletableFuture<>();
+    CompletableFuture<File> existing = inflightFetches.putIfAbsent(artifactDir, future);
+    if (existing != null) {
+      LOG.trace("Waiting for the ongoing fetch of artifact {}", artifactId);
+      try {
+        return Uninterruptibles.getUninterruptibly(existing);
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        Throwables.propagateIfPossible(cause, IOException.class, ArtifactNotFoundException.class);
+        throw new IOException("Failed to fetch artifact " + artifactId, cause);
+      }
+    }
+
+    try {
+      File file = doFetchArtifact(artifactId, remoteClient, artifactDir);
+      if (freshnessWindowMillis > 0) {
+        // Remove the artifacts that are out of the freshness window, such that only the artifacts fetched within
+        // the window are kept
+        fetchedArtifacts.values().removeIf(artifact -> !artifact.isFresh());
+        long freshUntil = System.currentTimeMillis() + freshnessWindowMillis;
+        fetchedArtifacts.put(artifactDir, new FetchedArtifact(file, freshUntil));
+      }
+      future.complete(file);
+      return file;
+    } catch (Throwable t) {
+      future.completeExceptionally(t);
+      throw t;
+    } finally {
+      inflightFetches.remove(artifactDir, future);
+    }
+  }
+
+  /**
+   * Fetches the given artifact from the remote endpoint, unless the locally cached version is the newest.
+   */
+  private File doFetchArtifact(ArtifactId artifactId, RemoteClient remoteClient, File artifactDir)
     throws IOException, ArtifactNotFoundException {
     Long lastModifiedTimestamp = getCurrentLastModifiedTimestamp(artifactDir);
     HttpURLConnection urlConn = openConnection(artifactId, remoteClient);
@@ -102,7 +193,8 @@ public abstract class AbstractArtifactLocalizer {
           throw new RetryableException(String.format("Locally cached artifact jar for %s is missing.",
                                                      artifactId));
         }
-        return artifactJarLocation;
+        emitCacheMetric(artifactId, Constants.Metrics.ArtifactLocalizer.CACHE_HIT);
+        return touch(artifactJarLocation);
       }
 
       throwIfError(urlConn, artifactId);
@@ -116,12 +208,32 @@ public abstract class AbstractArtifactLocalizer {
       // avoid race conditions with multiple threads.
       Path tempFile = Files.createTempFile(newLocation.getParentFile().toPath(),
                                            String.valueOf(newTimestamp), ".jar");
-      return downloadArtifact(urlConn, newLocation.toPath(), tempFile);
+      emitCacheMetric(artifactId, Constants.Metrics.ArtifactLocalizer.CACHE_MISS);
+      return downloadArtifact(artifactId, urlConn, newLocation.toPath(), tempFile);
     } finally {
       urlConn.disconnect();
     }
   }
 
+  /**
+   * Updates the last modified time of the given artifact jar, which is used by {@link ArtifactLocalizerCleaner}
+   * to find the least recently used artifacts.
+   */
+  private File touch(File artifactJar) {
+    try {
+      Files.setLastModifiedTime(artifactJar.toPath(), FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException e) {
+      LOG.trace("Failed to update the last modified time of {}", artifactJar, e);
+    }
+    return artifactJar;
+  }
+
+  private void emitCacheMetric(ArtifactId artifactId, String metricName) {
+    metricsCollectionService.getContext(Collections.singletonMap(Constants.Metrics.Tag.NAMESPACE,
+                                                                 artifactId.getNamespace()))
+      .increment(metricName, 1L);
+  }
+
   /**
    * Returns a {@link File} representing the cached jar for the given artifact and timestamp. The file path is:
    * /<artifact_dir>/<last-modified-timestamp>.jar
@@ -159,23 +271,74 @@ public abstract class AbstractArtifactLocalizer {
    * Downloads an artifact using the provided {@link HttpURLConnection} and returns the location of the downloaded
    * artifact.
    *
+   * @param artifactId the ArtifactId of the artifact to download
    * @param urlConn the HttpURLConnection
    * @param destination the path where the artifact should be downloaded to
    * @param tempFile the path to temporary file used during artifact download
    * @return the location of the downloaded artifact
    * @throws IOException if there was an unexpected error
    */
-  private File downloadArtifact(HttpURLConnection urlConn, Path destination, Path tempFile) throws IOException {
-    try (InputStream in = urlConn.getInputStream()) {
-      Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
-      Files.move(tempFile, destination, StandardCopyOption.ATOMIC_MOVE,
-                 StandardCopyOption.REPLACE_EXISTING);
+  private File downloadArtifact(ArtifactId artifactId, HttpURLConnection urlConn,
+                                Path destination, Path tempFile) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // SHA-256 is always supported by the JVM
+      throw new IllegalStateException(e);
+    }
+    try (InputStream in = new DigestInputStream(urlConn.getInputStream(), digest)) {
+      long bytes = Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+      metricsCollectionService.getContext(Collections.singletonMap(Constants.Metrics.Tag.NAMESPACE,
+                                                                   artifactId.getNamespace()))
+        .increment(Constants.Metrics.ArtifactLocalizer.BYTES_DOWNLOADED, bytes);
+      if (!linkToBlob(Bytes.toHexString(digest.digest()), tempFile, destination)) {
+        Files.move(tempFile, destination, StandardCopyOption.ATOMIC_MOVE,
+                   StandardCopyOption.REPLACE_EXISTING);
+      }
     } finally {
       Files.deleteIfExists(tempFile);
     }
     return destination.toFile();
   }
 
+  /**
+   * Stores the downloaded jar under the blobs directory by its content hash, if there is no blob with the same
+   * content yet, and atomically places a hard link to the blob at the destination.
+   *
+   * @return {@code true} if the destination is linked to the blob, {@code false} if hard links cannot be used
+   */
+  private boolean linkToBlob(String hash, Path tempFile, Path destination) {
+    Path blobsDir = Paths.get(dataDir, BLOBS_DIR);
+    Path blob = blobsDir.resolve(hash + ".jar");
+    // Use a jar extension for the temporary link so that it is removed by the cleaner if it is left behind
+    Path tempLink = destination.resolveSibling(FileUtils.getNameWithoutExtension(tempFile.getFileName().toString())
+                                                 + ".link.jar");
+    try {
+      if (!Files.exists(blob)) {
+        DirUtils.mkdirs(blobsDir.toFile());
+        try {
+          Files.createLink(blob, tempFile);
+        } catch (FileAlreadyExistsException e) {
+          // Another thread stored the same content
+        }
+      }
+      Files.createLink(tempLink, blob);
+      Files.move(tempLink, destination, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      return true;
+    } catch (IOException | UnsupportedOperationException e) {
+      LOG.debug("Failed to link {} to blob {}, storing the artifact jar without sharing", destination, blob, e);
+      return false;
+    } finally {
+      // The move is a no-op if the destination is already a link to the same blob
+      try {
+        Files.deleteIfExists(tempLink);
+      } catch (IOException e) {
+        LOG.trace("Failed to delete temporary link {}", tempLink, e);
+      }
+    }
+  }
+
   /**
    * This checks the local cache for this artifact and retrieves the timestamp for the newest cache entry, if this
    * artifact is not cached it returns null
@@ -238,4 +401,25 @@ public abstract class AbstractArtifactLocalizer {
         String.format("Failed to fetch artifact %s from app-fabric due to %s", artifactId, errMsg));
     }
   }
+
+  /**
+   * An artifact jar fetched from the remote endpoint, with the time until which it is considered fresh.
+   */
+  private static final class FetchedArtifact {
+    private final File file;
+    private final long freshUntil;
+
+    FetchedArtifact(File file, long freshUntil) {
+      this.file = file;
+      this.freshUntil = freshUntil;
+    }
+
+    File getFile() {
+      return file;
+    }
+
+    boolean isFresh() {
+      return System.currentTimeMillis() < freshUntil;
+    }
+  }
 }
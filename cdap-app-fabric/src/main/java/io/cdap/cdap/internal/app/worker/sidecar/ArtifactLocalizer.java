@@ -70,7 +70,8 @@ import java.util.Set;
  * 4. Return the local path to the newest version of the artifact jar.
  *
  * NOTE: There is no need to invalidate the cache at any point since we will always need to call appfabric to confirm
- * that the cached version is the newest version available.
+ * that the cached version is the newest version available, unless the artifact was fetched within the freshness
+ * window configured by {@link Constants.ArtifactLocalizer#FRESHNESS_WINDOW_MS}.
  */
 public class ArtifactLocalizer extends AbstractArtifactLocalizer {
 
@@ -84,7 +85,8 @@ public class ArtifactLocalizer extends AbstractArtifactLocalizer {
   public ArtifactLocalizer(CConfiguration cConf, RemoteClientFactory remoteClientFactory,
                            ArtifactManagerFactory artifactManagerFactory) {
     super(cConf.get(Constants.CFG_LOCAL_DATA_DIR),
-          RetryStrategies.fromConfiguration(cConf, Constants.Service.TASK_WORKER + "."));
+          RetryStrategies.fromConfiguration(cConf, Constants.Service.TASK_WORKER + "."),
+          cConf.getLong(Constants.ArtifactLocalizer.FRESHNESS_WINDOW_MS));
     this.cConf = cConf;
     this.artifactManagerFactory = artifactManagerFactory;
     // TODO (CDAP-18047) verify SSL cert should be enabled.
@@ -24,28 +24,62 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import javax.validation.constraints.NotNull;
 
 /**
- * Artifact cleaner that will deleted out-of-date cache entries that were localized by {@link ArtifactLocalizer}
+ * Artifact cleaner that will deleted out-of-date cache entries that were localized by {@link ArtifactLocalizer}.
+ * If a maximum cache size is given, the least recently used artifacts are deleted until the cached jars fit
+ * within the size. Jars stored by content hash in the blobs directory are deleted once no artifact links to them.
  */
 public class ArtifactLocalizerCleaner implements Runnable {
   private static final Logger LOG = LoggerFactory.getLogger(ArtifactLocalizerCleaner.class);
 
   private final Path cacheDir;
+  @Nullable
+  private final Path blobsDir;
   private final int cacheCleanupInterval;
+  private final long maxCacheBytes;
 
   public ArtifactLocalizerCleaner(Path cacheDir, int cacheCleanupInterval) {
+    this(cacheDir, null, cacheCleanupInterval, 0L);
+  }
+
+  /**
+   * Creates a cleaner that also enforces a maximum size of the cache.
+   *
+   * @param cacheDir the directory that contains the cached jar files
+   * @param blobsDir the directory that contains the jar files stored by content hash, or {@code null} if none
+   * @param cacheCleanupInterval the interval in minutes between cleanups
+   * @param maxCacheBytes the maximum size in bytes of the cached jar files, or {@code 0} for no limit
+   */
+  public ArtifactLocalizerCleaner(Path cacheDir, @Nullable Path blobsDir,
+                                  int cacheCleanupInterval, long maxCacheBytes) {
     this.cacheDir = cacheDir;
+    this.blobsDir = blobsDir;
     this.cacheCleanupInterval = cacheCleanupInterval;
+    this.maxCacheBytes = maxCacheBytes;
   }
 
   @Override
   public void run() {
     try {
       cleanupArtifactCache(cacheDir.toFile());
+      if (maxCacheBytes > 0) {
+        enforceCacheSize();
+      }
+      if (blobsDir != null) {
+        deleteUnusedBlobs(blobsDir.toFile());
+      }
     } catch (Exception e) {
       LOG.warn("ArtifactLocalizerService failed to clean up cache. Will retry again in {} minutes: {}",
                cacheCleanupInterval, e);
@@ -101,6 +135,94 @@ public class ArtifactLocalizerCleaner implements Runnable {
     }
   }
 
+  /**
+   * Deletes the least recently used jar files, together with their unpacked directories, until the total size of the
+   * jar files is within the maximum cache size. Jar files sharing the same content through hard links are only
+   * counted once. Jar files used within the last cleanup interval are never deleted.
+   */
+  private void enforceCacheSize() throws IOException {
+    List<Path> jars;
+    try (Stream<Path> paths = Files.walk(cacheDir)) {
+      jars = paths.filter(path -> path.getFileName().toString().endsWith(".jar") && Files.isRegularFile(path))
+        .collect(Collectors.toList());
+    }
+
+    // Count the size of each distinct file once, and the number of jar files linking to it
+    Map<Object, Long> sizes = new HashMap<>();
+    Map<Object, Integer> linkCounts = new HashMap<>();
+    Map<Path, BasicFileAttributes> jarAttributes = new HashMap<>();
+    for (Path jar : jars) {
+      BasicFileAttributes attributes;
+      try {
+        attributes = Files.readAttributes(jar, BasicFileAttributes.class);
+      } catch (IOException e) {
+        // The file may be deleted concurrently
+        continue;
+      }
+      Object key = getFileKey(jar, attributes);
+      jarAttributes.put(jar, attributes);
+      sizes.put(key, attributes.size());
+      linkCounts.merge(key, 1, Integer::sum);
+    }
+
+    long totalBytes = sizes.values().stream().mapToLong(Long::longValue).sum();
+    if (totalBytes <= maxCacheBytes) {
+      return;
+    }
+    LOG.debug("Artifact cache size {} exceeds the maximum size {}, deleting least recently used artifacts",
+              totalBytes, maxCacheBytes);
+
+    long recentTime = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(cacheCleanupInterval);
+    List<Path> lruJars = new ArrayList<>(jarAttributes.keySet());
+    lruJars.sort(Comparator.comparingLong(jar -> jarAttributes.get(jar).lastModifiedTime().toMillis()));
+    for (Path jar : lruJars) {
+      if (totalBytes <= maxCacheBytes) {
+        break;
+      }
+      BasicFileAttributes attributes = jarAttributes.get(jar);
+      if (attributes.lastModifiedTime().toMillis() >= recentTime) {
+        LOG.debug("Artifact cache size {} still exceeds the maximum size {} with only recently used artifacts left",
+                  totalBytes, maxCacheBytes);
+        break;
+      }
+      if (!deleteUnpackedCacheDir(jar.toFile())) {
+        continue;
+      }
+      Files.deleteIfExists(jar);
+      LOG.debug("Deleted least recently used JAR file {}", jar);
+      Object key = getFileKey(jar, attributes);
+      if (linkCounts.merge(key, -1, Integer::sum) == 0) {
+        totalBytes -= sizes.get(key);
+      }
+    }
+  }
+
+  /**
+   * Deletes the jar files in the blobs directory that are not linked by any cached artifact.
+   */
+  private void deleteUnusedBlobs(File blobsDir) {
+    for (File blob : DirUtils.listFiles(blobsDir, File::isFile)) {
+      try {
+        Object linkCount = Files.getAttribute(blob.toPath(), "unix:nlink");
+        if (linkCount instanceof Integer && (Integer) linkCount <= 1) {
+          Files.deleteIfExists(blob.toPath());
+          LOG.debug("Deleted unused blob {}", blob);
+        }
+      } catch (UnsupportedOperationException | IllegalArgumentException e) {
+        // The link count is not available on this file system, hence the blobs cannot be shared either
+        LOG.trace("Cannot get the link count of {}", blob, e);
+        return;
+      } catch (IOException e) {
+        LOG.debug("Failed to delete unused blob {}", blob, e);
+      }
+    }
+  }
+
+  private Object getFileKey(Path path, BasicFileAttributes attributes) {
+    Object key = attributes.fileKey();
+    return key == null ? path : key;
+  }
+
   /**
    * Deletes the unpacked directory that corresponds to the given jar file
    *
@@ -64,7 +64,10 @@ public class ArtifactLocalizerService extends AbstractIdleService {
 
     this.cacheCleanupInterval = cConf.getInt(Constants.ArtifactLocalizer.CACHE_CLEANUP_INTERVAL_MIN);
     String cacheDir = cConf.get(Constants.CFG_LOCAL_DATA_DIR);
-    this.cleaner = new ArtifactLocalizerCleaner(Paths.get(cacheDir).resolve("artifacts"), cacheCleanupInterval);
+    this.cleaner = new ArtifactLocalizerCleaner(Paths.get(cacheDir).resolve("artifacts"),
+                                                Paths.get(cacheDir).resolve(AbstractArtifactLocalizer.BLOBS_DIR),
+                                                cacheCleanupInterval,
+                                                cConf.getLong(Constants.ArtifactLocalizer.CACHE_MAX_SIZE_MB) << 20);
   }
 
   @VisibleForTesting
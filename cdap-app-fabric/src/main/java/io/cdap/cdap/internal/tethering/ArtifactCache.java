@@ -42,7 +42,8 @@ public class ArtifactCache extends AbstractArtifactLocalizer {
   @Inject
   ArtifactCache(CConfiguration cConf) {
     super(cConf.get(Constants.ArtifactCache.LOCAL_DATA_DIR),
-          RetryStrategies.fromConfiguration(cConf, Constants.Service.ARTIFACT_CACHE + "."));
+          RetryStrategies.fromConfiguration(cConf, Constants.Service.ARTIFACT_CACHE + "."),
+          cConf.getLong(Constants.ArtifactCache.FRESHNESS_WINDOW_MS));
   }
 
   /**
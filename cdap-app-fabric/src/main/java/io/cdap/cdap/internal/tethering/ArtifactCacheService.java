@@ -23,6 +23,7 @@ import io.cdap.cdap.common.conf.Constants;
 import io.cdap.cdap.common.discovery.ResolvingDiscoverable;
 import io.cdap.cdap.common.discovery.URIScheme;
 import io.cdap.cdap.common.http.CommonNettyHttpServiceFactory;
+import io.cdap.cdap.internal.app.worker.sidecar.AbstractArtifactLocalizer;
 import io.cdap.cdap.internal.app.worker.sidecar.ArtifactLocalizerCleaner;
 import io.cdap.cdap.security.spi.authenticator.RemoteAuthenticator;
 import io.cdap.http.NettyHttpService;
@@ -70,7 +71,10 @@ public class ArtifactCacheService extends AbstractIdleService {
       .build();
     cacheCleanupInterval = cConf.getInt(Constants.ArtifactCache.CACHE_CLEANUP_INTERVAL_MIN);
     String cacheDir = cConf.get(Constants.ArtifactCache.LOCAL_DATA_DIR);
-    cleaner = new ArtifactLocalizerCleaner(Paths.get(cacheDir).resolve("peers"), cacheCleanupInterval);
+    cleaner = new ArtifactLocalizerCleaner(Paths.get(cacheDir).resolve("peers"),
+                                           Paths.get(cacheDir).resolve(AbstractArtifactLocalizer.BLOBS_DIR),
+                                           cacheCleanupInterval,
+                                           cConf.getLong(Constants.ArtifactCache.CACHE_MAX_SIZE_MB) << 20);
   }
 
   @Override
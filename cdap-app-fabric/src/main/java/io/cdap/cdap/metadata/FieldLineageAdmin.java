@@ -157,14 +157,25 @@ public class FieldLineageAdmin {
     Map<DatasetId, Set<FieldRelation>> incomingRelations = new HashMap<>();
     Map<DatasetId, Set<FieldRelation>> outgoingRelations = new HashMap<>();
     Map<DatasetId, Integer> fieldCount = new HashMap<>();
-    for (String field : lineageFields) {
-      EndPointField endPointField = new EndPointField(endPoint, field);
 
+    // Read the summaries of all the fields at once instead of querying each field separately
+    Map<String, Set<EndPointField>> incomingSummaries = Collections.emptyMap();
+    Map<String, Set<EndPointField>> outgoingSummaries = Collections.emptyMap();
+    if (direction == Constants.FieldLineage.Direction.INCOMING ||
+      direction == Constants.FieldLineage.Direction.BOTH) {
+      incomingSummaries = fieldLineageReader.getIncomingSummaries(endPoint, start, end);
+    }
+    if (direction == Constants.FieldLineage.Direction.OUTGOING ||
+      direction == Constants.FieldLineage.Direction.BOTH) {
+      outgoingSummaries = fieldLineageReader.getOutgoingSummaries(endPoint, start, end);
+    }
+
+    for (String field : lineageFields) {
       // compute the incoming field level lineage
       if (direction == Constants.FieldLineage.Direction.INCOMING ||
         direction == Constants.FieldLineage.Direction.BOTH) {
         Map<DatasetId, Set<String>> incomingSummary =
-          convertSummaryToDatasetMap(fieldLineageReader.getIncomingSummary(endPointField, start, end));
+          convertSummaryToDatasetMap(incomingSummaries.getOrDefault(field, Collections.emptySet()));
         // compute the field count for all incoming datasets
         incomingSummary.keySet().forEach(datasetId -> {
           fieldCount.computeIfAbsent(
@@ -179,7 +190,7 @@ public class FieldLineageAdmin {
       if (direction == Constants.FieldLineage.Direction.OUTGOING ||
         direction == Constants.FieldLineage.Direction.BOTH) {
         Map<DatasetId, Set<String>> outgoingSummary =
-          convertSummaryToDatasetMap(fieldLineageReader.getOutgoingSummary(endPointField, start, end));
+          convertSummaryToDatasetMap(outgoingSummaries.getOrDefault(field, Collections.emptySet()));
         // compute the field count for all outgoing datasets
         outgoingSummary.keySet().forEach(datasetId -> {
           fieldCount.computeIfAbsent(
@@ -19,16 +19,21 @@ package io.cdap.cdap.metadata;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.inject.Inject;
 import io.cdap.cdap.api.app.ApplicationSpecification;
+import io.cdap.cdap.api.metrics.MetricsCollectionService;
+import io.cdap.cdap.api.metrics.MetricsContext;
 import io.cdap.cdap.api.workflow.WorkflowActionNode;
 import io.cdap.cdap.api.workflow.WorkflowNode;
 import io.cdap.cdap.api.workflow.WorkflowSpecification;
 import io.cdap.cdap.app.store.Store;
 import io.cdap.cdap.common.app.RunIds;
+import io.cdap.cdap.common.conf.Constants;
+import io.cdap.cdap.common.metrics.NoOpMetricsCollectionService;
 import io.cdap.cdap.data2.metadata.lineage.AccessType;
 import io.cdap.cdap.data2.metadata.lineage.DefaultLineageStoreReader;
 import io.cdap.cdap.data2.metadata.lineage.Lineage;
@@ -39,6 +44,7 @@ import io.cdap.cdap.internal.app.store.RunRecordDetail;
 import io.cdap.cdap.proto.ProgramType;
 import io.cdap.cdap.proto.id.ApplicationId;
 import io.cdap.cdap.proto.id.DatasetId;
+import io.cdap.cdap.proto.id.NamespaceId;
 import io.cdap.cdap.proto.id.ProgramId;
 import io.cdap.cdap.proto.id.ProgramRunId;
 import io.cdap.cdap.proto.id.WorkflowId;
@@ -76,11 +82,21 @@ public class LineageAdmin {
 
   private final LineageStoreReader lineageStoreReader;
   private final Store store;
+  private final MetricsContext metricsContext;
 
-  @Inject
+  @VisibleForTesting
   LineageAdmin(LineageStoreReader lineageStoreReader, Store store) {
+    this(lineageStoreReader, store, new NoOpMetricsCollectionService());
+  }
+
+  @Inject
+  LineageAdmin(LineageStoreReader lineageStoreReader, Store store,
+               MetricsCollectionService metricsCollectionService) {
     this.lineageStoreReader = lineageStoreReader;
     this.store = store;
+    this.metricsContext = metricsCollectionService.getContext(ImmutableMap.of(
+      Constants.Metrics.Tag.NAMESPACE, NamespaceId.SYSTEM.getNamespace(),
+      Constants.Metrics.Tag.COMPONENT, Constants.Service.MASTER_SERVICES));
   }
 
   /**
@@ -137,46 +153,64 @@ public class LineageAdmin {
 
     toVisitDatasets.add(sourceData);
     for (int i = 0; i < levels; ++i) {
-      LOG.trace("Level {}", i);
+      long levelStartMillis = System.currentTimeMillis();
+      // Only the datasets that are not visited in the previous levels are expanded
+      Set<DatasetId> datasetFrontier = toVisitDatasets.stream()
+        .filter(visitedDatasets::add)
+        .collect(Collectors.toSet());
+      if (datasetFrontier.isEmpty()) {
+        break;
+      }
+      LOG.trace("Level {}, visiting datasets {}", i, datasetFrontier);
+
+      // Fetch related programs of all the datasets in the frontier, the programs will be the inner programs which
+      // access the datasets. For example, mapreduce or spark program in a workflow
+      Map<DatasetId, Set<Relation>> datasetRelations =
+        lineageStoreReader.getDatasetRelations(datasetFrontier, scanRange.getStart(), scanRange.getEnd(),
+                                               scanRange.getFilter());
+      Set<Relation> programRelations = datasetRelations.values().stream()
+        .flatMap(Set::stream)
+        .collect(Collectors.toSet());
+      LOG.trace("Got program relations {}", programRelations);
+
       toVisitPrograms.clear();
-      for (DatasetId d : toVisitDatasets) {
-        if (visitedDatasets.add(d)) {
-          LOG.trace("Visiting dataset {}", d);
-          // Fetch related programs, the programs will be the inner programs which access the datasets. For example,
-          // mapreduce or spark program in a workflow
-          Set<Relation> programRelations = lineageStoreReader.getRelations(d, scanRange.getStart(), scanRange.getEnd(),
-                                                                           scanRange.getFilter());
-          LOG.trace("Got program relations {}", programRelations);
-
-          // if we want to roll up lineage for workflow, we need to figure out what workflow these programs are related
-          // to and find out all the inner programs of that workflow, the workflow run id can also be used to
-          // determine if a dataset is local dataset. The local dataset always ends with the workflow run id
-          if (rollUpWorkflow) {
-            computeWorkflowInnerPrograms(toVisitPrograms, programWorkflowMap, programRelations);
-          }
-
-          // add to the relations, replace the inner program with the workflow using the map, ignore the
-          // local datasets relations, the local dataset always ends with the run id of the workflow
-          filterAndAddRelations(rollUpWorkflow, relations, programWorkflowMap, programRelations);
-          toVisitPrograms.addAll(programRelations.stream().map(Relation::getProgram).collect(Collectors.toSet()));
-        }
+      // if we want to roll up lineage for workflow, we need to figure out what workflow these programs are related
+      // to and find out all the inner programs of that workflow, the workflow run id can also be used to
+      // determine if a dataset is local dataset. The local dataset always ends with the workflow run id
+      if (rollUpWorkflow) {
+        computeWorkflowInnerPrograms(toVisitPrograms, programWorkflowMap, programRelations);
       }
 
+      // add to the relations, replace the inner program with the workflow using the map, ignore the
+      // local datasets relations, the local dataset always ends with the run id of the workflow
+      filterAndAddRelations(rollUpWorkflow, relations, programWorkflowMap, programRelations);
+      toVisitPrograms.addAll(programRelations.stream().map(Relation::getProgram).collect(Collectors.toSet()));
+
+      Set<ProgramId> programFrontier = toVisitPrograms.stream()
+        .filter(visitedPrograms::add)
+        .collect(Collectors.toSet());
+      LOG.trace("Level {}, visiting programs {}", i, programFrontier);
+
+      // Fetch related datasets of all the programs in the frontier
+      Map<ProgramId, Set<Relation>> programDatasetRelations =
+        lineageStoreReader.getProgramRelations(programFrontier, scanRange.getStart(), scanRange.getEnd(),
+                                               scanRange.getFilter());
       toVisitDatasets.clear();
-      for (ProgramId p : toVisitPrograms) {
-        if (visitedPrograms.add(p)) {
-          LOG.trace("Visiting program {}", p);
-          // Fetch related datasets
-          Set<Relation> datasetRelations = lineageStoreReader.getRelations(p, scanRange.getStart(),
-                                                                           scanRange.getEnd(), scanRange.getFilter());
-          LOG.trace("Got data relations {}", datasetRelations);
-          Set<DatasetId> localDatasets = filterAndAddRelations(rollUpWorkflow, relations,
-                                                               programWorkflowMap, datasetRelations);
-          toVisitDatasets.addAll(
-            datasetRelations.stream().map(relation -> (DatasetId) relation.getData())
-              .filter(datasetId -> !localDatasets.contains(datasetId)).collect(Collectors.toSet()));
-        }
+      for (Set<Relation> dataRelations : programDatasetRelations.values()) {
+        LOG.trace("Got data relations {}", dataRelations);
+        Set<DatasetId> localDatasets = filterAndAddRelations(rollUpWorkflow, relations,
+                                                             programWorkflowMap, dataRelations);
+        toVisitDatasets.addAll(
+          dataRelations.stream().map(relation -> (DatasetId) relation.getData())
+            .filter(datasetId -> !localDatasets.contains(datasetId)).collect(Collectors.toSet()));
       }
+
+      long levelLatency = System.currentTimeMillis() - levelStartMillis;
+      LOG.debug("Computed lineage level {} of dataset {} with {} datasets and {} programs in {} ms",
+                i, sourceData, datasetFrontier.size(), programFrontier.size(), levelLatency);
+      metricsContext.gauge(Constants.Metrics.Lineage.LEVEL_LATENCY_MS, levelLatency);
+      metricsContext.increment(Constants.Metrics.Lineage.LEVEL_ENTITIES,
+                               datasetFrontier.size() + programFrontier.size());
     }
 
     Lineage lineage = new Lineage(
@@ -63,6 +63,8 @@ import java.util.concurrent.TimeUnit;
  */
 class ConstraintCheckerService extends AbstractIdleService {
   private static final Logger LOG = LoggerFactory.getLogger(ConstraintCheckerService.class);
+  // Initial delay before scanning an idle partition again. It doubles on each empty scan up to the configured max.
+  private static final long IDLE_MIN_DELAY_MILLIS = 2000L;
 
   private final Store store;
   private final ProgramLifecycleService lifecycleService;
@@ -70,6 +72,7 @@ class ConstraintCheckerService extends AbstractIdleService {
   private final NamespaceQueryAdmin namespaceQueryAdmin;
   private final CConfiguration cConf;
   private final TransactionRunner transactionRunner;
+  private final JobQueueNotifier jobQueueNotifier;
   private ScheduleTaskRunner taskRunner;
   private ListeningExecutorService taskExecutorService;
   private volatile boolean stopping;
@@ -81,7 +84,8 @@ class ConstraintCheckerService extends AbstractIdleService {
                            NamespaceQueryAdmin namespaceQueryAdmin,
                            CConfiguration cConf,
                            TransactionRunner transactionRunner,
-                           MetricsCollectionService metricsCollectionService) {
+                           MetricsCollectionService metricsCollectionService,
+                           JobQueueNotifier jobQueueNotifier) {
     this.store = store;
     this.lifecycleService = lifecycleService;
     this.propertiesResolver = propertiesResolver;
@@ -89,6 +93,7 @@ class ConstraintCheckerService extends AbstractIdleService {
     this.cConf = cConf;
     this.transactionRunner = transactionRunner;
     this.metricsCollectionService = metricsCollectionService;
+    this.jobQueueNotifier = jobQueueNotifier;
   }
 
   @Override
@@ -99,8 +104,10 @@ class ConstraintCheckerService extends AbstractIdleService {
     taskRunner = new ScheduleTaskRunner(store, lifecycleService, propertiesResolver, namespaceQueryAdmin, cConf);
 
     int numPartitions = cConf.getInt(Constants.Scheduler.JOB_QUEUE_NUM_PARTITIONS);
+    long maxIdleDelayMillis = Math.max(IDLE_MIN_DELAY_MILLIS,
+                                       cConf.getLong(Constants.Scheduler.JOB_QUEUE_IDLE_MAX_DELAY_MILLIS));
     for (int partition = 0; partition < numPartitions; partition++) {
-      taskExecutorService.submit(new ConstraintCheckerThread(partition));
+      taskExecutorService.submit(new ConstraintCheckerThread(partition, maxIdleDelayMillis));
     }
     LOG.info("Started ConstraintCheckerService. state: " + state());
   }
@@ -109,6 +116,8 @@ class ConstraintCheckerService extends AbstractIdleService {
   protected void shutDown() throws Exception {
     stopping = true;
     LOG.info("Stopping ConstraintCheckerService.");
+    // Wake up all idle threads so that they can exit
+    jobQueueNotifier.signalAll();
     try {
       // Shutdown the executor and wait for all pending task to be completed for max of 5 seconds
       taskExecutorService.shutdown();
@@ -126,15 +135,25 @@ class ConstraintCheckerService extends AbstractIdleService {
   private class ConstraintCheckerThread implements Runnable {
     private final RetryStrategy scheduleStrategy;
     private final int partition;
+    private final long maxIdleDelayMillis;
+    private final MetricsContext partitionMetricsContext;
     private final Deque<Job> readyJobs = new ArrayDeque<>();
     private Job lastConsumed;
     private int failureCount;
+    private long idleDelayMillis;
+    private int scannedJobs;
 
-    ConstraintCheckerThread(int partition) {
+    ConstraintCheckerThread(int partition, long maxIdleDelayMillis) {
       // TODO: [CDAP-11370] Need to be configured in cdap-default.xml. Retry with delay ranging from 0.1s to 30s
       scheduleStrategy =
         io.cdap.cdap.common.service.RetryStrategies.exponentialDelay(100, 30000, TimeUnit.MILLISECONDS);
       this.partition = partition;
+      this.maxIdleDelayMillis = maxIdleDelayMillis;
+      this.partitionMetricsContext = metricsCollectionService.getContext(ImmutableMap.of(
+        Constants.Metrics.Tag.NAMESPACE, NamespaceId.SYSTEM.getEntityName(),
+        Constants.Metrics.Tag.COMPONENT, "constraintchecker",
+        Constants.Metrics.Tag.INSTANCE_ID, String.valueOf(partition)));
+      this.idleDelayMillis = IDLE_MIN_DELAY_MILLIS;
     }
 
     @Override
@@ -146,7 +165,12 @@ class ConstraintCheckerService extends AbstractIdleService {
           long sleepTime = checkJobQueue();
           // Don't sleep if sleepTime returned is 0
           if (sleepTime > 0) {
-            TimeUnit.MILLISECONDS.sleep(sleepTime);
+            if (failureCount > 0) {
+              TimeUnit.MILLISECONDS.sleep(sleepTime);
+            } else {
+              // The partition is idle. Wait until new jobs are signalled or the delay elapsed
+              jobQueueNotifier.await(partition, sleepTime, TimeUnit.MILLISECONDS);
+            }
           }
         } catch (InterruptedException e) {
           // sleep is interrupted, just exit without doing anything
@@ -160,6 +184,17 @@ class ConstraintCheckerService extends AbstractIdleService {
      * @return sleep time in milliseconds before next fetch
      */
     private long checkJobQueue() {
+      if (lastConsumed == null) {
+        // Starting a new scan of the partition, which will see all jobs signalled so far
+        long signalTime = jobQueueNotifier.clear(partition);
+        if (signalTime >= 0) {
+          partitionMetricsContext.gauge(Constants.Metrics.ScheduledJob.JOB_PICKUP_LATENCY,
+                                        System.currentTimeMillis() - signalTime);
+          idleDelayMillis = IDLE_MIN_DELAY_MILLIS;
+        }
+        scannedJobs = 0;
+      }
+
       boolean emptyFetch = false;
       try {
         emptyFetch = TransactionRunners.run(transactionRunner, context -> {
@@ -180,8 +215,15 @@ class ConstraintCheckerService extends AbstractIdleService {
         return scheduleStrategy.nextRetry(failureCount, 0);
       }
 
-      // Sleep for 2 seconds if there's no jobs in the queue
-      return emptyFetch && readyJobs.isEmpty() ? 2000L : 0L;
+      if (!emptyFetch || !readyJobs.isEmpty()) {
+        idleDelayMillis = IDLE_MIN_DELAY_MILLIS;
+        return 0L;
+      }
+
+      // Back off exponentially if there's no jobs in the queue. New jobs added in this process will be signalled.
+      long delay = idleDelayMillis;
+      idleDelayMillis = Math.min(idleDelayMillis * 2, maxIdleDelayMillis);
+      return delay;
     }
 
     private boolean checkJobConstraints(JobQueue jobQueue) throws IOException {
@@ -193,11 +235,13 @@ class ConstraintCheckerService extends AbstractIdleService {
         while (!stopping && stopWatch.elapsedMillis() < 1000) {
           if (!jobQueueIter.hasNext()) {
             lastConsumed = null;
+            partitionMetricsContext.gauge(Constants.Metrics.ScheduledJob.JOB_QUEUE_DEPTH, scannedJobs);
             return emptyScan;
           }
           Job job = jobQueueIter.next();
           lastConsumed = job;
           emptyScan = false;
+          scannedJobs++;
           checkAndUpdateJob(jobQueue, job);
         }
       }
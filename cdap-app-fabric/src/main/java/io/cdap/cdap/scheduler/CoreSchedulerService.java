@@ -45,6 +45,7 @@ import io.cdap.cdap.internal.app.runtime.schedule.TimeSchedulerService;
 import io.cdap.cdap.internal.app.runtime.schedule.queue.Job;
 import io.cdap.cdap.internal.app.runtime.schedule.queue.JobQueueTable;
 import io.cdap.cdap.internal.app.runtime.schedule.store.ProgramScheduleStoreDataset;
+import io.cdap.cdap.internal.app.runtime.schedule.store.ScheduleTriggerIndex;
 import io.cdap.cdap.internal.app.runtime.schedule.store.Schedulers;
 import io.cdap.cdap.internal.app.store.profile.ProfileStore;
 import io.cdap.cdap.internal.profile.AdminEventPublisher;
@@ -58,6 +59,7 @@ import io.cdap.cdap.proto.id.ProgramId;
 import io.cdap.cdap.proto.id.ScheduleId;
 import io.cdap.cdap.runtime.spi.profile.ProfileStatus;
 import io.cdap.cdap.security.impersonation.Impersonator;
+import io.cdap.cdap.spi.data.StructuredTableContext;
 import io.cdap.cdap.spi.data.transaction.TransactionException;
 import io.cdap.cdap.spi.data.transaction.TransactionRunner;
 import io.cdap.cdap.spi.data.transaction.TransactionRunners;
@@ -69,9 +71,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
@@ -95,6 +99,7 @@ public class CoreSchedulerService extends AbstractIdleService implements Schedul
   private final Store appMetaStore;
   private final Impersonator impersonator;
   private final TransactionRunner transactionRunner;
+  private final ScheduleTriggerIndex triggerIndex;
 
   @Inject
   CoreSchedulerService(TimeSchedulerService timeSchedulerService,
@@ -102,7 +107,7 @@ public class CoreSchedulerService extends AbstractIdleService implements Schedul
                        ConstraintCheckerService constraintCheckerService,
                        MessagingService messagingService,
                        CConfiguration cConf, Store store, Impersonator impersonator,
-                       TransactionRunner transactionRunner) {
+                       TransactionRunner transactionRunner, ScheduleTriggerIndex triggerIndex) {
     this.startedLatch = new CountDownLatch(1);
     MultiThreadMessagingContext messagingContext = new MultiThreadMessagingContext(messagingService);
     this.timeSchedulerService = timeSchedulerService;
@@ -110,6 +115,7 @@ public class CoreSchedulerService extends AbstractIdleService implements Schedul
     this.appMetaStore = store;
     this.impersonator = impersonator;
     this.transactionRunner = transactionRunner;
+    this.triggerIndex = triggerIndex;
     // Use a retry on failure service to make it resilience to transient service unavailability during startup
     this.internalService = new RetryOnStartFailureService(() -> new AbstractIdleService() {
 
@@ -619,19 +625,19 @@ public class CoreSchedulerService extends AbstractIdleService implements Schedul
     V run(ProgramScheduleStoreDataset store, JobQueueTable jobQueue, ProfileStore profileStore) throws T;
   }
 
+  private interface StoreContextTxCallable<V> {
+    V call(StructuredTableContext context, ProgramScheduleStoreDataset store) throws Exception;
+  }
+
   private <V, T extends Exception> V execute(StoreTxRunnable<V, ? extends Exception> runnable,
                                              Class<? extends T> tClass) throws T {
-    return TransactionRunners.run(transactionRunner, context -> {
-      ProgramScheduleStoreDataset store = Schedulers.getScheduleStore(context);
-      return runnable.run(store);
-    }, tClass);
+    return executeAndUpdateIndex((context, store) -> runnable.run(store), tClass);
   }
 
   @SuppressWarnings("UnusedReturnValue")
   private <V, T extends Exception> V execute(StoreAndQueueTxRunnable<V, ? extends Exception> runnable,
                                              Class<? extends T> tClass) throws T {
-    return TransactionRunners.run(transactionRunner, context -> {
-      ProgramScheduleStoreDataset store = Schedulers.getScheduleStore(context);
+    return executeAndUpdateIndex((context, store) -> {
       JobQueueTable queue = JobQueueTable.getJobQueue(context, cConf);
       return runnable.run(store, queue);
     }, tClass);
@@ -640,8 +646,7 @@ public class CoreSchedulerService extends AbstractIdleService implements Schedul
   @SuppressWarnings({"UnusedReturnValue", "SameParameterValue"})
   private <V, T extends Exception> V execute(StoreAndProfileTxRunnable<V, ? extends Exception> runnable,
                                              Class<? extends T> tClass) throws T {
-    return TransactionRunners.run(transactionRunner, context -> {
-      ProgramScheduleStoreDataset store = Schedulers.getScheduleStore(context);
+    return executeAndUpdateIndex((context, store) -> {
       ProfileStore profileStore = ProfileStore.get(context);
       return runnable.run(store, profileStore);
     }, tClass);
@@ -650,11 +655,33 @@ public class CoreSchedulerService extends AbstractIdleService implements Schedul
   @SuppressWarnings("UnusedReturnValue")
   private <V, T extends Exception> V execute(StoreQueueAndProfileTxRunnable<V, ? extends Exception> runnable,
                                              Class<? extends T> tClass) throws T {
-    return TransactionRunners.run(transactionRunner, context -> {
-      ProgramScheduleStoreDataset store = Schedulers.getScheduleStore(context);
+    return executeAndUpdateIndex((context, store) -> {
       ProfileStore profileStore = ProfileStore.get(context);
       JobQueueTable queue = JobQueueTable.getJobQueue(context, cConf);
       return runnable.run(store, queue, profileStore);
     }, tClass);
   }
+
+  /**
+   * Executes the given callable in a transaction, and invalidates the trigger keys of the schedules modified
+   * by the transaction from the {@link ScheduleTriggerIndex} once the transaction is completed.
+   */
+  private <V, T extends Exception> V executeAndUpdateIndex(StoreContextTxCallable<V> callable,
+                                                           Class<? extends T> tClass) throws T {
+    Set<String> modifiedTriggerKeys = new HashSet<>();
+    triggerIndex.beginUpdate();
+    try {
+      return TransactionRunners.run(transactionRunner, context -> {
+        ProgramScheduleStoreDataset store = Schedulers.getScheduleStore(context);
+        try {
+          return callable.call(context, store);
+        } finally {
+          // Be conservative and invalidate the index even if the transaction is not committed
+          modifiedTriggerKeys.addAll(store.getModifiedTriggerKeys());
+        }
+      }, tClass);
+    } finally {
+      triggerIndex.endUpdate(modifiedTriggerKeys);
+    }
+  }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.scheduler;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.cdap.cdap.common.conf.CConfiguration;
+import io.cdap.cdap.common.conf.Constants;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signals the {@link ConstraintCheckerService} partition threads that there are jobs ready for constraint checking
+ * in their job queue partitions, so that they don't need to wait for the next poll.
+ * Signals only work within the same process, hence the constraint checker still polls the job queue periodically.
+ */
+@Singleton
+class JobQueueNotifier {
+
+  private final PartitionSignal[] signals;
+
+  @Inject
+  JobQueueNotifier(CConfiguration cConf) {
+    this(cConf.getInt(Constants.Scheduler.JOB_QUEUE_NUM_PARTITIONS));
+  }
+
+  JobQueueNotifier(int numPartitions) {
+    this.signals = new PartitionSignal[numPartitions];
+    for (int i = 0; i < numPartitions; i++) {
+      signals[i] = new PartitionSignal();
+    }
+  }
+
+  /**
+   * Signals the given partition. Signals for an unknown partition are ignored.
+   */
+  void signal(int partition) {
+    if (partition >= 0 && partition < signals.length) {
+      signals[partition].signal();
+    }
+  }
+
+  /**
+   * Signals all partitions.
+   */
+  void signalAll() {
+    for (PartitionSignal signal : signals) {
+      signal.signal();
+    }
+  }
+
+  /**
+   * Clears the signal of the given partition.
+   *
+   * @return the time in milliseconds when the partition was first signalled since the last clear,
+   *         or {@code -1} if the partition was not signalled
+   */
+  long clear(int partition) {
+    return signals[partition].clear();
+  }
+
+  /**
+   * Waits until the given partition is signalled or the timeout elapsed. The signal is not cleared by this method.
+   *
+   * @return {@code true} if the partition was signalled, {@code false} if the timeout elapsed
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   */
+  boolean await(int partition, long timeout, TimeUnit unit) throws InterruptedException {
+    return signals[partition].await(unit.toNanos(timeout));
+  }
+
+  /**
+   * The signal state of a single partition.
+   */
+  private static final class PartitionSignal {
+
+    private long signalTime = -1L;
+
+    synchronized void signal() {
+      if (signalTime < 0) {
+        signalTime = System.currentTimeMillis();
+        notifyAll();
+      }
+    }
+
+    synchronized long clear() {
+      long time = signalTime;
+      signalTime = -1L;
+      return time;
+    }
+
+    synchronized boolean await(long timeoutNanos) throws InterruptedException {
+      long deadline = System.nanoTime() + timeoutNanos;
+      long remaining = timeoutNanos;
+      while (signalTime < 0 && remaining > 0) {
+        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        remaining = deadline - System.nanoTime();
+      }
+      return signalTime >= 0;
+    }
+  }
+}
@@ -34,6 +34,7 @@ import io.cdap.cdap.internal.app.runtime.ProgramOptionConstants;
 import io.cdap.cdap.internal.app.runtime.schedule.ProgramScheduleRecord;
 import io.cdap.cdap.internal.app.runtime.schedule.queue.JobQueueTable;
 import io.cdap.cdap.internal.app.runtime.schedule.store.ProgramScheduleStoreDataset;
+import io.cdap.cdap.internal.app.runtime.schedule.store.ScheduleTriggerIndex;
 import io.cdap.cdap.internal.app.runtime.schedule.store.Schedulers;
 import io.cdap.cdap.internal.app.services.AbstractNotificationSubscriberService;
 import io.cdap.cdap.messaging.MessagingService;
@@ -52,9 +53,13 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -71,16 +76,25 @@ public class ScheduleNotificationSubscriberService extends AbstractIdleService {
   private final CConfiguration cConf;
   private final MessagingService messagingService;
   private final MetricsCollectionService metricsCollectionService;
+  private final JobQueueNotifier jobQueueNotifier;
+  private final ScheduleTriggerIndex triggerIndex;
+  private final MetricsContext triggerIndexMetricsContext;
   private final List<Service> subscriberServices;
   private ScheduledExecutorService subscriberExecutor;
 
   @Inject
   ScheduleNotificationSubscriberService(CConfiguration cConf, MessagingService messagingService,
                                         MetricsCollectionService metricsCollectionService,
-                                        TransactionRunner transactionRunner) {
+                                        TransactionRunner transactionRunner, JobQueueNotifier jobQueueNotifier,
+                                        ScheduleTriggerIndex triggerIndex) {
     this.cConf = cConf;
     this.messagingService = messagingService;
     this.metricsCollectionService = metricsCollectionService;
+    this.jobQueueNotifier = jobQueueNotifier;
+    this.triggerIndex = triggerIndex;
+    this.triggerIndexMetricsContext = metricsCollectionService.getContext(ImmutableMap.of(
+      Constants.Metrics.Tag.NAMESPACE, NamespaceId.SYSTEM.getEntityName(),
+      Constants.Metrics.Tag.COMPONENT, "schedulenotification"));
     this.subscriberServices = Arrays.asList(new SchedulerEventSubscriberService(transactionRunner),
                                             new DataEventSubscriberService(transactionRunner),
                                             new ProgramStatusEventSubscriberService(transactionRunner));
@@ -123,10 +137,20 @@ public class ScheduleNotificationSubscriberService extends AbstractIdleService {
    */
   private abstract class AbstractSchedulerSubscriberService extends AbstractNotificationSubscriberService {
 
+    // Job queue partitions to signal after the transaction is committed
+    private final Set<Integer> pendingConstraintPartitions = new HashSet<>();
+    // Trigger index entries loaded from the store, to be added to the index after the transaction is committed
+    private final Map<String, Collection<ProgramScheduleRecord>> pendingIndexEntries = new HashMap<>();
+    // Index version obtained before the transaction started, which guards adding the pending entries
+    private long indexVersion;
+    private int indexHits;
+    private long maxServedIndexAge;
+
     AbstractSchedulerSubscriberService(String name, String topic, int fetchSize,
                                        TransactionRunner transactionRunner) {
       super(name, cConf, topic, fetchSize, cConf.getLong(Constants.Scheduler.EVENT_POLL_DELAY_MILLIS),
             messagingService, metricsCollectionService, transactionRunner);
+      this.indexVersion = triggerIndex.getVersion();
     }
 
     @Nullable
@@ -146,9 +170,58 @@ public class ScheduleNotificationSubscriberService extends AbstractIdleService {
       ProgramScheduleStoreDataset scheduleStore = getScheduleStore(structuredTableContext);
       JobQueueTable jobQueue = getJobQueue(structuredTableContext);
 
+      // Partitions and index entries collected by a previous failed attempt are not needed,
+      // since the messages will be replayed
+      pendingConstraintPartitions.clear();
+      pendingIndexEntries.clear();
+      indexHits = 0;
+      maxServedIndexAge = 0L;
       while (messages.hasNext()) {
         processNotification(scheduleStore, jobQueue, messages.next().getSecond());
       }
+      pendingConstraintPartitions.addAll(jobQueue.getPendingConstraintPartitions());
+    }
+
+    @Override
+    protected void postProcess() {
+      // Wake up the constraint checker threads for jobs that became ready, now that the jobs are committed
+      pendingConstraintPartitions.forEach(jobQueueNotifier::signal);
+      pendingConstraintPartitions.clear();
+
+      // Only add the loaded entries if no schedule was modified since the transaction started
+      triggerIndex.putAll(pendingIndexEntries, indexVersion);
+      if (indexHits > 0 || !pendingIndexEntries.isEmpty()) {
+        triggerIndexMetricsContext.increment(Constants.Metrics.ScheduledJob.TRIGGER_INDEX_HIT, indexHits);
+        triggerIndexMetricsContext.increment(Constants.Metrics.ScheduledJob.TRIGGER_INDEX_MISS,
+                                             pendingIndexEntries.size());
+        triggerIndexMetricsContext.gauge(Constants.Metrics.ScheduledJob.TRIGGER_INDEX_SIZE, triggerIndex.size());
+        triggerIndexMetricsContext.gauge(Constants.Metrics.ScheduledJob.TRIGGER_INDEX_STALENESS, maxServedIndexAge);
+      }
+      pendingIndexEntries.clear();
+      indexHits = 0;
+      maxServedIndexAge = 0L;
+      indexVersion = triggerIndex.getVersion();
+    }
+
+    /**
+     * Finds the schedules that have a trigger with the given trigger key, using the {@link ScheduleTriggerIndex}
+     * if it has the trigger key, otherwise reading from the store.
+     */
+    protected Collection<ProgramScheduleRecord> findSchedules(ProgramScheduleStoreDataset scheduleStore,
+                                                              String triggerKey) throws IOException {
+      Collection<ProgramScheduleRecord> records = pendingIndexEntries.get(triggerKey);
+      if (records != null) {
+        return records;
+      }
+      ScheduleTriggerIndex.Entry entry = triggerIndex.get(triggerKey);
+      if (entry != null) {
+        indexHits++;
+        maxServedIndexAge = Math.max(maxServedIndexAge, System.currentTimeMillis() - entry.getLoadTime());
+        return entry.getRecords();
+      }
+      records = scheduleStore.findSchedules(triggerKey);
+      pendingIndexEntries.put(triggerKey, records);
+      return records;
     }
 
     @Override
@@ -248,7 +321,7 @@ public class ScheduleNotificationSubscriberService extends AbstractIdleService {
       }
       DatasetId datasetId = DatasetId.fromString(datasetIdString);
       for (ProgramScheduleRecord schedule :
-        scheduleStore.findSchedules(Schedulers.triggerKeyForPartition(datasetId))) {
+        findSchedules(scheduleStore, Schedulers.triggerKeyForPartition(datasetId))) {
         jobQueue.addNotification(schedule, notification);
       }
     }
@@ -288,7 +361,7 @@ public class ScheduleNotificationSubscriberService extends AbstractIdleService {
       ProgramId programId = programRunId.getParent();
       String triggerKeyForProgramStatus = Schedulers.triggerKeyForProgramStatus(programId, programStatus);
 
-      for (ProgramScheduleRecord schedule : scheduleStore.findSchedules(triggerKeyForProgramStatus)) {
+      for (ProgramScheduleRecord schedule : findSchedules(scheduleStore, triggerKeyForProgramStatus)) {
         jobQueue.addNotification(schedule, notification);
       }
     }
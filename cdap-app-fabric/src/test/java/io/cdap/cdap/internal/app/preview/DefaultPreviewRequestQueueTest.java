@@ -49,6 +49,7 @@ import org.junit.ClassRule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -91,6 +92,11 @@ public class DefaultPreviewRequestQueueTest {
 
     }
 
+    @Override
+    public void putAll(Collection<PreviewDataPayload> payloads) {
+
+    }
+
     @Override
     public Map<String, List<JsonElement>> get(ApplicationId applicationId, String tracerName) {
       return null;
@@ -1356,6 +1356,44 @@ public abstract class ArtifactStoreTest {
     Assert.assertEquals(properties, detail.getMeta().getProperties());
   }
 
+  @Test
+  public void testPluginLookupAfterArtifactChanges() throws Exception {
+    Id.Artifact parentId = Id.Artifact.from(Id.Namespace.DEFAULT, "parent", "1.0.0-SNAPSHOT");
+    PluginClass plugin1 = PluginClass.builder().setName("plugin").setType("atype").setDescription("v1")
+      .setClassName("c.c.c.plugin").setConfigFieldName("cfg").setProperties(ImmutableMap.of()).build();
+    writeArtifact(parentId, new ArtifactMeta(ArtifactClasses.builder().addPlugin(plugin1).build()), "contents1");
+
+    // repeated lookups return the same plugins
+    for (int i = 0; i < 2; i++) {
+      SortedMap<ArtifactDescriptor, PluginClass> plugins =
+        artifactStore.getPluginClasses(NamespaceId.DEFAULT, parentId, "atype", "plugin", null, Integer.MAX_VALUE,
+                                       ArtifactSortOrder.UNORDERED);
+      Assert.assertEquals(Collections.singletonList(plugin1), new ArrayList<>(plugins.values()));
+    }
+
+    // overwrite the snapshot artifact with a different plugin, the lookup must return the new plugin
+    PluginClass plugin2 = PluginClass.builder().setName("plugin").setType("atype").setDescription("v2")
+      .setClassName("c.c.c.plugin").setConfigFieldName("cfg").setProperties(ImmutableMap.of()).build();
+    writeArtifact(parentId, new ArtifactMeta(ArtifactClasses.builder().addPlugin(plugin2).build()), "contents2");
+    SortedMap<ArtifactDescriptor, PluginClass> plugins =
+      artifactStore.getPluginClasses(NamespaceId.DEFAULT, parentId, "atype", "plugin", null, Integer.MAX_VALUE,
+                                     ArtifactSortOrder.UNORDERED);
+    Assert.assertEquals(Collections.singletonList(plugin2), new ArrayList<>(plugins.values()));
+
+    // properties update must be visible
+    artifactStore.updateArtifactProperties(parentId, input -> ImmutableMap.of("k", "v"));
+    Assert.assertEquals(ImmutableMap.of("k", "v"), artifactStore.getArtifact(parentId).getMeta().getProperties());
+
+    // the artifact is no longer found after deletion
+    artifactStore.delete(parentId);
+    try {
+      artifactStore.getPluginClasses(NamespaceId.DEFAULT, parentId, "atype");
+      Assert.fail();
+    } catch (ArtifactNotFoundException e) {
+      // expected
+    }
+  }
+
   @Category(SlowTests.class)
   @Test
   public void testConcurrentSnapshotWrite() throws Exception {
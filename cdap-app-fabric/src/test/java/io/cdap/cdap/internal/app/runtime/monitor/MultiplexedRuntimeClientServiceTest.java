@@ -0,0 +1,34 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.internal.app.runtime.monitor;
+
+import io.cdap.cdap.common.conf.CConfiguration;
+import io.cdap.cdap.common.conf.Constants;
+
+/**
+ * Unit test for {@link RuntimeClientService} with multiplexed relaying enabled.
+ */
+public class MultiplexedRuntimeClientServiceTest extends RuntimeClientServiceTest {
+
+  @Override
+  protected void configureClient(CConfiguration cConf) {
+    cConf.setBoolean(Constants.RuntimeMonitor.MULTIPLEXED_ENABLED, true);
+    cConf.setLong(Constants.RuntimeMonitor.MULTIPLEXED_POLL_TIME_MS, 100);
+    // Use a short stream duration so that each test goes through multiple streams
+    cConf.setLong(Constants.RuntimeMonitor.MULTIPLEXED_STREAM_DURATION_MS, 500);
+  }
+}
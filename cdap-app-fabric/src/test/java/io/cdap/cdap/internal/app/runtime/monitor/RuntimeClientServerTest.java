@@ -35,6 +35,7 @@ import io.cdap.cdap.common.guice.InMemoryDiscoveryModule;
 import io.cdap.cdap.common.guice.LocalLocationModule;
 import io.cdap.cdap.common.guice.RemoteAuthenticatorModules;
 import io.cdap.cdap.common.metrics.NoOpMetricsCollectionService;
+import io.cdap.cdap.common.utils.Tasks;
 import io.cdap.cdap.messaging.MessagingService;
 import io.cdap.cdap.messaging.TopicMetadata;
 import io.cdap.cdap.messaging.context.MultiThreadMessagingContext;
@@ -63,6 +64,7 @@ import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -235,6 +237,43 @@ public class RuntimeClientServerTest {
     Assert.assertTrue(countDownLatch.await(5, TimeUnit.SECONDS));
   }
 
+  @Test
+  public void testMultiplexedMessages() throws Exception {
+    ProgramRunId programRunId = NamespaceId.DEFAULT.app("app").workflow("workflow").run(RunIds.generate());
+    TopicId topicId = NamespaceId.SYSTEM.topic(TEST_TOPIC);
+    TopicId logTopicId = NamespaceId.SYSTEM.topic(cConf.get(Constants.Logging.TMS_TOPIC_PREFIX) + "0");
+    CountDownLatch stopLatch = new CountDownLatch(1);
+    runtimeClient.onProgramStopRequested(terminateTs -> stopLatch.countDown());
+
+    List<Message> messages = new ArrayList<>();
+    List<Message> logMessages = new ArrayList<>();
+    RuntimeClient.MessageStream stream = runtimeClient.openMessageStream(programRunId);
+
+    // Interleave frames of different topics, with a mix of large and small messages
+    for (int i = 0; i < 5; i++) {
+      List<Message> batch = Arrays.asList(createMessage(i + 1), createMessage(i + RuntimeClient.CHUNK_SIZE));
+      stream.send(topicId, batch.iterator());
+      messages.addAll(batch);
+
+      List<Message> logBatch = IntStream.range(0, 10).mapToObj(this::createMessage).collect(Collectors.toList());
+      stream.send(logTopicId, logBatch.iterator());
+      logMessages.addAll(logBatch);
+
+      // Empty frame should be skipped
+      stream.send(topicId, Collections.emptyIterator());
+    }
+
+    // Messages should be written before the stream completes
+    List<String> expected = messages.stream().map(Message::getPayloadAsString).collect(Collectors.toList());
+    Tasks.waitFor(expected, () -> fetchPayloads(topicId), 5, TimeUnit.SECONDS);
+
+    stream.finish();
+    assertMessages(topicId, messages);
+    Assert.assertEquals(logMessages.stream().map(Message::getPayloadAsString).collect(Collectors.toList()),
+                        logEntries);
+    Assert.assertTrue(stopLatch.await(5, TimeUnit.SECONDS));
+  }
+
   @Test (timeout = 2000L)
   public void testSparkEventLogs() throws Exception {
     File eventFile = TEMP_FOLDER.newFile();
@@ -257,18 +296,21 @@ public class RuntimeClientServerTest {
 
   private void assertMessages(TopicId topicId, Collection<Message> messages) throws Exception {
     // Read the messages from TMS and compare
+    Assert.assertEquals(
+      messages.stream().map(Message::getPayloadAsString).collect(Collectors.toList()),
+      fetchPayloads(topicId)
+    );
+  }
+
+  private List<String> fetchPayloads(TopicId topicId) throws Exception {
     MessagingContext messagingContext = new MultiThreadMessagingContext(messagingService);
-    List<Message> fetchedMessages = new ArrayList<>();
+    List<String> payloads = new ArrayList<>();
     try (CloseableIterator<Message> iterator =
            messagingContext.getMessageFetcher()
              .fetch(topicId.getNamespace(), topicId.getTopic(), Integer.MAX_VALUE, null)) {
-      iterator.forEachRemaining(fetchedMessages::add);
+      iterator.forEachRemaining(message -> payloads.add(message.getPayloadAsString()));
     }
-
-    Assert.assertEquals(
-      messages.stream().map(Message::getPayloadAsString).collect(Collectors.toList()),
-      fetchedMessages.stream().map(Message::getPayloadAsString).collect(Collectors.toList())
-    );
+    return payloads;
   }
 
   /**
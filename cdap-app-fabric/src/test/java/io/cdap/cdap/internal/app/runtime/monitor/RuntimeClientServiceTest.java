@@ -161,6 +161,7 @@ public class RuntimeClientServiceTest {
     clientCConf.setLong(Constants.RuntimeMonitor.GRACEFUL_SHUTDOWN_MS, 3000);
     // Use smaller batch size so that fetches is broken into multiple fetches
     clientCConf.setInt(Constants.RuntimeMonitor.BATCH_SIZE, 1);
+    configureClient(clientCConf);
 
     injector = Guice.createInjector(
       new ConfigModule(clientCConf),
@@ -200,6 +201,13 @@ public class RuntimeClientServiceTest {
     }
   }
 
+  /**
+   * Sets additional configurations for the runtime client side.
+   */
+  protected void configureClient(CConfiguration cConf) {
+    // no-op
+  }
+
   @Test
   public void testBasicRelay() throws Exception {
     // Send some messages to multiple topics in the client side TMS, they should get replicated to the server side TMS.
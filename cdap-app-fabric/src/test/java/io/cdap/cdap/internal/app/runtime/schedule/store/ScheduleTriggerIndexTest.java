@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.internal.app.runtime.schedule.store;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.cdap.cdap.internal.app.runtime.schedule.ProgramScheduleRecord;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link ScheduleTriggerIndex}.
+ */
+public class ScheduleTriggerIndexTest {
+
+  private static final Map<String, Collection<ProgramScheduleRecord>> ENTRIES =
+    ImmutableMap.of("k1", Collections.emptyList(), "k2", Collections.emptyList());
+
+  @Test
+  public void testInvalidation() {
+    ScheduleTriggerIndex index = new ScheduleTriggerIndex(TimeUnit.HOURS.toMillis(1), 100L);
+    Assert.assertNull(index.get("k1"));
+
+    // Entries are added if nothing was modified since the version was obtained
+    long version = index.getVersion();
+    Assert.assertTrue(index.putAll(ENTRIES, version));
+    Assert.assertNotNull(index.get("k1"));
+    Assert.assertNotNull(index.get("k2"));
+    Assert.assertEquals(2, index.size());
+
+    // Update without modification doesn't change the version
+    index.beginUpdate();
+    index.endUpdate(Collections.emptySet());
+    Assert.assertEquals(version, index.getVersion());
+
+    // Modification only invalidates the modified keys
+    index.beginUpdate();
+    index.endUpdate(ImmutableSet.of("k1", "k3"));
+    Assert.assertNull(index.get("k1"));
+    Assert.assertNotNull(index.get("k2"));
+    Assert.assertEquals(1, index.size());
+
+    // Entries loaded before the modification are rejected
+    Assert.assertFalse(index.putAll(ENTRIES, version));
+    Assert.assertNull(index.get("k1"));
+
+    // Entries are rejected while there is an update in progress
+    version = index.getVersion();
+    index.beginUpdate();
+    Assert.assertFalse(index.putAll(ENTRIES, version));
+    index.endUpdate(Collections.emptySet());
+    Assert.assertTrue(index.putAll(ENTRIES, version));
+    Assert.assertNotNull(index.get("k1"));
+  }
+
+  @Test
+  public void testStaleness() throws InterruptedException {
+    // Index is disabled with zero max staleness
+    ScheduleTriggerIndex index = new ScheduleTriggerIndex(0L, 100L);
+    Assert.assertFalse(index.putAll(ENTRIES, index.getVersion()));
+    Assert.assertEquals(0, index.size());
+
+    // Entries older than the max staleness are not returned
+    index = new ScheduleTriggerIndex(1L, 100L);
+    Assert.assertTrue(index.putAll(ENTRIES, index.getVersion()));
+    TimeUnit.MILLISECONDS.sleep(10);
+    Assert.assertNull(index.get("k1"));
+    // Expired entries are evicted even if they are not looked up
+    Assert.assertEquals(0, index.size());
+  }
+
+  @Test
+  public void testMaxSize() {
+    ScheduleTriggerIndex index = new ScheduleTriggerIndex(TimeUnit.HOURS.toMillis(1), 1L);
+    Assert.assertTrue(index.putAll(ENTRIES, index.getVersion()));
+    Assert.assertEquals(1, index.size());
+    Assert.assertTrue(index.putAll(ImmutableMap.of("k3", Collections.emptyList()), index.getVersion()));
+    Assert.assertEquals(1, index.size());
+    Assert.assertNotNull(index.get("k3"));
+  }
+}
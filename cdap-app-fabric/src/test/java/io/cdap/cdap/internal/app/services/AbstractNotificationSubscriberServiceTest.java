@@ -0,0 +1,182 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.internal.app.services;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.Gson;
+import com.google.inject.Injector;
+import io.cdap.cdap.api.metrics.MetricsCollectionService;
+import io.cdap.cdap.common.conf.CConfiguration;
+import io.cdap.cdap.common.utils.ImmutablePair;
+import io.cdap.cdap.common.utils.Tasks;
+import io.cdap.cdap.internal.AppFabricTestHelper;
+import io.cdap.cdap.messaging.MessagingService;
+import io.cdap.cdap.messaging.TopicMetadata;
+import io.cdap.cdap.messaging.client.StoreRequestBuilder;
+import io.cdap.cdap.proto.Notification;
+import io.cdap.cdap.proto.id.NamespaceId;
+import io.cdap.cdap.proto.id.TopicId;
+import io.cdap.cdap.spi.data.StructuredTableContext;
+import io.cdap.cdap.spi.data.transaction.TransactionRunner;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+
+/**
+ * Unit tests for the parallel processing in {@link AbstractNotificationSubscriberService}.
+ */
+public class AbstractNotificationSubscriberServiceTest {
+
+  private static final Gson GSON = new Gson();
+  private static final int PARALLELISM = 4;
+  private static final int MESSAGES_PER_KEY = 20;
+
+  private static CConfiguration cConf;
+  private static MessagingService messagingService;
+  private static MetricsCollectionService metricsCollectionService;
+  private static TransactionRunner transactionRunner;
+
+  @BeforeClass
+  public static void setupClass() {
+    Injector injector = AppFabricTestHelper.getInjector();
+    cConf = injector.getInstance(CConfiguration.class);
+    messagingService = injector.getInstance(MessagingService.class);
+    metricsCollectionService = injector.getInstance(MetricsCollectionService.class);
+    transactionRunner = injector.getInstance(TransactionRunner.class);
+  }
+
+  @AfterClass
+  public static void tearDown() {
+    AppFabricTestHelper.shutdown();
+  }
+
+  @Test
+  public void testParallelPartitions() throws Exception {
+    TopicId topicId = NamespaceId.SYSTEM.topic("parallelPartitions");
+    messagingService.createTopic(new TopicMetadata(topicId));
+
+    // Pick keys that go to different partitions, so that some partitions commit while another one fails
+    List<String> keys = new ArrayList<>();
+    Set<Integer> usedPartitions = new HashSet<>();
+    for (int i = 0; keys.size() < 3; i++) {
+      String key = "key" + i;
+      if (usedPartitions.add(Math.floorMod(key.hashCode(), PARALLELISM))) {
+        keys.add(key);
+      }
+    }
+
+    // Publish all messages before starting, so that they are all fetched in one batch
+    for (int i = 0; i < MESSAGES_PER_KEY; i++) {
+      for (String key : keys) {
+        Notification notification = new Notification(Notification.Type.PROGRAM_STATUS,
+                                                     ImmutableMap.of("key", key, "value", String.valueOf(i)));
+        messagingService.publish(StoreRequestBuilder.of(topicId).addPayload(GSON.toJson(notification)).build());
+      }
+    }
+
+    // Fail the partition of the last key on the first attempt, and it should be the only one replayed
+    TestSubscriberService subscriber = new TestSubscriberService(topicId, keys.get(keys.size() - 1));
+    subscriber.startAndWait();
+    try {
+      Tasks.waitFor(true, () -> keys.stream().allMatch(
+        key -> subscriber.getProcessed(key).size() >= MESSAGES_PER_KEY), 10, TimeUnit.SECONDS);
+    } finally {
+      subscriber.stopAndWait();
+    }
+
+    Assert.assertTrue(subscriber.failed.get());
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < MESSAGES_PER_KEY; i++) {
+      expected.add(String.valueOf(i));
+    }
+    // Messages of each key are processed exactly once in the published order
+    for (String key : keys) {
+      Assert.assertEquals(expected, subscriber.getProcessed(key));
+    }
+  }
+
+  /**
+   * A subscriber that records the values processed for each key and fails once for the given key.
+   */
+  private static final class TestSubscriberService extends AbstractNotificationSubscriberService {
+
+    private final String failingKey;
+    private final AtomicBoolean failed = new AtomicBoolean();
+    private final Map<String, List<String>> processed = new ConcurrentHashMap<>();
+    private volatile String messageId;
+
+    TestSubscriberService(TopicId topicId, String failingKey) {
+      super("test.parallel", cConf, topicId.getTopic(), 100, 10L, messagingService, metricsCollectionService,
+            transactionRunner, PARALLELISM);
+      this.failingKey = failingKey;
+    }
+
+    List<String> getProcessed(String key) {
+      return processed.getOrDefault(key, Collections.emptyList());
+    }
+
+    @Nullable
+    @Override
+    protected String getPartitionKey(Notification notification) {
+      return notification.getProperties().get("key");
+    }
+
+    @Nullable
+    @Override
+    protected String loadMessageId(StructuredTableContext context) {
+      return messageId;
+    }
+
+    @Override
+    protected void storeMessageId(StructuredTableContext context, String messageId) {
+      this.messageId = messageId;
+    }
+
+    @Override
+    protected void processMessages(StructuredTableContext context,
+                                   Iterator<ImmutablePair<String, Notification>> messages) throws Exception {
+      processMessages(context, messages, (partitionContext, partitionMessages) -> {
+        // Only record the values when the whole partition succeeded, like a transaction commit
+        Map<String, List<String>> values = new HashMap<>();
+        while (partitionMessages.hasNext()) {
+          Map<String, String> properties = partitionMessages.next().getSecond().getProperties();
+          String key = properties.get("key");
+          if (key.equals(failingKey) && failed.compareAndSet(false, true)) {
+            throw new IllegalStateException("Failing partition of " + key);
+          }
+          values.computeIfAbsent(key, k -> new ArrayList<>()).add(properties.get("value"));
+        }
+        values.forEach((key, list) -> processed.computeIfAbsent(
+          key, k -> Collections.synchronizedList(new ArrayList<>())).addAll(list));
+      });
+    }
+  }
+}
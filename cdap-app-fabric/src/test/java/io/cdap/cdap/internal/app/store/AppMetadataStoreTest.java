@@ -533,6 +533,59 @@ public abstract class AppMetadataStoreTest {
     });
   }
 
+  @Test
+  public void testGetRunsOfPrograms() throws Exception {
+    // programs in different apps and namespaces, with different number of runs
+    List<ProgramId> programs = Arrays.asList(NamespaceId.DEFAULT.app("app1").workflow("prog"),
+                                             NamespaceId.DEFAULT.app("app2").workflow("prog"),
+                                             new NamespaceId("ns1").app("app1").spark("prog"),
+                                             new NamespaceId("ns1").app("app2").spark("prog"));
+    int[] numRuns = {7, 3, 1, 0};
+    for (int i = 0; i < programs.size(); i++) {
+      ProgramId programId = programs.get(i);
+      for (int j = 0; j < numRuns[i]; j++) {
+        RunId runId = RunIds.generate(runIdTime.addAndGet(1000));
+        ProgramRunId programRunId = programId.run(runId);
+        ProgramRunStatus stopStatus = j % 2 == 0 ? ProgramRunStatus.COMPLETED : ProgramRunStatus.FAILED;
+        boolean stop = j < numRuns[i] - 1;
+        TransactionRunners.run(transactionRunner, context -> {
+          AppMetadataStore store = AppMetadataStore.create(context);
+          recordProvisionAndStart(programRunId, store);
+          store.recordProgramRunning(programRunId, RunIds.getTime(runId, TimeUnit.SECONDS), null,
+                                     AppFabricTestHelper.createSourceId(sourceId.incrementAndGet()));
+          // leave the last run of each program running
+          if (stop) {
+            store.recordProgramStop(programRunId, RunIds.getTime(runId, TimeUnit.SECONDS), stopStatus, null,
+                                    AppFabricTestHelper.createSourceId(sourceId.incrementAndGet()));
+          }
+        });
+      }
+    }
+
+    long midTime = TimeUnit.MILLISECONDS.toSeconds(runIdTime.get() / 2);
+    List<ProgramRunStatus> statuses = Arrays.asList(ProgramRunStatus.ALL, ProgramRunStatus.RUNNING,
+                                                    ProgramRunStatus.COMPLETED, ProgramRunStatus.FAILED);
+    TransactionRunners.run(transactionRunner, context -> {
+      AppMetadataStore store = AppMetadataStore.create(context);
+      for (ProgramRunStatus status : statuses) {
+        for (int limit : new int[] {1, 2, 5, 100}) {
+          for (long[] timeRange : new long[][] {{0L, Long.MAX_VALUE}, {midTime, Long.MAX_VALUE}, {0L, midTime}}) {
+            Map<ProgramId, List<RunRecordDetail>> runs = store.getRuns(programs, status,
+                                                                       timeRange[0], timeRange[1], limit);
+            Assert.assertEquals(programs, new ArrayList<>(runs.keySet()));
+
+            // the result should be the same as fetching each program individually
+            for (ProgramId programId : programs) {
+              List<RunRecordDetail> expected = new ArrayList<>(
+                store.getRuns(programId, status, timeRange[0], timeRange[1], limit, null).values());
+              Assert.assertEquals(expected, runs.get(programId));
+            }
+          }
+        }
+      }
+    });
+  }
+
   @Test
   public void testGetActiveRuns() throws Exception {
     // write a run record for each state for two programs in two apps in two namespaces
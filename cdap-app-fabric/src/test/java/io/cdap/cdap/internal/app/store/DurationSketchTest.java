@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.internal.app.store;
+
+import com.google.gson.Gson;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link DurationSketch}.
+ */
+public class DurationSketchTest {
+
+  private static final Gson GSON = new Gson();
+  private static final double[] PERCENTILES = { 0, 10, 50, 90, 95, 99, 99.9, 100 };
+
+  @Test
+  public void testSmallDurations() {
+    // small durations in seconds are exact
+    DurationSketch sketch = new DurationSketch();
+    long[] durations = new long[] { 0, 1, 2, 3, 5, 8, 13, 21, 34 };
+    for (long duration : durations) {
+      sketch.add(duration);
+    }
+    Assert.assertEquals(durations.length, sketch.getCount());
+    for (double percentile : PERCENTILES) {
+      Assert.assertEquals(getExactPercentile(durations, percentile), sketch.getPercentile(percentile));
+    }
+  }
+
+  @Test
+  public void testAccuracy() {
+    Random random = new Random(0);
+    int count = 50000;
+    long[] durations = new long[count];
+    DurationSketch sketch = new DurationSketch();
+    // the aggregation of daily sketches used for queries over a range of days
+    DurationSketch merged = new DurationSketch();
+    DurationSketch daily = new DurationSketch();
+    for (int i = 0; i < count; i++) {
+      // log normal run times with a median of about 20 minutes
+      durations[i] = (long) Math.exp(7 + random.nextGaussian());
+      sketch.add(durations[i]);
+      daily.add(durations[i]);
+      if (i % 100 == 99) {
+        merged.merge(GSON.fromJson(GSON.toJson(daily), DurationSketch.class));
+        daily = new DurationSketch();
+      }
+    }
+    Arrays.sort(durations);
+
+    Assert.assertEquals(count, merged.getCount());
+    for (double percentile : PERCENTILES) {
+      long exact = getExactPercentile(durations, percentile);
+      Assert.assertEquals(sketch.getPercentile(percentile), merged.getPercentile(percentile));
+      Assert.assertEquals(exact, sketch.getPercentile(percentile), exact * DurationSketch.RELATIVE_ACCURACY + 1);
+    }
+  }
+
+  private long getExactPercentile(long[] sortedDurations, double percentile) {
+    int index = Math.min((int) ((percentile * sortedDurations.length) / 100), sortedDurations.length - 1);
+    return sortedDurations[index];
+  }
+}
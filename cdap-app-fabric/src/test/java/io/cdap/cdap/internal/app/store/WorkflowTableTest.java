@@ -0,0 +1,268 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.internal.app.store;
+
+import com.google.common.collect.ImmutableList;
+import io.cdap.cdap.common.app.RunIds;
+import io.cdap.cdap.internal.AppFabricTestHelper;
+import io.cdap.cdap.proto.PercentileInformation;
+import io.cdap.cdap.proto.ProgramRunStatus;
+import io.cdap.cdap.proto.ProgramType;
+import io.cdap.cdap.proto.WorkflowStatistics;
+import io.cdap.cdap.proto.id.NamespaceId;
+import io.cdap.cdap.proto.id.WorkflowId;
+import io.cdap.cdap.spi.data.StructuredTableContext;
+import io.cdap.cdap.spi.data.table.field.Fields;
+import io.cdap.cdap.spi.data.transaction.TransactionRunner;
+import io.cdap.cdap.spi.data.transaction.TransactionRunners;
+import io.cdap.cdap.store.StoreDefinition;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for the statistics of {@link WorkflowTable}, which are compared against the exact computation over the
+ * runs written. The durations of the program runs are small enough for the aggregated percentiles to be exact.
+ */
+public class WorkflowTableTest {
+
+  private static final WorkflowId WORKFLOW = NamespaceId.DEFAULT.app("WorkflowTableTestApp").workflow("wf");
+  private static final long DAY = TimeUnit.DAYS.toSeconds(1);
+  private static final long HOUR = TimeUnit.HOURS.toSeconds(1);
+  // Start of a day, such that the buckets are aligned with the days used in the tests
+  private static final long BASE = 20000 * DAY;
+  private static final List<Double> PERCENTILES = ImmutableList.of(0.0, 50.0, 90.0, 99.0);
+
+  private static TransactionRunner transactionRunner;
+
+  // The runs written, keyed by start time
+  private final TreeMap<Long, Run> runs = new TreeMap<>();
+  private int sourceId;
+
+  @BeforeClass
+  public static void setupClass() {
+    transactionRunner = AppFabricTestHelper.getInjector().getInstance(TransactionRunner.class);
+  }
+
+  @AfterClass
+  public static void tearDown() {
+    AppFabricTestHelper.shutdown();
+  }
+
+  @After
+  public void cleanup() {
+    TransactionRunners.run(transactionRunner, context -> {
+      getWorkflowTable(context).deleteAll();
+    });
+  }
+
+  @Test
+  public void testFullDays() {
+    writeRuns(3);
+
+    // Every day is fully covered, hence the bucket run count matches the runs scanned for each day
+    assertStatistics(BASE, BASE + 3 * DAY);
+    assertStatistics(BASE + DAY, BASE + 2 * DAY);
+    assertStatistics(BASE - DAY, BASE + 4 * DAY);
+    assertStatistics(BASE + 4 * DAY, BASE + 5 * DAY);
+  }
+
+  @Test
+  public void testPartialDays() {
+    writeRuns(3);
+
+    // The first and the last days are only partly covered
+    assertStatistics(BASE + 6 * HOUR, BASE + 2 * DAY + 18 * HOUR);
+    assertStatistics(BASE + 6 * HOUR, BASE + 3 * DAY);
+    assertStatistics(BASE, BASE + 2 * DAY + 18 * HOUR);
+    // Range within a single day
+    assertStatistics(BASE + DAY + 6 * HOUR, BASE + DAY + 18 * HOUR);
+    // Range ending exactly at the start of a run
+    assertStatistics(BASE, BASE + DAY + HOUR);
+  }
+
+  @Test
+  public void testRunsWithoutAggregates() {
+    writeRuns(3);
+
+    // Remove the aggregates of the second day, as for runs written before the statistics were aggregated
+    TransactionRunners.run(transactionRunner, context -> {
+      context.getTable(StoreDefinition.WorkflowStore.WORKFLOW_STATISTICS_BUCKETS).delete(ImmutableList.of(
+        Fields.stringField(StoreDefinition.WorkflowStore.NAMESPACE_FIELD, WORKFLOW.getNamespace()),
+        Fields.stringField(StoreDefinition.WorkflowStore.APPLICATION_FIELD, WORKFLOW.getApplication()),
+        Fields.stringField(StoreDefinition.WorkflowStore.VERSION_FIELD, WORKFLOW.getVersion()),
+        Fields.stringField(StoreDefinition.WorkflowStore.PROGRAM_FIELD, WORKFLOW.getProgram()),
+        Fields.longField(StoreDefinition.WorkflowStore.BUCKET_TIME_FIELD, BASE + DAY)));
+    });
+    assertStatistics(BASE, BASE + 3 * DAY);
+    assertStatistics(BASE + DAY, BASE + 2 * DAY);
+
+    // A new run of that day aggregates the existing runs of the day as well
+    writeRun(BASE + DAY + 23 * HOUR, 17, 3, 11);
+    assertStatistics(BASE, BASE + 3 * DAY);
+    assertStatistics(BASE + DAY, BASE + 2 * DAY);
+    assertStatistics(BASE + DAY + 6 * HOUR, BASE + 3 * DAY);
+  }
+
+  @Test
+  public void testOverwrite() {
+    writeRuns(2);
+
+    // Write existing runs again with different times, only the last write of a run should be counted
+    writeRun(BASE + HOUR, 29, 2, 25);
+    writeRun(BASE + DAY + 9 * HOUR, 1, 1, 1);
+    assertStatistics(BASE, BASE + 2 * DAY);
+    assertStatistics(BASE, BASE + DAY);
+    assertStatistics(BASE + 6 * HOUR, BASE + 2 * DAY);
+
+    // Adding a run after an overwrite keeps the aggregates consistent
+    writeRun(BASE + 23 * HOUR, 4, 2, 2);
+    assertStatistics(BASE, BASE + 2 * DAY);
+    assertStatistics(BASE, BASE + DAY);
+  }
+
+  /**
+   * Writes several runs on each day starting from {@link #BASE}.
+   */
+  private void writeRuns(int days) {
+    int i = 0;
+    for (int day = 0; day < days; day++) {
+      for (long hour = 1; hour < 24; hour += 4) {
+        i++;
+        writeRun(BASE + day * DAY + hour * HOUR, 1 + (i * 7) % 30, 1 + (i * 3) % 13, 1 + (i * 11) % 17);
+      }
+    }
+  }
+
+  /**
+   * Writes a workflow run with a MapReduce and a Spark program run. If there is a run starting at the same time,
+   * it is written again with the given times.
+   */
+  private void writeRun(long startTs, long timeTaken, long mapReduceTime, long sparkTime) {
+    Run existing = runs.get(startTs);
+    String runId = existing == null ? RunIds.generate(TimeUnit.SECONDS.toMillis(startTs)).getId() : existing.runId;
+    List<WorkflowTable.ProgramRun> programRuns = ImmutableList.of(
+      new WorkflowTable.ProgramRun("mr", RunIds.generate().getId(), ProgramType.MAPREDUCE, mapReduceTime),
+      new WorkflowTable.ProgramRun("spark", RunIds.generate().getId(), ProgramType.SPARK, sparkTime));
+    RunRecordDetail runRecord = RunRecordDetail.builder()
+      .setProgramRunId(WORKFLOW.run(runId))
+      .setStartTime(startTs)
+      .setStopTime(startTs + timeTaken)
+      .setStatus(ProgramRunStatus.COMPLETED)
+      .setSourceId(AppFabricTestHelper.createSourceId(++sourceId))
+      .build();
+
+    TransactionRunners.run(transactionRunner, context -> {
+      getWorkflowTable(context).write(WORKFLOW, runRecord, programRuns);
+    });
+    runs.put(startTs, new Run(runId, timeTaken, programRuns));
+  }
+
+  /**
+   * Asserts that the statistics of the given time range are the same as the exact computation over the runs
+   * written.
+   */
+  private void assertStatistics(long startTime, long endTime) {
+    List<Run> expectedRuns = runs.subMap(startTime, endTime).values().stream()
+      .sorted(Comparator.comparingLong(run -> run.timeTaken))
+      .collect(Collectors.toList());
+    WorkflowStatistics statistics = TransactionRunners.run(transactionRunner, context -> {
+      return getWorkflowTable(context).getStatistics(WORKFLOW, startTime, endTime, PERCENTILES);
+    });
+
+    if (expectedRuns.isEmpty()) {
+      Assert.assertNull(statistics);
+      return;
+    }
+    Assert.assertNotNull(statistics);
+
+    int count = expectedRuns.size();
+    Assert.assertEquals(count, statistics.getRuns());
+    Assert.assertEquals(expectedRuns.stream().mapToLong(run -> run.timeTaken).sum() / (double) count,
+                        statistics.getAvgRunTime(), 0.0001d);
+
+    List<PercentileInformation> percentileInformationList = statistics.getPercentileInformationList();
+    Assert.assertEquals(PERCENTILES.size(), percentileInformationList.size());
+    for (int i = 0; i < PERCENTILES.size(); i++) {
+      PercentileInformation percentileInformation = percentileInformationList.get(i);
+      int rank = (int) ((PERCENTILES.get(i) * count) / 100);
+      Assert.assertEquals(PERCENTILES.get(i), percentileInformation.getPercentile(), 0.0d);
+      Assert.assertEquals(expectedRuns.get(rank).timeTaken, percentileInformation.getPercentileTimeInSeconds());
+      Assert.assertEquals(expectedRuns.subList(rank, count).stream().map(run -> run.runId).collect(Collectors.toSet()),
+                          new HashSet<>(percentileInformation.getRunIdsOverPercentile()));
+    }
+
+    Map<String, List<WorkflowTable.ProgramRun>> programRuns = new HashMap<>();
+    for (Run run : expectedRuns) {
+      for (WorkflowTable.ProgramRun programRun : run.programRuns) {
+        programRuns.computeIfAbsent(programRun.getName(), name -> new ArrayList<>()).add(programRun);
+      }
+    }
+    Map<String, Map<String, String>> expectedNodes = new HashMap<>();
+    programRuns.forEach((name, list) -> expectedNodes.put(name, getExpectedNodeStatistics(list)));
+    Assert.assertEquals(expectedNodes, statistics.getNodes());
+  }
+
+  private Map<String, String> getExpectedNodeStatistics(List<WorkflowTable.ProgramRun> programRuns) {
+    List<Long> times = programRuns.stream()
+      .map(WorkflowTable.ProgramRun::getTimeTaken)
+      .sorted()
+      .collect(Collectors.toList());
+    int count = times.size();
+    Map<String, String> statistics = new HashMap<>();
+    statistics.put("type", programRuns.get(0).getProgramType().toString());
+    statistics.put("runs", Long.toString(count));
+    statistics.put("avgRunTime", Double.toString((double) times.stream().mapToLong(Long::longValue).sum() / count));
+    for (double percentile : PERCENTILES) {
+      int rank = Math.min((int) ((percentile * count) / 100), count - 1);
+      statistics.put(Double.toString(percentile), Long.toString(times.get(rank)));
+    }
+    return statistics;
+  }
+
+  private static WorkflowTable getWorkflowTable(StructuredTableContext context) throws Exception {
+    return new WorkflowTable(context.getTable(StoreDefinition.WorkflowStore.WORKFLOW_STATISTICS),
+                             context.getTable(StoreDefinition.WorkflowStore.WORKFLOW_STATISTICS_BUCKETS));
+  }
+
+  /**
+   * A workflow run written in the tests.
+   */
+  private static final class Run {
+    private final String runId;
+    private final long timeTaken;
+    private final List<WorkflowTable.ProgramRun> programRuns;
+
+    Run(String runId, long timeTaken, List<WorkflowTable.ProgramRun> programRuns) {
+      this.runId = runId;
+      this.timeTaken = timeTaken;
+      this.programRuns = programRuns;
+    }
+  }
+}
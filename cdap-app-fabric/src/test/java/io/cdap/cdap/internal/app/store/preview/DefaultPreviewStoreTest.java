@@ -30,6 +30,7 @@ import io.cdap.cdap.common.conf.CConfiguration;
 import io.cdap.cdap.common.conf.Constants;
 import io.cdap.cdap.common.conf.SConfiguration;
 import io.cdap.cdap.internal.AppFabricTestHelper;
+import io.cdap.cdap.internal.app.preview.PreviewDataPayload;
 import io.cdap.cdap.proto.NamespaceMeta;
 import io.cdap.cdap.proto.ProgramType;
 import io.cdap.cdap.proto.artifact.AppRequest;
@@ -49,6 +50,7 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -127,6 +129,42 @@ public class DefaultPreviewStoreTest {
     Assert.assertEquals(0, firstApplicationData.size());
   }
 
+  @Test
+  public void testPutAll() {
+    ApplicationId firstApplicationId = new ApplicationId(NamespaceMeta.DEFAULT.getName(), RunIds.generate().getId());
+    ApplicationId secondApplicationId = new ApplicationId(NamespaceMeta.DEFAULT.getName(), RunIds.generate().getId());
+
+    List<PreviewDataPayload> payloads = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      payloads.add(new PreviewDataPayload(firstApplicationId, "stage1", "records.in", i));
+      payloads.add(new PreviewDataPayload(firstApplicationId, "stage1", "records.out", "value" + i));
+      payloads.add(new PreviewDataPayload(firstApplicationId, "stage2", "records.in", i));
+    }
+    payloads.add(new PreviewDataPayload(secondApplicationId, "stage1", "records.in", "value"));
+    store.putAll(payloads);
+
+    // values of each property are returned in the order they were put
+    Map<String, List<JsonElement>> data = store.get(firstApplicationId, "stage1");
+    Assert.assertEquals(2, data.size());
+    Assert.assertEquals(1000, data.get("records.in").size());
+    Assert.assertEquals(1000, data.get("records.out").size());
+    for (int i = 0; i < 1000; i++) {
+      Assert.assertEquals(i, data.get("records.in").get(i).getAsInt());
+      Assert.assertEquals("value" + i, data.get("records.out").get(i).getAsString());
+    }
+    Assert.assertEquals(1000, store.get(firstApplicationId, "stage2").get("records.in").size());
+
+    // data put one at a time are appended after the batch
+    store.put(firstApplicationId, "stage1", "records.in", 1000);
+    data = store.get(firstApplicationId, "stage1");
+    Assert.assertEquals(1001, data.get("records.in").size());
+    Assert.assertEquals(1000, data.get("records.in").get(1000).getAsInt());
+
+    data = store.get(secondApplicationId, "stage1");
+    Assert.assertEquals(1, data.size());
+    Assert.assertEquals("value", data.get("records.in").get(0).getAsString());
+  }
+
   @Test
   public void testPreviewInfo() throws IOException {
     // test non existing preview
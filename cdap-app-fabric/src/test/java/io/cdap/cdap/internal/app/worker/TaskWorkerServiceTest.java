@@ -270,6 +270,59 @@ public class TaskWorkerServiceTest {
     Assert.assertEquals(Service.State.TERMINATED, taskWorkerService.state());
   }
 
+  @Test
+  public void testConcurrentRequestsWithMultipleSlots() throws Exception {
+    CConfiguration cConf = createCConf();
+    SConfiguration sConf = createSConf();
+    cConf.setInt(Constants.TaskWorker.CONTAINER_KILL_AFTER_REQUEST_COUNT, 3);
+    cConf.setInt(Constants.TaskWorker.REQUEST_CONCURRENCY, 2);
+    cConf.setInt(Constants.TaskWorker.REQUEST_QUEUE_SIZE, 1);
+    cConf.set(Constants.TaskWorker.PREWARM_CLASSES, TestRunnableClass.class.getName());
+
+    TaskWorkerService taskWorkerService = new TaskWorkerService(
+      cConf, sConf, new InMemoryDiscoveryService(), (namespaceId, retryStrategy) -> null, metricsCollectionService,
+      new CommonNettyHttpServiceFactory(cConf, metricsCollectionService));
+    serviceCompletionFuture = TaskWorkerTestUtil.getServiceCompletionFuture(taskWorkerService);
+    // start the service
+    taskWorkerService.startAndWait();
+
+    InetSocketAddress addr = taskWorkerService.getBindAddress();
+    URI uri = URI.create(String.format("http://%s:%s", addr.getHostName(), addr.getPort()));
+
+    RunnableTaskRequest request = RunnableTaskRequest.getBuilder(TestRunnableClass.class.getName()).
+      withParam("1000").build();
+
+    String reqBody = GSON.toJson(request);
+    List<Callable<HttpResponse>> calls = new ArrayList<>();
+    int concurrentRequests = 4;
+
+    for (int i = 0; i < concurrentRequests; i++) {
+      calls.add(
+        () -> HttpRequests.execute(
+          HttpRequest.post(uri.resolve("/v3Internal/worker/run").toURL())
+            .withBody(reqBody).build(),
+          new DefaultHttpRequestConfig(false))
+      );
+    }
+
+    // two requests run concurrently, one waits in the queue for a slot and the last one is rejected
+    List<Future<HttpResponse>> responses = Executors.newFixedThreadPool(concurrentRequests).invokeAll(calls);
+    int okResponse = 0;
+    int conflictResponse = 0;
+    for (int i = 0; i < concurrentRequests; i++) {
+      if (responses.get(i).get().getResponseCode() == HttpResponseStatus.OK.code()) {
+        okResponse++;
+      } else if (responses.get(i).get().getResponseCode() == HttpResponseStatus.TOO_MANY_REQUESTS.code()) {
+        conflictResponse++;
+      }
+    }
+    // the worker restarts once all the admitted requests are finished
+    TaskWorkerTestUtil.waitForServiceCompletion(serviceCompletionFuture);
+    Assert.assertEquals(3, okResponse);
+    Assert.assertEquals(concurrentRequests, okResponse + conflictResponse);
+    Assert.assertEquals(Service.State.TERMINATED, taskWorkerService.state());
+  }
+
   public static class TestRunnableClass implements RunnableTask {
     @Override
     public void run(RunnableTaskContext context) throws Exception {
@@ -0,0 +1,231 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.internal.app.worker.sidecar;
+
+import io.cdap.cdap.common.conf.Constants;
+import io.cdap.cdap.common.discovery.ResolvingDiscoverable;
+import io.cdap.cdap.common.discovery.URIScheme;
+import io.cdap.cdap.common.internal.remote.NoOpInternalAuthenticator;
+import io.cdap.cdap.common.internal.remote.RemoteClient;
+import io.cdap.cdap.common.internal.remote.RemoteClientFactory;
+import io.cdap.cdap.common.service.RetryStrategies;
+import io.cdap.cdap.proto.id.ArtifactId;
+import io.cdap.cdap.proto.id.NamespaceId;
+import io.cdap.http.AbstractHttpHandler;
+import io.cdap.http.HttpResponder;
+import io.cdap.http.NettyHttpService;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.apache.twill.common.Cancellable;
+import org.apache.twill.discovery.DiscoveryServiceClient;
+import org.apache.twill.discovery.InMemoryDiscoveryService;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+/**
+ * Unit tests for the de-duplication and the freshness window of {@link AbstractArtifactLocalizer}.
+ */
+public class AbstractArtifactLocalizerTest {
+
+  @ClassRule
+  public static final TemporaryFolder TEMP_FOLDER = new TemporaryFolder();
+
+  private static final ArtifactId ARTIFACT_ID = NamespaceId.DEFAULT.artifact("test", "1.0.0");
+  private static final long LAST_MODIFIED = TimeUnit.SECONDS.toMillis(1600000000L);
+
+  private static final DownloadHandler HANDLER = new DownloadHandler();
+  private static NettyHttpService httpService;
+  private static Cancellable cancelDiscovery;
+  private static RemoteClient remoteClient;
+
+  @BeforeClass
+  public static void setupClass() throws Exception {
+    InMemoryDiscoveryService discoveryService = new InMemoryDiscoveryService();
+    httpService = NettyHttpService.builder(Constants.Service.APP_FABRIC_HTTP)
+      .setHttpHandlers(HANDLER)
+      .setExecThreadPoolSize(10)
+      .build();
+    httpService.start();
+    cancelDiscovery = discoveryService.register(
+      ResolvingDiscoverable.of(URIScheme.createDiscoverable(Constants.Service.APP_FABRIC_HTTP, httpService)));
+
+    RemoteClientFactory remoteClientFactory = new RemoteClientFactory((DiscoveryServiceClient) discoveryService,
+                                                                      new NoOpInternalAuthenticator());
+    remoteClient = remoteClientFactory.createRemoteClient(Constants.Service.APP_FABRIC_HTTP,
+                                                          RemoteClientFactory.NO_VERIFY_HTTP_REQUEST_CONFIG,
+                                                          Constants.Gateway.INTERNAL_API_VERSION_3);
+  }
+
+  @AfterClass
+  public static void tearDownClass() throws Exception {
+    if (cancelDiscovery != null) {
+      cancelDiscovery.cancel();
+    }
+    if (httpService != null) {
+      httpService.stop();
+    }
+  }
+
+  @Before
+  public void resetHandler() {
+    HANDLER.downloads.set(0);
+    HANDLER.notModified.set(0);
+    HANDLER.blockLatch.set(null);
+  }
+
+  @After
+  public void releaseHandler() {
+    CountDownLatch latch = HANDLER.blockLatch.getAndSet(null);
+    if (latch != null) {
+      latch.countDown();
+    }
+  }
+
+  @Test
+  public void testConcurrentFetch() throws Exception {
+    TestLocalizer localizer = new TestLocalizer(TEMP_FOLDER.newFolder().getAbsolutePath(), 0L);
+    int numThreads = 5;
+
+    // Block the download until all the threads called the localizer
+    CountDownLatch blockLatch = new CountDownLatch(1);
+    HANDLER.blockLatch.set(blockLatch);
+    CyclicBarrier barrier = new CyclicBarrier(numThreads + 1);
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try {
+      List<Future<File>> futures = new ArrayList<>();
+      for (int i = 0; i < numThreads; i++) {
+        futures.add(executor.submit(() -> {
+          barrier.await();
+          return localizer.fetch(ARTIFACT_ID);
+        }));
+      }
+      barrier.await();
+      TimeUnit.MILLISECONDS.sleep(500);
+      blockLatch.countDown();
+
+      File file = futures.get(0).get(1, TimeUnit.MINUTES);
+      for (Future<File> future : futures) {
+        Assert.assertEquals(file, future.get(1, TimeUnit.MINUTES));
+      }
+      Assert.assertTrue(file.exists());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // Only one download is made for the concurrent fetches. Threads that called the localizer after the download
+    // completed only check whether the artifact was modified.
+    Assert.assertEquals(1, HANDLER.downloads.get());
+  }
+
+  @Test
+  public void testFreshnessWindow() throws Exception {
+    // The artifact fetched within the freshness window is returned without calling the remote endpoint
+    TestLocalizer localizer = new TestLocalizer(TEMP_FOLDER.newFolder().getAbsolutePath(), TimeUnit.HOURS.toMillis(1));
+    File file = localizer.fetch(ARTIFACT_ID);
+    Assert.assertEquals(file, localizer.fetch(ARTIFACT_ID));
+    Assert.assertEquals(1, HANDLER.downloads.get());
+    Assert.assertEquals(0, HANDLER.notModified.get());
+
+    // The artifact deleted by the cleaner is downloaded again, even within the freshness window
+    Files.delete(file.toPath());
+    Assert.assertEquals(file, localizer.fetch(ARTIFACT_ID));
+    Assert.assertTrue(file.exists());
+    Assert.assertEquals(2, HANDLER.downloads.get());
+
+    // Without a freshness window, every fetch checks whether the artifact was modified
+    localizer = new TestLocalizer(TEMP_FOLDER.newFolder().getAbsolutePath(), 0L);
+    file = localizer.fetch(ARTIFACT_ID);
+    Assert.assertEquals(file, localizer.fetch(ARTIFACT_ID));
+    Assert.assertEquals(3, HANDLER.downloads.get());
+    Assert.assertEquals(1, HANDLER.notModified.get());
+  }
+
+  /**
+   * A localizer that stores the artifacts under the given data directory.
+   */
+  private static final class TestLocalizer extends AbstractArtifactLocalizer {
+
+    TestLocalizer(String dataDir, long freshnessWindowMillis) {
+      super(dataDir, RetryStrategies.noRetry(), freshnessWindowMillis);
+    }
+
+    File fetch(ArtifactId artifactId) throws Exception {
+      File artifactDir = Paths.get(dataDir, "artifacts", artifactId.getNamespace(), artifactId.getArtifact(),
+                                   artifactId.getVersion()).toFile();
+      return fetchArtifact(artifactId, remoteClient, artifactDir);
+    }
+  }
+
+  /**
+   * Handler that serves the artifact download and counts the requests.
+   */
+  public static final class DownloadHandler extends AbstractHttpHandler {
+
+    private final AtomicInteger downloads = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private final AtomicReference<CountDownLatch> blockLatch = new AtomicReference<>();
+
+    @GET
+    @Path(Constants.Gateway.INTERNAL_API_VERSION_3
+      + "/namespaces/{namespace-id}/artifacts/{artifact-name}/versions/{artifact-version}/download")
+    public void download(HttpRequest request, HttpResponder responder) throws InterruptedException {
+      HttpHeaders headers = new DefaultHttpHeaders().add(HttpHeaderNames.LAST_MODIFIED, ZonedDateTime.ofInstant(
+        Instant.ofEpochMilli(LAST_MODIFIED), ZoneId.of("GMT")).format(DateTimeFormatter.RFC_1123_DATE_TIME));
+      if (request.headers().contains(HttpHeaderNames.IF_MODIFIED_SINCE)) {
+        notModified.incrementAndGet();
+        responder.sendStatus(HttpResponseStatus.NOT_MODIFIED, headers);
+        return;
+      }
+
+      downloads.incrementAndGet();
+      CountDownLatch latch = blockLatch.get();
+      if (latch != null) {
+        latch.await(1, TimeUnit.MINUTES);
+      }
+      responder.sendByteArray(HttpResponseStatus.OK, new byte[1024], headers);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.internal.app.worker.sidecar;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link ArtifactLocalizerCleaner}.
+ */
+public class ArtifactLocalizerCleanerTest {
+
+  @Rule
+  public final TemporaryFolder tmpFolder = new TemporaryFolder();
+
+  @Test
+  public void testMaxCacheSize() throws IOException {
+    Path dataDir = tmpFolder.newFolder().toPath();
+    Path artifactsDir = dataDir.resolve("artifacts");
+    Path blobsDir = dataDir.resolve(AbstractArtifactLocalizer.BLOBS_DIR);
+    long now = System.currentTimeMillis();
+
+    Path jarA = createJar(artifactsDir.resolve("ns1/a/1.0/100.jar"), now - TimeUnit.HOURS.toMillis(3));
+    Path unpackedA = Files.createDirectories(dataDir.resolve("unpacked/ns1/a/1.0/100"));
+    Files.write(unpackedA.resolve("a.class"), new byte[10]);
+
+    // a jar stored by content hash and shared by two namespaces is only counted once
+    Path blob = createJar(blobsDir.resolve("hash.jar"), now - TimeUnit.HOURS.toMillis(2));
+    Path jarB1 = artifactsDir.resolve("ns1/b/1.0/100.jar");
+    Path jarB2 = artifactsDir.resolve("ns2/b/1.0/100.jar");
+    Files.createDirectories(jarB1.getParent());
+    Files.createDirectories(jarB2.getParent());
+    Files.createLink(jarB1, blob);
+    Files.createLink(jarB2, blob);
+
+    // a recently used jar is never deleted
+    Path jarC = createJar(artifactsDir.resolve("ns1/c/1.0/100.jar"), now);
+
+    // the cache is within the limit
+    new ArtifactLocalizerCleaner(artifactsDir, blobsDir, 60, 3000).run();
+    Assert.assertTrue(Files.exists(jarA));
+    Assert.assertTrue(Files.exists(jarB1));
+    Assert.assertTrue(Files.exists(jarB2));
+    Assert.assertTrue(Files.exists(blob));
+    Assert.assertTrue(Files.exists(jarC));
+
+    // the least recently used jars are deleted until the cache is within the limit
+    new ArtifactLocalizerCleaner(artifactsDir, blobsDir, 60, 1500).run();
+    Assert.assertFalse(Files.exists(jarA));
+    Assert.assertFalse(Files.exists(unpackedA));
+    Assert.assertFalse(Files.exists(jarB1));
+    Assert.assertFalse(Files.exists(jarB2));
+    Assert.assertFalse(Files.exists(blob));
+    Assert.assertTrue(Files.exists(jarC));
+
+    // only recently used jars are left
+    new ArtifactLocalizerCleaner(artifactsDir, blobsDir, 60, 1).run();
+    Assert.assertTrue(Files.exists(jarC));
+  }
+
+  private Path createJar(Path path, long lastModified) throws IOException {
+    Files.createDirectories(path.getParent());
+    Files.write(path, new byte[1000]);
+    Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified));
+    return path;
+  }
+}
@@ -39,7 +39,9 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collections;
 
 /**
@@ -84,6 +86,9 @@ public class ArtifactCacheTest extends AppFabricTestBase {
     // Get artifact from another peer. It should be cached in a different path
     File peer2ArtifactPath = cache.getArtifact(artifactId.toEntityId(), "peer2", remoteClient);
     Assert.assertNotEquals(peer1ArtifactPath, peer2ArtifactPath);
+    // The identical jars of the two peers should share the same content
+    Assert.assertEquals(Files.readAttributes(peer1ArtifactPath.toPath(), BasicFileAttributes.class).fileKey(),
+                        Files.readAttributes(peer2ArtifactPath.toPath(), BasicFileAttributes.class).fileKey());
 
     // Delete and recreate the artifact to update the last modified date
     artifactRepository.deleteArtifact(artifactId);
@@ -76,6 +76,22 @@ public class FakeFieldLineageReader implements FieldLineageReader {
     return outgoingSummary.getOrDefault(endPointField.getField(), summary);
   }
 
+  @Override
+  public Map<String, Set<EndPointField>> getIncomingSummaries(EndPoint endPoint, long start, long end) {
+    Map<String, Set<EndPointField>> summaries = new HashMap<>();
+    getFields(endPoint, start, end).forEach(
+      field -> summaries.put(field, getIncomingSummary(new EndPointField(endPoint, field), start, end)));
+    return summaries;
+  }
+
+  @Override
+  public Map<String, Set<EndPointField>> getOutgoingSummaries(EndPoint endPoint, long start, long end) {
+    Map<String, Set<EndPointField>> summaries = new HashMap<>();
+    getFields(endPoint, start, end).forEach(
+      field -> summaries.put(field, getOutgoingSummary(new EndPointField(endPoint, field), start, end)));
+    return summaries;
+  }
+
   @Override
   public List<ProgramRunOperations> getIncomingOperations(EndPointField endPointField, long start, long end) {
     return programRunOperations;
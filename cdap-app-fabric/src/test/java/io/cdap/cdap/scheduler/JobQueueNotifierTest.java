@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.scheduler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link JobQueueNotifier}.
+ */
+public class JobQueueNotifierTest {
+
+  @Test
+  public void testSignal() throws Exception {
+    JobQueueNotifier notifier = new JobQueueNotifier(2);
+
+    // No signal, should time out
+    Assert.assertFalse(notifier.await(0, 10, TimeUnit.MILLISECONDS));
+    Assert.assertEquals(-1L, notifier.clear(0));
+
+    // Signal before waiting should return immediately, and stays until cleared
+    long beforeSignal = System.currentTimeMillis();
+    notifier.signal(0);
+    Assert.assertTrue(notifier.await(0, 1, TimeUnit.HOURS));
+    Assert.assertTrue(notifier.await(0, 1, TimeUnit.HOURS));
+    Assert.assertFalse(notifier.await(1, 10, TimeUnit.MILLISECONDS));
+    Assert.assertTrue(notifier.clear(0) >= beforeSignal);
+    Assert.assertEquals(-1L, notifier.clear(0));
+
+    // Unknown partition should be ignored
+    notifier.signal(2);
+    notifier.signal(-1);
+
+    // Signal should wake up the waiting thread
+    CompletableFuture<Boolean> result = new CompletableFuture<>();
+    Thread thread = new Thread(() -> {
+      try {
+        result.complete(notifier.await(1, 1, TimeUnit.HOURS));
+      } catch (InterruptedException e) {
+        result.completeExceptionally(e);
+      }
+    });
+    thread.start();
+    notifier.signalAll();
+    Assert.assertTrue(result.get(10, TimeUnit.SECONDS));
+    thread.join();
+  }
+}
@@ -29,4 +29,19 @@ public interface LookupProvider {
    * @return a {@link Lookup} instance
    */
   <T> Lookup<T> provide(String table, Map<String, String> arguments);
+
+  /**
+   * Provides a {@link Lookup} for a table configured by a {@link LookupTableConfig}. If caching is enabled in the
+   * config, implementations may cache lookup results as specified by its {@link CacheConfig}.
+   * The default implementation ignores the cache config, and uses the dataset properties of the config as the
+   * arguments of the {@link Lookup} table.
+   *
+   * @param table the name of the {@link Lookup} table
+   * @param config the configuration of the {@link Lookup} table
+   * @param <T> the type of value returned by the {@link Lookup}
+   * @return a {@link Lookup} instance
+   */
+  default <T> Lookup<T> provide(String table, LookupTableConfig config) {
+    return provide(table, config.getDatasetProperties());
+  }
 }
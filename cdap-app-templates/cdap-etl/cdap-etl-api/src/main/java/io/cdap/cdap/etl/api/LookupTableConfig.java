@@ -63,15 +63,23 @@ public class LookupTableConfig {
     return type;
   }
 
+  /**
+   * @return the runtime dataset properties, which are empty if the config doesn't have any
+   */
   public Map<String, String> getDatasetProperties() {
-    return datasetProperties;
+    // null if the config was deserialized without dataset properties
+    return datasetProperties == null ? ImmutableMap.<String, String>of() : datasetProperties;
   }
 
   public boolean isCacheEnabled() {
     return cacheEnabled;
   }
 
+  /**
+   * @return the cache config, which has no expiry and no max size if the config doesn't have one
+   */
   public CacheConfig getCacheConfig() {
-    return cacheConfig;
+    // null if the config was deserialized without cache config
+    return cacheConfig == null ? new CacheConfig() : cacheConfig;
   }
 }
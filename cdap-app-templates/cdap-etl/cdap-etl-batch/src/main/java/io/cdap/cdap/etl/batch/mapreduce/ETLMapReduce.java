@@ -18,6 +18,7 @@ package io.cdap.cdap.etl.batch.mapreduce;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.SetMultimap;
 import com.google.common.reflect.TypeToken;
 import com.google.gson.Gson;
@@ -28,6 +29,7 @@ import io.cdap.cdap.api.annotation.TransactionControl;
 import io.cdap.cdap.api.annotation.TransactionPolicy;
 import io.cdap.cdap.api.app.RuntimeConfigurer;
 import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.cdap.api.dataset.lib.KeyValue;
 import io.cdap.cdap.api.macro.MacroEvaluator;
 import io.cdap.cdap.api.mapreduce.AbstractMapReduce;
 import io.cdap.cdap.api.mapreduce.MapReduceContext;
@@ -56,6 +58,7 @@ import org.apache.hadoop.mapreduce.Reducer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -231,6 +234,37 @@ public class ETLMapReduce extends AbstractMapReduce {
       transformRunner = new TransformRunner<>(context, mapperMetrics);
     }
 
+    @Override
+    public void run(Mapper.Context context) throws IOException, InterruptedException {
+      if (!transformRunner.isBatched()) {
+        super.run(context);
+        return;
+      }
+
+      // In batched mode, the inputs are sent to the pipeline in batches instead of one map() call per input
+      setup(context);
+      try {
+        transformRunner.transform(new AbstractIterator<KeyValue<Object, Object>>() {
+          @Override
+          protected KeyValue<Object, Object> computeNext() {
+            try {
+              return context.nextKeyValue() ?
+                new KeyValue<>(context.getCurrentKey(), context.getCurrentValue()) : endOfData();
+            } catch (IOException | InterruptedException e) {
+              throw Throwables.propagate(e);
+            }
+          }
+        });
+      } catch (StageFailureException e) {
+        PIPELINE_LOG.error("{}", e.getMessage(), e.getCause());
+        throw Throwables.propagate(e.getCause());
+      } catch (Exception e) {
+        throw Throwables.propagate(e);
+      } finally {
+        cleanup(context);
+      }
+    }
+
     @Override
     public void map(Object key, Object value, Mapper.Context context) {
       try {
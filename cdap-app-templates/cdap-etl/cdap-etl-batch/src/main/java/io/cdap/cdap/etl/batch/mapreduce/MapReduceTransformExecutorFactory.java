@@ -101,7 +101,8 @@ public class MapReduceTransformExecutorFactory<T> extends TransformExecutorFacto
                                            OutputWriter<Object, Object> outputWriter) {
     super(pluginInstantiator, new DefaultMacroEvaluator(arguments, taskContext.getLogicalStartTime(),
                                                         taskContext, taskContext, taskContext.getNamespace()),
-          metrics, sourceStageName, collectStageStatistics);
+          metrics, sourceStageName, collectStageStatistics,
+          Boolean.parseBoolean(arguments.get(Constants.BATCHED_EXECUTION_ENABLED)));
     this.taskContext = taskContext;
     JobContext hadoopContext = (JobContext) taskContext.getHadoopContext();
     Configuration hConf = hadoopContext.getConfiguration();
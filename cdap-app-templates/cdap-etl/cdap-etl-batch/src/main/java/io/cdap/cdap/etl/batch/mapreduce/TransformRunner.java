@@ -18,6 +18,7 @@ package io.cdap.cdap.etl.batch.mapreduce;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.SetMultimap;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -44,6 +45,7 @@ import org.apache.hadoop.mapreduce.JobContext;
 import org.apache.hadoop.mapreduce.Mapper;
 
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
@@ -62,6 +64,8 @@ public class TransformRunner<KEY, VALUE> {
     .create();
   private final PipeTransformExecutor<KeyValue<KEY, VALUE>> transformExecutor;
   private final OutputWriter<Object, Object> outputWriter;
+  private final boolean batched;
+  private final int batchSize;
 
   public TransformRunner(MapReduceTaskContext<Object, Object> context,
                          Metrics metrics) throws Exception {
@@ -100,9 +104,15 @@ public class TransformRunner<KEY, VALUE> {
       }
     }
 
+    BasicArguments arguments = new BasicArguments(context.getWorkflowToken(), runtimeArgs);
+    this.batched = Boolean.parseBoolean(arguments.get(Constants.BATCHED_EXECUTION_ENABLED));
+    this.batchSize = arguments.has(Constants.BATCHED_EXECUTION_SIZE) ?
+      Integer.parseInt(arguments.get(Constants.BATCHED_EXECUTION_SIZE)) : Constants.DEFAULT_BATCHED_EXECUTION_SIZE;
+    Preconditions.checkArgument(batchSize > 0, "Invalid value %s for %s. It must be a positive integer.",
+                                batchSize, Constants.BATCHED_EXECUTION_SIZE);
+
     MapReduceTransformExecutorFactory<KeyValue<KEY, VALUE>> transformExecutorFactory =
-      new MapReduceTransformExecutorFactory<>(context, pluginInstantiator, metrics,
-                                              new BasicArguments(context.getWorkflowToken(), runtimeArgs),
+      new MapReduceTransformExecutorFactory<>(context, pluginInstantiator, metrics, arguments,
                                               sourceStage, phaseSpec.pipelineContainsCondition(), outputWriter);
     this.transformExecutor = transformExecutorFactory.create(phase);
   }
@@ -141,6 +151,24 @@ public class TransformRunner<KEY, VALUE> {
     transformExecutor.runOneIteration(input);
   }
 
+  /**
+   * Returns whether the pipeline runs in batched mode, in which case inputs should be sent through
+   * {@link #transform(Iterator)}.
+   */
+  public boolean isBatched() {
+    return batched;
+  }
+
+  /**
+   * Sends all the given inputs through the pipeline, in batches of the configured size. The inputs are not retained,
+   * hence the iterator can reuse the key and value objects.
+   */
+  public void transform(Iterator<KeyValue<KEY, VALUE>> inputs) throws Exception {
+    while (inputs.hasNext()) {
+      transformExecutor.runBatch(() -> Iterators.limit(inputs, batchSize));
+    }
+  }
+
   public void destroy() {
     Destroyables.destroyQuietly(transformExecutor);
   }
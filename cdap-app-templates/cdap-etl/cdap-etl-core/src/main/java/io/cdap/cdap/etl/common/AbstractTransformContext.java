@@ -18,6 +18,7 @@ package io.cdap.cdap.etl.common;
 
 import io.cdap.cdap.etl.api.Lookup;
 import io.cdap.cdap.etl.api.LookupProvider;
+import io.cdap.cdap.etl.api.LookupTableConfig;
 import io.cdap.cdap.etl.api.TransformContext;
 import io.cdap.cdap.etl.api.lineage.field.FieldOperation;
 import io.cdap.cdap.etl.proto.v2.spec.StageSpec;
@@ -44,6 +45,20 @@ public abstract class AbstractTransformContext extends AbstractStageContext impl
     return lookup.provide(table, arguments);
   }
 
+  /**
+   * Provides a {@link Lookup} that caches lookup results for this stage if caching is enabled in the config.
+   */
+  @Override
+  public <T> Lookup<T> provide(String table, LookupTableConfig config) {
+    // The lookup provider applies the dataset properties, while the cache is created by this context
+    Lookup<T> tableLookup = lookup.provide(table, new LookupTableConfig(config.getType(), config.getCacheConfig(),
+                                                                       config.getDatasetProperties(), false));
+    if (!config.isCacheEnabled()) {
+      return tableLookup;
+    }
+    return new CachingLookup<>(tableLookup, config.getCacheConfig(), getMetrics());
+  }
+
   @Override
   public void record(List<FieldOperation> fieldOperations) {
     throw new UnsupportedOperationException("Lineage recording is not supported.");
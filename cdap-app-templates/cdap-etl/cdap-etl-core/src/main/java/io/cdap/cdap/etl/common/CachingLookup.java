@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.etl.common;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import io.cdap.cdap.etl.api.CacheConfig;
+import io.cdap.cdap.etl.api.Lookup;
+import io.cdap.cdap.etl.api.StageMetrics;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Lookup} that caches the results of another {@link Lookup} as configured by a {@link CacheConfig}.
+ * Keys that are not found are cached as well, so that repeated lookups of missing keys don't hit the dataset.
+ * Batch lookups only look up the keys that are not in the cache, with a single batch lookup.
+ *
+ * Cache hits, misses and evictions are counted with the given {@link StageMetrics}.
+ *
+ * @param <T> the type of object returned for a lookup
+ */
+public class CachingLookup<T> implements Lookup<T> {
+
+  private final Lookup<T> delegate;
+  private final StageMetrics stageMetrics;
+  private final Cache<String, Optional<T>> cache;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param delegate the {@link Lookup} to cache results of
+   * @param cacheConfig the cache configuration. An expiry or max size that is not positive means no limit.
+   * @param stageMetrics the {@link StageMetrics} for the cache metrics
+   */
+  public CachingLookup(Lookup<T> delegate, CacheConfig cacheConfig, StageMetrics stageMetrics) {
+    this.delegate = delegate;
+    this.stageMetrics = stageMetrics;
+
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+    if (cacheConfig.getExpirySeconds() > 0) {
+      builder.expireAfterWrite(cacheConfig.getExpirySeconds(), TimeUnit.SECONDS);
+    }
+    if (cacheConfig.getMaxSize() > 0) {
+      builder.maximumSize(cacheConfig.getMaxSize());
+    }
+    this.cache = builder.<String, Optional<T>>removalListener(notification -> {
+      if (notification.wasEvicted()) {
+        stageMetrics.count(Constants.Metrics.LOOKUP_CACHE_EVICTIONS, 1);
+      }
+    }).build();
+  }
+
+  @Nullable
+  @Override
+  public T lookup(String key) {
+    Optional<T> cached = cache.getIfPresent(key);
+    if (cached != null) {
+      stageMetrics.count(Constants.Metrics.LOOKUP_CACHE_HITS, 1);
+      return cached.orElse(null);
+    }
+    stageMetrics.count(Constants.Metrics.LOOKUP_CACHE_MISSES, 1);
+    T value = delegate.lookup(key);
+    cache.put(key, Optional.ofNullable(value));
+    return value;
+  }
+
+  @Override
+  public Map<String, T> lookup(String... keys) {
+    return lookup(ImmutableSet.copyOf(keys));
+  }
+
+  @Override
+  public Map<String, T> lookup(Set<String> keys) {
+    Map<String, T> results = new HashMap<>();
+    Set<String> missingKeys = new HashSet<>();
+    for (String key : keys) {
+      Optional<T> cached = cache.getIfPresent(key);
+      if (cached == null) {
+        missingKeys.add(key);
+      } else {
+        cached.ifPresent(value -> results.put(key, value));
+      }
+    }
+
+    int hits = keys.size() - missingKeys.size();
+    if (hits > 0) {
+      stageMetrics.count(Constants.Metrics.LOOKUP_CACHE_HITS, hits);
+    }
+    if (missingKeys.isEmpty()) {
+      return results;
+    }
+
+    stageMetrics.count(Constants.Metrics.LOOKUP_CACHE_MISSES, missingKeys.size());
+    Map<String, T> loaded = delegate.lookup(missingKeys);
+    for (String key : missingKeys) {
+      T value = loaded.get(key);
+      cache.put(key, Optional.ofNullable(value));
+      if (value != null) {
+        results.put(key, value);
+      }
+    }
+    return results;
+  }
+}
@@ -37,11 +37,15 @@ public final class Constants {
   public static final String CONSOLIDATE_STAGES = "spark.cdap.pipeline.consolidate.stages";
   public static final String CACHE_FUNCTIONS = "spark.cdap.pipeline.functioncache.enable";
   public static final String DATASET_KRYO_ENABLED = "spark.cdap.pipeline.dataset.kryo.enable";
+  public static final String STRUCTURED_RECORD_KRYO_ENABLED = "spark.cdap.pipeline.structuredrecord.kryo.enable";
   public static final String DATASET_AGGREGATE_ENABLED = "spark.cdap.pipeline.aggregate.dataset.enable";
   public static final String DISABLE_ELT_PUSHDOWN = "cdap.pipeline.pushdown.disable";
+  public static final String BATCHED_EXECUTION_ENABLED = "cdap.pipeline.exec.batched.enable";
+  public static final String BATCHED_EXECUTION_SIZE = "cdap.pipeline.exec.batched.size";
   public static final String DATASET_AGGREGATE_IGNORE_PARTITIONS =
     "spark.cdap.pipeline.aggregate.dataset.partitions.ignore";
   public static final String DEFAULT_CACHING_STORAGE_LEVEL = "DISK_ONLY";
+  public static final int DEFAULT_BATCHED_EXECUTION_SIZE = 1000;
 
   private Constants() {
     throw new AssertionError("Suppress default constructor for noninstantiability");
@@ -76,6 +80,9 @@ public final class Constants {
     public static final String RECORDS_PULL = "records.pull";
     public static final String AGG_GROUPS = "aggregator.groups";
     public static final String JOIN_KEYS = "joiner.keys";
+    public static final String LOOKUP_CACHE_HITS = "lookup.cache.hits";
+    public static final String LOOKUP_CACHE_MISSES = "lookup.cache.misses";
+    public static final String LOOKUP_CACHE_EVICTIONS = "lookup.cache.evictions";
     public static final String DRAFT_COUNT = "draft.count";
     public static final String STAGES_COUNT = "stages.count";
     public static final String STAGES_COUNT_PREFIX = STAGES_COUNT + ".";
@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.etl.common;
+
+import io.cdap.cdap.etl.api.Emitter;
+import io.cdap.cdap.etl.api.Transformation;
+
+import java.util.List;
+
+/**
+ * A {@link Transformation} that can transform multiple input records in one call, so that per call overhead such
+ * as metrics and timing can be amortized across the records. This is used by the batched execution mode
+ * of the pipe transform executor.
+ *
+ * @param <IN> Type of input object
+ * @param <OUT> Type of output object
+ */
+public interface MultiRecordTransformation<IN, OUT> extends Transformation<IN, OUT> {
+
+  /**
+   * Transforms all the given inputs, in order. The result is the same as calling
+   * {@link #transform(Object, Emitter)} for each of the inputs.
+   *
+   * The emitter is expected to buffer the outputs instead of processing them synchronously,
+   * since time spent in the emitter may be attributed to this transformation.
+   *
+   * @param inputs the inputs to transform
+   * @param emitter {@link Emitter} to emit data to the next stage
+   * @throws Exception if there was an error transforming any of the inputs
+   */
+  void transformAll(List<IN> inputs, Emitter<OUT> emitter) throws Exception;
+}
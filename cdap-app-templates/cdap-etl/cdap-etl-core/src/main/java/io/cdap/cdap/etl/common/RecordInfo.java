@@ -32,7 +32,7 @@ public class RecordInfo<T> implements Serializable {
   private final String fromPort;
   private final RecordType type;
 
-  private RecordInfo(T value, String fromStage, String fromPort, RecordType type) {
+  protected RecordInfo(T value, String fromStage, @Nullable String fromPort, RecordType type) {
     this.fromStage = fromStage;
     this.value = value;
     this.fromPort = fromPort;
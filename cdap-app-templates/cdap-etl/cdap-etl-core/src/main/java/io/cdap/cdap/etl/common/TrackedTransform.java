@@ -22,6 +22,7 @@ import io.cdap.cdap.etl.api.Emitter;
 import io.cdap.cdap.etl.api.StageMetrics;
 import io.cdap.cdap.etl.api.Transformation;
 
+import java.util.List;
 import javax.annotation.Nullable;
 
 /**
@@ -31,7 +32,7 @@ import javax.annotation.Nullable;
  * @param <IN> Type of input object
  * @param <OUT> Type of output object
  */
-public class TrackedTransform<IN, OUT> implements Transformation<IN, OUT>, Destroyable {
+public class TrackedTransform<IN, OUT> implements MultiRecordTransformation<IN, OUT>, Destroyable {
   private final Transformation<IN, OUT> transform;
   private final StageMetrics metrics;
   private final String metricInName;
@@ -75,6 +76,27 @@ public class TrackedTransform<IN, OUT> implements Transformation<IN, OUT>, Destr
       new TrackedEmitter<>(emitter, metrics, metricOutName, dataTracer, collector));
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public void transformAll(List<IN> inputs, Emitter<OUT> emitter) throws Exception {
+    if (metricInName != null) {
+      metrics.count(metricInName, inputs.size());
+      if (metricInName.equals(Constants.Metrics.RECORDS_IN)) {
+        collector.incrementInputRecordCount(inputs.size());
+      }
+    }
+    // Only need one tracked emitter for the whole batch
+    Emitter<OUT> trackedEmitter = metricOutName == null ? emitter :
+      new TrackedEmitter<>(emitter, metrics, metricOutName, dataTracer, collector);
+    if (transform instanceof MultiRecordTransformation) {
+      ((MultiRecordTransformation<IN, OUT>) transform).transformAll(inputs, trackedEmitter);
+      return;
+    }
+    for (IN input : inputs) {
+      transform.transform(input, trackedEmitter);
+    }
+  }
+
   @Override
   public void destroy() {
     if (transform instanceof Destroyable) {
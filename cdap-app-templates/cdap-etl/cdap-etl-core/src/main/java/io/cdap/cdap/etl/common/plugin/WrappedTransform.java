@@ -21,7 +21,9 @@ import io.cdap.cdap.etl.api.PipelineConfigurer;
 import io.cdap.cdap.etl.api.StageSubmitterContext;
 import io.cdap.cdap.etl.api.Transform;
 import io.cdap.cdap.etl.api.TransformContext;
+import io.cdap.cdap.etl.common.MultiRecordTransformation;
 
+import java.util.List;
 import java.util.concurrent.Callable;
 
 /**
@@ -31,7 +33,8 @@ import java.util.concurrent.Callable;
  * @param <IN> type of input
  * @param <OUT> type of output
  */
-public class WrappedTransform<IN, OUT> extends Transform<IN, OUT> implements PluginWrapper<Transform<IN, OUT>> {
+public class WrappedTransform<IN, OUT> extends Transform<IN, OUT>
+  implements PluginWrapper<Transform<IN, OUT>>, MultiRecordTransformation<IN, OUT> {
   private final Transform<IN, OUT> transform;
   private final Caller caller;
   private final OperationTimer operationTimer;
@@ -95,6 +98,23 @@ public class WrappedTransform<IN, OUT> extends Transform<IN, OUT> implements Plu
     }
   }
 
+  @Override
+  public void transformAll(List<IN> inputs, Emitter<OUT> emitter) throws Exception {
+    // The emitter only buffers the outputs, hence the whole batch is timed as one operation
+    // without stopping the timer on each emit.
+    operationTimer.start();
+    try {
+      caller.call((Callable<Void>) () -> {
+        for (IN input : inputs) {
+          transform.transform(input, emitter);
+        }
+        return null;
+      });
+    } finally {
+      operationTimer.reset();
+    }
+  }
+
   @Override
   public Transform<IN, OUT> getWrapped() {
     return transform;
@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.etl.exec;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Multimap;
+import io.cdap.cdap.etl.api.Alert;
+import io.cdap.cdap.etl.api.ErrorRecord;
+import io.cdap.cdap.etl.api.InvalidEntry;
+import io.cdap.cdap.etl.common.BasicErrorRecord;
+import io.cdap.cdap.etl.common.RecordInfo;
+import io.cdap.cdap.etl.common.RecordType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link PipeEmitter} that buffers records in {@link RecordBatch RecordBatches} instead of sending each record to
+ * the next stages immediately. The buffered records are sent to the next stages through
+ * {@link PipeStage#consumeBatch(RecordBatch)} when {@link #flush()} is called, which is done by the owning stage
+ * after it has processed its input. The batches are reused across flushes.
+ *
+ * Outputs of one input batch are buffered in memory, hence memory usage is proportional to the input batch size
+ * and the number of outputs each input generates.
+ */
+public class BatchPipeEmitter extends PipeEmitter {
+
+  private final RecordBatch outputs;
+  // port -> batch of records emitted to that port
+  private final Map<String, RecordBatch> portOutputs;
+  private final RecordBatch errors;
+  private final RecordBatch alerts;
+
+  BatchPipeEmitter(String stageName,
+                   Set<PipeStage<RecordInfo>> outputConsumers,
+                   Multimap<String, PipeStage<RecordInfo>> outputPortConsumers,
+                   Set<PipeStage<RecordInfo<ErrorRecord<Object>>>> errorConsumers,
+                   Set<PipeStage<RecordInfo<Alert>>> alertConsumers) {
+    super(stageName, outputConsumers, outputPortConsumers, errorConsumers, alertConsumers);
+    this.outputs = new RecordBatch(RecordType.OUTPUT);
+    this.portOutputs = new HashMap<>();
+    for (String port : this.outputPortConsumers.keySet()) {
+      portOutputs.put(port, new RecordBatch(RecordType.OUTPUT));
+    }
+    this.errors = new RecordBatch(RecordType.ERROR);
+    this.alerts = new RecordBatch(RecordType.ALERT);
+  }
+
+  @Override
+  public void emit(String port, Object value) {
+    if (port == null) {
+      throw new IllegalArgumentException("Port cannot be null.");
+    }
+    RecordBatch batch = portOutputs.get(port);
+    // nothing is connected to the port
+    if (batch != null) {
+      batch.add(value, stageName, port);
+    }
+  }
+
+  @Override
+  public void emit(Object value) {
+    if (!outputConsumers.isEmpty()) {
+      outputs.add(value, stageName, null);
+    }
+  }
+
+  @Override
+  public void emitError(InvalidEntry<Object> invalidEntry) {
+    if (errorConsumers.isEmpty()) {
+      // let the parent handle the warning logging
+      super.emitError(invalidEntry);
+      return;
+    }
+    errors.add(new BasicErrorRecord<>(invalidEntry.getInvalidRecord(), stageName,
+                                      invalidEntry.getErrorCode(), invalidEntry.getErrorMsg()), stageName, null);
+  }
+
+  @Override
+  public void emitAlert(Map<String, String> payload) {
+    if (!alertConsumers.isEmpty()) {
+      alerts.add(new Alert(stageName, ImmutableMap.copyOf(payload)), stageName, null);
+    }
+  }
+
+  /**
+   * Sends all the buffered records to the next stages and clears the buffers.
+   */
+  public void flush() {
+    flush(outputs, outputConsumers);
+    for (Map.Entry<String, RecordBatch> entry : portOutputs.entrySet()) {
+      flush(entry.getValue(), outputPortConsumers.get(entry.getKey()));
+    }
+    flush(errors, errorConsumers);
+    flush(alerts, alertConsumers);
+  }
+
+  private <T> void flush(RecordBatch batch, Iterable<? extends PipeStage<T>> consumers) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      for (PipeStage<T> consumer : consumers) {
+        consumer.consumeBatch(batch);
+      }
+    } finally {
+      batch.clear();
+    }
+  }
+}
@@ -65,6 +65,7 @@ public class ConnectorSourceEmitter extends PipeEmitter {
       super(stageName);
     }
 
+    // ConnectorSource emits RecordInfo from different stages, hence it is never batched
     @Override
     public PipeEmitter build() {
       return new ConnectorSourceEmitter(stageName, outputConsumers, outputPortConsumers,
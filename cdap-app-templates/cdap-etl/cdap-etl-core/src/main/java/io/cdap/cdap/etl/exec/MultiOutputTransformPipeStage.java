@@ -22,6 +22,8 @@ import io.cdap.cdap.etl.api.MultiOutputTransformation;
 import io.cdap.cdap.etl.common.Destroyables;
 import io.cdap.cdap.etl.common.RecordInfo;
 
+import javax.annotation.Nullable;
+
 
 /**
  * Processes any stages that can be represented as a MultiOutputTransform.
@@ -31,6 +33,8 @@ import io.cdap.cdap.etl.common.RecordInfo;
 public class MultiOutputTransformPipeStage<T> extends PipeStage<RecordInfo<T>> {
   private final MultiOutputTransformation<T, Object> transform;
   private final MultiOutputEmitter<Object> emitter;
+  @Nullable
+  private final BatchPipeEmitter batchEmitter;
 
   public MultiOutputTransformPipeStage(String stageName,
                                        MultiOutputTransformation<T, Object> transform,
@@ -38,13 +42,36 @@ public class MultiOutputTransformPipeStage<T> extends PipeStage<RecordInfo<T>> {
     super(stageName);
     this.transform = transform;
     this.emitter = emitter;
+    this.batchEmitter = emitter instanceof BatchPipeEmitter ? (BatchPipeEmitter) emitter : null;
   }
 
   @Override
   public void consumeInput(RecordInfo<T> input) throws Exception {
+    consumeDeferredInput(input);
+    flushOutputs();
+  }
+
+  @Override
+  protected void consumeDeferredInput(RecordInfo<T> input) throws Exception {
     transform.transform(input.getValue(), emitter);
   }
 
+  @Override
+  protected void flushOutputs() {
+    if (batchEmitter != null) {
+      batchEmitter.flush();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  protected void consumeBatchInput(RecordBatch batch) throws Exception {
+    for (int i = 0; i < batch.size(); i++) {
+      transform.transform((T) batch.getValue(i), emitter);
+    }
+    flushOutputs();
+  }
+
   @Override
   public void destroy() {
     if (transform instanceof Destroyable) {
@@ -45,11 +45,11 @@ import java.util.Set;
 public class PipeEmitter implements Emitter<Object>, MultiOutputEmitter<Object> {
   private static final Logger LOG = LoggerFactory.getLogger(PipeEmitter.class);
   protected final String stageName;
-  private final Set<PipeStage<RecordInfo>> outputConsumers;
+  protected final Set<PipeStage<RecordInfo>> outputConsumers;
   // port -> set of stages connected to that port
-  private final Multimap<String, PipeStage<RecordInfo>> outputPortConsumers;
-  private final Set<PipeStage<RecordInfo<ErrorRecord<Object>>>> errorConsumers;
-  private final Set<PipeStage<RecordInfo<Alert>>> alertConsumers;
+  protected final Multimap<String, PipeStage<RecordInfo>> outputPortConsumers;
+  protected final Set<PipeStage<RecordInfo<ErrorRecord<Object>>>> errorConsumers;
+  protected final Set<PipeStage<RecordInfo<Alert>>> alertConsumers;
   private boolean logWarning;
 
   public PipeEmitter(String stageName,
@@ -133,6 +133,7 @@ public class PipeEmitter implements Emitter<Object>, MultiOutputEmitter<Object>
     protected final Set<PipeStage<RecordInfo<ErrorRecord<Object>>>> errorConsumers;
     protected final Set<PipeStage<RecordInfo>> outputConsumers;
     protected final Set<PipeStage<RecordInfo<Alert>>> alertConsumers;
+    protected boolean batched;
 
     protected Builder(String stageName) {
       this.stageName = stageName;
@@ -162,7 +163,19 @@ public class PipeEmitter implements Emitter<Object>, MultiOutputEmitter<Object>
       return this;
     }
 
+    /**
+     * Sets whether the emitter should buffer outputs in {@link RecordBatch RecordBatches} and send them to the
+     * next stages only when {@link BatchPipeEmitter#flush()} is called.
+     */
+    public Builder setBatched(boolean batched) {
+      this.batched = batched;
+      return this;
+    }
+
     public PipeEmitter build() {
+      if (batched) {
+        return new BatchPipeEmitter(stageName, outputConsumers, outputPortConsumers, errorConsumers, alertConsumers);
+      }
       return new PipeEmitter(stageName, outputConsumers, outputPortConsumers, errorConsumers, alertConsumers);
     }
   }
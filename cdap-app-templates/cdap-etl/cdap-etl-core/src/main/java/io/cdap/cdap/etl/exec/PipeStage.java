@@ -22,7 +22,8 @@ import io.cdap.cdap.etl.api.Destroyable;
 
 /**
  * A stage in the PipeTransformExecutor. Pipe transforms should send each output record immediately to all output stages
- * without buffering anything in memory.
+ * without buffering anything in memory. In batched mode, records are exchanged between stages through
+ * {@link #consumeBatch(RecordBatch)} instead.
  *
  * @param <T> type of input record
  */
@@ -42,16 +43,51 @@ public abstract class PipeStage<T> implements Destroyable {
   public void consume(T input) {
     try {
       consumeInput(input);
-    } catch (StageFailureException e) {
-      // Another stage has already failed, just throw the exception as-is
-      throw e;
     } catch (Exception e) {
-      Throwable rootCause = Throwables.getRootCause(e);
-      // Create StageFailureException to save the Stage information
-      throw new StageFailureException(
-        String.format("Failed to execute pipeline stage '%s' with the error: %s. Please review your pipeline " +
-                        "configuration and check the system logs for more details.", stageName, rootCause.getMessage()),
-        rootCause);
+      throw toStageFailure(e);
+    }
+  }
+
+  /**
+   * Consume a batch of records and send the outputs to the relevant output transforms. The batch must not be
+   * retained after this method returns.
+   *
+   * @param batch the records to consume
+   * @throws StageFailureException if there was an exception consuming the input
+   */
+  public void consumeBatch(RecordBatch batch) {
+    try {
+      consumeBatchInput(batch);
+    } catch (Exception e) {
+      throw toStageFailure(e);
+    }
+  }
+
+  /**
+   * Consume a record, keeping the outputs buffered until {@link #flush()} is called if the stage buffers its
+   * outputs. This lets the caller feed a batch of records one at a time, without holding on to the records.
+   *
+   * @param input the record to consume
+   * @throws StageFailureException if there was an exception consuming the input
+   */
+  public void consumeDeferred(T input) {
+    try {
+      consumeDeferredInput(input);
+    } catch (Exception e) {
+      throw toStageFailure(e);
+    }
+  }
+
+  /**
+   * Send any outputs buffered by {@link #consumeDeferred(Object)} to the relevant output transforms.
+   *
+   * @throws StageFailureException if there was an exception consuming the buffered outputs
+   */
+  public void flush() {
+    try {
+      flushOutputs();
+    } catch (Exception e) {
+      throw toStageFailure(e);
     }
   }
 
@@ -62,4 +98,53 @@ public abstract class PipeStage<T> implements Destroyable {
    * @throws Exception if there was a failure processing the input
    */
   protected abstract void consumeInput(T input) throws Exception;
+
+  /**
+   * Consume an input record without sending buffered outputs to the next stages. By default, the record is
+   * consumed through {@link #consumeInput(Object)}, which sends the outputs right away.
+   *
+   * @param input the input to consume
+   * @throws Exception if there was a failure processing the input
+   */
+  protected void consumeDeferredInput(T input) throws Exception {
+    consumeInput(input);
+  }
+
+  /**
+   * Send the outputs buffered by {@link #consumeDeferredInput(Object)} to the next stages. Does nothing by default.
+   *
+   * @throws Exception if there was a failure processing the outputs
+   */
+  protected void flushOutputs() throws Exception {
+    // no-op
+  }
+
+  /**
+   * Consume a batch of input records, throwing an exception if there is a failure. By default, each record is
+   * passed to {@link #consumeInput(Object)} through the {@link io.cdap.cdap.etl.common.RecordInfo} returned by
+   * {@link RecordBatch#getRecordInfo(int)}, which is reused across records and must not be retained.
+   * Stages that only need the record values should override this method to skip the wrapper.
+   *
+   * @param batch the batch of input to consume
+   * @throws Exception if there was a failure processing the input
+   */
+  @SuppressWarnings("unchecked")
+  protected void consumeBatchInput(RecordBatch batch) throws Exception {
+    for (int i = 0; i < batch.size(); i++) {
+      consumeInput((T) batch.getRecordInfo(i));
+    }
+  }
+
+  private StageFailureException toStageFailure(Exception e) {
+    if (e instanceof StageFailureException) {
+      // Another stage has already failed, just throw the exception as-is
+      return (StageFailureException) e;
+    }
+    Throwable rootCause = Throwables.getRootCause(e);
+    // Create StageFailureException to save the Stage information
+    return new StageFailureException(
+      String.format("Failed to execute pipeline stage '%s' with the error: %s. Please review your pipeline " +
+                      "configuration and check the system logs for more details.", stageName, rootCause.getMessage()),
+      rootCause);
+  }
 }
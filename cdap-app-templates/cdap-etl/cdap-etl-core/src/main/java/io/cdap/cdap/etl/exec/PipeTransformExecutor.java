@@ -44,6 +44,32 @@ public class PipeTransformExecutor<IN> implements Destroyable {
     }
   }
 
+  /**
+   * Runs all the given inputs through the pipeline as one batch. The starting stages consume the inputs one at a
+   * time, but keep their outputs buffered until all inputs are consumed. From there on, each stage processes the
+   * whole batch before the outputs are sent to the next stages. The result is the same as calling
+   * {@link #runOneIteration(Object)} for each input, except for the order in which records arrive at the ending
+   * stages. Batches are only exchanged between stages created in batched mode by the
+   * {@link TransformExecutorFactory}, other stages process the records one by one.
+   *
+   * The inputs are not retained, hence the caller may reuse an input object once the iteration moved past it.
+   * The outputs of the starting stages are retained until the end of the batch though, so they must not be
+   * reused objects.
+   *
+   * @param inputs the inputs to process
+   */
+  public void runBatch(Iterable<? extends IN> inputs) {
+    for (IN input : inputs) {
+      for (String stageName : startingPoints) {
+        PipeStage<RecordInfo> pipeStage = pipeStages.get(stageName);
+        pipeStage.consumeDeferred(RecordInfo.builder(input, stageName, RecordType.OUTPUT).build());
+      }
+    }
+    for (String stageName : startingPoints) {
+      pipeStages.get(stageName).flush();
+    }
+  }
+
   @Override
   public void destroy() {
     for (PipeStage stage : pipeStages.values()) {
@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.etl.exec;
+
+import io.cdap.cdap.etl.common.RecordInfo;
+import io.cdap.cdap.etl.common.RecordType;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * A reusable batch of records exchanged between {@link PipeStage PipeStages} when the pipeline is executed in
+ * batched mode. Records are stored column-wise so that stages that only need the record values don't need a
+ * {@link RecordInfo} for each record. Stages that need the record context get it through
+ * {@link #getRecordInfo(int)}, which reuses a single {@link RecordInfo} for all the records of the batch.
+ *
+ * The batch is owned by the emitter that fills it and is cleared after it is consumed, hence consumers must not
+ * hold on to the batch itself beyond the {@link PipeStage#consumeBatch(RecordBatch)} call.
+ */
+public final class RecordBatch {
+
+  private static final int DEFAULT_CAPACITY = 64;
+
+  private final RecordType type;
+  private final List<Object> values;
+  private final ReusableRecordInfo recordInfo;
+  private Object[] valueArray;
+  private String[] fromStages;
+  private String[] fromPorts;
+  private int size;
+
+  public RecordBatch(RecordType type) {
+    this(type, DEFAULT_CAPACITY);
+  }
+
+  public RecordBatch(RecordType type, int initialCapacity) {
+    this.type = type;
+    int capacity = Math.max(1, initialCapacity);
+    this.valueArray = new Object[capacity];
+    this.fromStages = new String[capacity];
+    this.fromPorts = new String[capacity];
+    this.recordInfo = new ReusableRecordInfo(type);
+    this.values = new AbstractList<Object>() {
+      @Override
+      public Object get(int index) {
+        return getValue(index);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Adds a record to this batch.
+   *
+   * @param value the record value
+   * @param fromStage the stage that emitted the record
+   * @param fromPort the port the record was emitted from, or {@code null} if it was not emitted from a port
+   */
+  public void add(Object value, String fromStage, @Nullable String fromPort) {
+    if (size == valueArray.length) {
+      int capacity = size << 1;
+      valueArray = Arrays.copyOf(valueArray, capacity);
+      fromStages = Arrays.copyOf(fromStages, capacity);
+      fromPorts = Arrays.copyOf(fromPorts, capacity);
+    }
+    valueArray[size] = value;
+    fromStages[size] = fromStage;
+    fromPorts[size] = fromPort;
+    size++;
+  }
+
+  /**
+   * Returns the value of the record at the given index.
+   */
+  public Object getValue(int index) {
+    checkIndex(index);
+    return valueArray[index];
+  }
+
+  /**
+   * Returns a {@link RecordInfo} for the record at the given index. The same {@link RecordInfo} instance is returned
+   * by every call on this batch, hence it is only valid until the next call and must not be retained.
+   */
+  public RecordInfo<Object> getRecordInfo(int index) {
+    checkIndex(index);
+    return recordInfo.set(valueArray[index], fromStages[index], fromPorts[index]);
+  }
+
+  /**
+   * Returns a live {@link List} view of the record values in this batch.
+   */
+  public List<Object> values() {
+    return values;
+  }
+
+  public RecordType getType() {
+    return type;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Removes all records from this batch. The underlying arrays are retained for reuse.
+   */
+  public void clear() {
+    // Release the references so that records can be garbage collected
+    Arrays.fill(valueArray, 0, size, null);
+    Arrays.fill(fromStages, 0, size, null);
+    Arrays.fill(fromPorts, 0, size, null);
+    recordInfo.set(null, null, null);
+    size = 0;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " is out of range [0, " + size + ")");
+    }
+  }
+}
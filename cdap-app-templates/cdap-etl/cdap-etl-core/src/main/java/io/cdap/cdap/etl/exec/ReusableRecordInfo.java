@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.etl.exec;
+
+import io.cdap.cdap.etl.common.RecordInfo;
+import io.cdap.cdap.etl.common.RecordType;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link RecordInfo} that can be pointed to different records. It is used by {@link RecordBatch} to avoid creating
+ * a {@link RecordInfo} for each record in the batch, hence it must not be retained by the stage that receives it.
+ */
+final class ReusableRecordInfo extends RecordInfo<Object> {
+  private static final long serialVersionUID = -2415106377253826547L;
+  private Object value;
+  private String fromStage;
+  private String fromPort;
+
+  ReusableRecordInfo(RecordType type) {
+    super(null, null, null, type);
+  }
+
+  /**
+   * Points this {@link RecordInfo} to the given record and returns itself.
+   */
+  ReusableRecordInfo set(Object value, String fromStage, @Nullable String fromPort) {
+    this.value = value;
+    this.fromStage = fromStage;
+    this.fromPort = fromPort;
+    return this;
+  }
+
+  @Override
+  public Object getValue() {
+    return value;
+  }
+
+  @Override
+  public String getFromStage() {
+    return fromStage;
+  }
+
+  @Nullable
+  @Override
+  public String getFromPort() {
+    return fromPort;
+  }
+}
@@ -58,15 +58,30 @@ public abstract class TransformExecutorFactory<T> {
   protected final PipelinePluginInstantiator pluginInstantiator;
   protected final Metrics metrics;
   protected final boolean collectStageStatistics;
+  protected final boolean batched;
 
   protected TransformExecutorFactory(PipelinePluginInstantiator pluginInstantiator, MacroEvaluator macroEvaluator,
                                      Metrics metrics, @Nullable String sourceStageName,
                                      boolean collectStageStatistics) {
+    this(pluginInstantiator, macroEvaluator, metrics, sourceStageName, collectStageStatistics, false);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param batched if {@code true}, transform stages of the created executors buffer their outputs and send them
+   *                to the next stages in {@link RecordBatch RecordBatches}, with metrics and timing done per batch.
+   *                Otherwise, each output record is sent to the next stages immediately.
+   */
+  protected TransformExecutorFactory(PipelinePluginInstantiator pluginInstantiator, MacroEvaluator macroEvaluator,
+                                     Metrics metrics, @Nullable String sourceStageName,
+                                     boolean collectStageStatistics, boolean batched) {
     this.pluginInstantiator = pluginInstantiator;
     this.metrics = metrics;
     this.sourceStageName = sourceStageName;
     this.macroEvaluator = macroEvaluator;
     this.collectStageStatistics = collectStageStatistics;
+    this.batched = batched;
   }
 
   protected abstract DataTracer getDataTracer(String stageName);
@@ -168,6 +183,7 @@ public abstract class TransformExecutorFactory<T> {
     PipeEmitter.Builder emitterBuilder =
       Constants.Connector.PLUGIN_TYPE.equals(pluginType) && pipeline.getSources().contains(stageName) ?
         ConnectorSourceEmitter.builder(stageName) : PipeEmitter.builder(stageName);
+    emitterBuilder.setBatched(batched);
 
     Map<String, StageSpec.Port> outputPorts = stageSpec.getOutputPorts();
     for (String outputStageName : pipeline.getStageOutputs(stageName)) {
@@ -20,8 +20,12 @@ import io.cdap.cdap.etl.api.Destroyable;
 import io.cdap.cdap.etl.api.Emitter;
 import io.cdap.cdap.etl.api.Transformation;
 import io.cdap.cdap.etl.common.Destroyables;
+import io.cdap.cdap.etl.common.MultiRecordTransformation;
 import io.cdap.cdap.etl.common.RecordInfo;
 
+import java.util.List;
+import javax.annotation.Nullable;
+
 
 /**
  * Processing any stages that can be represented as a Transformation. Gets the value from a RecordInfo before
@@ -32,18 +36,49 @@ import io.cdap.cdap.etl.common.RecordInfo;
 public class UnwrapPipeStage<T> extends PipeStage<RecordInfo<T>> {
   private final Transformation<T, Object> transform;
   private final Emitter<Object> emitter;
+  @Nullable
+  private final BatchPipeEmitter batchEmitter;
 
   public UnwrapPipeStage(String stageName, Transformation<T, Object> transform, Emitter<Object> emitter) {
     super(stageName);
     this.transform = transform;
     this.emitter = emitter;
+    this.batchEmitter = emitter instanceof BatchPipeEmitter ? (BatchPipeEmitter) emitter : null;
   }
 
   @Override
   public void consumeInput(RecordInfo<T> input) throws Exception {
+    consumeDeferredInput(input);
+    flushOutputs();
+  }
+
+  @Override
+  protected void consumeDeferredInput(RecordInfo<T> input) throws Exception {
     transform.transform(input.getValue(), emitter);
   }
 
+  @Override
+  protected void flushOutputs() {
+    if (batchEmitter != null) {
+      batchEmitter.flush();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  protected void consumeBatchInput(RecordBatch batch) throws Exception {
+    // Only transform the whole batch at once if the outputs are buffered. Otherwise, the time spent in
+    // the next stages would be counted as part of this stage.
+    if (batchEmitter != null && transform instanceof MultiRecordTransformation) {
+      ((MultiRecordTransformation<T, Object>) transform).transformAll((List<T>) batch.values(), emitter);
+    } else {
+      for (int i = 0; i < batch.size(); i++) {
+        transform.transform((T) batch.getValue(i), emitter);
+      }
+    }
+    flushOutputs();
+  }
+
   @Override
   public void destroy() {
     if (transform instanceof Destroyable) {
@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.etl.common;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.Gson;
+import io.cdap.cdap.api.artifact.ArtifactId;
+import io.cdap.cdap.api.artifact.ArtifactScope;
+import io.cdap.cdap.api.artifact.ArtifactVersion;
+import io.cdap.cdap.etl.api.CacheConfig;
+import io.cdap.cdap.etl.api.Lookup;
+import io.cdap.cdap.etl.api.LookupProvider;
+import io.cdap.cdap.etl.api.LookupTableConfig;
+import io.cdap.cdap.etl.api.Transform;
+import io.cdap.cdap.etl.proto.v2.spec.PluginSpec;
+import io.cdap.cdap.etl.proto.v2.spec.StageSpec;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link CachingLookup}.
+ */
+public class CachingLookupTest {
+
+  @Test
+  public void testCaching() {
+    CountingLookup delegate = new CountingLookup(ImmutableMap.of("k1", "v1", "k2", "v2", "k3", "v3"));
+    MockMetrics metrics = new MockMetrics();
+    Lookup<String> lookup = new CachingLookup<>(delegate, new CacheConfig(0, 2),
+                                                new DefaultStageMetrics(metrics, "stage"));
+
+    // missing keys are cached too
+    Assert.assertEquals("v1", lookup.lookup("k1"));
+    Assert.assertEquals("v1", lookup.lookup("k1"));
+    Assert.assertNull(lookup.lookup("missing"));
+    Assert.assertNull(lookup.lookup("missing"));
+    Assert.assertEquals(ImmutableSet.of("k1", "missing"), ImmutableSet.copyOf(delegate.lookedUp));
+    Assert.assertEquals(2, metrics.getCount("stage." + Constants.Metrics.LOOKUP_CACHE_HITS));
+    Assert.assertEquals(2, metrics.getCount("stage." + Constants.Metrics.LOOKUP_CACHE_MISSES));
+
+    // batch lookup should only look up the keys not in the cache, with a single lookup
+    delegate.lookedUp.clear();
+    Assert.assertEquals(ImmutableMap.of("k1", "v1", "k2", "v2"), lookup.lookup("k1", "k2", "missing"));
+    Assert.assertEquals(ImmutableSet.of("k2"), ImmutableSet.copyOf(delegate.lookedUp));
+    Assert.assertEquals(1, delegate.batchLookups);
+
+    // the cache can only hold two keys
+    Assert.assertEquals(1, metrics.getCount("stage." + Constants.Metrics.LOOKUP_CACHE_EVICTIONS));
+  }
+
+  @Test
+  public void testExpiry() throws Exception {
+    CountingLookup delegate = new CountingLookup(ImmutableMap.of("k1", "v1"));
+    Lookup<String> lookup = new CachingLookup<>(delegate, new CacheConfig(1, 0),
+                                                new DefaultStageMetrics(new MockMetrics(), "stage"));
+
+    Assert.assertEquals("v1", lookup.lookup("k1"));
+    Assert.assertEquals("v1", lookup.lookup("k1"));
+    Assert.assertEquals(1, delegate.lookedUp.size());
+
+    Thread.sleep(1100);
+    Assert.assertEquals("v1", lookup.lookup("k1"));
+    Assert.assertEquals(2, delegate.lookedUp.size());
+  }
+
+  @Test
+  public void testTransformContextLookup() {
+    CountingLookup delegate = new CountingLookup(ImmutableMap.of("k1", "v1"));
+    List<Map<String, String>> datasetProperties = new ArrayList<>();
+    LookupProvider provider = new LookupProvider() {
+      @Override
+      public <T> Lookup<T> provide(String table, Map<String, String> arguments) {
+        throw new UnsupportedOperationException("Dataset properties should not be provided as lookup arguments");
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public <T> Lookup<T> provide(String table, LookupTableConfig config) {
+        Assert.assertFalse(config.isCacheEnabled());
+        datasetProperties.add(config.getDatasetProperties());
+        return (Lookup<T>) delegate;
+      }
+    };
+    MockMetrics metrics = new MockMetrics();
+    PipelineRuntime pipelineRuntime = new PipelineRuntime("default", "pipeline", 0L,
+                                                          new BasicArguments(Collections.emptyMap()), metrics,
+                                                          null, null, null, null, null, null);
+    ArtifactId artifactId = new ArtifactId("plugins", new ArtifactVersion("1.0.0"), ArtifactScope.USER);
+    StageSpec stageSpec = StageSpec.builder("stage", new PluginSpec(Transform.PLUGIN_TYPE, "mocktransform",
+                                                                    Collections.emptyMap(), artifactId)).build();
+    AbstractTransformContext context = new AbstractTransformContext(pipelineRuntime, stageSpec, provider) { };
+
+    // A deserialized config may not have the cache config and the dataset properties
+    LookupTableConfig config = new Gson().fromJson("{\"type\":\"DATASET\",\"cacheEnabled\":true}",
+                                                   LookupTableConfig.class);
+    Lookup<String> lookup = context.provide("table", config);
+    Assert.assertEquals("v1", lookup.lookup("k1"));
+    Assert.assertEquals("v1", lookup.lookup("k1"));
+    Assert.assertEquals(1, delegate.lookedUp.size());
+    Assert.assertEquals(1, metrics.getCount("stage." + Constants.Metrics.LOOKUP_CACHE_HITS));
+    Assert.assertEquals(Collections.singletonList(Collections.emptyMap()), datasetProperties);
+
+    // The dataset properties are provided as is, and the table lookup is not cached if caching is disabled
+    datasetProperties.clear();
+    config = new LookupTableConfig(LookupTableConfig.TableType.DATASET, new CacheConfig(),
+                                   ImmutableMap.of("p1", "v1"), false);
+    Assert.assertSame(delegate, context.provide("table", config));
+    Assert.assertEquals(Collections.singletonList(ImmutableMap.of("p1", "v1")), datasetProperties);
+  }
+
+  /**
+   * A {@link Lookup} backed by a map, which records the keys looked up.
+   */
+  private static final class CountingLookup implements Lookup<String> {
+
+    private final Map<String, String> data;
+    private final List<String> lookedUp = new ArrayList<>();
+    private int batchLookups;
+
+    CountingLookup(Map<String, String> data) {
+      this.data = data;
+    }
+
+    @Override
+    public String lookup(String key) {
+      lookedUp.add(key);
+      return data.get(key);
+    }
+
+    @Override
+    public Map<String, String> lookup(String... keys) {
+      return lookup(ImmutableSet.copyOf(keys));
+    }
+
+    @Override
+    public Map<String, String> lookup(Set<String> keys) {
+      batchLookups++;
+      Map<String, String> results = new HashMap<>();
+      for (String key : keys) {
+        lookedUp.add(key);
+        if (data.containsKey(key)) {
+          results.put(key, data.get(key));
+        }
+      }
+      return results;
+    }
+  }
+}
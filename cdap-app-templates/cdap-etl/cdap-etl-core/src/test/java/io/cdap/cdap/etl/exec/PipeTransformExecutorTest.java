@@ -0,0 +1,313 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.etl.exec;
+
+import io.cdap.cdap.app.preview.DataTracerFactory;
+import io.cdap.cdap.etl.api.Emitter;
+import io.cdap.cdap.etl.api.ErrorRecord;
+import io.cdap.cdap.etl.api.InvalidEntry;
+import io.cdap.cdap.etl.api.StageMetrics;
+import io.cdap.cdap.etl.api.Transform;
+import io.cdap.cdap.etl.common.DefaultStageMetrics;
+import io.cdap.cdap.etl.common.MockMetrics;
+import io.cdap.cdap.etl.common.RecordInfo;
+import io.cdap.cdap.etl.common.TrackedTransform;
+import io.cdap.cdap.etl.common.plugin.Caller;
+import io.cdap.cdap.etl.common.plugin.MetricsOperationTimer;
+import io.cdap.cdap.etl.common.plugin.WrappedTransform;
+import io.cdap.cdap.internal.app.preview.NoopDataTracerFactory;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link PipeTransformExecutor} in both pipe and batched mode.
+ */
+public class PipeTransformExecutorTest {
+
+  private static final int NUM_STAGES = 10;
+  private static final DataTracerFactory DATA_TRACER_FACTORY = new NoopDataTracerFactory();
+
+  @Test
+  public void testBatchedSameAsPipe() {
+    List<Integer> inputs = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      inputs.add(i);
+    }
+
+    MockMetrics pipeMetrics = new MockMetrics();
+    CollectingStage pipeSink = new CollectingStage("sink");
+    CollectingStage pipeErrors = new CollectingStage("errors");
+    PipeTransformExecutor<Integer> pipeExecutor = createExecutor(false, pipeMetrics, pipeSink, pipeErrors);
+    for (Integer input : inputs) {
+      pipeExecutor.runOneIteration(input);
+    }
+
+    MockMetrics batchMetrics = new MockMetrics();
+    CollectingStage batchSink = new CollectingStage("sink");
+    CollectingStage batchErrors = new CollectingStage("errors");
+    PipeTransformExecutor<Integer> batchExecutor = createExecutor(true, batchMetrics, batchSink, batchErrors);
+    // Run in batches of different sizes
+    batchExecutor.runBatch(inputs.subList(0, 1));
+    batchExecutor.runBatch(inputs.subList(1, 37));
+    batchExecutor.runBatch(inputs.subList(37, 100));
+
+    // stage4 duplicates the records, and stage6 sends records with odd values to the error stage
+    List<Object> expected = new ArrayList<>();
+    List<Object> expectedErrors = new ArrayList<>();
+    for (int input : inputs) {
+      int value = input + 5;
+      if (value % 2 == 0) {
+        expected.add(value + 3);
+        expected.add(value + 3);
+      } else {
+        expectedErrors.add(value);
+        expectedErrors.add(value);
+      }
+    }
+
+    for (CollectingStage sink : new CollectingStage[] { pipeSink, batchSink }) {
+      Assert.assertEquals(expected, sink.getSortedValues());
+    }
+    for (CollectingStage errors : new CollectingStage[] { pipeErrors, batchErrors }) {
+      Assert.assertEquals(expectedErrors, errors.getSortedValues());
+      Assert.assertEquals(Collections.singleton("stage6"), errors.fromStages);
+    }
+
+    for (int i = 0; i < NUM_STAGES; i++) {
+      for (String metric : new String[] { "records.in", "records.out", "records.error" }) {
+        String name = "stage" + i + "." + metric;
+        Assert.assertEquals(name, pipeMetrics.getCount(name), batchMetrics.getCount(name));
+      }
+    }
+    Assert.assertEquals(100L, batchMetrics.getCount("stage0.records.in"));
+    Assert.assertEquals(200L, batchMetrics.getCount("stage4.records.out"));
+    Assert.assertEquals(100L, batchMetrics.getCount("stage6.records.error"));
+  }
+
+  @Test
+  public void testBatchedRunOneIteration() {
+    MockMetrics metrics = new MockMetrics();
+    CollectingStage sink = new CollectingStage("sink");
+    CollectingStage errors = new CollectingStage("errors");
+    PipeTransformExecutor<Integer> executor = createExecutor(true, metrics, sink, errors);
+
+    // Records should be flushed to the next stages even if they are not sent in batch
+    executor.runOneIteration(1);
+    Assert.assertEquals(Arrays.<Object>asList(1 + 8, 1 + 8), sink.getSortedValues());
+    Assert.assertTrue(errors.values.isEmpty());
+
+    executor.runOneIteration(2);
+    Assert.assertEquals(Arrays.<Object>asList(2 + 5, 2 + 5), errors.getSortedValues());
+    Assert.assertEquals(2, sink.values.size());
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testBatchedReusedInput() {
+    CollectingStage sink = new CollectingStage("sink");
+    PipeEmitter emitter = PipeEmitter.builder("source").setBatched(true).addOutputConsumer((PipeStage) sink).build();
+    Map<String, PipeStage> pipeStages = new HashMap<>();
+    pipeStages.put("sink", sink);
+    pipeStages.put("source", new UnwrapPipeStage<>("source", new Unwrap(), emitter));
+    PipeTransformExecutor<int[]> executor = new PipeTransformExecutor<>(pipeStages, Collections.singleton("source"));
+
+    // The same input object is updated for every record, like Hadoop does with key and values
+    int[] input = new int[1];
+    executor.runBatch(() -> new Iterator<int[]>() {
+      @Override
+      public boolean hasNext() {
+        return input[0] < 10;
+      }
+
+      @Override
+      public int[] next() {
+        input[0]++;
+        return input;
+      }
+    });
+
+    Assert.assertEquals(Arrays.<Object>asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), sink.getSortedValues());
+    Assert.assertEquals(Collections.singleton("source"), sink.fromStages);
+  }
+
+  @Ignore
+  @Test
+  public void testSpeed() {
+    int numRecords = 1000000;
+    int batchSize = 1000;
+    List<Integer> batch = new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize; i++) {
+      batch.add(i);
+    }
+
+    for (int round = 0; round < 2; round++) {
+      PipeTransformExecutor<Integer> executor = createExecutor(false, new MockMetrics(),
+                                                               new CollectingStage("sink", false),
+                                                               new CollectingStage("errors", false));
+      long startTime = System.nanoTime();
+      for (int i = 0; i < numRecords; i++) {
+        executor.runOneIteration(i % batchSize);
+      }
+      long pipeTime = System.nanoTime() - startTime;
+
+      executor = createExecutor(true, new MockMetrics(), new CollectingStage("sink", false),
+                                new CollectingStage("errors", false));
+      startTime = System.nanoTime();
+      for (int i = 0; i < numRecords; i += batchSize) {
+        executor.runBatch(batch);
+      }
+      long batchTime = System.nanoTime() - startTime;
+
+      System.out.println("Pipe mode time spent: " + TimeUnit.NANOSECONDS.toMillis(pipeTime));
+      System.out.println("Batched mode time spent: " + TimeUnit.NANOSECONDS.toMillis(batchTime));
+    }
+  }
+
+  /**
+   * Creates an executor for a pipeline of {@link #NUM_STAGES} transforms with timing enabled.
+   * All stages add one to the input, except stage4 duplicates the input and stage6 emits odd values as errors.
+   */
+  @SuppressWarnings("unchecked")
+  private PipeTransformExecutor<Integer> createExecutor(boolean batched, MockMetrics metrics,
+                                                        CollectingStage sink, CollectingStage errorSink) {
+    Map<String, PipeStage> pipeStages = new HashMap<>();
+    pipeStages.put(sink.name, sink);
+    pipeStages.put(errorSink.name, errorSink);
+
+    PipeStage next = sink;
+    for (int i = NUM_STAGES - 1; i >= 0; i--) {
+      String stageName = "stage" + i;
+      Transform<Integer, Object> transform = i == 4 ? new Duplicate() : i == 6 ? new OddError() : new AddOne();
+      StageMetrics stageMetrics = new DefaultStageMetrics(metrics, stageName);
+      TrackedTransform<Integer, Object> trackedTransform = new TrackedTransform<>(
+        new WrappedTransform<>(transform, Caller.DEFAULT, new MetricsOperationTimer(stageMetrics)),
+        stageMetrics, DATA_TRACER_FACTORY.getDataTracer(null, stageName));
+
+      PipeEmitter.Builder emitterBuilder = PipeEmitter.builder(stageName).setBatched(batched).addOutputConsumer(next);
+      if (i == 6) {
+        emitterBuilder.addErrorConsumer((PipeStage) errorSink);
+      }
+      next = new UnwrapPipeStage<>(stageName, trackedTransform, emitterBuilder.build());
+      pipeStages.put(stageName, next);
+    }
+    return new PipeTransformExecutor<>(pipeStages, Collections.singleton("stage0"));
+  }
+
+  /**
+   * Transform that adds one to the input.
+   */
+  private static final class AddOne extends Transform<Integer, Object> {
+    @Override
+    public void transform(Integer input, Emitter<Object> emitter) {
+      emitter.emit(input + 1);
+    }
+  }
+
+  /**
+   * Transform that emits the value held by the input.
+   */
+  private static final class Unwrap extends Transform<int[], Object> {
+    @Override
+    public void transform(int[] input, Emitter<Object> emitter) {
+      emitter.emit(input[0]);
+    }
+  }
+
+  /**
+   * Transform that emits the input twice.
+   */
+  private static final class Duplicate extends Transform<Integer, Object> {
+    @Override
+    public void transform(Integer input, Emitter<Object> emitter) {
+      emitter.emit(input);
+      emitter.emit(input);
+    }
+  }
+
+  /**
+   * Transform that emits odd values as errors.
+   */
+  private static final class OddError extends Transform<Integer, Object> {
+    @Override
+    public void transform(Integer input, Emitter<Object> emitter) {
+      if (input % 2 == 0) {
+        emitter.emit(input);
+      } else {
+        emitter.emitError(new InvalidEntry<>(1, "odd", input));
+      }
+    }
+  }
+
+  /**
+   * A {@link PipeStage} that collects the values of the records it receives.
+   */
+  private static final class CollectingStage extends PipeStage<RecordInfo<Object>> {
+    private final String name;
+    private final boolean collect;
+    private final List<Object> values = new ArrayList<>();
+    private final Set<String> fromStages = new HashSet<>();
+
+    CollectingStage(String name) {
+      this(name, true);
+    }
+
+    CollectingStage(String name, boolean collect) {
+      super(name);
+      this.name = name;
+      this.collect = collect;
+    }
+
+    @Override
+    protected void consumeInput(RecordInfo<Object> input) {
+      if (!collect) {
+        return;
+      }
+      Object value = input.getValue();
+      if (value instanceof ErrorRecord) {
+        ErrorRecord<?> errorRecord = (ErrorRecord<?>) value;
+        fromStages.add(errorRecord.getStageName());
+        values.add(errorRecord.getRecord());
+      } else {
+        fromStages.add(input.getFromStage());
+        values.add(value);
+      }
+    }
+
+    List<Object> getSortedValues() {
+      List<Object> sorted = new ArrayList<>(values);
+      sorted.sort((o1, o2) -> Integer.compare((Integer) o1, (Integer) o2));
+      return sorted;
+    }
+
+    @Override
+    public void destroy() {
+      // no-op
+    }
+  }
+}
@@ -54,8 +54,10 @@ public class SparkTransformExecutorFactory<T> extends TransformExecutorFactory<T
                                        Map<String, StageStatisticsCollector> collectors,
                                        Map<String, DataTracer> dataTracers,
                                        PipelineRuntime pipelineRuntime,
-                                       DefaultEmitter<Tuple2<String, KeyValue<Object, Object>>> sinkEmitter) {
-    super(pluginInstantiator, macroEvaluator, pipelineRuntime.getMetrics(), sourceStageName, !collectors.isEmpty());
+                                       DefaultEmitter<Tuple2<String, KeyValue<Object, Object>>> sinkEmitter,
+                                       boolean batched) {
+    super(pluginInstantiator, macroEvaluator, pipelineRuntime.getMetrics(), sourceStageName, !collectors.isEmpty(),
+          batched);
     this.collectors = collectors;
     this.dataTracers = dataTracers;
     this.pipelineRuntime = pipelineRuntime;
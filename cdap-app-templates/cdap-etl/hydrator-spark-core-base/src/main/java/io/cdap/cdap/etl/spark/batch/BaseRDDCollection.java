@@ -75,6 +75,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.Tuple2;
 
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import javax.annotation.Nullable;
@@ -248,10 +249,10 @@ public abstract class BaseRDDCollection<T> implements SparkCollection<T> {
     return new Runnable() {
       @Override
       public void run() {
-        PairFlatMapFunction<T, String, KeyValue<Object, Object>> multiSinkFunction =
-          (PairFlatMapFunction<T, String, KeyValue<Object, Object>>)
+        PairFlatMapFunction<Iterator<T>, String, KeyValue<Object, Object>> multiSinkFunction =
+          (PairFlatMapFunction<Iterator<T>, String, KeyValue<Object, Object>>)
             new MultiSinkFunction(sec, phaseSpec, group, collectors);
-        JavaPairRDD<String, KeyValue<Object, Object>> taggedOutput = rdd.flatMapToPair(multiSinkFunction);
+        JavaPairRDD<String, KeyValue<Object, Object>> taggedOutput = rdd.mapPartitionsToPair(multiSinkFunction);
         for (String outputName : sinkFactory.writeCombinedRDD(taggedOutput, sec, sinks)) {
           recordLineage(outputName);
         }
@@ -37,14 +37,19 @@ import io.cdap.cdap.etl.common.PipelineRuntime;
 import io.cdap.cdap.etl.common.SetMultimapCodec;
 import io.cdap.cdap.etl.common.submit.CompositeFinisher;
 import io.cdap.cdap.etl.common.submit.Finisher;
+import io.cdap.cdap.etl.proto.v2.spec.StageSpec;
+import io.cdap.cdap.etl.spark.kryo.StructuredRecordKryoRegistrator;
 import io.cdap.cdap.internal.io.SchemaTypeAdapter;
 import org.apache.spark.SparkConf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.annotation.Nullable;
 
 /**
@@ -114,6 +119,10 @@ public class ETLSpark extends AbstractSpark {
     Map<String, String> properties = context.getSpecification().getProperties();
     BatchPhaseSpec phaseSpec = GSON.fromJson(properties.get(Constants.PIPELINEID), BatchPhaseSpec.class);
 
+    if (Boolean.parseBoolean(context.getRuntimeArguments().get(Constants.STRUCTURED_RECORD_KRYO_ENABLED))) {
+      StructuredRecordKryoRegistrator.configure(sparkConf, getRecordSchemas(phaseSpec));
+    }
+
     for (Map.Entry<String, String> pipelineProperty : phaseSpec.getPipelineProperties().entrySet()) {
       sparkConf.set(pipelineProperty.getKey(), pipelineProperty.getValue());
     }
@@ -134,4 +143,25 @@ public class ETLSpark extends AbstractSpark {
       finisher.onFinish(getContext().getState().getStatus() == ProgramStatus.COMPLETED);
     }
   }
+
+  /**
+   * Returns the record schemas of all the stages in the phase.
+   */
+  private static Set<Schema> getRecordSchemas(BatchPhaseSpec phaseSpec) {
+    Set<Schema> schemas = new LinkedHashSet<>();
+    for (StageSpec stageSpec : phaseSpec.getPhase()) {
+      List<Schema> stageSchemas = new ArrayList<>(stageSpec.getInputSchemas().values());
+      stageSchemas.add(stageSpec.getOutputSchema());
+      stageSchemas.add(stageSpec.getErrorSchema());
+      for (StageSpec.Port port : stageSpec.getOutputPorts().values()) {
+        stageSchemas.add(port.getSchema());
+      }
+      for (Schema schema : stageSchemas) {
+        if (schema != null && schema.getType() == Schema.Type.RECORD) {
+          schemas.add(schema);
+        }
+      }
+    }
+    return schemas;
+  }
 }
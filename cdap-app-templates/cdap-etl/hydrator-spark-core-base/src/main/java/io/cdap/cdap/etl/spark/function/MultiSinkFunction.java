@@ -16,6 +16,8 @@
 
 package io.cdap.cdap.etl.spark.function;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.Sets;
 import io.cdap.cdap.api.dataset.lib.KeyValue;
 import io.cdap.cdap.api.macro.MacroEvaluator;
@@ -40,10 +42,12 @@ import io.cdap.cdap.etl.spark.SparkTransformExecutorFactory;
 import org.apache.spark.api.java.function.PairFlatMapFunction;
 import scala.Tuple2;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -69,10 +73,13 @@ import javax.annotation.Nullable;
  * k2 and not to t1. Thus, every input record must be tagged with the stage that it came from, so that they can
  * be sent to the right underlying stages. This is why the input is a RecordInfo.
  *
- * This function is meant to be executed right before saving the Spark collection using a Multi OutputFormat that
- * delegates to underlying output formats.
+ * This function is meant to be executed on each partition right before saving the Spark collection using a
+ * Multi OutputFormat that delegates to underlying output formats. If batched execution is enabled through
+ * {@link Constants#BATCHED_EXECUTION_ENABLED}, the records of the partition are sent to the branches in batches,
+ * otherwise one at a time.
  */
-public class MultiSinkFunction implements PairFlatMapFunction<RecordInfo<Object>, String, KeyValue<Object, Object>> {
+public class MultiSinkFunction
+  implements PairFlatMapFunction<Iterator<RecordInfo<Object>>, String, KeyValue<Object, Object>> {
   private final PipelineRuntime pipelineRuntime;
   private final PhaseSpec phaseSpec;
   private final Set<String> group;
@@ -82,6 +89,8 @@ public class MultiSinkFunction implements PairFlatMapFunction<RecordInfo<Object>
   private transient SparkTransformExecutorFactory executorFactory;
   private transient Map<InputInfo, Set<String>> inputConnections;
   private transient Map<String, PipeTransformExecutor<Object>> branchExecutors;
+  private transient boolean batched;
+  private transient int batchSize;
 
   public MultiSinkFunction(JavaSparkExecutionContext sec, PhaseSpec phaseSpec, Set<String> group,
                            Map<String, StageStatisticsCollector> collectors) {
@@ -101,7 +110,7 @@ public class MultiSinkFunction implements PairFlatMapFunction<RecordInfo<Object>
   }
 
   @Override
-  public Iterator<Tuple2<String, KeyValue<Object, Object>>> call(RecordInfo<Object> input) throws Exception {
+  public Iterator<Tuple2<String, KeyValue<Object, Object>>> call(Iterator<RecordInfo<Object>> inputs) throws Exception {
     if (branchExecutors == null) {
       // branch executors must be created lazily here instead of passed into the constructor to ensure that
       // they are not serialized in the function. This ensures that macros are evaluated each run instead of just for
@@ -109,6 +118,54 @@ public class MultiSinkFunction implements PairFlatMapFunction<RecordInfo<Object>
       initializeBranchExecutors();
     }
 
+    return new AbstractIterator<Tuple2<String, KeyValue<Object, Object>>>() {
+      private Iterator<Tuple2<String, KeyValue<Object, Object>>> outputs = Collections.emptyIterator();
+
+      @Override
+      protected Tuple2<String, KeyValue<Object, Object>> computeNext() {
+        // only process more inputs once the outputs of the previous ones are consumed,
+        // so that the outputs of the whole partition are never held in memory
+        while (!outputs.hasNext()) {
+          if (!inputs.hasNext()) {
+            return endOfData();
+          }
+          emitter.reset();
+          if (batched) {
+            processBatch(inputs);
+          } else {
+            process(inputs.next());
+          }
+          outputs = emitter.getEntries().iterator();
+        }
+        return outputs.next();
+      }
+    };
+  }
+
+  private void process(RecordInfo<Object> input) {
+    Object record = input.getValue();
+    for (String groupSource : getGroupSources(input)) {
+      branchExecutors.get(groupSource).runOneIteration(record);
+    }
+  }
+
+  /**
+   * Sends up to batchSize records from the given inputs to the branches, as one batch per branch.
+   */
+  private void processBatch(Iterator<RecordInfo<Object>> inputs) {
+    Map<String, List<Object>> batches = new HashMap<>();
+    for (int i = 0; i < batchSize && inputs.hasNext(); i++) {
+      RecordInfo<Object> input = inputs.next();
+      for (String groupSource : getGroupSources(input)) {
+        batches.computeIfAbsent(groupSource, key -> new ArrayList<>()).add(input.getValue());
+      }
+    }
+    for (Map.Entry<String, List<Object>> entry : batches.entrySet()) {
+      branchExecutors.get(entry.getKey()).runBatch(entry.getValue());
+    }
+  }
+
+  private Set<String> getGroupSources(RecordInfo<Object> input) {
     /*
        Input records are a union of RecordInfo<Object> from all possible inputs to the group.
        For example, suppose the pipeline looks like:
@@ -126,8 +183,6 @@ public class MultiSinkFunction implements PairFlatMapFunction<RecordInfo<Object>
        and portA records need to be dropped.
      */
     InputInfo inputInfo = new InputInfo(input.getFromStage(), input.getType(), input.getFromPort());
-    Object record = input.getValue();
-    emitter.reset();
 
     /*
         inputConnections contains a map from input source to the branch that should receive it.
@@ -135,12 +190,7 @@ public class MultiSinkFunction implements PairFlatMapFunction<RecordInfo<Object>
           { stageName: splitter, port: B, type: output } -> [k2]
           { stageName: splitter, type: error } -> [error collector]
      */
-    Set<String> groupSources = inputConnections.getOrDefault(inputInfo, Collections.emptySet());
-    for (String groupSource : groupSources) {
-      branchExecutors.get(groupSource).runOneIteration(record);
-    }
-
-    return emitter.getEntries().iterator();
+    return inputConnections.getOrDefault(inputInfo, Collections.emptySet());
   }
 
   private void initializeBranchExecutors() {
@@ -151,8 +201,14 @@ public class MultiSinkFunction implements PairFlatMapFunction<RecordInfo<Object>
     MacroEvaluator macroEvaluator = new DefaultMacroEvaluator(
       pipelineRuntime.getArguments(), pipelineRuntime.getLogicalStartTime(), pipelineRuntime.getSecureStore(),
       pipelineRuntime.getServiceDiscoverer(), pipelineRuntime.getNamespace());
+    BasicArguments arguments = pipelineRuntime.getArguments();
+    batched = Boolean.parseBoolean(arguments.get(Constants.BATCHED_EXECUTION_ENABLED));
+    batchSize = arguments.has(Constants.BATCHED_EXECUTION_SIZE) ?
+      Integer.parseInt(arguments.get(Constants.BATCHED_EXECUTION_SIZE)) : Constants.DEFAULT_BATCHED_EXECUTION_SIZE;
+    Preconditions.checkArgument(batchSize > 0, "Invalid value %s for %s. It must be a positive integer.",
+                                batchSize, Constants.BATCHED_EXECUTION_SIZE);
     executorFactory = new SparkTransformExecutorFactory(pluginInstantiator, macroEvaluator, null,
-                                                        collectors, dataTracers, pipelineRuntime, emitter);
+                                                        collectors, dataTracers, pipelineRuntime, emitter, batched);
 
     /*
        If the dag is:
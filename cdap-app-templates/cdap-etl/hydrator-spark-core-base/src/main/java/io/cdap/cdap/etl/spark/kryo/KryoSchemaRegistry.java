@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.etl.spark.kryo;
+
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.cdap.api.data.schema.SchemaHash;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+
+/**
+ * Resolves {@link SchemaHash} written by {@link StructuredRecordSerializer} to {@link Schema}.
+ *
+ * The registry contains a set of known schemas, which must be the same for every process writing or reading
+ * the serialized records, so that records with a known schema only need to carry the schema hash.
+ * Records with any other schema carry the schema inline, which is parsed once and cached by the registry.
+ */
+public final class KryoSchemaRegistry {
+
+  private final Map<SchemaHash, Schema> knownSchemas;
+  private final ConcurrentMap<SchemaHash, Schema> inlineSchemas;
+
+  /**
+   * Creates a registry with the given known schemas. Record schemas nested in the given schemas are known as well.
+   */
+  public KryoSchemaRegistry(Collection<Schema> knownSchemas) {
+    Map<SchemaHash, Schema> schemas = new HashMap<>();
+    for (Schema schema : knownSchemas) {
+      addRecordSchemas(schema, schemas);
+    }
+    this.knownSchemas = Collections.unmodifiableMap(schemas);
+    this.inlineSchemas = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Returns whether the given schema hash belongs to a known schema.
+   */
+  public boolean isKnown(SchemaHash hash) {
+    return knownSchemas.containsKey(hash);
+  }
+
+  /**
+   * Returns the known schema of the given schema hash, or {@code null} if the schema is not known.
+   */
+  @Nullable
+  public Schema getKnown(SchemaHash hash) {
+    return knownSchemas.get(hash);
+  }
+
+  /**
+   * Returns the schema of the given hash that was written inline, parsing it only if it was not seen before.
+   *
+   * @throws IOException if failed to parse the schema
+   */
+  public Schema resolveInline(SchemaHash hash, String schemaJson) throws IOException {
+    Schema schema = inlineSchemas.get(hash);
+    if (schema == null) {
+      schema = Schema.parseJson(schemaJson);
+      Schema existing = inlineSchemas.putIfAbsent(hash, schema);
+      schema = existing == null ? schema : existing;
+    }
+    return schema;
+  }
+
+  private static void addRecordSchemas(Schema schema, Map<SchemaHash, Schema> schemas) {
+    switch (schema.getType()) {
+      case RECORD:
+        if (schemas.put(schema.getSchemaHash(), schema) == null) {
+          for (Schema.Field field : schema.getFields()) {
+            addRecordSchemas(field.getSchema(), schemas);
+          }
+        }
+        break;
+      case ARRAY:
+        addRecordSchemas(schema.getComponentSchema(), schemas);
+        break;
+      case MAP:
+        addRecordSchemas(schema.getMapSchema().getKey(), schemas);
+        addRecordSchemas(schema.getMapSchema().getValue(), schemas);
+        break;
+      case UNION:
+        for (Schema unionSchema : schema.getUnionSchemas()) {
+          addRecordSchemas(unionSchema, schemas);
+        }
+        break;
+      default:
+        break;
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.etl.spark.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.apache.spark.SparkConf;
+import org.apache.spark.SparkEnv;
+import org.apache.spark.serializer.KryoRegistrator;
+import org.apache.spark.serializer.KryoSerializer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link KryoRegistrator} that registers the {@link StructuredRecordSerializer} for {@link StructuredRecord}.
+ * Since Spark {@link org.apache.spark.sql.Encoders#kryo(Class) kryo encoders} use the kryo configuration
+ * from the {@link SparkConf}, this applies to both RDDs and Datasets using kryo.
+ *
+ * The schemas known to the {@link KryoSchemaRegistry} are passed through the {@link SparkConf} by
+ * {@link #configure(SparkConf, Collection)}, so that they are the same in the driver and in all the executors.
+ */
+public class StructuredRecordKryoRegistrator implements KryoRegistrator {
+
+  static final String KNOWN_SCHEMAS = "spark.cdap.pipeline.structuredrecord.kryo.schemas";
+
+  private static final Gson GSON = new Gson();
+  private static final Type LIST_STRING_TYPE = new TypeToken<List<String>>() { }.getType();
+
+  // one registry per process, so that inline schemas are only parsed once
+  private static volatile KryoSchemaRegistry schemaRegistry;
+
+  /**
+   * Configures Spark to use kryo serialization with the {@link StructuredRecordSerializer}.
+   *
+   * @param sparkConf the {@link SparkConf} to configure
+   * @param schemas the record schemas to be known by the {@link KryoSchemaRegistry}
+   */
+  public static void configure(SparkConf sparkConf, Collection<Schema> schemas) {
+    Set<String> schemaStrings = new LinkedHashSet<>();
+    for (Schema schema : schemas) {
+      schemaStrings.add(schema.toString());
+    }
+    sparkConf.set("spark.serializer", KryoSerializer.class.getName());
+    sparkConf.set("spark.kryo.registrator", StructuredRecordKryoRegistrator.class.getName());
+    sparkConf.set(KNOWN_SCHEMAS, GSON.toJson(new ArrayList<>(schemaStrings)));
+  }
+
+  @Override
+  public void registerClasses(Kryo kryo) {
+    kryo.register(StructuredRecord.class, new StructuredRecordSerializer(getSchemaRegistry()));
+  }
+
+  private static KryoSchemaRegistry getSchemaRegistry() {
+    KryoSchemaRegistry registry = schemaRegistry;
+    if (registry != null) {
+      return registry;
+    }
+    synchronized (StructuredRecordKryoRegistrator.class) {
+      registry = schemaRegistry;
+      if (registry != null) {
+        return registry;
+      }
+      SparkEnv sparkEnv = SparkEnv.get();
+      if (sparkEnv == null) {
+        throw new IllegalStateException("Spark environment is not available for resolving the known schemas");
+      }
+      List<String> schemaStrings = GSON.fromJson(sparkEnv.conf().get(KNOWN_SCHEMAS, "[]"), LIST_STRING_TYPE);
+      List<Schema> schemas = new ArrayList<>();
+      for (String schemaString : schemaStrings == null ? Collections.<String>emptyList() : schemaStrings) {
+        try {
+          schemas.add(Schema.parseJson(schemaString));
+        } catch (IOException e) {
+          throw new IllegalArgumentException("Invalid schema in " + KNOWN_SCHEMAS + ": " + schemaString, e);
+        }
+      }
+      schemaRegistry = registry = new KryoSchemaRegistry(schemas);
+      return registry;
+    }
+  }
+}
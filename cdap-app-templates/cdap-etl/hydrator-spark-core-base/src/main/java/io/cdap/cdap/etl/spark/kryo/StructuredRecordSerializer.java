@@ -0,0 +1,229 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.etl.spark.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.cdap.api.data.schema.SchemaHash;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import javax.annotation.Nullable;
+
+/**
+ * Kryo {@link Serializer} for {@link StructuredRecord}. Unlike the java serialization of {@link StructuredRecord},
+ * which writes the full schema and the field names for every record, this serializer writes the schema hash,
+ * followed by the field values in the order of the schema fields. The schema is resolved through
+ * a {@link KryoSchemaRegistry} when reading. Schemas that are not known to the registry are written inline.
+ *
+ * Each field value is prefixed by a tag byte. Values matching the field schema are written in a compact binary form,
+ * while values that don't, such as arrays, maps or values of a different type than the schema, are written with kryo
+ * together with their class, so that they are read back as the same type.
+ */
+public class StructuredRecordSerializer extends Serializer<StructuredRecord> {
+
+  private static final int SCHEMA_HASH_LENGTH = 16;
+
+  private static final byte NULL_VALUE = 0;
+  private static final byte SCHEMA_VALUE = 1;
+  private static final byte KRYO_VALUE = 2;
+
+  private final KryoSchemaRegistry schemaRegistry;
+
+  public StructuredRecordSerializer(KryoSchemaRegistry schemaRegistry) {
+    this.schemaRegistry = schemaRegistry;
+  }
+
+  @Override
+  public void write(Kryo kryo, Output output, StructuredRecord record) {
+    Schema schema = record.getSchema();
+    SchemaHash hash = schema.getSchemaHash();
+    output.writeBytes(hash.toByteArray());
+    boolean inline = !schemaRegistry.isKnown(hash);
+    output.writeBoolean(inline);
+    if (inline) {
+      output.writeString(schema.toString());
+    }
+
+    for (Schema.Field field : schema.getFields()) {
+      writeValue(kryo, output, field.getSchema(), record.get(field.getName()));
+    }
+  }
+
+  @Override
+  public StructuredRecord read(Kryo kryo, Input input, Class<StructuredRecord> type) {
+    SchemaHash hash = new SchemaHash(ByteBuffer.wrap(input.readBytes(SCHEMA_HASH_LENGTH)));
+    Schema schema;
+    if (input.readBoolean()) {
+      String schemaJson = input.readString();
+      try {
+        schema = schemaRegistry.resolveInline(hash, schemaJson);
+      } catch (IOException e) {
+        throw new KryoException("Failed to parse schema " + schemaJson, e);
+      }
+    } else {
+      schema = schemaRegistry.getKnown(hash);
+      if (schema == null) {
+        throw new KryoException("Unknown schema with hash " + hash);
+      }
+    }
+
+    StructuredRecord.Builder builder = StructuredRecord.builder(schema);
+    for (Schema.Field field : schema.getFields()) {
+      Object value = readValue(kryo, input, field.getSchema());
+      if (value != null) {
+        builder.set(field.getName(), value);
+      }
+    }
+    return builder.build();
+  }
+
+  private void writeValue(Kryo kryo, Output output, Schema schema, @Nullable Object value) {
+    if (value == null) {
+      output.writeByte(NULL_VALUE);
+      return;
+    }
+    Schema valueSchema = schema.isNullable() ? schema.getNonNullable() : schema;
+    if (!writeSchemaValue(kryo, output, valueSchema, value)) {
+      output.writeByte(KRYO_VALUE);
+      kryo.writeClassAndObject(output, value);
+    }
+  }
+
+  /**
+   * Writes the given value in compact form if it matches the given schema.
+   *
+   * @return {@code true} if the value was written, {@code false} if it doesn't match the schema
+   */
+  private boolean writeSchemaValue(Kryo kryo, Output output, Schema schema, Object value) {
+    switch (schema.getType()) {
+      case BOOLEAN:
+        if (value instanceof Boolean) {
+          output.writeByte(SCHEMA_VALUE);
+          output.writeBoolean((Boolean) value);
+          return true;
+        }
+        return false;
+      case INT:
+        if (value instanceof Integer) {
+          output.writeByte(SCHEMA_VALUE);
+          output.writeVarInt((Integer) value, false);
+          return true;
+        }
+        return false;
+      case LONG:
+        if (value instanceof Long) {
+          output.writeByte(SCHEMA_VALUE);
+          output.writeVarLong((Long) value, false);
+          return true;
+        }
+        return false;
+      case FLOAT:
+        if (value instanceof Float) {
+          output.writeByte(SCHEMA_VALUE);
+          output.writeFloat((Float) value);
+          return true;
+        }
+        return false;
+      case DOUBLE:
+        if (value instanceof Double) {
+          output.writeByte(SCHEMA_VALUE);
+          output.writeDouble((Double) value);
+          return true;
+        }
+        return false;
+      case STRING:
+        if (value instanceof String) {
+          output.writeByte(SCHEMA_VALUE);
+          output.writeString((String) value);
+          return true;
+        }
+        return false;
+      case BYTES:
+        if (value instanceof byte[]) {
+          byte[] bytes = (byte[]) value;
+          output.writeByte(SCHEMA_VALUE);
+          output.writeVarInt(bytes.length, true);
+          output.writeBytes(bytes);
+          return true;
+        }
+        return false;
+      case ENUM:
+        int idx = value instanceof String ? schema.getEnumIndex((String) value) : -1;
+        if (idx >= 0) {
+          output.writeByte(SCHEMA_VALUE);
+          output.writeVarInt(idx, true);
+          return true;
+        }
+        return false;
+      case RECORD:
+        if (value instanceof StructuredRecord) {
+          output.writeByte(SCHEMA_VALUE);
+          write(kryo, output, (StructuredRecord) value);
+          return true;
+        }
+        return false;
+      default:
+        return false;
+    }
+  }
+
+  @Nullable
+  private Object readValue(Kryo kryo, Input input, Schema schema) {
+    byte tag = input.readByte();
+    switch (tag) {
+      case NULL_VALUE:
+        return null;
+      case KRYO_VALUE:
+        return kryo.readClassAndObject(input);
+      case SCHEMA_VALUE:
+        return readSchemaValue(kryo, input, schema.isNullable() ? schema.getNonNullable() : schema);
+      default:
+        throw new KryoException("Invalid value tag " + tag);
+    }
+  }
+
+  private Object readSchemaValue(Kryo kryo, Input input, Schema schema) {
+    switch (schema.getType()) {
+      case BOOLEAN:
+        return input.readBoolean();
+      case INT:
+        return input.readVarInt(false);
+      case LONG:
+        return input.readVarLong(false);
+      case FLOAT:
+        return input.readFloat();
+      case DOUBLE:
+        return input.readDouble();
+      case STRING:
+        return input.readString();
+      case BYTES:
+        return input.readBytes(input.readVarInt(true));
+      case ENUM:
+        return schema.getEnumValue(input.readVarInt(true));
+      case RECORD:
+        return read(kryo, input, StructuredRecord.class);
+      default:
+        throw new KryoException("Unexpected value for schema " + schema);
+    }
+  }
+}
@@ -116,7 +116,7 @@ public class StreamingMultiSinkFunction implements VoidFunction2<JavaRDD<RecordI
     boolean ranSuccessfully = true;
     try {
       MultiSinkFunction multiSinkFunction = new MultiSinkFunction(sec, phaseSpec, group, collectors);
-      Set<String> outputNames = sinkFactory.writeCombinedRDD(data.flatMapToPair(multiSinkFunction),
+      Set<String> outputNames = sinkFactory.writeCombinedRDD(data.mapPartitionsToPair(multiSinkFunction),
                                                              sec, sinkNames);
       sec.execute(new TxRunnable() {
         @Override
@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.etl.spark.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link StructuredRecordSerializer}.
+ */
+public class StructuredRecordSerializerTest {
+
+  private static final Schema INNER_SCHEMA = Schema.recordOf(
+    "inner",
+    Schema.Field.of("id", Schema.of(Schema.Type.LONG)),
+    Schema.Field.of("tag", Schema.nullableOf(Schema.of(Schema.Type.STRING))));
+
+  private static final Schema SCHEMA = Schema.recordOf(
+    "record",
+    Schema.Field.of("bool", Schema.of(Schema.Type.BOOLEAN)),
+    Schema.Field.of("int", Schema.of(Schema.Type.INT)),
+    Schema.Field.of("long", Schema.nullableOf(Schema.of(Schema.Type.LONG))),
+    Schema.Field.of("float", Schema.of(Schema.Type.FLOAT)),
+    Schema.Field.of("double", Schema.of(Schema.Type.DOUBLE)),
+    Schema.Field.of("string", Schema.nullableOf(Schema.of(Schema.Type.STRING))),
+    Schema.Field.of("bytes", Schema.of(Schema.Type.BYTES)),
+    Schema.Field.of("enum", Schema.enumWith("a", "b", "c")),
+    Schema.Field.of("array", Schema.arrayOf(Schema.of(Schema.Type.STRING))),
+    Schema.Field.of("map", Schema.mapOf(Schema.of(Schema.Type.STRING), Schema.of(Schema.Type.INT))),
+    Schema.Field.of("inner", Schema.nullableOf(INNER_SCHEMA)));
+
+  @Test
+  public void testRoundTrip() {
+    StructuredRecord record = createRecord(1);
+    StructuredRecord nullRecord = StructuredRecord.builder(SCHEMA)
+      .set("bool", false)
+      .set("int", -5)
+      .set("float", 0f)
+      .set("double", 0d)
+      .set("bytes", new byte[0])
+      .set("enum", "c")
+      .set("array", new ArrayList<>())
+      .set("map", new HashMap<>())
+      .build();
+
+    // the schema is either known to the registry or written inline
+    for (KryoSchemaRegistry registry : Arrays.asList(new KryoSchemaRegistry(Collections.singleton(SCHEMA)),
+                                                     new KryoSchemaRegistry(Collections.emptyList()))) {
+      Kryo kryo = createKryo(registry);
+      for (StructuredRecord expected : Arrays.asList(record, nullRecord)) {
+        StructuredRecord actual = deserialize(kryo, serialize(kryo, expected));
+        Assert.assertEquals(SCHEMA, actual.getSchema());
+        for (Schema.Field field : SCHEMA.getFields()) {
+          Object expectedValue = expected.get(field.getName());
+          Object actualValue = actual.get(field.getName());
+          if (expectedValue instanceof byte[]) {
+            Assert.assertArrayEquals((byte[]) expectedValue, (byte[]) actualValue);
+          } else {
+            Assert.assertEquals(expectedValue, actualValue);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSerializedSize() throws Exception {
+    Kryo kryo = createKryo(new KryoSchemaRegistry(Collections.singleton(SCHEMA)));
+    Kryo inlineKryo = createKryo(new KryoSchemaRegistry(Collections.emptyList()));
+
+    List<StructuredRecord> records = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      records.add(createRecord(i));
+    }
+
+    long knownSize = 0;
+    long inlineSize = 0;
+    long javaSize = 0;
+    for (StructuredRecord record : records) {
+      knownSize += serialize(kryo, record).length;
+      inlineSize += serialize(inlineKryo, record).length;
+      ByteArrayOutputStream bos = new ByteArrayOutputStream();
+      try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+        oos.writeObject(record);
+      }
+      javaSize += bos.size();
+    }
+
+    // records with a known schema should not carry the schema nor the field names
+    Assert.assertTrue("Known schema size " + knownSize + " not less than inline size " + inlineSize,
+                      knownSize < inlineSize);
+    Assert.assertTrue("Known schema size " + knownSize + " not less than a third of java size " + javaSize,
+                      knownSize * 3 < javaSize);
+  }
+
+  private static StructuredRecord createRecord(int i) {
+    Map<String, Integer> map = new HashMap<>();
+    map.put("key" + i, i);
+    return StructuredRecord.builder(SCHEMA)
+      .set("bool", i % 2 == 0)
+      .set("int", i)
+      .set("long", (long) i * 1000L)
+      .set("float", i / 2f)
+      .set("double", i / 3d)
+      .set("string", "value" + i)
+      .set("bytes", new byte[] {(byte) i, 1, 2})
+      .set("enum", "b")
+      .set("array", new ArrayList<>(Arrays.asList("x" + i, "y" + i)))
+      .set("map", map)
+      .set("inner", StructuredRecord.builder(INNER_SCHEMA).set("id", (long) i).build())
+      .build();
+  }
+
+  private static Kryo createKryo(KryoSchemaRegistry registry) {
+    Kryo kryo = new Kryo();
+    kryo.register(StructuredRecord.class, new StructuredRecordSerializer(registry));
+    return kryo;
+  }
+
+  private static byte[] serialize(Kryo kryo, StructuredRecord record) {
+    Output output = new Output(4096, -1);
+    kryo.writeClassAndObject(output, record);
+    return output.toBytes();
+  }
+
+  private static StructuredRecord deserialize(Kryo kryo, byte[] bytes) {
+    return (StructuredRecord) kryo.readClassAndObject(new Input(bytes));
+  }
+}
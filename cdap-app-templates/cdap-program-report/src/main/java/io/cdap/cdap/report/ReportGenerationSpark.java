@@ -31,6 +31,7 @@ import io.cdap.cdap.api.spark.AbstractExtendedSpark;
 import io.cdap.cdap.api.spark.service.AbstractSparkHttpServiceHandler;
 import io.cdap.cdap.api.spark.service.SparkHttpServiceContext;
 import io.cdap.cdap.api.spark.service.SparkHttpServiceHandler;
+import io.cdap.cdap.report.main.RunMetaFileIndex;
 import io.cdap.cdap.report.main.SparkPersistRunRecordMain;
 import io.cdap.cdap.report.proto.Filter;
 import io.cdap.cdap.report.proto.FilterCodec;
@@ -75,11 +76,13 @@ import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -925,23 +928,14 @@ public class ReportGenerationSpark extends AbstractExtendedSpark {
         filteredNsLocations = nsLocations.stream().filter(nsLocation -> nsFilter.apply(nsLocation.getName()));
       }
       // Iterate through all qualified namespaces directories to get program run meta files
-      Stream<Location> metaFiles = filteredNsLocations.flatMap(nsLocation -> {
+      List<String> metaFilePaths = filteredNsLocations.flatMap(nsLocation -> {
         try {
           List<Location> metaFileLocations = nsLocation.list();
           LOG.debug("Files under namespace {}: {}", nsLocation.getName(), metaFileLocations);
-          return metaFileLocations.stream();
+          return getRequiredMetaFiles(metaFileLocations, reportRequest).stream();
         } catch (IOException e) {
           throw new RuntimeException(e);
         }
-      });
-      // Program run meta files are in avro format. Each file is named by the earliest program run meta record
-      // in the file, so exclude the files with no record earlier than the end of query time range.
-      List<String> metaFilePaths = metaFiles.filter(metaFile -> {
-        String fileName = metaFile.getName();
-        return fileName.endsWith(".avro")
-          //file name is of the format <event-time-millis>-<creation-time-millis>.avro
-          && TimeUnit.MILLISECONDS.toSeconds(Long.parseLong(fileName.substring(0, fileName.indexOf("-")))) <
-          reportRequest.getEnd();
       }).map(location -> location.toURI().toString()).collect(Collectors.toList());
       LOG.debug("Filtered meta files {}", metaFilePaths);
       // Generate the report with the request and program run meta files
@@ -949,6 +943,55 @@ public class ReportGenerationSpark extends AbstractExtendedSpark {
                                             metaFilePaths, reportIdDir, reportsExpiryTimeMillis);
     }
 
+    /**
+     * Gets the program run meta files of a namespace that are needed for generating the report.
+     * Program run meta files are in avro format. Each file is named by the earliest program run meta record
+     * in the file, so the files with no record earlier than the end of query time range are excluded.
+     * Files with a {@link RunMetaFileIndex} are further excluded if they only contain records of program runs
+     * which ended before the start of query time range.
+     *
+     * @param metaFileLocations the locations of all the files in a namespace directory
+     * @param reportRequest the request to generate report
+     * @return the locations of the program run meta files to read
+     */
+    private static List<Location> getRequiredMetaFiles(List<Location> metaFileLocations,
+                                                       ReportGenerationRequest reportRequest) {
+      Map<String, Location> metaFiles = new HashMap<>();
+      Map<String, Location> indexFiles = new HashMap<>();
+      for (Location location : metaFileLocations) {
+        String fileName = location.getName();
+        if (fileName.endsWith(".avro")
+          //file name is of the format <event-time-millis>-<creation-time-millis>.avro
+          && TimeUnit.MILLISECONDS.toSeconds(Long.parseLong(fileName.substring(0, fileName.indexOf("-")))) <
+          reportRequest.getEnd()) {
+          metaFiles.put(fileName, location);
+        } else if (fileName.endsWith(RunMetaFileIndex.SUFFIX)) {
+          indexFiles.put(fileName.substring(0, fileName.length() - RunMetaFileIndex.SUFFIX.length()), location);
+        }
+      }
+
+      // The index of a file is only written when the file is closed. Files without an index are always read.
+      Map<String, RunMetaFileIndex> fileIndices = new HashMap<>();
+      for (String fileName : metaFiles.keySet()) {
+        Location indexLocation = indexFiles.get(fileName);
+        RunMetaFileIndex index = indexLocation == null ? null : RunMetaFileIndex.read(indexLocation);
+        if (index != null) {
+          fileIndices.put(fileName, index);
+        }
+      }
+      Set<String> requiredFiles =
+        RunMetaFileIndex.getRequiredFiles(fileIndices, TimeUnit.SECONDS.toMillis(reportRequest.getStart()));
+
+      List<Location> result = new ArrayList<>();
+      for (Map.Entry<String, Location> entry : metaFiles.entrySet()) {
+        if (!fileIndices.containsKey(entry.getKey()) || requiredFiles.contains(entry.getKey())) {
+          result.add(entry.getValue());
+        }
+      }
+      LOG.debug("Skipped {} out of {} meta files by the index", metaFiles.size() - result.size(), metaFiles.size());
+      return result;
+    }
+
     /**
      * Get the value filter on namespace from the report generation request
      *
@@ -0,0 +1,183 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.report.main;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import io.cdap.cdap.report.util.Constants;
+import org.apache.twill.filesystem.Location;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Index of a closed run meta file, written next to the file with the {@link #SUFFIX} suffix. The index contains the
+ * time range of the records in the file, the program runs having records in the file, and the time of the end status
+ * of the runs that ended in the file. It allows report generation to skip files without reading them.
+ */
+public final class RunMetaFileIndex {
+
+  public static final String SUFFIX = ".index";
+
+  private static final Logger LOG = LoggerFactory.getLogger(RunMetaFileIndex.class);
+  private static final Gson GSON = new Gson();
+  private static final Set<String> END_STATUSES = ImmutableSet.of(Constants.Notification.Status.COMPLETED,
+                                                                  Constants.Notification.Status.KILLED,
+                                                                  Constants.Notification.Status.FAILED);
+
+  private final long minTime;
+  private final long maxTime;
+  private final Set<String> runs;
+  private final Map<String, Long> endTimes;
+
+  RunMetaFileIndex(long minTime, long maxTime, Set<String> runs, Map<String, Long> endTimes) {
+    this.minTime = minTime;
+    this.maxTime = maxTime;
+    this.runs = runs;
+    this.endTimes = endTimes;
+  }
+
+  /**
+   * @return the earliest record time in milliseconds in the file
+   */
+  public long getMinTime() {
+    return minTime;
+  }
+
+  /**
+   * @return the latest record time in milliseconds in the file
+   */
+  public long getMaxTime() {
+    return maxTime;
+  }
+
+  /**
+   * @return the ids of the program runs having records in the file
+   */
+  public Set<String> getRuns() {
+    return runs == null ? Collections.emptySet() : runs;
+  }
+
+  /**
+   * @return the time in milliseconds of the end status of the program runs that ended in the file
+   */
+  public Map<String, Long> getEndTimes() {
+    return endTimes == null ? Collections.emptyMap() : endTimes;
+  }
+
+  /**
+   * Returns the names of the indexed run meta files that contain records of program runs which did not end
+   * before the given time. A file is needed if it has any record at or after the given time, or any record of a
+   * program run that has no end status in the indexed files or that ended at or after the given time.
+   * Files without an index are not considered and must always be read.
+   *
+   * @param fileIndices the indices of the run meta files of a namespace, keyed by the file name
+   * @param startMillis the start of the report time range in milliseconds
+   * @return the names of the files to read
+   */
+  public static Set<String> getRequiredFiles(Map<String, RunMetaFileIndex> fileIndices, long startMillis) {
+    Map<String, Long> endTimes = new HashMap<>();
+    for (RunMetaFileIndex index : fileIndices.values()) {
+      // use the latest end time of a run so that files are never skipped wrongly
+      index.getEndTimes().forEach((run, time) -> endTimes.merge(run, time, Math::max));
+    }
+
+    Set<String> requiredFiles = new HashSet<>();
+    for (Map.Entry<String, RunMetaFileIndex> entry : fileIndices.entrySet()) {
+      RunMetaFileIndex index = entry.getValue();
+      if (index.getMaxTime() >= startMillis) {
+        requiredFiles.add(entry.getKey());
+        continue;
+      }
+      for (String run : index.getRuns()) {
+        Long endTime = endTimes.get(run);
+        if (endTime == null || endTime >= startMillis) {
+          requiredFiles.add(entry.getKey());
+          break;
+        }
+      }
+    }
+    return requiredFiles;
+  }
+
+  /**
+   * Reads the index of the given run meta file.
+   *
+   * @param indexLocation location of the index file
+   * @return the {@link RunMetaFileIndex} or {@code null} if the index cannot be read
+   */
+  @Nullable
+  public static RunMetaFileIndex read(Location indexLocation) {
+    try (Reader reader = new InputStreamReader(indexLocation.getInputStream(), StandardCharsets.UTF_8)) {
+      return GSON.fromJson(reader, RunMetaFileIndex.class);
+    } catch (IOException | JsonParseException e) {
+      LOG.warn("Failed to read run meta file index {}. The run meta file will be read without the index.",
+               indexLocation, e);
+      return null;
+    }
+  }
+
+  /**
+   * Writes this index to the given location.
+   */
+  void write(Location indexLocation) throws IOException {
+    try (Writer writer = new OutputStreamWriter(indexLocation.getOutputStream(), StandardCharsets.UTF_8)) {
+      GSON.toJson(this, writer);
+    }
+  }
+
+  /**
+   * Builder for {@link RunMetaFileIndex} that collects the information of the records appended to a run meta file.
+   */
+  static final class Builder {
+    private final Set<String> runs = new HashSet<>();
+    private final Map<String, Long> endTimes = new HashMap<>();
+    private long minTime = Long.MAX_VALUE;
+    private long maxTime = Long.MIN_VALUE;
+
+    Builder add(String run, String status, long time) {
+      minTime = Math.min(minTime, time);
+      maxTime = Math.max(maxTime, time);
+      runs.add(run);
+      if (END_STATUSES.contains(status)) {
+        endTimes.merge(run, time, Math::max);
+      }
+      return this;
+    }
+
+    boolean isEmpty() {
+      return runs.isEmpty();
+    }
+
+    RunMetaFileIndex build() {
+      return new RunMetaFileIndex(minTime, maxTime, new HashSet<>(runs), new HashMap<>(endTimes));
+    }
+  }
+}
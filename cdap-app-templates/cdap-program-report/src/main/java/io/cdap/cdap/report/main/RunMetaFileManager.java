@@ -129,7 +129,10 @@ public class RunMetaFileManager {
       boolean successful = fileLocation.createNew();
       if (successful) {
         namespaceToLogFileStreamMap.put(namespace,
-                                        new RunMetaFileOutputStream(fileLocation, "", syncIntervalBytes,
+                                        new RunMetaFileOutputStream(fileLocation,
+                                                                    namespaceDir.append(fileName +
+                                                                                          RunMetaFileIndex.SUFFIX),
+                                                                    "", syncIntervalBytes,
                                                                     System.currentTimeMillis(), () ->
                                                                       namespaceToLogFileStreamMap.remove(namespace)));
       }
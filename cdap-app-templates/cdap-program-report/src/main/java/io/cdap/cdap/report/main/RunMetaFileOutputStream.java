@@ -33,13 +33,16 @@ import java.io.OutputStream;
 import java.util.EnumSet;
 
 /**
- * Represents output stream for the run meta avro file.
+ * Represents output stream for the run meta avro file. When the stream is closed, a {@link RunMetaFileIndex}
+ * of the records in the file is written to the given index location.
  */
 
 class RunMetaFileOutputStream implements Closeable, Flushable {
   private static final Logger LOG = LoggerFactory.getLogger(RunMetaFileOutputStream.class);
 
   private final Location location;
+  private final Location indexLocation;
+  private final RunMetaFileIndex.Builder indexBuilder;
   private final long createTime;
   private final Closeable closeable;
 
@@ -47,9 +50,11 @@ class RunMetaFileOutputStream implements Closeable, Flushable {
   private DataFileWriter<GenericRecord> dataFileWriter;
   private long fileSize;
 
-  RunMetaFileOutputStream(Location location, String filePermissions,
+  RunMetaFileOutputStream(Location location, Location indexLocation, String filePermissions,
                           int syncIntervalBytes, long createTime, Closeable closeable) throws IOException {
     this.location = location;
+    this.indexLocation = indexLocation;
+    this.indexBuilder = new RunMetaFileIndex.Builder();
     this.closeable = closeable;
     Schema schema = ProgramRunInfoSerializer.SCHEMA;
     try {
@@ -69,6 +74,7 @@ class RunMetaFileOutputStream implements Closeable, Flushable {
 
   void append(ProgramRunInfo programRunInfo) throws IOException {
     dataFileWriter.append(ProgramRunInfoSerializer.createRecord(programRunInfo));
+    indexBuilder.add(programRunInfo.getRun(), programRunInfo.getProgramStatus(), programRunInfo.getTimestamp());
   }
 
   /**
@@ -106,8 +112,21 @@ class RunMetaFileOutputStream implements Closeable, Flushable {
     LOG.trace("Closing file {}", location);
     try {
       dataFileWriter.close();
+      writeIndex();
     } finally {
       closeable.close();
     }
   }
+
+  private void writeIndex() {
+    if (indexBuilder.isEmpty()) {
+      return;
+    }
+    // the run meta file is still read if the index is missing, hence only log failures
+    try {
+      indexBuilder.build().write(indexLocation);
+    } catch (IOException e) {
+      LOG.warn("Failed to write index {} for run meta file {}", indexLocation, location, e);
+    }
+  }
 }
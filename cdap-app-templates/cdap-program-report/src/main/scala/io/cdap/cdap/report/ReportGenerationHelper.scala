@@ -50,6 +50,9 @@ object ReportGenerationHelper {
   val FS_INPUT = classOf[FsInput]
   // the default name of the column created by calling aggregate function count
   val COUNT_COL = "count"
+  // fields which have the same value in every program run meta record of a program run
+  val RUN_CONSTANT_FIELDS = Set(Constants.NAMESPACE, Constants.APPLICATION_NAME, Constants.APPLICATION_VERSION,
+    Constants.PROGRAM_TYPE, Constants.PROGRAM)
 
   /**
     * Generates a report file according to the given request from the given program run meta files.
@@ -99,7 +102,9 @@ object ReportGenerationHelper {
       writeEmptySummaryFile(request, reportIdDir, reportExpiryDurationMillis);
       return
     }
-    val df = SparkCompat.readAvroFiles(sql, inputURIs)
+    // Push the filters on fields that are the same for all records of a program run to the scan,
+    // so that records of program runs not included in the report are dropped before aggregation
+    val df = pushDownFilters(request, SparkCompat.readAvroFiles(sql, inputURIs))
     // Get the fields to be included in the final report and additional fields required for filtering and sorting
     val (reportFields: Set[String], additionalFields: Set[String]) = getReportAndAdditionalFields(request)
 
@@ -276,6 +281,36 @@ object ReportGenerationHelper {
     (reportFields, additionalFields)
   }
 
+  /**
+    * Applies the value filters in the report generation request on the fields in [[RUN_CONSTANT_FIELDS]] to
+    * the [[org.apache.spark.sql.DataFrame]] of program run meta records. Since these fields have the same value in
+    * all the records of a program run, either all or none of the records of a program run are filtered out,
+    * which gives the same result as applying the filters after aggregation.
+    *
+    * @param request the report generation request
+    * @param df the DataFrame of program run meta records
+    * @return the filtered DataFrame
+    */
+  private def pushDownFilters(request: ReportGenerationRequest, df: DataFrame): DataFrame = {
+    Option(request.getFilters).map(_.toList).getOrElse(Nil).foldLeft(df)((filteredDf: DataFrame, filter: Filter[_]) =>
+      filter match {
+        case valueFilter: ValueFilter[_] if RUN_CONSTANT_FIELDS.contains(filter.getFieldName) => {
+          val fieldCol = filteredDf(filter.getFieldName)
+          val whitelist = valueFilter.getWhitelist
+          val blacklist = valueFilter.getBlacklist
+          LOG.debug("Pushed down ValueFilter {} for field {}", valueFilter, filter.getFieldName: Any)
+          if (whitelist.size() > 0) {
+            filteredDf.filter(fieldCol.isin(whitelist.stream().collect(Collectors.toList()): _*))
+          } else if (blacklist.size() > 0) {
+            filteredDf.filter(!fieldCol.isin(blacklist.stream().collect(Collectors.toList()): _*))
+          } else {
+            filteredDf
+          }
+        }
+        case _ => filteredDf
+      })
+  }
+
   /**
     * Gets a filter constructed from the report time range and filters in the report generation request.
     *
@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.report.main;
+
+import io.cdap.cdap.report.util.Constants;
+import org.apache.twill.filesystem.LocalLocationFactory;
+import org.apache.twill.filesystem.Location;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+
+/**
+ * Unit tests for {@link MessageUtil}.
+ */
+public class MessageUtilTest {
+
+  @ClassRule
+  public static final TemporaryFolder TEMP_FOLDER = new TemporaryFolder();
+
+  @Test(timeout = 10000L)
+  public void testFindMessageIdWithIndices() throws Exception {
+    Location baseLocation = new LocalLocationFactory(TEMP_FOLDER.newFolder()).create("base");
+    Location namespaceLocation = baseLocation.append("ns1");
+    namespaceLocation.mkdirs();
+
+    // run meta files closed by a clean shutdown, each with its index written next to it
+    writeRunMetaFile(namespaceLocation, "100-100.avro", "0a");
+    writeRunMetaFile(namespaceLocation, "200-200.avro", "0b");
+    Assert.assertTrue(namespaceLocation.append("100-100.avro" + RunMetaFileIndex.SUFFIX).exists());
+    Assert.assertTrue(namespaceLocation.append("200-200.avro" + RunMetaFileIndex.SUFFIX).exists());
+
+    // the message id is found from the latest run meta file, ignoring the indices
+    Assert.assertEquals("0b", MessageUtil.findMessageId(baseLocation));
+  }
+
+  private void writeRunMetaFile(Location namespaceLocation, String fileName, String messageId) throws IOException {
+    Location location = namespaceLocation.append(fileName);
+    try (RunMetaFileOutputStream outputStream =
+           new RunMetaFileOutputStream(location, namespaceLocation.append(fileName + RunMetaFileIndex.SUFFIX),
+                                       "", 1024, System.currentTimeMillis(), () -> { })) {
+      ProgramRunInfo programRunInfo = new ProgramRunInfo("ns1", "app", "-SNAPSHOT", "Workflow", "workflow", "run1");
+      programRunInfo.setStatus(Constants.Notification.Status.RUNNING);
+      programRunInfo.setTime(System.currentTimeMillis());
+      programRunInfo.setMessageId(messageId);
+      outputStream.append(programRunInfo);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.report.main;
+
+import io.cdap.cdap.report.util.Constants;
+import org.apache.twill.filesystem.LocalLocationFactory;
+import org.apache.twill.filesystem.Location;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link RunMetaFileIndex}.
+ */
+public class RunMetaFileIndexTest {
+
+  @ClassRule
+  public static final TemporaryFolder TEMP_FOLDER = new TemporaryFolder();
+
+  private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+  @Test
+  public void testRequiredFiles() {
+    // synthetic run history of one file per day, with runs that start and end on the same day
+    int days = 365;
+    Map<String, RunMetaFileIndex.Builder> builders = new HashMap<>();
+    for (int day = 0; day < days; day++) {
+      RunMetaFileIndex.Builder builder = new RunMetaFileIndex.Builder();
+      for (int i = 0; i < 100; i++) {
+        String run = "run-" + day + "-" + i;
+        builder.add(run, Constants.Notification.Status.STARTING, day * DAY_MILLIS + i);
+        builder.add(run, Constants.Notification.Status.RUNNING, day * DAY_MILLIS + i + 1);
+        builder.add(run, Constants.Notification.Status.COMPLETED, day * DAY_MILLIS + i + 1000);
+      }
+      builders.put(getFileName(day), builder);
+    }
+    // a run that started on day 10 and is still running
+    builders.get(getFileName(10)).add("running", Constants.Notification.Status.STARTING, 10 * DAY_MILLIS);
+    // a run that started on day 100 and ended on day 330
+    builders.get(getFileName(100)).add("long", Constants.Notification.Status.STARTING, 100 * DAY_MILLIS);
+    builders.get(getFileName(330)).add("long", Constants.Notification.Status.FAILED, 330 * DAY_MILLIS);
+    // a run that started on day 20 and ended on day 200
+    builders.get(getFileName(20)).add("ended", Constants.Notification.Status.STARTING, 20 * DAY_MILLIS);
+    builders.get(getFileName(200)).add("ended", Constants.Notification.Status.KILLED, 200 * DAY_MILLIS);
+
+    Map<String, RunMetaFileIndex> indices = new HashMap<>();
+    builders.forEach((fileName, builder) -> indices.put(fileName, builder.build()));
+
+    // a report over the last month only needs the files of the last month and the files of the runs still active
+    Set<String> expected = new HashSet<>();
+    for (int day = 335; day < days; day++) {
+      expected.add(getFileName(day));
+    }
+    expected.add(getFileName(10));
+    Assert.assertEquals(expected, RunMetaFileIndex.getRequiredFiles(indices, 335 * DAY_MILLIS));
+
+    // a report starting from day 300 needs the files of the run that ended on day 330 as well
+    for (int day = 300; day < 335; day++) {
+      expected.add(getFileName(day));
+    }
+    expected.add(getFileName(100));
+    Assert.assertEquals(expected, RunMetaFileIndex.getRequiredFiles(indices, 300 * DAY_MILLIS));
+
+    // a report over the full history needs all files
+    Assert.assertEquals(indices.keySet(), RunMetaFileIndex.getRequiredFiles(indices, 0L));
+  }
+
+  @Test
+  public void testReadWrite() throws Exception {
+    Location location = new LocalLocationFactory(TEMP_FOLDER.newFolder()).create("0-0.avro" + RunMetaFileIndex.SUFFIX);
+    Assert.assertNull(RunMetaFileIndex.read(location));
+
+    new RunMetaFileIndex.Builder()
+      .add("run1", Constants.Notification.Status.STARTING, 10L)
+      .add("run2", Constants.Notification.Status.STARTING, 20L)
+      .add("run1", Constants.Notification.Status.COMPLETED, 30L)
+      .build().write(location);
+
+    RunMetaFileIndex index = RunMetaFileIndex.read(location);
+    Assert.assertNotNull(index);
+    Assert.assertEquals(10L, index.getMinTime());
+    Assert.assertEquals(30L, index.getMaxTime());
+    Assert.assertEquals(new HashSet<>(Arrays.asList("run1", "run2")), index.getRuns());
+    Assert.assertEquals(Collections.singletonMap("run1", 30L), index.getEndTimes());
+  }
+
+  private static String getFileName(int day) {
+    return String.format("%d-%d.avro", day * DAY_MILLIS, day * DAY_MILLIS);
+  }
+}
@@ -226,6 +226,8 @@ public final class Constants {
     public static final String APP_SCHEDULER_QUEUE = "apps.scheduler.queue";
     public static final String STATUS_EVENT_FETCH_SIZE = "app.program.status.event.fetch.size";
     public static final String STATUS_EVENT_POLL_DELAY_MILLIS = "app.program.status.event.poll.delay.millis";
+    public static final String STATUS_EVENT_PROCESSING_PARALLELISM =
+      "app.program.status.event.processing.parallelism";
     public static final String MAPREDUCE_JOB_CLIENT_CONNECT_MAX_RETRIES = "mapreduce.jobclient.connect.max.retries";
     public static final String MAPREDUCE_INCLUDE_CUSTOM_CLASSES = "mapreduce.include.custom.format.classes";
     public static final String MAPREDUCE_STATUS_REPORT_INTERVAL_SECONDS = "mapreduce.status.report.interval.seconds";
@@ -239,6 +241,7 @@ public final class Constants {
     public static final String PROGRAM_TERMINATOR_TX_BATCH_SIZE = "app.program.terminator.tx.batch.size";
     public static final String SYSTEM_ARTIFACTS_DIR = "app.artifact.dir";
     public static final String SYSTEM_ARTIFACTS_MAX_PARALLELISM = "app.artifact.parallelism.max";
+    public static final String ARTIFACT_STORE_CACHE_SIZE_MB = "app.artifact.store.cache.size.mb";
     public static final String PROGRAM_EXTRA_CLASSPATH = "app.program.extra.classpath";
     public static final String SPARK_YARN_CLIENT_REWRITE = "app.program.spark.yarn.client.rewrite.enabled";
     public static final String SPARK_EVENT_LOGS_ENABLED = "app.program.spark.event.logs.enabled";
@@ -389,6 +392,7 @@ public final class Constants {
     public static final String BOSS_THREADS = "preview.boss.threads";
     public static final String WORKER_THREADS = "preview.worker.threads";
     public static final String MAX_NUM_OF_RECORDS = "preview.max.num.records";
+    public static final String TRACER_MAX_RECORDS_PER_PROPERTY = "preview.tracer.max.records.per.property";
 
     public static final String POLLER_COUNT = "preview.poller.count";
     public static final String REQUEST_POLL_DELAY_MILLIS = "preview.request.poll.delay.millis";
@@ -465,6 +469,14 @@ public final class Constants {
     public static final String WORKER_THREADS = "task.worker.worker.threads";
     public static final String METADATA_SERVICE_END_POINT = "task.worker.metadata.service.endpoint";
     public static final String METRIC_PREFIX = "task.worker.";
+
+    /**
+     * Task worker request execution configuration
+     */
+    public static final String REQUEST_CONCURRENCY = "task.worker.request.concurrency";
+    public static final String REQUEST_QUEUE_SIZE = "task.worker.request.queue.size";
+    public static final String REQUEST_QUEUE_TIMEOUT_MS = "task.worker.request.queue.timeout.ms";
+    public static final String PREWARM_CLASSES = "task.worker.prewarm.classes";
   }
 
 
@@ -503,6 +515,8 @@ public final class Constants {
      * Artifact localizer service clean up configurations
      */
     public static final String CACHE_CLEANUP_INTERVAL_MIN = "artifact.localizer.cache.cleanup.interval.min";
+    public static final String CACHE_MAX_SIZE_MB = "artifact.localizer.cache.max.size.mb";
+    public static final String FRESHNESS_WINDOW_MS = "artifact.localizer.freshness.window.ms";
 
     /**
      * Artifact localizer sidecar container configurations
@@ -537,6 +551,9 @@ public final class Constants {
     public static final String PROGRAM_STATUS_EVENT_FETCH_SIZE = "scheduler.program.status.event.fetch.size";
 
     public static final String JOB_QUEUE_NUM_PARTITIONS = "scheduler.job.queue.num.partitions";
+    public static final String JOB_QUEUE_IDLE_MAX_DELAY_MILLIS = "scheduler.job.queue.idle.max.delay.millis";
+    public static final String TRIGGER_INDEX_MAX_STALENESS_MILLIS = "scheduler.trigger.index.max.staleness.millis";
+    public static final String TRIGGER_INDEX_MAX_SIZE = "scheduler.trigger.index.max.size";
   }
 
   /**
@@ -616,6 +633,10 @@ public final class Constants {
     // tables. Constant could be moved to Table after that is changed. See CDAP-1193 for more info
     public static final String TABLE_TX_DISABLED = "dataset.table.tx.disabled";
 
+    // Table dataset property that defines the max estimated size in bytes of the in-memory buffer of uncommitted
+    // changes. Once exceeded, buffered changes are persisted before the transaction commits. Zero means unbounded.
+    public static final String TABLE_BUFFER_MAX_BYTES = "dataset.table.buffer.max.bytes";
+
     public static final String CUSTOM_MODULE_ENABLED = "dataset.custom.module.enabled";
 
     public static final String DATA_DIR = "dataset.data.dir";
@@ -642,6 +663,7 @@ public final class Constants {
     public static final String DATA_STORAGE_SQL_PROPERTY_PREFIX = "data.storage.sql.jdbc.property.";
     public static final String DATA_STORAGE_SQL_CONNECTION_SIZE = "data.storage.sql.jdbc.connection.pool.size";
     public static final String DATA_STORAGE_SQL_SCAN_FETCH_SIZE_ROWS = "data.storage.sql.scan.size.rows";
+    public static final String DATA_STORAGE_SQL_STATEMENT_CACHE_SIZE = "data.storage.sql.statement.cache.size";
 
     // used for Guice named bindings
     public static final String TABLE_TYPE = "table.type";
@@ -970,6 +992,8 @@ public final class Constants {
         public static final String OP_COUNT = "dataset.store.ops";
         public static final String WRITE_COUNT = "dataset.store.writes";
         public static final String WRITE_BYTES = "dataset.store.bytes";
+        public static final String BUFFER_BYTES = "dataset.store.buffer.bytes";
+        public static final String BUFFER_FLUSH_COUNT = "dataset.store.buffer.flushes";
       }
 
       /**
@@ -1040,17 +1064,39 @@ public final class Constants {
      */
     public static final class Preview {
       public static final String RUN_TIME_SECONDS = "preview.run.seconds";
+      public static final String DATA_RECORDS = "preview.data.records";
+      public static final String DATA_FLUSH_LATENCY_MS = "preview.data.flush.latency.ms";
     }
 
     public static final class TaskWorker {
       public static final String REQUEST_COUNT = Constants.TaskWorker.METRIC_PREFIX + "request.count";
       public static final String REQUEST_LATENCY_MS = Constants.TaskWorker.METRIC_PREFIX + "request.latency.millis";
+      public static final String REQUEST_QUEUE_WAIT_MS =
+        Constants.TaskWorker.METRIC_PREFIX + "request.queue.wait.millis";
+      public static final String REQUEST_REJECTED_COUNT = Constants.TaskWorker.METRIC_PREFIX + "request.rejected.count";
+      public static final String REQUEST_COLD_START_COUNT =
+        Constants.TaskWorker.METRIC_PREFIX + "request.cold.start.count";
+      public static final String REQUEST_WARM_START_COUNT =
+        Constants.TaskWorker.METRIC_PREFIX + "request.warm.start.count";
       public static final String CLIENT_REQUEST_COUNT =
         "client." + Constants.TaskWorker.METRIC_PREFIX + "request.count";
       public static final String CLIENT_REQUEST_LATENCY_MS =
         "client." + Constants.TaskWorker.METRIC_PREFIX + "request.latency.millis";
     }
 
+    public static final class ArtifactLocalizer {
+      public static final String CACHE_HIT = "artifact.localizer.cache.hit";
+      public static final String CACHE_MISS = "artifact.localizer.cache.miss";
+      public static final String BYTES_DOWNLOADED = "artifact.localizer.bytes.downloaded";
+    }
+
+    public static final class RuntimeMonitor {
+      public static final String RELAY_STREAM_COUNT = "runtime.relay.stream.count";
+      public static final String RELAY_MESSAGE_COUNT = "runtime.relay.message.count";
+      public static final String RELAY_BYTES = "runtime.relay.bytes";
+      public static final String RELAY_LATENCY_MS = "runtime.relay.latency.millis";
+    }
+
     public static final class SystemWorker {
       public static final String REQUEST_COUNT = Constants.SystemWorker.METRIC_PREFIX + "request.count";
       public static final String REQUEST_LATENCY_MS = Constants.SystemWorker.METRIC_PREFIX + "request.latency.millis";
@@ -1071,6 +1117,8 @@ public final class Constants {
       public static final String ACTIVE_CONNECTIONS = "structured.table.connection.active";
       public static final String IDLE_CONNECTIONS = "structured.table.connection.idle";
       public static final String ERROR_CONNECTIONS = "structured.table.connection.error";
+      public static final String STATEMENT_CACHE_HIT = "structured.table.statement.cache.hit";
+      public static final String STATEMENT_CACHE_MISS = "structured.table.statement.cache.miss";
     }
 
     /**
@@ -1080,6 +1128,23 @@ public final class Constants {
       public static final String METRICS_PREFIX = "metadata.storage.";
     }
 
+    /**
+     * Lineage computation metrics
+     */
+    public static final class Lineage {
+      public static final String LEVEL_LATENCY_MS = "lineage.level.latency.ms";
+      public static final String LEVEL_ENTITIES = "lineage.level.entities";
+    }
+
+    /**
+     * Notification subscriber metrics
+     */
+    public static final class NotificationSubscriber {
+      public static final String PROCESSED_MESSAGES = "notification.subscriber.processed.messages";
+      public static final String PROCESS_LAG = "notification.subscriber.process.lag.ms";
+      public static final String PARTITIONS = "notification.subscriber.partitions";
+    }
+
     /**
      * Authorization metrics
      */
@@ -1104,6 +1169,12 @@ public final class Constants {
       public static final String SCHEDULE_SUCCESS = "schedulejob.success";
       public static final String SCHEDULE_NOTIFICATION_FAILURE = "schedulejob.notification.failure";
       public static final String SCHEDULE_LATENCY = "schedulejob.latency";
+      public static final String JOB_QUEUE_DEPTH = "schedulejob.queue.depth";
+      public static final String JOB_PICKUP_LATENCY = "schedulejob.pickup.latency";
+      public static final String TRIGGER_INDEX_SIZE = "schedulejob.trigger.index.size";
+      public static final String TRIGGER_INDEX_HIT = "schedulejob.trigger.index.hit";
+      public static final String TRIGGER_INDEX_MISS = "schedulejob.trigger.index.miss";
+      public static final String TRIGGER_INDEX_STALENESS = "schedulejob.trigger.index.staleness";
     }
   }
 
@@ -1194,6 +1265,12 @@ public final class Constants {
 
     public static final String COMPRESSION_ENABLED = "app.program.runtime.monitor.compression.enabled";
 
+    // Configurations for relaying messages of all topics through one streaming request per program run
+    public static final String MULTIPLEXED_ENABLED = "app.program.runtime.monitor.multiplexed.enabled";
+    public static final String MULTIPLEXED_POLL_TIME_MS = "app.program.runtime.monitor.multiplexed.polltime.ms";
+    public static final String MULTIPLEXED_STREAM_DURATION_MS =
+      "app.program.runtime.monitor.multiplexed.stream.duration.ms";
+
     // Configuration key for specifying the base URL for sending monitoring messages.
     // If it is missing from the configuration, SSH tunnel will be used.
     public static final String MONITOR_URL = "app.program.runtime.monitor.url";
@@ -1594,6 +1671,8 @@ public final class Constants {
   public static final String CFG_DATA_LEVELDB_CACHESIZE = "data.local.storage.cachesize";
   public static final String CFG_DATA_LEVELDB_CACHESIZE_FILES = "data.local.storage.cachesize.files";
   public static final String CFG_DATA_LEVELDB_FSYNC = "data.local.storage.fsync";
+  public static final String CFG_DATA_LEVELDB_GROUP_COMMIT_WINDOW_MICROS =
+    "data.local.storage.group.commit.window.micros";
   public static final String CFG_DATA_LEVELDB_COMPACTION_INTERVAL_SECONDS =
     "data.local.storage.compaction.interval.seconds";
   public static final String CFG_DATA_LEVELDB_COMPACTION_LEVEL_MIN =
@@ -1608,6 +1687,7 @@ public final class Constants {
   public static final int DEFAULT_DATA_LEVELDB_BLOCKSIZE = 1024;
   public static final long DEFAULT_DATA_LEVELDB_CACHESIZE = 1024 * 1024 * 100;
   public static final boolean DEFAULT_DATA_LEVELDB_FSYNC = true;
+  public static final long DEFAULT_DATA_LEVELDB_GROUP_COMMIT_WINDOW_MICROS = 0L;
   public static final long DEFAULT_DATA_LEVELDB_COMPACTION_INTERVAL_SECONDS = 3600 * 24 * 7L;
   public static final int DEFAULT_DATA_LEVELDB_COMPACTION_LEVEL_MIN = 0;
   public static final int DEFAULT_DATA_LEVELDB_COMPACTION_LEVEL_MAX = 4;
@@ -2015,6 +2095,8 @@ public final class Constants {
      * Artifact cache service clean up configurations
      */
     public static final String CACHE_CLEANUP_INTERVAL_MIN = "artifact.cache.cache.cleanup.interval.min";
+    public static final String CACHE_MAX_SIZE_MB = "artifact.cache.cache.max.size.mb";
+    public static final String FRESHNESS_WINDOW_MS = "artifact.cache.freshness.window.ms";
     public static final String LOCAL_DATA_DIR = "artifact.cache.local.data.dir";
 
     /**
@@ -0,0 +1,208 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.common.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link Decoder} for binary-format data that reads directly from a {@link ByteBuffer}. It produces the same
+ * result as {@link BinaryDecoder}, but avoids the per byte {@link java.io.InputStream#read()} calls by reading
+ * from the buffer directly.
+ * <p>
+ * Data is read starting at the current position of the given buffer and the position is advanced as data
+ * is consumed. Both heap and direct buffers are supported. For Netty {@code ByteBuf}, use the
+ * {@code ByteBuf.nioBuffer()} view.
+ * <p>
+ * The {@link ByteBuffer} returned by {@link #readBytes()} is a slice of the underlying buffer without copying.
+ * Caller should copy the content if the underlying buffer is going to be reused.
+ * <p>
+ * This class is not thread safe.
+ */
+public final class ByteBufferBinaryDecoder implements Decoder {
+
+  private final ByteBuffer buffer;
+  // A view of the same content in little endian order for reading float and double
+  private final ByteBuffer littleEndianBuffer;
+  // Reusable buffer for decoding strings from direct buffer
+  private byte[] stringBuffer;
+
+  public ByteBufferBinaryDecoder(ByteBuffer buffer) {
+    this.buffer = buffer;
+    this.littleEndianBuffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * Returns the {@link ByteBuffer} that this decoder is reading from.
+   */
+  public ByteBuffer getBuffer() {
+    return buffer;
+  }
+
+  @Override
+  public Object readNull() throws IOException {
+    // No-op
+    return null;
+  }
+
+  @Override
+  public boolean readBool() throws IOException {
+    return readByte() == 1;
+  }
+
+  @Override
+  public int readInt() throws IOException {
+    // Unrolled varint decoding. Most values are small, hence check for the termination bit on every byte.
+    int b = readByte();
+    int val = b & 0x7f;
+    if (b > 0x7f) {
+      b = readByte();
+      val ^= (b & 0x7f) << 7;
+      if (b > 0x7f) {
+        b = readByte();
+        val ^= (b & 0x7f) << 14;
+        if (b > 0x7f) {
+          b = readByte();
+          val ^= (b & 0x7f) << 21;
+          if (b > 0x7f) {
+            b = readByte();
+            val ^= b << 28;
+            if (b > 0x7f) {
+              throw new IOException("Invalid int encoding");
+            }
+          }
+        }
+      }
+    }
+    return (val >>> 1) ^ -(val & 1);
+  }
+
+  @Override
+  public long readLong() throws IOException {
+    long val = 0;
+    int shift = 0;
+    int b = readByte();
+    while (b > 0x7f) {
+      val ^= (long) (b & 0x7f) << shift;
+      shift += 7;
+      if (shift > 63) {
+        throw new IOException("Invalid long encoding");
+      }
+      b = readByte();
+    }
+    val ^= (long) b << shift;
+    return (val >>> 1) ^ -(val & 1);
+  }
+
+  @Override
+  public float readFloat() throws IOException {
+    int pos = advance(4);
+    return Float.intBitsToFloat(littleEndianBuffer.getInt(pos));
+  }
+
+  @Override
+  public double readDouble() throws IOException {
+    int pos = advance(8);
+    return Double.longBitsToDouble(littleEndianBuffer.getLong(pos));
+  }
+
+  @Override
+  public String readString() throws IOException {
+    int len = readLength();
+    int pos = advance(len);
+    if (buffer.hasArray()) {
+      return new String(buffer.array(), buffer.arrayOffset() + pos, len, StandardCharsets.UTF_8);
+    }
+
+    if (stringBuffer == null || stringBuffer.length < len) {
+      stringBuffer = new byte[Math.max(len, 64)];
+    }
+    // Use the duplicate for absolute bulk read so that the position of the original buffer is not affected
+    littleEndianBuffer.position(pos);
+    littleEndianBuffer.get(stringBuffer, 0, len);
+    return new String(stringBuffer, 0, len, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public ByteBuffer readBytes() throws IOException {
+    int len = readLength();
+    int pos = advance(len);
+    ByteBuffer slice = buffer.duplicate();
+    slice.position(pos);
+    slice.limit(pos + len);
+    return slice.slice();
+  }
+
+  @Override
+  public void skipFloat() throws IOException {
+    advance(4);
+  }
+
+  @Override
+  public void skipDouble() throws IOException {
+    advance(8);
+  }
+
+  @Override
+  public void skipString() throws IOException {
+    skipBytes();
+  }
+
+  @Override
+  public void skipBytes() throws IOException {
+    advance(readLength());
+  }
+
+  private int readLength() throws IOException {
+    int len = readInt();
+    if (len < 0) {
+      throw new IOException("Invalid negative length " + len);
+    }
+    return len;
+  }
+
+  /**
+   * Advances the buffer position by the given number of bytes.
+   *
+   * @return the position before advancing
+   * @throws EOFException if there is not enough bytes remaining in the buffer
+   */
+  private int advance(int len) throws EOFException {
+    if (buffer.remaining() < len) {
+      throw new EOFException();
+    }
+    int pos = buffer.position();
+    buffer.position(pos + len);
+    return pos;
+  }
+
+  /**
+   * Reads a byte value.
+   *
+   * @return The byte value read.
+   * @throws EOFException If end of buffer reached.
+   */
+  private int readByte() throws EOFException {
+    if (!buffer.hasRemaining()) {
+      throw new EOFException();
+    }
+    return buffer.get() & 0xff;
+  }
+}
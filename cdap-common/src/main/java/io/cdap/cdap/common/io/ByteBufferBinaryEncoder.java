@@ -0,0 +1,204 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.common.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * An {@link Encoder} for binary-format data that writes into an auto-expanding heap {@link ByteBuffer}.
+ * It produces the same bytes as {@link BinaryEncoder}, but avoids the per byte {@link OutputStream#write(int)}
+ * calls. The encoded content can be retrieved with {@link #toByteBuffer()} or {@link #toByteArray()}, and
+ * the encoder can be reused after calling {@link #reset()}.
+ * <p>
+ * This class is not thread safe.
+ */
+public final class ByteBufferBinaryEncoder implements Encoder {
+
+  private static final int DEFAULT_INITIAL_SIZE = 256;
+
+  private ByteBuffer buffer;
+
+  public ByteBufferBinaryEncoder() {
+    this(DEFAULT_INITIAL_SIZE);
+  }
+
+  public ByteBufferBinaryEncoder(int initialSize) {
+    this.buffer = ByteBuffer.allocate(Math.max(initialSize, 16)).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * Returns the number of bytes encoded so far.
+   */
+  public int size() {
+    return buffer.position();
+  }
+
+  /**
+   * Discards all encoded content so that this encoder can be reused. The underlying buffer is retained.
+   */
+  public ByteBufferBinaryEncoder reset() {
+    buffer.clear();
+    return this;
+  }
+
+  /**
+   * Returns a {@link ByteBuffer} containing the encoded content without copying. The returned buffer shares
+   * the content with this encoder and is only valid until the next write or {@link #reset()} call.
+   */
+  public ByteBuffer toByteBuffer() {
+    ByteBuffer result = buffer.duplicate();
+    result.flip();
+    return result.order(ByteOrder.BIG_ENDIAN);
+  }
+
+  /**
+   * Returns a copy of the encoded content as a byte array.
+   */
+  public byte[] toByteArray() {
+    return Arrays.copyOf(buffer.array(), buffer.position());
+  }
+
+  /**
+   * Writes the encoded content to the given {@link OutputStream}.
+   */
+  public void writeTo(OutputStream output) throws IOException {
+    output.write(buffer.array(), 0, buffer.position());
+  }
+
+  @Override
+  public Encoder writeNull() throws IOException {
+    // No-op
+    return this;
+  }
+
+  @Override
+  public Encoder writeBool(boolean b) throws IOException {
+    ensureCapacity(1);
+    buffer.put((byte) (b ? 1 : 0));
+    return this;
+  }
+
+  @Override
+  public Encoder writeInt(int i) throws IOException {
+    ensureCapacity(5);
+    putVarInt((i << 1) ^ (i >> 31));
+    return this;
+  }
+
+  @Override
+  public Encoder writeLong(long l) throws IOException {
+    ensureCapacity(10);
+    // Compute the zig-zag value. First double the value and flip the bit if the input is negative.
+    long val = (l << 1) ^ (l >> 63);
+    while ((val & ~0x7fL) != 0) {
+      buffer.put((byte) (0x80 | val & 0x7f));
+      val >>>= 7;
+    }
+    buffer.put((byte) val);
+    return this;
+  }
+
+  @Override
+  public Encoder writeFloat(float f) throws IOException {
+    ensureCapacity(4);
+    buffer.putInt(Float.floatToIntBits(f));
+    return this;
+  }
+
+  @Override
+  public Encoder writeDouble(double d) throws IOException {
+    ensureCapacity(8);
+    buffer.putLong(Double.doubleToLongBits(d));
+    return this;
+  }
+
+  @Override
+  public Encoder writeString(String s) throws IOException {
+    int len = s.length();
+
+    // Fast path for ASCII strings, which can be written directly without going through the charset encoder
+    ensureCapacity(5 + len);
+    int start = buffer.position();
+    putVarInt(len << 1);
+    byte[] array = buffer.array();
+    int pos = buffer.position();
+    for (int i = 0; i < len; i++) {
+      char c = s.charAt(i);
+      if (c >= 0x80) {
+        // Not an ASCII string, rewind and write with the UTF-8 bytes
+        buffer.position(start);
+        return writeBytes(s.getBytes(StandardCharsets.UTF_8));
+      }
+      array[pos + i] = (byte) c;
+    }
+    buffer.position(pos + len);
+    return this;
+  }
+
+  @Override
+  public Encoder writeBytes(byte[] bytes) throws IOException {
+    return writeBytes(bytes, 0, bytes.length);
+  }
+
+  @Override
+  public Encoder writeBytes(byte[] bytes, int off, int len) throws IOException {
+    writeLong(len);
+    ensureCapacity(len);
+    buffer.put(bytes, off, len);
+    return this;
+  }
+
+  @Override
+  public Encoder writeBytes(ByteBuffer buffer) throws IOException {
+    int len = buffer.remaining();
+    writeInt(len);
+    ensureCapacity(len);
+    this.buffer.put(buffer.duplicate());
+    return this;
+  }
+
+  /**
+   * Writes an already zig-zag encoded int value as varint. Caller must ensure there is enough capacity.
+   */
+  private void putVarInt(int val) {
+    while ((val & ~0x7f) != 0) {
+      buffer.put((byte) (0x80 | val & 0x7f));
+      val >>>= 7;
+    }
+    buffer.put((byte) val);
+  }
+
+  private void ensureCapacity(int len) {
+    if (buffer.remaining() >= len) {
+      return;
+    }
+    long required = (long) buffer.position() + len;
+    if (required > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Encoded content exceeds maximum buffer size");
+    }
+    int newSize = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, (long) buffer.capacity() << 1));
+    ByteBuffer newBuffer = ByteBuffer.allocate(newSize).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.flip();
+    newBuffer.put(buffer);
+    buffer = newBuffer;
+  }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.internal.io;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.cdap.common.io.DatumReader;
+import io.cdap.cdap.common.io.Decoder;
+import io.cdap.cdap.common.lang.Instantiator;
+import io.cdap.cdap.common.lang.InstantiatorFactory;
+import io.cdap.cdap.internal.asm.ByteCodeClassLoader;
+import io.cdap.cdap.internal.asm.ClassDefinition;
+import io.cdap.cdap.internal.lang.Fields;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import javax.inject.Inject;
+
+/**
+ * A factory class for creating {@link DatumReader} instance for different data type and schema.
+ * For record types, a {@link DatumReader} class is generated using ASM for each (type, source schema, target schema)
+ * combination, with the schema resolution done at generation time. Generated classes are defined in a
+ * {@link ByteCodeClassLoader} per {@link ClassLoader} of the record type and the instances are cached for reuse.
+ * For other types, and for record fields of non-simple type that are not records, decoding is done with
+ * {@link ReflectionDatumReader}.
+ */
+public final class ASMDatumReaderFactory implements DatumReaderFactory {
+
+  private static final DatumReader<Object> SKIP_READER = (decoder, sourceSchema) -> {
+    ReflectionDatumReader.skip(decoder, sourceSchema);
+    return null;
+  };
+
+  private final FieldAccessorFactory fieldAccessorFactory;
+  private final InstantiatorFactory instantiatorFactory;
+  private final LoadingCache<ClassLoader, ByteCodeClassLoader> classLoaders;
+  private final LoadingCache<CacheKey, DatumReader<?>> recordReaders;
+
+  @Inject
+  public ASMDatumReaderFactory(FieldAccessorFactory fieldAccessorFactory) {
+    this.fieldAccessorFactory = fieldAccessorFactory;
+    this.instantiatorFactory = new InstantiatorFactory(true);
+    // The generated classes only reference CDAP classes, hence the ByteCodeClassLoader has the CDAP system
+    // ClassLoader as parent. Using weak keys so that it won't hold on to the ClassLoader of the record type.
+    this.classLoaders = CacheBuilder.newBuilder().weakKeys().build(
+      new CacheLoader<ClassLoader, ByteCodeClassLoader>() {
+        @Override
+        public ByteCodeClassLoader load(ClassLoader key) {
+          return new ByteCodeClassLoader(ASMDatumReaderFactory.class.getClassLoader());
+        }
+      });
+    this.recordReaders = CacheBuilder.newBuilder().build(new ASMCacheLoader());
+  }
+
+  /**
+   * Creates a {@link DatumReader} that is able to decode data into the given data type with the given
+   * target {@link Schema}. The instance created is thread safe and reusable.
+   *
+   * @param type Type information of the data type to decode to.
+   * @param schema Schema of the data type.
+   * @param <T> Type of the data type.
+   * @return A {@link DatumReader} instance.
+   */
+  @Override
+  public <T> DatumReader<T> create(TypeToken<T> type, Schema schema) {
+    return new ASMDatumReader<>(type, schema);
+  }
+
+  /**
+   * Returns the generated {@link DatumReader} for the given record type and schemas.
+   */
+  private DatumReader<?> getRecordReader(TypeToken<?> type, Schema sourceSchema, Schema targetSchema) {
+    try {
+      return recordReaders.getUnchecked(new CacheKey(type, sourceSchema, targetSchema));
+    } catch (UncheckedExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  /**
+   * Returns {@code true} if a {@link DatumReader} class can be generated for the given type and schema.
+   */
+  private static boolean canGenerate(TypeToken<?> type, Schema schema) {
+    Class<?> rawType = type.getRawType();
+    return schema.getType() == Schema.Type.RECORD
+      && !rawType.isInterface() && !Modifier.isAbstract(rawType.getModifiers()) && !rawType.equals(Object.class);
+  }
+
+  /**
+   * The {@link DatumReader} returned by this factory. It lazily resolves the generated {@link DatumReader}
+   * based on the source schema provided on each read.
+   *
+   * @param <T> Type of the data type.
+   */
+  private final class ASMDatumReader<T> implements DatumReader<T> {
+
+    private final TypeToken<T> type;
+    private final Schema schema;
+    private final boolean generated;
+    private final ThreadLocal<ReflectionDatumReader<T>> reflectionReader;
+    private volatile ResolvedReader lastReader;
+
+    ASMDatumReader(TypeToken<T> type, Schema schema) {
+      this.type = type;
+      this.schema = schema;
+      this.generated = canGenerate(type, schema);
+      // ReflectionDatumReader is not thread safe, hence one instance per thread.
+      this.reflectionReader = ThreadLocal.withInitial(() -> new ReflectionDatumReader<>(schema, type));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T read(Decoder decoder, Schema sourceSchema) throws IOException {
+      if (!generated || sourceSchema.getType() != Schema.Type.RECORD) {
+        return reflectionReader.get().read(decoder, sourceSchema);
+      }
+
+      // The source schema is usually the same instance across calls, hence use identity check to avoid lookup
+      ResolvedReader resolved = lastReader;
+      if (resolved == null || resolved.sourceSchema != sourceSchema) {
+        try {
+          resolved = new ResolvedReader(sourceSchema, getRecordReader(type, sourceSchema, schema));
+        } catch (RuntimeException e) {
+          throw new IOException(String.format("Failed to create reader to resolve %s to %s",
+                                              sourceSchema, schema), e);
+        }
+        lastReader = resolved;
+      }
+      return (T) resolved.reader.read(decoder, sourceSchema);
+    }
+  }
+
+  /**
+   * A pair of source {@link Schema} and the {@link DatumReader} generated for it.
+   */
+  private static final class ResolvedReader {
+    private final Schema sourceSchema;
+    private final DatumReader<?> reader;
+
+    private ResolvedReader(Schema sourceSchema, DatumReader<?> reader) {
+      this.sourceSchema = sourceSchema;
+      this.reader = reader;
+    }
+  }
+
+  /**
+   * A private {@link CacheLoader} for generating and instantiating {@link DatumReader} class for record type.
+   */
+  private final class ASMCacheLoader extends CacheLoader<CacheKey, DatumReader<?>> {
+
+    @Override
+    public DatumReader<?> load(CacheKey key) throws Exception {
+      TypeToken<?> type = key.getType();
+      List<Schema.Field> sourceFields = key.getSourceSchema().getFields();
+      int size = sourceFields.size();
+
+      FieldAccessor[] accessors = new FieldAccessor[size];
+      DatumReader<?>[] delegates = new DatumReader<?>[size];
+      Schema[] schemas = new Schema[size];
+      List<java.lang.reflect.Type> fieldTypes = new ArrayList<>(size);
+
+      for (int i = 0; i < size; i++) {
+        Schema.Field sourceField = sourceFields.get(i);
+        Schema.Field targetField = key.getTargetSchema().getField(sourceField.getName());
+        schemas[i] = sourceField.getSchema();
+        if (targetField == null) {
+          delegates[i] = SKIP_READER;
+          fieldTypes.add(null);
+          continue;
+        }
+        java.lang.reflect.Type fieldType = type.resolveType(
+          Fields.findField(type.getType(), sourceField.getName()).getGenericType()).getType();
+        accessors[i] = fieldAccessorFactory.getFieldAccessor(type, sourceField.getName());
+        // This won't generate any class until the delegate is being used, hence is safe for recursive type.
+        delegates[i] = create(TypeToken.of(fieldType), targetField.getSchema());
+        fieldTypes.add(fieldType);
+      }
+
+      ClassDefinition classDef = new DatumReaderGenerator().generate(type, key.getSourceSchema(),
+                                                                     key.getTargetSchema(), fieldTypes);
+      ClassLoader typeClassLoader = type.getRawType().getClassLoader();
+      ByteCodeClassLoader classLoader = classLoaders.getUnchecked(
+        typeClassLoader == null ? ASMDatumReaderFactory.class.getClassLoader() : typeClassLoader);
+      Class<?> readerClass = classLoader.addClass(classDef).loadClass(classDef.getClassName());
+
+      return (DatumReader<?>) readerClass
+        .getConstructor(Instantiator.class, FieldAccessor[].class, DatumReader[].class, Schema[].class)
+        .newInstance(instantiatorFactory.get(type), accessors, delegates, schemas);
+    }
+  }
+
+  private static final class CacheKey {
+    private final TypeToken<?> type;
+    private final Schema sourceSchema;
+    private final Schema targetSchema;
+
+    private CacheKey(TypeToken<?> type, Schema sourceSchema, Schema targetSchema) {
+      this.type = type;
+      this.sourceSchema = sourceSchema;
+      this.targetSchema = targetSchema;
+    }
+
+    public TypeToken<?> getType() {
+      return type;
+    }
+
+    public Schema getSourceSchema() {
+      return sourceSchema;
+    }
+
+    public Schema getTargetSchema() {
+      return targetSchema;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+
+      CacheKey cacheKey = (CacheKey) o;
+      return type.equals(cacheKey.type)
+        && sourceSchema.equals(cacheKey.sourceSchema) && targetSchema.equals(cacheKey.targetSchema);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(type, sourceSchema, targetSchema);
+    }
+  }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.internal.io;
+
+import com.google.common.primitives.Primitives;
+import com.google.common.reflect.TypeToken;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.cdap.common.io.DatumReader;
+import io.cdap.cdap.common.io.Decoder;
+import io.cdap.cdap.common.lang.Instantiator;
+import io.cdap.cdap.internal.asm.ClassDefinition;
+import io.cdap.cdap.internal.asm.Methods;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
+import org.objectweb.asm.commons.Method;
+
+import java.io.IOException;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Class for generating {@link DatumReader} bytecodes using ASM for decoding a record of a given source schema
+ * into a java object of a given type and target schema. The schema resolution (field projection and type
+ * matching) is done at generation time, so that the generated code only contains straight-line decoder calls.
+ * The class generated will have a skeleton looks like the following:
+ * <pre>
+ * {@code
+ *
+ *  public final class generatedClassName implements DatumReader {
+ *    private final Instantiator instantiator;
+ *    private final FieldAccessor[] accessors;
+ *    private final DatumReader[] delegates;
+ *    private final Schema[] schemas;
+ *
+ *    public generatedClassName(Instantiator instantiator, FieldAccessor[] accessors,
+ *                              DatumReader[] delegates, Schema[] schemas) {
+ *      ...
+ *    }
+ *
+ *    public Object read(Decoder decoder, Schema sourceSchema) throws IOException {
+ *      Object record = instantiator.create();
+ *      // For each field in the source schema, in order
+ *      accessors[0].setInt(record, decoder.readInt());              // int field
+ *      if (decoder.readInt() == 1) {                                // nullable string field
+ *        accessors[1].set(record, null);
+ *      } else {
+ *        accessors[1].set(record, decoder.readString());
+ *      }
+ *      decoder.skipString();                                        // field not in target schema
+ *      accessors[3].set(record, delegates[3].read(decoder, schemas[3]));  // complex field
+ *      return record;
+ *    }
+ *  }
+ * }
+ * </pre>
+ *
+ * The arrays passed to the constructor are indexed by the source field position. Fields that exist only in the
+ * target schema are not touched, hence retain the value assigned by the {@link Instantiator}.
+ * The generated class only references CDAP classes, hence it can be loaded by a {@link ClassLoader} that
+ * has no visibility to the record class.
+ */
+@NotThreadSafe
+final class DatumReaderGenerator {
+
+  private static final Type DECODER_TYPE = Type.getType(Decoder.class);
+  private static final Type DATUM_READER_TYPE = Type.getType(DatumReader.class);
+  private static final Type FIELD_ACCESSOR_TYPE = Type.getType(FieldAccessor.class);
+  private static final Type INSTANTIATOR_TYPE = Type.getType(Instantiator.class);
+  private static final Type SCHEMA_TYPE = Type.getType(Schema.class);
+  private static final Type FIELD_ACCESSOR_ARRAY_TYPE = Type.getType(FieldAccessor[].class);
+  private static final Type DATUM_READER_ARRAY_TYPE = Type.getType(DatumReader[].class);
+  private static final Type SCHEMA_ARRAY_TYPE = Type.getType(Schema[].class);
+
+  private ClassWriter classWriter;
+  private Type classType;
+
+  /**
+   * Generates a {@link DatumReader} class for decoding record of the given source schema into the given type.
+   *
+   * @param type Type information of the record type to decode to.
+   * @param sourceSchema Schema of the encoded record.
+   * @param targetSchema Schema of the record type.
+   * @param fieldTypes List of field types, indexed by the source field position. An entry is {@code null}
+   *                   if the field doesn't exist in the target schema.
+   * @return A {@link ClassDefinition} that contains generated class information.
+   */
+  ClassDefinition generate(TypeToken<?> type, Schema sourceSchema, Schema targetSchema,
+                           List<java.lang.reflect.Type> fieldTypes) {
+    classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+
+    String className = getClassName(type, sourceSchema, targetSchema);
+    classType = Type.getObjectType(className);
+    classWriter.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC + Opcodes.ACC_FINAL,
+                      className, null, Type.getInternalName(Object.class),
+                      new String[] { DATUM_READER_TYPE.getInternalName() });
+
+    classWriter.visitField(Opcodes.ACC_PRIVATE + Opcodes.ACC_FINAL, "instantiator",
+                           INSTANTIATOR_TYPE.getDescriptor(), null, null).visitEnd();
+    classWriter.visitField(Opcodes.ACC_PRIVATE + Opcodes.ACC_FINAL, "accessors",
+                           FIELD_ACCESSOR_ARRAY_TYPE.getDescriptor(), null, null).visitEnd();
+    classWriter.visitField(Opcodes.ACC_PRIVATE + Opcodes.ACC_FINAL, "delegates",
+                           DATUM_READER_ARRAY_TYPE.getDescriptor(), null, null).visitEnd();
+    classWriter.visitField(Opcodes.ACC_PRIVATE + Opcodes.ACC_FINAL, "schemas",
+                           SCHEMA_ARRAY_TYPE.getDescriptor(), null, null).visitEnd();
+
+    generateConstructor();
+    generateRead(sourceSchema, targetSchema, fieldTypes);
+
+    ClassDefinition classDefinition = new ClassDefinition(classWriter.toByteArray(), className);
+    // DEBUG block. Uncomment for debug
+//    io.cdap.cdap.internal.asm.Debugs.debugByteCode(classDefinition, new java.io.PrintWriter(System.out));
+    // End DEBUG block
+    return classDefinition;
+  }
+
+  /**
+   * Generates the constructor with signature {@code (Instantiator, FieldAccessor[], DatumReader[], Schema[])}.
+   */
+  private void generateConstructor() {
+    Method constructor = getMethod(void.class, "<init>", Instantiator.class, FieldAccessor[].class,
+                                   DatumReader[].class, Schema[].class);
+    GeneratorAdapter mg = new GeneratorAdapter(Opcodes.ACC_PUBLIC, constructor, null, null, classWriter);
+
+    mg.loadThis();
+    mg.invokeConstructor(Type.getType(Object.class), getMethod(void.class, "<init>"));
+
+    String[] fieldNames = { "instantiator", "accessors", "delegates", "schemas" };
+    Type[] fieldTypes = { INSTANTIATOR_TYPE, FIELD_ACCESSOR_ARRAY_TYPE, DATUM_READER_ARRAY_TYPE, SCHEMA_ARRAY_TYPE };
+    for (int i = 0; i < fieldNames.length; i++) {
+      mg.loadThis();
+      mg.loadArg(i);
+      mg.putField(classType, fieldNames[i], fieldTypes[i]);
+    }
+
+    mg.returnValue();
+    mg.endMethod();
+  }
+
+  /**
+   * Generates the {@link DatumReader#read(Decoder, Schema)} method.
+   */
+  private void generateRead(Schema sourceSchema, Schema targetSchema, List<java.lang.reflect.Type> fieldTypes) {
+    Method readMethod = getMethod(Object.class, "read", Decoder.class, Schema.class);
+    GeneratorAdapter mg = new GeneratorAdapter(Opcodes.ACC_PUBLIC, readMethod, null,
+                                               new Type[] { Type.getType(IOException.class) }, classWriter);
+
+    // Object record = this.instantiator.create();
+    int record = mg.newLocal(Type.getType(Object.class));
+    mg.loadThis();
+    mg.getField(classType, "instantiator", INSTANTIATOR_TYPE);
+    mg.invokeInterface(INSTANTIATOR_TYPE, getMethod(Object.class, "create"));
+    mg.storeLocal(record);
+
+    int accessors = storeArrayField(mg, "accessors", FIELD_ACCESSOR_ARRAY_TYPE);
+    int delegates = storeArrayField(mg, "delegates", DATUM_READER_ARRAY_TYPE);
+    int schemas = storeArrayField(mg, "schemas", SCHEMA_ARRAY_TYPE);
+
+    List<Schema.Field> sourceFields = sourceSchema.getFields();
+    for (int i = 0; i < sourceFields.size(); i++) {
+      Schema.Field sourceField = sourceFields.get(i);
+      Schema.Field targetField = targetSchema.getField(sourceField.getName());
+      java.lang.reflect.Type fieldType = fieldTypes.get(i);
+
+      if (targetField == null || fieldType == null) {
+        generateSkip(mg, sourceField.getSchema(), i, delegates, schemas);
+        continue;
+      }
+
+      Class<?> rawType = TypeToken.of(fieldType).getRawType();
+      Schema.Type simpleType = getSimpleType(sourceField.getSchema(), targetField.getSchema(), rawType);
+      if (simpleType != null) {
+        generateReadSimple(mg, simpleType, rawType, i, record, accessors);
+        continue;
+      }
+
+      // Nullable simple type, which needs the target to be nullable as well to accept the null value
+      int nullIndex = getNullIndex(sourceField.getSchema());
+      if (nullIndex >= 0 && !rawType.isPrimitive() && getNullIndex(targetField.getSchema()) >= 0) {
+        Schema valueSchema = sourceField.getSchema().getUnionSchema(1 - nullIndex);
+        Schema.Type nullableType = getSimpleType(valueSchema, targetField.getSchema().getNonNullable(), rawType);
+        if (nullableType != null) {
+          generateReadNullable(mg, nullableType, rawType, nullIndex, i, record, accessors);
+          continue;
+        }
+      }
+
+      // accessors[i].set(record, delegates[i].read(decoder, schemas[i]));
+      loadAccessor(mg, accessors, i, record);
+      loadDelegateRead(mg, delegates, schemas, i);
+      mg.invokeInterface(FIELD_ACCESSOR_TYPE, getMethod(void.class, "set", Object.class, Object.class));
+    }
+
+    mg.loadLocal(record);
+    mg.returnValue();
+    mg.endMethod();
+  }
+
+  /**
+   * Generates code to read a simple value and set it to the field through the primitive setter if the
+   * field is of primitive type, or through the generic setter otherwise.
+   */
+  private void generateReadSimple(GeneratorAdapter mg, Schema.Type schemaType, Class<?> rawType,
+                                  int idx, int record, int accessors) {
+    loadAccessor(mg, accessors, idx, record);
+    Type valueType = generateDecoderRead(mg, schemaType, rawType);
+    if (rawType.isPrimitive()) {
+      mg.invokeInterface(FIELD_ACCESSOR_TYPE, getMethod(void.class, getPrimitiveSetter(rawType),
+                                                        Object.class, rawType));
+    } else {
+      if (valueType.getSort() != Type.OBJECT) {
+        mg.valueOf(valueType);
+      }
+      mg.invokeInterface(FIELD_ACCESSOR_TYPE, getMethod(void.class, "set", Object.class, Object.class));
+    }
+  }
+
+  /**
+   * Generates code to read a nullable simple value encoded as a union of the simple type and null.
+   */
+  private void generateReadNullable(GeneratorAdapter mg, Schema.Type schemaType, Class<?> rawType,
+                                    int nullIndex, int idx, int record, int accessors) {
+    Label notNull = mg.newLabel();
+    Label end = mg.newLabel();
+
+    // if (decoder.readInt() == nullIndex)
+    mg.loadArg(0);
+    mg.invokeInterface(DECODER_TYPE, getMethod(int.class, "readInt"));
+    mg.push(nullIndex);
+    mg.ifICmp(GeneratorAdapter.NE, notNull);
+
+    // accessors[i].set(record, null);
+    loadAccessor(mg, accessors, idx, record);
+    mg.visitInsn(Opcodes.ACONST_NULL);
+    mg.invokeInterface(FIELD_ACCESSOR_TYPE, getMethod(void.class, "set", Object.class, Object.class));
+    mg.goTo(end);
+
+    mg.mark(notNull);
+    generateReadSimple(mg, schemaType, rawType, idx, record, accessors);
+    mg.mark(end);
+  }
+
+  /**
+   * Generates code to call the decoder read method for the given simple schema type, with the result
+   * converted to the given java type. The value is left on the stack.
+   *
+   * @return the {@link Type} of the value left on the stack
+   */
+  private Type generateDecoderRead(GeneratorAdapter mg, Schema.Type schemaType, Class<?> rawType) {
+    mg.loadArg(0);
+    switch (schemaType) {
+      case BOOLEAN:
+        mg.invokeInterface(DECODER_TYPE, getMethod(boolean.class, "readBool"));
+        return Type.BOOLEAN_TYPE;
+      case INT:
+        mg.invokeInterface(DECODER_TYPE, getMethod(int.class, "readInt"));
+        // INT schema is used for byte, char, short and int
+        Type intType = Type.getType(Primitives.unwrap(rawType));
+        if (!Type.INT_TYPE.equals(intType)) {
+          mg.cast(Type.INT_TYPE, intType);
+        }
+        return intType;
+      case LONG:
+        mg.invokeInterface(DECODER_TYPE, getMethod(long.class, "readLong"));
+        return Type.LONG_TYPE;
+      case FLOAT:
+        mg.invokeInterface(DECODER_TYPE, getMethod(float.class, "readFloat"));
+        return Type.FLOAT_TYPE;
+      case DOUBLE:
+        mg.invokeInterface(DECODER_TYPE, getMethod(double.class, "readDouble"));
+        return Type.DOUBLE_TYPE;
+      case STRING:
+        mg.invokeInterface(DECODER_TYPE, getMethod(String.class, "readString"));
+        return Type.getType(String.class);
+      default:
+        // Shouldn't happen, as getSimpleType only returns one of the above
+        throw new IllegalArgumentException("Unsupported simple type " + schemaType);
+    }
+  }
+
+  /**
+   * Generates code to skip a field of the given schema.
+   */
+  private void generateSkip(GeneratorAdapter mg, Schema schema, int idx, int delegates, int schemas) {
+    switch (schema.getType()) {
+      case NULL:
+        break;
+      case BOOLEAN:
+        mg.loadArg(0);
+        mg.invokeInterface(DECODER_TYPE, getMethod(boolean.class, "readBool"));
+        mg.pop();
+        break;
+      case INT:
+      case ENUM:
+        mg.loadArg(0);
+        mg.invokeInterface(DECODER_TYPE, getMethod(int.class, "readInt"));
+        mg.pop();
+        break;
+      case LONG:
+        mg.loadArg(0);
+        mg.invokeInterface(DECODER_TYPE, getMethod(long.class, "readLong"));
+        mg.pop2();
+        break;
+      case FLOAT:
+        mg.loadArg(0);
+        mg.invokeInterface(DECODER_TYPE, getMethod(void.class, "skipFloat"));
+        break;
+      case DOUBLE:
+        mg.loadArg(0);
+        mg.invokeInterface(DECODER_TYPE, getMethod(void.class, "skipDouble"));
+        break;
+      case STRING:
+        mg.loadArg(0);
+        mg.invokeInterface(DECODER_TYPE, getMethod(void.class, "skipString"));
+        break;
+      case BYTES:
+        mg.loadArg(0);
+        mg.invokeInterface(DECODER_TYPE, getMethod(void.class, "skipBytes"));
+        break;
+      default:
+        // For complex type, the delegate for the field is a skipping DatumReader
+        loadDelegateRead(mg, delegates, schemas, idx);
+        mg.pop();
+    }
+  }
+
+  /**
+   * Generates code to push {@code accessors[idx]} and {@code record} to the stack.
+   */
+  private void loadAccessor(GeneratorAdapter mg, int accessors, int idx, int record) {
+    mg.loadLocal(accessors);
+    mg.push(idx);
+    mg.arrayLoad(FIELD_ACCESSOR_TYPE);
+    mg.loadLocal(record);
+  }
+
+  /**
+   * Generates code for {@code delegates[idx].read(decoder, schemas[idx])}, with the result left on the stack.
+   */
+  private void loadDelegateRead(GeneratorAdapter mg, int delegates, int schemas, int idx) {
+    mg.loadLocal(delegates);
+    mg.push(idx);
+    mg.arrayLoad(DATUM_READER_TYPE);
+    mg.loadArg(0);
+    mg.loadLocal(schemas);
+    mg.push(idx);
+    mg.arrayLoad(SCHEMA_TYPE);
+    mg.invokeInterface(DATUM_READER_TYPE, getMethod(Object.class, "read", Decoder.class, Schema.class));
+  }
+
+  /**
+   * Generates code to store the value of an array class field into a local variable.
+   *
+   * @return the local variable index
+   */
+  private int storeArrayField(GeneratorAdapter mg, String name, Type type) {
+    int local = mg.newLocal(type);
+    mg.loadThis();
+    mg.getField(classType, name, type);
+    mg.storeLocal(local);
+    return local;
+  }
+
+  /**
+   * Returns the simple schema type if the source and target schemas are the same simple type and the
+   * given java type can hold the value without conversion. Otherwise, returns {@code null}.
+   */
+  @Nullable
+  private Schema.Type getSimpleType(Schema sourceSchema, Schema targetSchema, Class<?> rawType) {
+    Schema.Type type = sourceSchema.getType();
+    if (type != targetSchema.getType()) {
+      return null;
+    }
+    Class<?> unwrapped = Primitives.unwrap(rawType);
+    switch (type) {
+      case BOOLEAN:
+        return unwrapped.equals(boolean.class) ? type : null;
+      case INT:
+        return unwrapped.equals(int.class) || unwrapped.equals(short.class)
+          || unwrapped.equals(byte.class) || unwrapped.equals(char.class) ? type : null;
+      case LONG:
+        return unwrapped.equals(long.class) ? type : null;
+      case FLOAT:
+        return unwrapped.equals(float.class) ? type : null;
+      case DOUBLE:
+        return unwrapped.equals(double.class) ? type : null;
+      case STRING:
+        return rawType.equals(String.class) ? type : null;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Returns the index of the null schema if the given schema is a union of exactly one non-null schema and null,
+   * or {@code -1} otherwise.
+   */
+  private int getNullIndex(Schema schema) {
+    if (schema.getType() != Schema.Type.UNION || schema.getUnionSchemas().size() != 2) {
+      return -1;
+    }
+    if (schema.getUnionSchema(0).getType() == Schema.Type.NULL) {
+      return schema.getUnionSchema(1).getType() == Schema.Type.NULL ? -1 : 0;
+    }
+    return schema.getUnionSchema(1).getType() == Schema.Type.NULL ? 1 : -1;
+  }
+
+  private String getPrimitiveSetter(Class<?> primitiveType) {
+    String typeName = primitiveType.getName();
+    return String.format("set%c%s", Character.toUpperCase(typeName.charAt(0)), typeName.substring(1));
+  }
+
+  private String getClassName(TypeToken<?> type, Schema sourceSchema, Schema targetSchema) {
+    String typeName = type.toString().replace(".", "")
+                                     .replace("<", "Of")
+                                     .replace(">", "")
+                                     .replace(",", "To")
+                                     .replace(" ", "")
+                                     .replace("$", "");
+    return String.format("%s/%sDatumReader%s%s",
+                         DatumReader.class.getPackage().getName().replace('.', '/'),
+                         typeName, sourceSchema.getSchemaHash(), targetSchema.getSchemaHash());
+  }
+
+  private Method getMethod(Class<?> returnType, String name, Class<?>...args) {
+    return Methods.getMethod(returnType, name, args);
+  }
+}
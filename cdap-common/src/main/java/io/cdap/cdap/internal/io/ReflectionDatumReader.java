@@ -209,7 +209,7 @@ public final class ReflectionDatumReader<T> extends ReflectionReader<Decoder, T>
     }
   }
 
-  private void skip(Decoder decoder, Schema schema) throws IOException {
+  static void skip(Decoder decoder, Schema schema) throws IOException {
     switch (schema.getType()) {
       case NULL:
         break;
@@ -252,7 +252,7 @@ public final class ReflectionDatumReader<T> extends ReflectionReader<Decoder, T>
     }
   }
 
-  private void skipArray(Decoder decoder, Schema componentSchema) throws IOException {
+  private static void skipArray(Decoder decoder, Schema componentSchema) throws IOException {
     int len = decoder.readInt();
     while (len != 0) {
       skip(decoder, componentSchema);
@@ -260,7 +260,7 @@ public final class ReflectionDatumReader<T> extends ReflectionReader<Decoder, T>
     }
   }
 
-  private void skipMap(Decoder decoder, Map.Entry<Schema, Schema> mapSchema) throws IOException {
+  private static void skipMap(Decoder decoder, Map.Entry<Schema, Schema> mapSchema) throws IOException {
     int len = decoder.readInt();
     while (len != 0) {
       skip(decoder, mapSchema.getKey());
@@ -269,7 +269,7 @@ public final class ReflectionDatumReader<T> extends ReflectionReader<Decoder, T>
     }
   }
 
-  private void skipRecord(Decoder decoder, Schema recordSchema) throws IOException {
+  private static void skipRecord(Decoder decoder, Schema recordSchema) throws IOException {
     for (Schema.Field field : recordSchema.getFields()) {
       skip(decoder, field.getSchema());
     }
@@ -0,0 +1,316 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.io;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.reflect.TypeToken;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.cdap.api.data.schema.UnsupportedTypeException;
+import io.cdap.cdap.common.io.BinaryDecoder;
+import io.cdap.cdap.common.io.BinaryEncoder;
+import io.cdap.cdap.common.io.DatumReader;
+import io.cdap.cdap.internal.io.ASMDatumReaderFactory;
+import io.cdap.cdap.internal.io.ASMFieldAccessorFactory;
+import io.cdap.cdap.internal.io.ReflectionDatumReader;
+import io.cdap.cdap.internal.io.ReflectionDatumWriter;
+import io.cdap.cdap.internal.io.ReflectionSchemaGenerator;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link ASMDatumReaderFactory}.
+ */
+public class ASMDatumReaderTest {
+
+  private static final ASMDatumReaderFactory DATUM_READER_FACTORY
+    = new ASMDatumReaderFactory(new ASMFieldAccessorFactory());
+
+  /**
+   *
+   */
+  public enum TestEnum {
+    VALUE1, VALUE2
+  }
+
+  @Test
+  public void testRecord() throws IOException, UnsupportedTypeException {
+    Record record = new Record(10, (short) 3, (byte) 7, true, 123456789L, 1.5f, 2.5d, "testing",
+                               ImmutableList.of("a", "b"), TestEnum.VALUE2, ImmutableMap.of("k", 1L));
+    Assert.assertEquals(record, readWrite(record, TypeToken.of(Record.class)));
+  }
+
+  @Test
+  public void testNullableFields() throws IOException, UnsupportedTypeException {
+    TypeToken<NullableRecord> type = TypeToken.of(NullableRecord.class);
+    NullableRecord record = new NullableRecord(1, null, "str", null, 2.0d);
+    Assert.assertEquals(record, readWrite(record, type));
+
+    record = new NullableRecord(null, 10L, null, ImmutableList.of(1, 2, 3), null);
+    Assert.assertEquals(record, readWrite(record, type));
+  }
+
+  @Test
+  public void testRecursive() throws IOException, UnsupportedTypeException {
+    Node root = new Node((short) 1,
+                         new Node((short) 2, null, new Node((short) 3, null, null)),
+                         new Node((short) 4, new Node((short) 5, null, null), null));
+    Assert.assertEquals(root, readWrite(root, TypeToken.of(Node.class)));
+  }
+
+  @Test
+  public void testNonRecord() throws IOException, UnsupportedTypeException {
+    List<Record> records = ImmutableList.of(
+      new Record(1, (short) 2, (byte) 8, false, 3L, 4f, 5d, "r1", ImmutableList.of(), TestEnum.VALUE1,
+                 ImmutableMap.of()),
+      new Record(6, (short) 7, (byte) 9, true, 8L, 9f, 10d, "r2", ImmutableList.of("z"), TestEnum.VALUE2,
+                 ImmutableMap.of("a", 11L)));
+    Assert.assertEquals(records, readWrite(records, new TypeToken<List<Record>>() { }));
+    Assert.assertEquals("string", readWrite("string", TypeToken.of(String.class)));
+  }
+
+  @Test
+  public void testSchemaEvolution() throws IOException, UnsupportedTypeException {
+    Schema sourceSchema = new ReflectionSchemaGenerator().generate(RecordV1.class);
+    Schema targetSchema = new ReflectionSchemaGenerator().generate(RecordV2.class);
+
+    RecordV1 recordV1 = new RecordV1(5, "name", 100L, ImmutableList.of("x", "y"), ImmutableMap.of("a", "b"));
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    new ReflectionDatumWriter<RecordV1>(sourceSchema).encode(recordV1, new BinaryEncoder(os));
+
+    DatumReader<RecordV2> reader = DATUM_READER_FACTORY.create(TypeToken.of(RecordV2.class), targetSchema);
+    RecordV2 recordV2 = reader.read(new BinaryDecoder(new ByteArrayInputStream(os.toByteArray())), sourceSchema);
+
+    // Field with int to long promotion
+    Assert.assertEquals(5L, recordV2.i);
+    Assert.assertEquals("name", recordV2.s);
+    Assert.assertEquals(ImmutableList.of("x", "y"), recordV2.list);
+    // Field not in the source retains the default
+    Assert.assertEquals(1.0d, recordV2.added, 0.0d);
+
+    // Result should be the same as the reflection based reader
+    RecordV2 expected = new ReflectionDatumReader<>(targetSchema, TypeToken.of(RecordV2.class))
+      .read(new BinaryDecoder(new ByteArrayInputStream(os.toByteArray())), sourceSchema);
+    Assert.assertEquals(expected, recordV2);
+  }
+
+  @Ignore
+  @Test
+  public void testSpeed() throws IOException, UnsupportedTypeException {
+    TypeToken<Record> type = TypeToken.of(Record.class);
+    Schema schema = new ReflectionSchemaGenerator().generate(type.getType());
+    Record record = new Record(10, (short) 3, (byte) 7, true, 123456789L, 1.5f, 2.5d, "testing",
+                               ImmutableList.of("a", "b"), TestEnum.VALUE2, ImmutableMap.of("k", 1L));
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    new ReflectionDatumWriter<Record>(schema).encode(record, new BinaryEncoder(os));
+    byte[] bytes = os.toByteArray();
+
+    DatumReader<Record> asmReader = DATUM_READER_FACTORY.create(type, schema);
+    DatumReader<Record> reflectionReader = new ReflectionDatumReader<>(schema, type);
+
+    for (int round = 0; round < 2; round++) {
+      for (DatumReader<Record> reader : ImmutableList.of(asmReader, reflectionReader)) {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < 1000000; i++) {
+          reader.read(new BinaryDecoder(new ByteArrayInputStream(bytes)), schema);
+        }
+        long endTime = System.nanoTime();
+        System.out.println(reader.getClass().getSimpleName() + " time spent: "
+                             + TimeUnit.MILLISECONDS.convert(endTime - startTime, TimeUnit.NANOSECONDS));
+      }
+    }
+  }
+
+  private <T> T readWrite(T value, TypeToken<T> type) throws IOException, UnsupportedTypeException {
+    Schema schema = new ReflectionSchemaGenerator().generate(type.getType());
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    new ReflectionDatumWriter<T>(schema).encode(value, new BinaryEncoder(os));
+
+    DatumReader<T> reader = DATUM_READER_FACTORY.create(type, schema);
+    // Read twice to make sure the reader is reusable
+    T result = reader.read(new BinaryDecoder(new ByteArrayInputStream(os.toByteArray())), schema);
+    Assert.assertEquals(result, reader.read(new BinaryDecoder(new ByteArrayInputStream(os.toByteArray())), schema));
+    return result;
+  }
+
+  private static final class Record {
+    private int i;
+    private short sh;
+    private byte by;
+    private boolean b;
+    private long l;
+    private float f;
+    private double d;
+    private String s;
+    private List<String> list;
+    private TestEnum e;
+    private Map<String, Long> map;
+
+    Record(int i, short sh, byte by, boolean b, long l, float f, double d, String s,
+           List<String> list, TestEnum e, Map<String, Long> map) {
+      this.i = i;
+      this.sh = sh;
+      this.by = by;
+      this.b = b;
+      this.l = l;
+      this.f = f;
+      this.d = d;
+      this.s = s;
+      this.list = list;
+      this.e = e;
+      this.map = map;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Record that = (Record) o;
+      return i == that.i && sh == that.sh && by == that.by && b == that.b && l == that.l
+        && Float.compare(f, that.f) == 0 && Double.compare(d, that.d) == 0
+        && Objects.equal(s, that.s) && Objects.equal(list, that.list) && e == that.e && Objects.equal(map, that.map);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(i, sh, by, b, l, f, d, s, list, e, map);
+    }
+  }
+
+  private static final class NullableRecord {
+    private Integer i;
+    private Long l;
+    private String s;
+    private List<Integer> list;
+    private Double d;
+
+    NullableRecord(Integer i, Long l, String s, List<Integer> list, Double d) {
+      this.i = i;
+      this.l = l;
+      this.s = s;
+      this.list = list;
+      this.d = d;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      NullableRecord that = (NullableRecord) o;
+      return Objects.equal(i, that.i) && Objects.equal(l, that.l) && Objects.equal(s, that.s)
+        && Objects.equal(list, that.list) && Objects.equal(d, that.d);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(i, l, s, list, d);
+    }
+  }
+
+  /**
+   *
+   */
+  public static final class Node {
+    public short data;
+    public Short boxedData;
+    public Node left;
+    public Node right;
+
+    public Node(short data, Node left, Node right) {
+      this.data = data;
+      this.boxedData = data;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Node node = (Node) o;
+      return data == node.data && Objects.equal(boxedData, node.boxedData)
+        && Objects.equal(left, node.left) && Objects.equal(right, node.right);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(data, boxedData, left, right);
+    }
+  }
+
+  private static final class RecordV1 {
+    private int i;
+    private String s;
+    private long removed;
+    private List<String> list;
+    private Map<String, String> removedMap;
+
+    RecordV1(int i, String s, long removed, List<String> list, Map<String, String> removedMap) {
+      this.i = i;
+      this.s = s;
+      this.removed = removed;
+      this.list = list;
+      this.removedMap = removedMap;
+    }
+  }
+
+  private static final class RecordV2 {
+    private long i;
+    private String s;
+    private List<String> list;
+    private double added = 1.0d;
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      RecordV2 that = (RecordV2) o;
+      return i == that.i && Double.compare(added, that.added) == 0
+        && Objects.equal(s, that.s) && Objects.equal(list, that.list);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(i, s, list, added);
+    }
+  }
+}
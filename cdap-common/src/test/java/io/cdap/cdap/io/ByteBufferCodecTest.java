@@ -0,0 +1,162 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.io;
+
+import io.cdap.cdap.common.io.BinaryDecoder;
+import io.cdap.cdap.common.io.BinaryEncoder;
+import io.cdap.cdap.common.io.ByteBufferBinaryDecoder;
+import io.cdap.cdap.common.io.ByteBufferBinaryEncoder;
+import io.cdap.cdap.common.io.Decoder;
+import io.cdap.cdap.common.io.Encoder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Unit tests for {@link ByteBufferBinaryEncoder} and {@link ByteBufferBinaryDecoder}.
+ */
+public class ByteBufferCodecTest {
+
+  private static final String UNICODE_STRING =
+    Character.toString((char) 200) + Character.toString((char) 20000) + Character.toString((char) 40000);
+
+  @Test
+  public void testSameEncoding() throws IOException {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    encodeValues(new BinaryEncoder(os));
+
+    ByteBufferBinaryEncoder encoder = new ByteBufferBinaryEncoder(16);
+    encodeValues(encoder);
+
+    Assert.assertArrayEquals(os.toByteArray(), encoder.toByteArray());
+  }
+
+  @Test
+  public void testHeapBuffer() throws IOException {
+    ByteBufferBinaryEncoder encoder = new ByteBufferBinaryEncoder();
+    encodeValues(encoder);
+    ByteBufferBinaryDecoder decoder = new ByteBufferBinaryDecoder(encoder.toByteBuffer());
+    decodeValues(decoder);
+    Assert.assertFalse(decoder.getBuffer().hasRemaining());
+  }
+
+  @Test
+  public void testDirectBuffer() throws IOException {
+    ByteBufferBinaryEncoder encoder = new ByteBufferBinaryEncoder();
+    encodeValues(encoder);
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(encoder.size());
+    buffer.put(encoder.toByteBuffer()).flip();
+    ByteBufferBinaryDecoder decoder = new ByteBufferBinaryDecoder(buffer);
+    decodeValues(decoder);
+    Assert.assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  public void testStreamCompatibility() throws IOException {
+    ByteBufferBinaryEncoder encoder = new ByteBufferBinaryEncoder();
+    encodeValues(encoder);
+    decodeValues(new BinaryDecoder(new ByteArrayInputStream(encoder.toByteArray())));
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    encodeValues(new BinaryEncoder(os));
+    decodeValues(new ByteBufferBinaryDecoder(ByteBuffer.wrap(os.toByteArray())));
+  }
+
+  @Test
+  public void testSkip() throws IOException {
+    ByteBufferBinaryEncoder encoder = new ByteBufferBinaryEncoder();
+    encoder.writeFloat(1.0f).writeDouble(2.0d).writeString(UNICODE_STRING).writeBytes(new byte[] {1, 2, 3})
+      .writeInt(42);
+
+    Decoder decoder = new ByteBufferBinaryDecoder(encoder.toByteBuffer());
+    decoder.skipFloat();
+    decoder.skipDouble();
+    decoder.skipString();
+    decoder.skipBytes();
+    Assert.assertEquals(42, decoder.readInt());
+  }
+
+  @Test
+  public void testReuseEncoder() throws IOException {
+    ByteBufferBinaryEncoder encoder = new ByteBufferBinaryEncoder();
+    encoder.writeString("first");
+    encoder.reset();
+    encoder.writeString("second");
+
+    Assert.assertEquals("second", new ByteBufferBinaryDecoder(encoder.toByteBuffer()).readString());
+  }
+
+  @Test (expected = EOFException.class)
+  public void testEOF() throws IOException {
+    ByteBufferBinaryEncoder encoder = new ByteBufferBinaryEncoder();
+    encoder.writeString("truncated");
+    ByteBuffer buffer = encoder.toByteBuffer();
+    buffer.limit(buffer.limit() - 1);
+    new ByteBufferBinaryDecoder(buffer).readString();
+  }
+
+  private void encodeValues(Encoder encoder) throws IOException {
+    encoder.writeNull();
+    encoder.writeBool(true).writeBool(false);
+    for (int i : new int[] {0, -1, 1234, -1234, Short.MAX_VALUE, Short.MIN_VALUE,
+                            Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+      encoder.writeInt(i);
+    }
+    for (long l : new long[] {0L, -20L, 30000L, -600000L, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                              Long.MAX_VALUE, Long.MIN_VALUE}) {
+      encoder.writeLong(l);
+    }
+    encoder.writeFloat(3.14f).writeFloat(Float.MAX_VALUE).writeFloat(Float.MIN_VALUE);
+    encoder.writeDouble(Math.E).writeDouble(Double.MAX_VALUE).writeDouble(Double.MIN_VALUE);
+    encoder.writeString("This is a testing message").writeString(UNICODE_STRING).writeString("");
+    encoder.writeBytes(new byte[] {1, 2, 3, 4});
+    encoder.writeBytes(new byte[] {1, 2, 3, 4, 5}, 1, 3);
+    encoder.writeBytes(ByteBuffer.wrap(new byte[] {5, 6, 7}));
+  }
+
+  private void decodeValues(Decoder decoder) throws IOException {
+    Assert.assertNull(decoder.readNull());
+    Assert.assertTrue(decoder.readBool());
+    Assert.assertFalse(decoder.readBool());
+    for (int i : new int[] {0, -1, 1234, -1234, Short.MAX_VALUE, Short.MIN_VALUE,
+                            Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+      Assert.assertEquals(i, decoder.readInt());
+    }
+    for (long l : new long[] {0L, -20L, 30000L, -600000L, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                              Long.MAX_VALUE, Long.MIN_VALUE}) {
+      Assert.assertEquals(l, decoder.readLong());
+    }
+    Assert.assertEquals(3.14f, decoder.readFloat(), 0.0000001f);
+    Assert.assertEquals(Float.MAX_VALUE, decoder.readFloat(), 0.0000001f);
+    Assert.assertEquals(Float.MIN_VALUE, decoder.readFloat(), 0.0000001f);
+    Assert.assertEquals(Math.E, decoder.readDouble(), 0.0000001d);
+    Assert.assertEquals(Double.MAX_VALUE, decoder.readDouble(), 0.0000001d);
+    Assert.assertEquals(Double.MIN_VALUE, decoder.readDouble(), 0.0000001d);
+    Assert.assertEquals("This is a testing message", decoder.readString());
+    Assert.assertEquals(UNICODE_STRING, decoder.readString());
+    Assert.assertEquals("", decoder.readString());
+    Assert.assertEquals(ByteBuffer.wrap(new byte[] {1, 2, 3, 4}), decoder.readBytes());
+    Assert.assertEquals(ByteBuffer.wrap(new byte[] {2, 3, 4}), decoder.readBytes());
+    Assert.assertEquals(ByteBuffer.wrap(new byte[] {5, 6, 7}), decoder.readBytes());
+  }
+}
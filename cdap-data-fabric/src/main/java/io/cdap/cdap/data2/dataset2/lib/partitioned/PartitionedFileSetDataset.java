@@ -41,7 +41,9 @@ import io.cdap.cdap.api.dataset.DataSetException;
 import io.cdap.cdap.api.dataset.DatasetContext;
 import io.cdap.cdap.api.dataset.DatasetSpecification;
 import io.cdap.cdap.api.dataset.PartitionNotFoundException;
+import io.cdap.cdap.api.dataset.lib.AbstractCloseableIterator;
 import io.cdap.cdap.api.dataset.lib.AbstractDataset;
+import io.cdap.cdap.api.dataset.lib.CloseableIterator;
 import io.cdap.cdap.api.dataset.lib.DynamicPartitioner;
 import io.cdap.cdap.api.dataset.lib.FileSet;
 import io.cdap.cdap.api.dataset.lib.FileSetArguments;
@@ -57,19 +59,23 @@ import io.cdap.cdap.api.dataset.lib.PartitionMetadata;
 import io.cdap.cdap.api.dataset.lib.PartitionOutput;
 import io.cdap.cdap.api.dataset.lib.PartitionedFileSet;
 import io.cdap.cdap.api.dataset.lib.PartitionedFileSetArguments;
+import io.cdap.cdap.api.dataset.lib.PartitionedFileSetProperties;
 import io.cdap.cdap.api.dataset.lib.Partitioning;
 import io.cdap.cdap.api.dataset.lib.Partitioning.FieldType;
 import io.cdap.cdap.api.dataset.lib.partitioned.PartitionKeyCodec;
 import io.cdap.cdap.api.dataset.table.Put;
 import io.cdap.cdap.api.dataset.table.Row;
+import io.cdap.cdap.api.dataset.table.Scan;
 import io.cdap.cdap.api.dataset.table.Scanner;
 import io.cdap.cdap.common.conf.Constants;
 import io.cdap.cdap.common.io.Locations;
 import io.cdap.cdap.common.logging.LogSamplers;
 import io.cdap.cdap.common.logging.Loggers;
+import io.cdap.cdap.common.utils.ImmutablePair;
 import io.cdap.cdap.data.RuntimeProgramContext;
 import io.cdap.cdap.data.RuntimeProgramContextAware;
 import io.cdap.cdap.data2.dataset2.lib.file.FileSetDataset;
+import io.cdap.cdap.data2.dataset2.lib.table.FuzzyRowFilter;
 import io.cdap.cdap.explore.client.ExploreFacade;
 import io.cdap.cdap.proto.id.DatasetId;
 import org.apache.tephra.Transaction;
@@ -81,6 +87,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -129,6 +136,8 @@ public class PartitionedFileSetDataset extends AbstractDataset
   private static final byte[] LAST_MODIFICATION_TIME_COL = { 'm' };
   private static final byte[] RELATIVE_PATH = { 'p' };
   private static final byte[] METADATA_PREFIX = { 'm', '.' };
+  // prefix of the columns holding the values of the indexed partitioning fields
+  private static final String INDEX_COLUMN_PREFIX = "k.";
 
   protected final FileSet files;
   protected final DatasetSpecification spec;
@@ -136,6 +145,7 @@ public class PartitionedFileSetDataset extends AbstractDataset
   private final boolean exploreEnabled;
   protected final Map<String, String> runtimeArguments;
   protected final Partitioning partitioning;
+  private final Set<String> indexedFields;
   private final IndexedTable partitionsTable;
   private final Provider<ExploreFacade> exploreFacadeProvider;
 
@@ -164,6 +174,7 @@ public class PartitionedFileSetDataset extends AbstractDataset
     this.exploreEnabled = FileSetProperties.isExploreEnabled(spec.getProperties());
     this.runtimeArguments = arguments;
     this.partitioning = partitioning;
+    this.indexedFields = PartitionedFileSetProperties.getIndexedFields(spec.getProperties());
     this.exploreFacadeProvider = exploreFacadeProvider;
     this.datasetInstanceId = new DatasetId(datasetContext.getNamespaceId(), name);
   }
@@ -356,6 +367,10 @@ public class PartitionedFileSetDataset extends AbstractDataset
     if (!appending) {
       put.add(RELATIVE_PATH, Bytes.toBytes(path));
       put.add(CREATION_TIME_COL, nowInMillis);
+      for (String field : indexedFields) {
+        put.add(getIndexColumn(field),
+                FieldTypes.toBytes(key.getField(field), partitioning.getFields().get(field)));
+      }
     }
     put.add(LAST_MODIFICATION_TIME_COL, nowInMillis);
 
@@ -723,6 +738,37 @@ public class PartitionedFileSetDataset extends AbstractDataset
     return new BasicPartitionDetail(this, Bytes.toString(pathBytes), key, metadataFromRow(row));
   }
 
+  @ReadOnly
+  @Override
+  public CloseableIterator<PartitionDetail> getPartitionIterator(@Nullable PartitionFilter filter) {
+    final Scanner scanner = scanPartitions(filter);
+    return new AbstractCloseableIterator<PartitionDetail>() {
+      private long count;
+
+      @Override
+      protected PartitionDetail computeNext() {
+        for (Row row = scanner.next(); row != null; row = scanner.next()) {
+          PartitionKey key = parseMatchingKey(row, filter);
+          byte[] pathBytes = row.get(RELATIVE_PATH);
+          if (key != null && pathBytes != null) {
+            count++;
+            return new BasicPartitionDetail(PartitionedFileSetDataset.this, Bytes.toString(pathBytes), key,
+                                            metadataFromRow(row));
+          }
+        }
+        if (count == 0) {
+          warnIfInvalidPartitionFilter(filter, partitioning);
+        }
+        return endOfData();
+      }
+
+      @Override
+      public void close() {
+        scanner.close();
+      }
+    };
+  }
+
   @ReadOnly
   @Override
   public Set<PartitionDetail> getPartitions(@Nullable PartitionFilter filter) {
@@ -757,41 +803,183 @@ public class PartitionedFileSetDataset extends AbstractDataset
   // if decodeMetadata is false, null is passed as the PartitionMetadata to the PartitionConsumer,
   // for efficiency reasons, since the metadata is not always needed
   protected void getPartitions(@Nullable PartitionFilter filter, PartitionConsumer consumer, boolean decodeMetadata) {
-    byte[] startKey = generateStartKey(filter);
-    byte[] endKey = generateStopKey(filter);
-    getPartitions(filter, consumer, decodeMetadata, startKey, endKey, Long.MAX_VALUE);
+    try (Scanner scanner = scanPartitions(filter)) {
+      getPartitions(filter, consumer, decodeMetadata, scanner, Long.MAX_VALUE);
+    }
   }
 
   private void getPartitions(@Nullable PartitionFilter filter, PartitionConsumer consumer, boolean decodeMetadata,
                              @Nullable byte[] startKey, @Nullable byte[] endKey, long limit) {
-    long count = 0L;
     try (Scanner scanner = partitionsTable.scan(startKey, endKey)) {
-      while (count < limit) {
-        Row row = scanner.next();
-        if (row == null) {
-          break;
-        }
-        PartitionKey key;
-        try {
-          key = parseRowKey(row.getRow(), partitioning);
-        } catch (IllegalArgumentException e) {
-          LOG.debug(String.format("Failed to parse row key for partitioned file set '%s': %s",
-                                  getName(), Bytes.toStringBinary(row.getRow())));
-          continue;
-        }
-        if (filter != null && !filter.match(key)) {
-          continue;
-        }
-        byte[] pathBytes = row.get(RELATIVE_PATH);
-        if (pathBytes != null) {
-          consumer.consume(key, Bytes.toString(pathBytes), decodeMetadata ? metadataFromRow(row) : null);
-        }
-        count++;
+      getPartitions(filter, consumer, decodeMetadata, scanner, limit);
+    }
+  }
+
+  private void getPartitions(@Nullable PartitionFilter filter, PartitionConsumer consumer, boolean decodeMetadata,
+                             Scanner scanner, long limit) {
+    long count = 0L;
+    while (count < limit) {
+      Row row = scanner.next();
+      if (row == null) {
+        break;
+      }
+      PartitionKey key = parseMatchingKey(row, filter);
+      if (key == null) {
+        continue;
+      }
+      byte[] pathBytes = row.get(RELATIVE_PATH);
+      if (pathBytes != null) {
+        consumer.consume(key, Bytes.toString(pathBytes), decodeMetadata ? metadataFromRow(row) : null);
+      }
+      count++;
+    }
+    if (count == 0) {
+      warnIfInvalidPartitionFilter(filter, partitioning);
+    }
+  }
+
+  /**
+   * Parses the partition key of the given row.
+   *
+   * @return the partition key, or {@code null} if the row key is invalid or the partition does not match the filter
+   */
+  @Nullable
+  private PartitionKey parseMatchingKey(Row row, @Nullable PartitionFilter filter) {
+    PartitionKey key;
+    try {
+      key = parseRowKey(row.getRow(), partitioning);
+    } catch (IllegalArgumentException e) {
+      LOG.debug(String.format("Failed to parse row key for partitioned file set '%s': %s",
+                              getName(), Bytes.toStringBinary(row.getRow())));
+      return null;
+    }
+    if (filter != null && !filter.match(key)) {
+      return null;
+    }
+    return key;
+  }
+
+  /**
+   * Opens a scanner over the rows of the partitions that can match the given filter. The leading fields of the
+   * filter narrow the scan range. Otherwise, the partitions are looked up with the index of an indexed field that
+   * has a condition. The remaining single value conditions on fixed-width fields are pushed down with a
+   * {@link FuzzyRowFilter}. The rows returned by the scanner must still be matched against the filter.
+   */
+  private Scanner scanPartitions(@Nullable PartitionFilter filter) {
+    byte[] startKey = generateStartKey(filter);
+    byte[] endKey = generateStopKey(filter);
+    if (filter == null) {
+      return partitionsTable.scan(startKey, endKey);
+    }
+    if (startKey == null && endKey == null) {
+      Scanner indexScanner = scanByIndex(filter);
+      if (indexScanner != null) {
+        return indexScanner;
       }
-      if (count == 0) {
-        warnIfInvalidPartitionFilter(filter, partitioning);
+    }
+    FuzzyRowFilter fuzzyRowFilter = createFuzzyRowFilter(filter);
+    if (fuzzyRowFilter == null) {
+      return partitionsTable.scan(startKey, endKey);
+    }
+    return partitionsTable.scan(new Scan(startKey, endKey, fuzzyRowFilter));
+  }
+
+  /**
+   * Looks up the partitions with the index of an indexed field that has a condition in the given filter.
+   * Single value conditions are preferred over range conditions.
+   *
+   * @return a scanner over the partitions rows, or {@code null} if no indexed field can be used for the filter
+   */
+  @Nullable
+  private Scanner scanByIndex(PartitionFilter filter) {
+    String rangeField = null;
+    for (String field : indexedFields) {
+      PartitionFilter.Condition<? extends Comparable> condition = filter.getCondition(field);
+      if (condition == null) {
+        continue;
+      }
+      FieldType fieldType = partitioning.getFields().get(field);
+      if (condition.isSingleValue()) {
+        return partitionsTable.readByIndex(getIndexColumn(field),
+                                           FieldTypes.toBytes(condition.getValue(), fieldType));
+      }
+      // the serialized strings are not guaranteed to sort in the same order as the strings,
+      // hence range conditions only use the index of numeric fields
+      if (rangeField == null && fieldType != FieldType.STRING) {
+        rangeField = field;
       }
     }
+    if (rangeField == null) {
+      return null;
+    }
+    PartitionFilter.Condition<? extends Comparable> condition = filter.getCondition(rangeField);
+    FieldType fieldType = partitioning.getFields().get(rangeField);
+    return partitionsTable.scanByIndex(
+      getIndexColumn(rangeField),
+      condition.getLower() == null ? null : FieldTypes.toBytes(condition.getLower(), fieldType),
+      condition.getUpper() == null ? null : FieldTypes.toBytes(condition.getUpper(), fieldType));
+  }
+
+  /**
+   * Creates a {@link FuzzyRowFilter} for the single value conditions of the filter that follow a field without
+   * a single value condition. Since the position of a field in the row key is only known if all the preceding fields
+   * have a fixed width, fields after a string field without a single value condition cannot be matched this way.
+   *
+   * @return the filter, or {@code null} if there is no such condition
+   */
+  @Nullable
+  private FuzzyRowFilter createFuzzyRowFilter(PartitionFilter filter) {
+    List<byte[]> keyParts = new ArrayList<>();
+    List<Byte> masks = new ArrayList<>();
+    int size = 0;
+    boolean hasGap = false;
+    boolean hasFixedAfterGap = false;
+    Iterator<Map.Entry<String, FieldType>> fields = partitioning.getFields().entrySet().iterator();
+    while (fields.hasNext()) {
+      Map.Entry<String, FieldType> entry = fields.next();
+      PartitionFilter.Condition<? extends Comparable> condition = filter.getCondition(entry.getKey());
+      FieldType fieldType = entry.getValue();
+      if (condition != null && condition.isSingleValue()) {
+        keyParts.add(FieldTypes.toBytes(condition.getValue(), fieldType));
+        masks.add((byte) 0);
+        hasFixedAfterGap |= hasGap;
+      } else if (fieldType == FieldType.STRING) {
+        // the position of the following fields is unknown
+        break;
+      } else {
+        keyParts.add(new byte[fieldType == FieldType.INT ? Bytes.SIZEOF_INT : Bytes.SIZEOF_LONG]);
+        masks.add((byte) 1);
+        hasGap = true;
+      }
+      size += keyParts.get(keyParts.size() - 1).length;
+      if (fields.hasNext()) {
+        // the \0 separator between the fields
+        keyParts.add(new byte[1]);
+        masks.add((byte) 0);
+        size++;
+      }
+    }
+    if (!hasFixedAfterGap) {
+      return null;
+    }
+
+    byte[] fuzzyKey = new byte[size];
+    byte[] fuzzyMask = new byte[size];
+    int offset = 0;
+    for (int i = 0; i < keyParts.size(); i++) {
+      byte[] part = keyParts.get(i);
+      System.arraycopy(part, 0, fuzzyKey, offset, part.length);
+      Arrays.fill(fuzzyMask, offset, offset + part.length, masks.get(i));
+      offset += part.length;
+    }
+    return new FuzzyRowFilter(Collections.singletonList(ImmutablePair.of(fuzzyKey, fuzzyMask)));
+  }
+
+  /**
+   * Returns the column of the partitions table that holds the value of the given indexed partitioning field.
+   */
+  static byte[] getIndexColumn(String fieldName) {
+    return Bytes.toBytes(INDEX_COLUMN_PREFIX + fieldName);
   }
 
   private PartitionMetadata metadataFromRow(Row row) {
@@ -92,7 +92,7 @@ public class PartitionedFileSetDefinition
     // define the columns for indexing on the partitionsTable
     DatasetProperties indexedTableProperties = DatasetProperties.builder()
       .addAll(properties.getProperties())
-      .add(IndexedTable.INDEX_COLUMNS_CONF_KEY, INDEXED_COLS)
+      .add(IndexedTable.INDEX_COLUMNS_CONF_KEY, getIndexedColumns(partitioning, properties))
       .build();
 
     Map<String, String> pfsProperties = new HashMap<>(properties.getProperties());
@@ -137,10 +137,11 @@ public class PartitionedFileSetDefinition
 
     Map<String, String> pfsProperties = new HashMap<>(properties.getProperties());
 
-    // define the columns for indexing on the partitionsTable
+    // define the columns for indexing on the partitionsTable.
+    // Changing the indexed fields is rejected by the reconfiguration of the partitions table.
     DatasetProperties indexedTableProperties = DatasetProperties.builder()
       .addAll(properties.getProperties())
-      .add(IndexedTable.INDEX_COLUMNS_CONF_KEY, INDEXED_COLS)
+      .add(IndexedTable.INDEX_COLUMNS_CONF_KEY, getIndexedColumns(newPartitioning, properties))
       .build();
 
     // only set the default base path property if the default was set the last time it was configured,
@@ -164,6 +165,21 @@ public class PartitionedFileSetDefinition
       .build();
   }
 
+  /**
+   * Returns the columns to index on the partitions table, which include a column for each indexed partitioning field.
+   */
+  private static String getIndexedColumns(Partitioning partitioning, DatasetProperties properties) {
+    StringBuilder columns = new StringBuilder(INDEXED_COLS);
+    for (String field : PartitionedFileSetProperties.getIndexedFields(properties.getProperties())) {
+      if (!partitioning.getFields().containsKey(field)) {
+        throw new IllegalArgumentException(String.format(
+          "Indexed field '%s' is not a field of the partitioning %s", field, partitioning));
+      }
+      columns.append(',').append(Bytes.toString(PartitionedFileSetDataset.getIndexColumn(field)));
+    }
+    return columns.toString();
+  }
+
   @Override
   public DatasetAdmin getAdmin(DatasetContext datasetContext, DatasetSpecification spec,
                                ClassLoader classLoader) throws IOException {
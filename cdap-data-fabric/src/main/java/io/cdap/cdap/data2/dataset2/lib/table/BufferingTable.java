@@ -73,8 +73,10 @@ import javax.annotation.Nullable;
  *       not in in-memory buffer twice, two times it will try to fetch it from persistent store.
  *       Given the snapshot isolation tx model, this can be improved in future implementations.
  * <p>
- * NOTE: current implementation persists changes only at the end of transaction. Beware of OOME. There should be better
- *       implementation for MapReduce case (YMMV though, for counters/aggregations this implementation looks sweet)
+ * NOTE: by default changes are persisted only at the end of transaction. Beware of OOME. The size of the in-memory
+ *       buffer can be bounded with the {@link Constants.Dataset#TABLE_BUFFER_MAX_BYTES} table property, in which case
+ *       buffered changes are persisted before the transaction commits once the buffer exceeds the limit, and undone
+ *       if the transaction is rolled back.
  * <p>
  * NOTE: Using {@link #get(byte[], byte[], byte[], int)} is generally always not efficient since it always hits the
  *       persisted store even if all needed data is in-memory buffer. See more info at method javadoc
@@ -86,6 +88,9 @@ public abstract class BufferingTable extends AbstractTable implements MeteredDat
 
   protected static final byte[] DELETE_MARKER = new byte[0];
 
+  // estimated memory overhead of a buffered row or column on top of the size of its byte arrays
+  private static final int BUFFER_ENTRY_OVERHEAD = 64;
+
   // name of the table
   private final String name;
   // conflict detection level
@@ -94,14 +99,21 @@ public abstract class BufferingTable extends AbstractTable implements MeteredDat
   private final byte[] nameAsTxChangePrefix;
   // Whether read-less increments should be used when increment() is called
   private final boolean enableReadlessIncrements;
+  // Max estimated size in bytes of the in-memory buffer before changes are persisted. Zero means unbounded.
+  private final long maxBufferBytes;
 
   // In-memory buffer that keeps not yet persisted data. It is row->(column->value) map. Value can be null which means
   // that the corresponded column was removed.
   private NavigableMap<byte[], NavigableMap<byte[], Update>> buff;
 
-  // Keeps track of what was persisted so far
+  // Keeps track of what was persisted so far. Changes persisted before commit are kept with null values
   private NavigableMap<byte[], NavigableMap<byte[], Update>> toUndo;
 
+  // Estimated size in bytes of the in-memory buffer
+  private long bufferBytes;
+  // Estimated buffer size at which buffered changes are persisted before commit
+  private long flushThresholdBytes;
+
   // Report data ops metrics to
   private MetricsCollector metricsCollector;
 
@@ -145,6 +157,10 @@ public abstract class BufferingTable extends AbstractTable implements MeteredDat
     this.name = name;
     this.conflictLevel = TableProperties.getConflictDetection(properties, ConflictDetection.ROW);
     this.enableReadlessIncrements = enableReadlessIncrements;
+    String maxBufferBytes = properties.get(Constants.Dataset.TABLE_BUFFER_MAX_BYTES);
+    this.maxBufferBytes = maxBufferBytes == null ? 0L : Long.parseLong(maxBufferBytes);
+    Preconditions.checkArgument(this.maxBufferBytes >= 0, "Invalid value for table property %s: %s",
+                                Constants.Dataset.TABLE_BUFFER_MAX_BYTES, maxBufferBytes);
     // TODO: having central dataset management service will allow us to use table ids instead of names, which will
     //       reduce changeset size transferred to/from server
     // we want it to be of format length+value to avoid conflicts like table="ab", row="cd" vs table="abc", row="d"
@@ -272,7 +288,7 @@ public abstract class BufferingTable extends AbstractTable implements MeteredDat
       throw new IllegalStateException(msg);
     }
     // starting with fresh buffer when tx starts
-    buff.clear();
+    clearBuffer();
     toUndo = null;
     this.tx = tx;
   }
@@ -308,8 +324,9 @@ public abstract class BufferingTable extends AbstractTable implements MeteredDat
 
   private Collection<byte[]> getRowChanges() {
     // we resolve conflicts on row level of individual table
-    List<byte[]> changes = new ArrayList<>(buff.size());
-    for (byte[] changedRow : buff.keySet()) {
+    NavigableMap<byte[], NavigableMap<byte[], Update>> allChanges = getAllChanges();
+    List<byte[]> changes = new ArrayList<>(allChanges.size());
+    for (byte[] changedRow : allChanges.keySet()) {
       changes.add(Bytes.add(getNameAsTxChangePrefix(), changedRow));
     }
     return changes;
@@ -317,8 +334,9 @@ public abstract class BufferingTable extends AbstractTable implements MeteredDat
 
   private Collection<byte[]> getColumnChanges() {
     // we resolve conflicts on row level of individual table
-    List<byte[]> changes = new ArrayList<>(buff.size());
-    for (Map.Entry<byte[], NavigableMap<byte[], Update>> rowChange : buff.entrySet()) {
+    NavigableMap<byte[], NavigableMap<byte[], Update>> allChanges = getAllChanges();
+    List<byte[]> changes = new ArrayList<>(allChanges.size());
+    for (Map.Entry<byte[], NavigableMap<byte[], Update>> rowChange : allChanges.entrySet()) {
       if (rowChange.getValue() == null) {
         // NOTE: as of now we cannot detect conflict between delete whole row and row's column value change.
         //       this is not a big problem as of now, as row deletion is now act as deletion of every column, but this
@@ -336,19 +354,39 @@ public abstract class BufferingTable extends AbstractTable implements MeteredDat
     return changes;
   }
 
+  /**
+   * Returns all the changes made in the current transaction, including the ones already persisted before commit.
+   */
+  private NavigableMap<byte[], NavigableMap<byte[], Update>> getAllChanges() {
+    if (toUndo == null) {
+      return buff;
+    }
+    NavigableMap<byte[], NavigableMap<byte[], Update>> changes = Maps.newTreeMap(Bytes.BYTES_COMPARATOR);
+    addChanges(changes, toUndo);
+    addChanges(changes, buff);
+    return changes;
+  }
+
   @Override
   public boolean commitTx() throws Exception {
     if (!buff.isEmpty()) {
+      reportBufferBytes();
       // We first assume that all data will be persisted. So that if exception happen during persist we try to
       // rollback everything we had in in-memory buffer.
-      toUndo = buff;
+      NavigableMap<byte[], NavigableMap<byte[], Update>> changes = buff;
+      if (toUndo == null) {
+        toUndo = changes;
+      } else {
+        addChanges(toUndo, changes);
+      }
       // clearing up in-memory buffer by initializing new map.
       // NOTE: we want to init map here so that if no changes are made we re-use same instance of the map in next tx
       // NOTE: we could cache two maps and swap them to avoid creation of map instances, but code would be ugly
       buff = new ConcurrentSkipListMap<>(Bytes.BYTES_COMPARATOR);
+      bufferBytes = 0L;
       // TODO: tracking of persisted items can be optimized by returning a pair {succeededOrNot, persisted} which
       //       tells if persisting succeeded and what was persisted (i.e. what we will have to undo in case of rollback)
-      persist(toUndo);
+      persist(changes);
     }
     return true;
   }
@@ -356,14 +394,14 @@ public abstract class BufferingTable extends AbstractTable implements MeteredDat
   @Override
   public void postTxCommit() {
     // don't need buffer anymore: tx has been committed
-    buff.clear();
+    clearBuffer();
     toUndo = null;
     tx = null;
   }
 
   @Override
   public boolean rollbackTx() throws Exception {
-    buff.clear();
+    clearBuffer();
     if (toUndo != null) {
       undo(toUndo);
       toUndo = null;
@@ -372,6 +410,111 @@ public abstract class BufferingTable extends AbstractTable implements MeteredDat
     return true;
   }
 
+  private void clearBuffer() {
+    buff.clear();
+    bufferBytes = 0L;
+    flushThresholdBytes = maxBufferBytes;
+  }
+
+  /**
+   * Adds the rows and columns of the given changes to the given map, with null values.
+   */
+  private static void addChanges(NavigableMap<byte[], NavigableMap<byte[], Update>> target,
+                                 NavigableMap<byte[], NavigableMap<byte[], Update>> changes) {
+    for (Map.Entry<byte[], NavigableMap<byte[], Update>> rowChange : changes.entrySet()) {
+      NavigableMap<byte[], Update> columns = target.get(rowChange.getKey());
+      if (columns == null) {
+        columns = Maps.newTreeMap(Bytes.BYTES_COMPARATOR);
+        target.put(rowChange.getKey(), columns);
+      }
+      for (byte[] column : rowChange.getValue().keySet()) {
+        columns.put(column, null);
+      }
+    }
+  }
+
+  /**
+   * Persists the buffered changes before the transaction commits if the buffer exceeds the max size. The persisted
+   * changes are recorded to be undone if the transaction is rolled back. Reads see the persisted changes, since they
+   * are written with the transaction write pointer.
+   *
+   * Readless increments are kept in the buffer, since they may not be undoable by the persistent store. For the same
+   * reason, increments of columns that were already persisted are not performed as readless increments.
+   */
+  private void flushBufferIfNeeded() {
+    if (maxBufferBytes <= 0 || bufferBytes <= flushThresholdBytes || tx == null) {
+      return;
+    }
+    reportBufferBytes();
+
+    NavigableMap<byte[], NavigableMap<byte[], Update>> changes = Maps.newTreeMap(Bytes.BYTES_COMPARATOR);
+    long remainingBytes = 0L;
+    Iterator<Map.Entry<byte[], NavigableMap<byte[], Update>>> rows = buff.entrySet().iterator();
+    while (rows.hasNext()) {
+      Map.Entry<byte[], NavigableMap<byte[], Update>> row = rows.next();
+      NavigableMap<byte[], Update> columns = Maps.newTreeMap(Bytes.BYTES_COMPARATOR);
+      Iterator<Map.Entry<byte[], Update>> rowColumns = row.getValue().entrySet().iterator();
+      while (rowColumns.hasNext()) {
+        Map.Entry<byte[], Update> column = rowColumns.next();
+        if (column.getValue() instanceof IncrementValue) {
+          remainingBytes += getBufferSize(column.getKey(), column.getValue());
+        } else {
+          columns.put(column.getKey(), column.getValue());
+          rowColumns.remove();
+        }
+      }
+      if (!columns.isEmpty()) {
+        changes.put(row.getKey(), columns);
+      }
+      if (row.getValue().isEmpty()) {
+        rows.remove();
+      } else {
+        remainingBytes += getBufferSize(row.getKey());
+      }
+    }
+
+    bufferBytes = remainingBytes;
+    // the remaining increments cannot be persisted before commit, hence allow the buffer to grow by the max size again
+    flushThresholdBytes = remainingBytes + maxBufferBytes;
+    if (changes.isEmpty()) {
+      return;
+    }
+
+    // Same as in commitTx, we assume that all changes will be persisted, so that they are undone on failure
+    if (toUndo == null) {
+      toUndo = Maps.newTreeMap(Bytes.BYTES_COMPARATOR);
+    }
+    addChanges(toUndo, changes);
+    try {
+      persist(changes);
+    } catch (Exception e) {
+      LOG.debug("persisting buffer failed for table: " + getTransactionAwareName(), e);
+      throw new DataSetException("persisting buffer failed", e);
+    }
+    if (metricsCollector != null) {
+      metricsCollector.increment(Constants.Metrics.Name.Dataset.BUFFER_FLUSH_COUNT, 1);
+    }
+  }
+
+  /**
+   * Returns whether any of the given columns of the given row was persisted before commit in the current transaction.
+   */
+  private boolean isPersistedBeforeCommit(byte[] row, byte[][] columns) {
+    if (toUndo == null) {
+      return false;
+    }
+    NavigableMap<byte[], Update> persistedColumns = toUndo.get(row);
+    if (persistedColumns == null) {
+      return false;
+    }
+    for (byte[] column : columns) {
+      if (persistedColumns.containsKey(column)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   protected void ensureTransactionIsStarted() {
     if (tx == null) {
       throw new DataSetException("Attempt to perform a data operation without a transaction");
@@ -512,14 +655,36 @@ public abstract class BufferingTable extends AbstractTable implements MeteredDat
       if (values[i] != null && values[i].length == 0) {
         warnAboutEmptyValue(columns[i]);
       }
-      colVals.put(copy(columns[i]), new PutValue(copy(values[i])));
+      addBufferedColumn(colVals, copy(columns[i]), new PutValue(copy(values[i])));
     }
     if (newRow) {
       // NOTE: we copy passed row's byte arrays to protect buffer against possible changes of this array on client
       buff.put(copy(row), colVals);
+      bufferBytes += getBufferSize(row);
+    }
+    flushBufferIfNeeded();
+  }
+
+  /**
+   * Puts a column into a buffered row, and accounts for the change of the buffer size.
+   */
+  private void addBufferedColumn(NavigableMap<byte[], Update> colVals, byte[] column, Update value) {
+    Update previous = colVals.put(column, value);
+    bufferBytes += getBufferSize(column, value);
+    if (previous != null) {
+      bufferBytes -= getBufferSize(column, previous);
     }
   }
 
+  private static long getBufferSize(byte[] row) {
+    return row.length + BUFFER_ENTRY_OVERHEAD;
+  }
+
+  private static long getBufferSize(byte[] column, Update value) {
+    byte[] bytes = value.getBytes();
+    return column.length + (bytes == null ? 0 : bytes.length) + BUFFER_ENTRY_OVERHEAD;
+  }
+
   /**
    * NOTE: Depending on the use-case, calling this method may be much less efficient than calling same method
    *       with columns as parameters because it will require a round trip to persistent store.
@@ -619,16 +784,20 @@ public abstract class BufferingTable extends AbstractTable implements MeteredDat
   @Override
   public void increment(byte[] row, byte[][] columns, long[] amounts) {
     ensureTransactionIsStarted();
-    if (enableReadlessIncrements) {
+    // a readless increment persisted at commit would overwrite a value persisted before commit in the same tx
+    if (enableReadlessIncrements && !isPersistedBeforeCommit(row, columns)) {
       NavigableMap<byte[], Update> colVals = buff.get(row);
       if (colVals == null) {
         colVals = Maps.newTreeMap(Bytes.BYTES_COMPARATOR);
         buff.put(row, colVals);
+        bufferBytes += getBufferSize(row);
       }
       for (int i = 0; i < columns.length; i++) {
-        colVals.put(columns[i], Updates.mergeUpdates(colVals.get(columns[i]), new IncrementValue(amounts[i])));
+        addBufferedColumn(colVals, columns[i],
+                          Updates.mergeUpdates(colVals.get(columns[i]), new IncrementValue(amounts[i])));
       }
       reportWrite(1, getSize(row) + getSize(columns) + getSize(amounts));
+      flushBufferIfNeeded();
     } else {
       internalIncrementAndGet(row, columns, amounts);
     }
@@ -935,6 +1104,12 @@ public abstract class BufferingTable extends AbstractTable implements MeteredDat
     }
   }
 
+  private void reportBufferBytes() {
+    if (metricsCollector != null) {
+      metricsCollector.gauge(Constants.Metrics.Name.Dataset.BUFFER_BYTES, bufferBytes);
+    }
+  }
+
   private void reportRead(int numOps) {
     if (metricsCollector != null) {
       // todo: report amount of data being read
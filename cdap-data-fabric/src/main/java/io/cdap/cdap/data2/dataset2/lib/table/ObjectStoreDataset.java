@@ -34,16 +34,15 @@ import io.cdap.cdap.api.dataset.lib.CloseableIterator;
 import io.cdap.cdap.api.dataset.lib.KeyValue;
 import io.cdap.cdap.api.dataset.lib.KeyValueTable;
 import io.cdap.cdap.api.dataset.lib.ObjectStore;
-import io.cdap.cdap.common.io.BinaryDecoder;
-import io.cdap.cdap.common.io.BinaryEncoder;
+import io.cdap.cdap.common.io.ByteBufferBinaryDecoder;
+import io.cdap.cdap.common.io.ByteBufferBinaryEncoder;
 import io.cdap.cdap.internal.io.ReflectionDatumReader;
 import io.cdap.cdap.internal.io.ReflectionDatumWriter;
 import io.cdap.cdap.internal.io.TypeRepresentation;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.util.List;
 import javax.annotation.Nullable;
 
@@ -138,15 +137,14 @@ public class ObjectStoreDataset<T> extends AbstractDataset implements ObjectStor
 
   private byte[] encode(T object) {
     // encode T using schema
-    ByteArrayOutputStream bos = new ByteArrayOutputStream();
-    BinaryEncoder encoder = new BinaryEncoder(bos);
+    ByteBufferBinaryEncoder encoder = new ByteBufferBinaryEncoder();
     try {
       this.datumWriter.encode(object, encoder);
     } catch (IOException e) {
       // SHOULD NEVER happen
       throw new DataSetException("Failed to encode object to be written: " + e.getMessage(), e);
     }
-    return bos.toByteArray();
+    return encoder.toByteArray();
   }
 
   @SuppressWarnings("unchecked")
@@ -162,8 +160,7 @@ public class ObjectStoreDataset<T> extends AbstractDataset implements ObjectStor
       return null;
     }
     // decode T using schema
-    ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
-    BinaryDecoder decoder = new BinaryDecoder(bis);
+    ByteBufferBinaryDecoder decoder = new ByteBufferBinaryDecoder(ByteBuffer.wrap(bytes));
     try {
       return getReflectionDatumReader().read(decoder, this.schema);
     } catch (IOException e) {
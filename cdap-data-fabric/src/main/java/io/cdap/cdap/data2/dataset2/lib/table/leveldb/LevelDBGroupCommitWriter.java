@@ -0,0 +1,183 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.data2.dataset2.lib.table.leveldb;
+
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.WriteBatch;
+import org.iq80.leveldb.WriteOptions;
+import org.iq80.leveldb.impl.WriteBatchImpl;
+import org.iq80.leveldb.util.Slice;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes {@link WriteBatch WriteBatches} to a LevelDB {@link DB} with group commit. The Java LevelDB implementation
+ * appends and syncs the log for every write, hence concurrent synced writes are serialized with one fsync each.
+ * With this class, the first writer becomes the leader, which optionally waits up to the commit window for more
+ * writers to arrive, then merges all pending batches into one batch and writes it with a single synced write.
+ * Writers arriving while the leader is writing are committed together by the next leader.
+ *
+ * Each merged write is atomic, hence the atomicity of every individual batch is preserved.
+ */
+final class LevelDBGroupCommitWriter {
+
+  private final DB db;
+  private final WriteOptions writeOptions;
+  private final long windowNanos;
+  private final LevelDBTableService.GroupCommitStats stats;
+  private List<PendingWrite> pending;
+  private boolean committing;
+
+  LevelDBGroupCommitWriter(DB db, WriteOptions writeOptions, long windowMicros,
+                           LevelDBTableService.GroupCommitStats stats) {
+    this.db = db;
+    this.writeOptions = writeOptions;
+    this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+    this.stats = stats;
+    this.pending = new ArrayList<>();
+  }
+
+  /**
+   * Writes the given batch. This method returns after the batch is written with the configured {@link WriteOptions}.
+   *
+   * @throws IOException if failed to write the batch
+   */
+  void write(WriteBatch batch) throws IOException {
+    // A writer never leaves before its batch is committed, hence interrupts are only restored at the end
+    boolean interrupted = false;
+    try {
+      PendingWrite write = new PendingWrite(batch);
+      List<PendingWrite> group;
+
+      synchronized (this) {
+        pending.add(write);
+        while (committing && !write.done) {
+          interrupted |= await(0L);
+        }
+        if (write.done) {
+          write.throwIfFailed();
+          return;
+        }
+
+        // Become the leader and give other writers a chance to join the group
+        committing = true;
+        if (windowNanos > 0) {
+          long deadline = System.nanoTime() + windowNanos;
+          long remaining = windowNanos;
+          while (remaining > 0) {
+            interrupted |= await(remaining);
+            remaining = deadline - System.nanoTime();
+          }
+        }
+        group = pending;
+        pending = new ArrayList<>();
+      }
+
+      commit(group);
+      write.throwIfFailed();
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Writes a group of batches with a single write, and wakes up all writers waiting on it.
+   */
+  private void commit(List<PendingWrite> group) {
+    IOException failure = null;
+    long startNanos = System.nanoTime();
+    try {
+      db.write(merge(group), writeOptions);
+    } catch (Exception e) {
+      failure = e instanceof IOException ? (IOException) e : new IOException(e);
+    }
+    stats.record(group.size(), TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+
+    synchronized (this) {
+      for (PendingWrite groupWrite : group) {
+        groupWrite.done = true;
+        groupWrite.failure = failure;
+      }
+      committing = false;
+      notifyAll();
+    }
+  }
+
+  private WriteBatch merge(List<PendingWrite> group) {
+    if (group.size() == 1) {
+      return group.get(0).batch;
+    }
+    WriteBatch merged = db.createWriteBatch();
+    WriteBatchImpl.Handler handler = new WriteBatchImpl.Handler() {
+      @Override
+      public void put(Slice key, Slice value) {
+        merged.put(key.getBytes(), value.getBytes());
+      }
+
+      @Override
+      public void delete(Slice key) {
+        merged.delete(key.getBytes());
+      }
+    };
+    for (PendingWrite write : group) {
+      ((WriteBatchImpl) write.batch).forEach(handler);
+    }
+    return merged;
+  }
+
+  /**
+   * Waits on this object, or until the timeout elapsed if it is positive.
+   *
+   * @return {@code true} if the waiting was interrupted
+   */
+  private boolean await(long timeoutNanos) {
+    try {
+      if (timeoutNanos > 0) {
+        TimeUnit.NANOSECONDS.timedWait(this, timeoutNanos);
+      } else {
+        wait();
+      }
+      return false;
+    } catch (InterruptedException e) {
+      return true;
+    }
+  }
+
+  /**
+   * A batch waiting to be committed.
+   */
+  private static final class PendingWrite {
+    private final WriteBatch batch;
+    private boolean done;
+    private IOException failure;
+
+    PendingWrite(WriteBatch batch) {
+      this.batch = batch;
+    }
+
+    void throwIfFailed() throws IOException {
+      if (failure != null) {
+        throw new IOException("Failed to write batch", failure);
+      }
+    }
+  }
+}
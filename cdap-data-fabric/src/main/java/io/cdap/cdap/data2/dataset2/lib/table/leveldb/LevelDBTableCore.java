@@ -29,18 +29,20 @@ import org.iq80.leveldb.DBIterator;
 import org.iq80.leveldb.ReadOptions;
 import org.iq80.leveldb.Snapshot;
 import org.iq80.leveldb.WriteBatch;
-import org.iq80.leveldb.WriteOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
 import javax.annotation.Nullable;
 
 /**
@@ -80,71 +82,93 @@ public class LevelDBTableCore {
     return service.getTable(tableName);
   }
 
-  private WriteOptions getWriteOptions() {
-    return service.getWriteOptions();
-  }
-
+  // Read-modify-write operations lock the rows being modified with locks shared by all instances of the same table
 
-  public synchronized boolean swap(byte[] row, byte[] column, byte[] oldValue, byte[] newValue) throws IOException {
-    byte[] existing = getRow(row, new byte[][] { column }, null, null, -1, null).get(column);
-    // verify
-    if (oldValue == null && existing != null) {
-      return false;
-    }
-    if (oldValue != null && (existing == null || !Bytes.equals(oldValue, existing))) {
-      return false;
-    }
-    // write
-    if (newValue == null) {
-      // to-do
-      deleteColumn(row, column);
-    } else {
-      persist(Collections.singletonMap(row, Collections.singletonMap(column, newValue)), Long.MAX_VALUE);
+  public boolean swap(byte[] row, byte[] column, byte[] oldValue, byte[] newValue) throws IOException {
+    Lock lock = service.getRowLock(tableName, row);
+    lock.lock();
+    try {
+      byte[] existing = getRow(row, new byte[][] { column }, null, null, -1, null).get(column);
+      // verify
+      if (oldValue == null && existing != null) {
+        return false;
+      }
+      if (oldValue != null && (existing == null || !Bytes.equals(oldValue, existing))) {
+        return false;
+      }
+      // write
+      if (newValue == null) {
+        // to-do
+        deleteColumn(row, column);
+      } else {
+        persist(Collections.singletonMap(row, Collections.singletonMap(column, newValue)), Long.MAX_VALUE);
+      }
+      return true;
+    } finally {
+      lock.unlock();
     }
-    return true;
   }
 
-  public synchronized Map<byte[], Long> increment(byte[] row, Map<byte[], Long> increments) throws IOException {
+  public Map<byte[], Long> increment(byte[] row, Map<byte[], Long> increments) throws IOException {
     Map<byte[], Long> result = new TreeMap<>(Bytes.BYTES_COMPARATOR);
 
-    DB db = getDB();
-    WriteBatch writeBatch = db.createWriteBatch();
-    try (Snapshot snapshot = db.getSnapshot()) {
-      ReadOptions readOptions = new ReadOptions().snapshot(snapshot);
-
-      for (Map.Entry<byte[], Long> entry : increments.entrySet()) {
-        byte[] rowKey = createPutKey(row, entry.getKey(), Long.MAX_VALUE);
-        byte[] existingValue = db.get(rowKey, readOptions);
-        long newValue = incrementValue(entry.getValue(), existingValue, row, entry.getKey());
-        result.put(entry.getKey(), newValue);
-        writeBatch.put(rowKey, Bytes.toBytes(newValue));
+    Lock lock = service.getRowLock(tableName, row);
+    lock.lock();
+    try {
+      DB db = getDB();
+      WriteBatch writeBatch = db.createWriteBatch();
+      try (Snapshot snapshot = db.getSnapshot()) {
+        ReadOptions readOptions = new ReadOptions().snapshot(snapshot);
+
+        for (Map.Entry<byte[], Long> entry : increments.entrySet()) {
+          byte[] rowKey = createPutKey(row, entry.getKey(), Long.MAX_VALUE);
+          byte[] existingValue = db.get(rowKey, readOptions);
+          long newValue = incrementValue(entry.getValue(), existingValue, row, entry.getKey());
+          result.put(entry.getKey(), newValue);
+          writeBatch.put(rowKey, Bytes.toBytes(newValue));
+        }
+        service.write(db, writeBatch);
       }
-      db.write(writeBatch, service.getWriteOptions());
+    } finally {
+      lock.unlock();
     }
 
     return result;
   }
 
-
-  public synchronized void increment(NavigableMap<byte[], NavigableMap<byte[], Long>> updates) throws IOException {
+  public void increment(NavigableMap<byte[], NavigableMap<byte[], Long>> updates) throws IOException {
     if (updates.isEmpty()) {
       return;
     }
 
-    DB db = getDB();
-    WriteBatch writeBatch = db.createWriteBatch();
-    try (Snapshot snapshot = db.getSnapshot()) {
-      ReadOptions readOptions = new ReadOptions().snapshot(snapshot);
+    Iterable<Lock> locks = service.getRowLocks(tableName, updates.keySet());
+    List<Lock> acquired = new ArrayList<>();
+    try {
+      for (Lock lock : locks) {
+        lock.lock();
+        acquired.add(lock);
+      }
 
-      for (Map.Entry<byte[], NavigableMap<byte[], Long>> updateEntry : updates.entrySet()) {
-        for (Map.Entry<byte[], Long> entry : updateEntry.getValue().entrySet()) {
-          byte[] rowKey = createPutKey(updateEntry.getKey(), entry.getKey(), Long.MAX_VALUE);
-          byte[] existingValue = db.get(rowKey, readOptions);
-          long newValue = incrementValue(entry.getValue(), existingValue, updateEntry.getKey(), entry.getKey());
-          writeBatch.put(rowKey, Bytes.toBytes(newValue));
+      DB db = getDB();
+      WriteBatch writeBatch = db.createWriteBatch();
+      try (Snapshot snapshot = db.getSnapshot()) {
+        ReadOptions readOptions = new ReadOptions().snapshot(snapshot);
+
+        for (Map.Entry<byte[], NavigableMap<byte[], Long>> updateEntry : updates.entrySet()) {
+          for (Map.Entry<byte[], Long> entry : updateEntry.getValue().entrySet()) {
+            byte[] rowKey = createPutKey(updateEntry.getKey(), entry.getKey(), Long.MAX_VALUE);
+            byte[] existingValue = db.get(rowKey, readOptions);
+            long newValue = incrementValue(entry.getValue(), existingValue, updateEntry.getKey(), entry.getKey());
+            writeBatch.put(rowKey, Bytes.toBytes(newValue));
+          }
         }
+        service.write(db, writeBatch);
+      }
+    } finally {
+      // Release in reverse order of acquisition
+      for (int i = acquired.size() - 1; i >= 0; i--) {
+        acquired.get(i).unlock();
       }
-      db.write(writeBatch, service.getWriteOptions());
     }
   }
 
@@ -170,7 +194,7 @@ public class LevelDBTableCore {
         batch.put(key, column.getValue() == null ? DELETE_MARKER : column.getValue());
       }
     }
-    db.write(batch, service.getWriteOptions());
+    service.write(db, batch);
   }
 
   /**
@@ -249,7 +273,7 @@ public class LevelDBTableCore {
         batch.delete(key);
       }
     }
-    db.write(batch, service.getWriteOptions());
+    service.write(db, batch);
   }
 
   public Scanner scan(byte[] startRow, byte[] stopRow,
@@ -454,7 +478,7 @@ public class LevelDBTableCore {
       }
     }
     // delete all the entries that were found
-    db.write(batch, getWriteOptions());
+    service.write(db, batch);
   }
 
   public void deleteRange(byte[] startRow, byte[] stopRow, @Nullable FuzzyRowFilter filter, @Nullable byte[][] columns)
@@ -490,7 +514,7 @@ public class LevelDBTableCore {
           // perform the deletes when we have built up a batch.
           if (deletesInBatch >= deletesPerRound) {
             // delete all the entries that were found
-            db.write(batch, getWriteOptions());
+            service.write(db, batch);
             batch = db.createWriteBatch();
             deletesInBatch = 0;
           }
@@ -499,7 +523,7 @@ public class LevelDBTableCore {
 
       // perform any outstanding deletes
       if (deletesInBatch > 0) {
-        db.write(batch, getWriteOptions());
+        service.write(db, batch);
       }
     } finally {
       deleteIterator.close();
@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.google.common.io.Closeables;
+import com.google.common.util.concurrent.Striped;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import io.cdap.cdap.common.conf.CConfiguration;
@@ -33,6 +34,7 @@ import org.iq80.leveldb.CompressionType;
 import org.iq80.leveldb.DB;
 import org.iq80.leveldb.DBComparator;
 import org.iq80.leveldb.Options;
+import org.iq80.leveldb.WriteBatch;
 import org.iq80.leveldb.WriteOptions;
 import org.iq80.leveldb.impl.DbImpl;
 import org.iq80.leveldb.impl.FileMetaData;
@@ -47,7 +49,10 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
@@ -55,6 +60,8 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Lock;
 
 import static org.iq80.leveldb.impl.Iq80DBFactory.factory;
 
@@ -65,6 +72,7 @@ import static org.iq80.leveldb.impl.Iq80DBFactory.factory;
 public class LevelDBTableService implements AutoCloseable {
 
   private static final Logger LOG = LoggerFactory.getLogger(LevelDBTableService.class);
+  private static final int ROW_LOCK_STRIPES = 1024;
 
   private boolean compressionEnabled;
   private int blockSize;
@@ -75,9 +83,13 @@ public class LevelDBTableService implements AutoCloseable {
   private int compactionLevelMax;
   private String basePath;
   private WriteOptions writeOptions;
+  private long groupCommitWindowMicros;
   private boolean isClosed;
 
   private final ConcurrentMap<String, DB> tables = Maps.newConcurrentMap();
+  private final ConcurrentMap<DB, LevelDBGroupCommitWriter> writers = Maps.newConcurrentMap();
+  private final Striped<Lock> rowLocks = Striped.lock(ROW_LOCK_STRIPES);
+  private final GroupCommitStats groupCommitStats = new GroupCommitStats();
 
   private final ScheduledExecutorService executor;
   private ScheduledFuture<?> scheduledFuture;
@@ -113,6 +125,8 @@ public class LevelDBTableService implements AutoCloseable {
     cacheSizeFiles = config.getInt(Constants.CFG_DATA_LEVELDB_CACHESIZE_FILES);
     writeOptions = new WriteOptions().sync(config.getBoolean(Constants.CFG_DATA_LEVELDB_FSYNC,
                                                              Constants.DEFAULT_DATA_LEVELDB_FSYNC));
+    groupCommitWindowMicros = config.getLong(Constants.CFG_DATA_LEVELDB_GROUP_COMMIT_WINDOW_MICROS,
+                                             Constants.DEFAULT_DATA_LEVELDB_GROUP_COMMIT_WINDOW_MICROS);
     compactionInterval = Duration.ofSeconds(config.getLong(Constants.CFG_DATA_LEVELDB_COMPACTION_INTERVAL_SECONDS,
                                                            Constants.DEFAULT_DATA_LEVELDB_COMPACTION_INTERVAL_SECONDS));
     compactionLevelMin = config.getInt(Constants.CFG_DATA_LEVELDB_COMPACTION_LEVEL_MIN,
@@ -208,6 +222,7 @@ public class LevelDBTableService implements AutoCloseable {
       Closeables.closeQuietly(entries);
     }
     tables.clear();
+    writers.clear();
   }
 
   private void ensureOpen() {
@@ -281,6 +296,48 @@ public class LevelDBTableService implements AutoCloseable {
     return writeOptions;
   }
 
+  /**
+   * Writes the given batch to the given table {@link DB} with the configured {@link WriteOptions}. If writes are
+   * synced, concurrent writes to the same table are coalesced into a single synced write.
+   */
+  public void write(DB db, WriteBatch batch) throws IOException {
+    if (writeOptions == null || !writeOptions.sync()) {
+      db.write(batch, writeOptions);
+      return;
+    }
+    writers.computeIfAbsent(db, d -> new LevelDBGroupCommitWriter(d, writeOptions, groupCommitWindowMicros,
+                                                                   groupCommitStats)).write(batch);
+  }
+
+  /**
+   * Returns the statistics of group commits.
+   */
+  public GroupCommitStats getGroupCommitStats() {
+    return groupCommitStats;
+  }
+
+  /**
+   * Returns the lock for a row of a table, for serializing read-modify-write operations on the row.
+   */
+  Lock getRowLock(String tableName, byte[] row) {
+    return rowLocks.get(getRowLockKey(tableName, row));
+  }
+
+  /**
+   * Returns the locks for the given rows of a table, in an order that is safe for acquiring them all without deadlock.
+   */
+  Iterable<Lock> getRowLocks(String tableName, Collection<byte[]> rows) {
+    List<Integer> keys = new ArrayList<>(rows.size());
+    for (byte[] row : rows) {
+      keys.add(getRowLockKey(tableName, row));
+    }
+    return rowLocks.bulkGet(keys);
+  }
+
+  private static Integer getRowLockKey(String tableName, byte[] row) {
+    return 31 * tableName.hashCode() + Arrays.hashCode(row);
+  }
+
   public DB getTable(String tableName) throws IOException {
     ensureOpen();
     DB db = tables.get(tableName);
@@ -354,6 +411,7 @@ public class LevelDBTableService implements AutoCloseable {
     ensureOpen();
     DB db = tables.remove(name);
     if (db != null) {
+      writers.remove(db);
       db.close();
     }
     String dbPath = getDBPath(basePath, name);
@@ -415,4 +473,55 @@ public class LevelDBTableService implements AutoCloseable {
       return diskSizeBytes;
     }
   }
+
+  /**
+   * Statistics of group commits, with histograms of the number of batches per commit and the commit latency.
+   * Bucket {@code i} of a histogram counts the values in the range {@code [2^i, 2^(i+1))}, except that the first
+   * bucket also counts zero, and the last bucket counts all values larger than that.
+   */
+  public static final class GroupCommitStats {
+
+    public static final int NUM_BUCKETS = 24;
+
+    private final AtomicLongArray batchSizes = new AtomicLongArray(NUM_BUCKETS);
+    private final AtomicLongArray latenciesMicros = new AtomicLongArray(NUM_BUCKETS);
+
+    void record(int batchSize, long latencyMicros) {
+      batchSizes.incrementAndGet(getBucket(batchSize));
+      latenciesMicros.incrementAndGet(getBucket(latencyMicros));
+    }
+
+    /**
+     * Returns the histogram of the number of batches per commit since the last call, and resets it.
+     */
+    public long[] drainBatchSizeHistogram() {
+      return drain(batchSizes);
+    }
+
+    /**
+     * Returns the histogram of the commit latency in microseconds since the last call, and resets it.
+     */
+    public long[] drainLatencyHistogram() {
+      return drain(latenciesMicros);
+    }
+
+    /**
+     * Returns the exclusive upper bound of the values counted by the given bucket.
+     */
+    public static long getBucketUpperBound(int bucket) {
+      return bucket >= NUM_BUCKETS - 1 ? Long.MAX_VALUE : 1L << (bucket + 1);
+    }
+
+    private static int getBucket(long value) {
+      return value <= 0 ? 0 : Math.min(63 - Long.numberOfLeadingZeros(value), NUM_BUCKETS - 1);
+    }
+
+    private static long[] drain(AtomicLongArray histogram) {
+      long[] result = new long[histogram.length()];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = histogram.getAndSet(i, 0L);
+      }
+      return result;
+    }
+  }
 }
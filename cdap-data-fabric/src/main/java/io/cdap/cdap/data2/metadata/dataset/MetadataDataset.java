@@ -18,6 +18,7 @@ package io.cdap.cdap.data2.metadata.dataset;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.HashMultimap;
@@ -689,32 +690,52 @@ public class MetadataDataset extends AbstractDataset {
     return searchByCustomIndex(request);
   }
 
+  /**
+   * Searches entities that match the specified search query with {@link SortInfo#DEFAULT} sorting, and returns the
+   * score of each matching entity. The score of an entity is the number of its metadata entries that match the
+   * query, which is the number of times the entity appears in the results of {@link #search(SearchRequest)}.
+   * Unlike {@link #search(SearchRequest)}, the matches are counted while the indexes are scanned and the metadata
+   * values of the matches are not read, since the indexes are maintained together with the values.
+   *
+   * @param request the search request, which must use {@link SortInfo#DEFAULT} sorting
+   * @return the score of each entity matching the search request
+   */
+  public Map<MetadataEntity, Integer> searchEntityScores(SearchRequest request) {
+    Preconditions.checkArgument(SortInfo.DEFAULT.equals(request.getSortInfo()),
+                                "Entity scores are only supported with the default sort, but sort is %s",
+                                request.getSortInfo());
+    Map<MetadataEntity, Integer> scores = new HashMap<>();
+    String column = request.isNamespaced() ?
+      DEFAULT_INDEX_COLUMN.getColumn() : DEFAULT_INDEX_COLUMN.getCrossNamespaceColumn();
+
+    for (SearchTerm searchTerm : getSearchTerms(request)) {
+      try (Scanner scanner = scanDefaultIndex(column, searchTerm)) {
+        Row next;
+        while ((next = scanner.next()) != null) {
+          MetadataEntity metadataEntity = getMatchingEntity(next, column, request.getTypes(),
+                                                            request.shouldShowHidden());
+          if (metadataEntity != null) {
+            scores.merge(metadataEntity, 1, Integer::sum);
+          }
+        }
+      }
+    }
+    return scores;
+  }
+
   private SearchResults searchByDefaultIndex(SearchRequest request) {
     List<MetadataEntry> results = new LinkedList<>();
     String column = request.isNamespaced() ?
       DEFAULT_INDEX_COLUMN.getColumn() : DEFAULT_INDEX_COLUMN.getCrossNamespaceColumn();
 
     for (SearchTerm searchTerm : getSearchTerms(request)) {
-      Scanner scanner;
-      if (searchTerm.isPrefix()) {
-        // if prefixed search get start and stop key
-        byte[] startKey = Bytes.toBytes(searchTerm.getTerm());
-        @SuppressWarnings("ConstantConditions")
-        byte[] stopKey = Bytes.stopKeyForPrefix(startKey);
-        scanner = indexedTable.scanByIndex(Bytes.toBytes(column), startKey, stopKey);
-      } else {
-        byte[] value = Bytes.toBytes(searchTerm.getTerm());
-        scanner = indexedTable.readByIndex(Bytes.toBytes(column), value);
-      }
-      try {
+      try (Scanner scanner = scanDefaultIndex(column, searchTerm)) {
         Row next;
         while ((next = scanner.next()) != null) {
           Optional<MetadataEntry> metadataEntry = parseRow(next, column, request.getTypes(),
                                                            request.shouldShowHidden());
           metadataEntry.ifPresent(results::add);
         }
-      } finally {
-        scanner.close();
       }
     }
 
@@ -722,6 +743,18 @@ public class MetadataDataset extends AbstractDataset {
     return new SearchResults(results, Collections.emptyList());
   }
 
+  private Scanner scanDefaultIndex(String column, SearchTerm searchTerm) {
+    if (searchTerm.isPrefix()) {
+      // if prefixed search get start and stop key
+      byte[] startKey = Bytes.toBytes(searchTerm.getTerm());
+      @SuppressWarnings("ConstantConditions")
+      byte[] stopKey = Bytes.stopKeyForPrefix(startKey);
+      return indexedTable.scanByIndex(Bytes.toBytes(column), startKey, stopKey);
+    }
+    byte[] value = Bytes.toBytes(searchTerm.getTerm());
+    return indexedTable.readByIndex(Bytes.toBytes(column), value);
+  }
+
   private SearchResults searchByCustomIndex(SearchRequest request) throws BadRequestException {
     SortInfo sortInfo = request.getSortInfo();
     int offset = request.getOffset();
@@ -789,9 +822,23 @@ public class MetadataDataset extends AbstractDataset {
   // so return an Optional
   private Optional<MetadataEntry> parseRow(Row rowToProcess, String indexColumn,
                                            Set<String> entityFilter, boolean showHidden) {
+    MetadataEntity metadataEntity = getMatchingEntity(rowToProcess, indexColumn, entityFilter, showHidden);
+    if (metadataEntity == null) {
+      return Optional.empty();
+    }
+
+    String key = MetadataKey.extractMetadataKey(rowToProcess.getRow());
+    MetadataEntry entry = getMetadata(metadataEntity, key);
+    return Optional.ofNullable(entry);
+  }
+
+  // returns the entity of the index row, or null if there is no index value in the row or the entity is filtered out
+  @Nullable
+  private MetadataEntity getMatchingEntity(Row rowToProcess, String indexColumn,
+                                           Set<String> entityFilter, boolean showHidden) {
     String rowValue = rowToProcess.getString(indexColumn);
     if (rowValue == null) {
-      return Optional.empty();
+      return null;
     }
 
     final byte[] rowKey = rowToProcess.getRow();
@@ -799,7 +846,7 @@ public class MetadataDataset extends AbstractDataset {
 
     // Filter on target type if not set to include all types
     if (!entityFilter.isEmpty() && !entityFilter.contains(targetType)) {
-      return Optional.empty();
+      return null;
     }
 
     MetadataEntity metadataEntity = MetadataKey.extractMetadataEntityFromKey(rowKey);
@@ -808,15 +855,12 @@ public class MetadataDataset extends AbstractDataset {
       NamespacedEntityId namespacedEntityId = EntityId.fromMetadataEntity(metadataEntity);
       // if the entity starts with _ then skip it unless the caller choose to showHidden.
       if (!showHidden && namespacedEntityId != null && namespacedEntityId.getEntityName().startsWith("_")) {
-        return Optional.empty();
+        return null;
       }
     } catch (IllegalArgumentException e) {
       // ignore. For custom entities we don't really want to hide them if they start with _
     }
-
-    String key = MetadataKey.extractMetadataKey(rowKey);
-    MetadataEntry entry = getMetadata(metadataEntity, key);
-    return Optional.ofNullable(entry);
+    return metadataEntity;
   }
 
   /**
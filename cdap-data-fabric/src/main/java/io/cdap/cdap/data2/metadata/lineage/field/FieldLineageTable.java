@@ -43,6 +43,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -334,6 +335,72 @@ public class FieldLineageTable {
     return result;
   }
 
+  /**
+   * Get the incoming summaries of all the fields of the specified EndPoint over a given time range.
+   * This is the same as calling {@link #getIncomingSummary(EndPointField, long, long)} for every field of the
+   * EndPoint, but only scans the program runs in the time range once.
+   *
+   * @param endPoint the EndPoint for which incoming summaries to be returned
+   * @param start start time (inclusive) in milliseconds
+   * @param end end time (exclusive) in milliseconds
+   * @return the set of EndPointFields keyed by the field of the EndPoint. Fields without any incoming summary
+   *         are not in the map.
+   */
+  public Map<String, Set<EndPointField>> getIncomingSummaries(EndPoint endPoint, long start, long end)
+    throws IOException {
+    return getSummaries(INCOMING_DIRECTION_MARKER, endPoint, start, end);
+  }
+
+  /**
+   * Get the outgoing summaries of all the fields of the specified EndPoint over a given time range.
+   * This is the same as calling {@link #getOutgoingSummary(EndPointField, long, long)} for every field of the
+   * EndPoint, but only scans the program runs in the time range once.
+   *
+   * @param endPoint the EndPoint for which outgoing summaries to be returned
+   * @param start start time (inclusive) in milliseconds
+   * @param end end time (exclusive) in milliseconds
+   * @return the set of EndPointFields keyed by the field of the EndPoint. Fields without any outgoing summary
+   *         are not in the map.
+   */
+  public Map<String, Set<EndPointField>> getOutgoingSummaries(EndPoint endPoint, long start, long end)
+    throws IOException {
+    return getSummaries(OUTGOING_DIRECTION_MARKER, endPoint, start, end);
+  }
+
+  private Map<String, Set<EndPointField>> getSummaries(String direction, EndPoint endPoint, long start, long end)
+    throws IOException {
+    // Many program runs share the same checksum, hence each checksum is only scanned once
+    Set<Long> checksums = getChecksumsWithProgramRunsInRange(direction, endPoint, start, end).keySet();
+    Map<String, Set<EndPointField>> result = new HashMap<>();
+    if (checksums.isEmpty()) {
+      return result;
+    }
+
+    List<Range> ranges = new ArrayList<>();
+    for (long checksum : checksums) {
+      ranges.add(Range.singleton(getSummaryPrefix(checksum, direction, endPoint)));
+    }
+    try (CloseableIterator<StructuredRow> iterator = getSummaryFieldsTable().multiScan(ranges, Integer.MAX_VALUE)) {
+      while (iterator.hasNext()) {
+        StructuredRow row = iterator.next();
+        String value = row.getString(StoreDefinition.FieldLineageStore.DESTINATION_DATA_FIELD);
+        Set<EndPointField> endPointFields;
+        try {
+          endPointFields = GSON.fromJson(value, SET_ENDPOINT_FIELD_TYPE);
+        } catch (JsonSyntaxException e) {
+          LOG.warn(String.format("Failed to parse json from checksum %d.",
+                                 row.getLong(StoreDefinition.FieldLineageStore.CHECKSUM_FIELD)));
+          continue;
+        }
+        if (endPointFields != null) {
+          result.computeIfAbsent(row.getString(StoreDefinition.FieldLineageStore.ENDPOINT_FIELD),
+                                 k -> new HashSet<>()).addAll(endPointFields);
+        }
+      }
+    }
+    return result;
+  }
+
   /**
    * Get the set of operations which were responsible for computing the fields
    * of the specified EndPoint over a given time range. Along with the operations, program
@@ -46,6 +46,8 @@ import java.util.concurrent.TimeUnit;
 // todo: consider extracting base class from HBaseDatasetMetricsReporter and LevelDBDatasetMetricsReporter
 public class LevelDBDatasetMetricsReporter extends AbstractScheduledService implements DatasetMetricsReporter {
   private static final int BYTES_IN_MB = 1024 * 1024;
+  private static final String GROUP_COMMIT_BATCHES = "leveldb.group.commit.batches";
+  private static final String GROUP_COMMIT_LATENCY = "leveldb.group.commit.latency.us";
 
   private final int reportIntervalInSec;
   private final MetricsCollectionService metricsService;
@@ -88,12 +90,33 @@ public class LevelDBDatasetMetricsReporter extends AbstractScheduledService impl
   }
 
   private void reportStats() throws Exception {
+    reportGroupCommitStats(ldbService.getGroupCommitStats());
     Map<TableId, LevelDBTableService.TableStats> tableStats = ldbService.getTableStats();
     if (tableStats.size() > 0) {
       report(tableStats);
     }
   }
 
+  /**
+   * Reports the group commit histograms, with one counter per non-empty bucket named by the bucket upper bound.
+   */
+  private void reportGroupCommitStats(LevelDBTableService.GroupCommitStats stats) {
+    MetricsContext collector =
+      metricsService.getContext(ImmutableMap.of(Constants.Metrics.Tag.NAMESPACE, NamespaceId.SYSTEM.getNamespace()));
+    reportHistogram(collector, GROUP_COMMIT_BATCHES, stats.drainBatchSizeHistogram());
+    reportHistogram(collector, GROUP_COMMIT_LATENCY, stats.drainLatencyHistogram());
+  }
+
+  private void reportHistogram(MetricsContext collector, String metricName, long[] histogram) {
+    for (int i = 0; i < histogram.length; i++) {
+      if (histogram[i] > 0) {
+        long upperBound = LevelDBTableService.GroupCommitStats.getBucketUpperBound(i);
+        String bucketName = upperBound == Long.MAX_VALUE ? "inf" : Long.toString(upperBound);
+        collector.increment(metricName + ".lt." + bucketName, histogram[i]);
+      }
+    }
+  }
+
   private void report(Map<TableId, LevelDBTableService.TableStats> datasetStat)
     throws DatasetManagementException, UnauthorizedException {
     for (Map.Entry<TableId, LevelDBTableService.TableStats> statEntry : datasetStat.entrySet()) {
@@ -34,7 +34,7 @@ import java.util.Optional;
 /**
  * Structured table that takes a delegation and emit metrics on each operation.
  */
-public class MetricStructuredTable implements StructuredTable {
+public class MetricStructuredTable implements StructuredTable, MultiRowWriter {
   private final StructuredTable structuredTable;
   private final MetricsCollector metricsCollector;
   private final String metricPrefix;
@@ -67,6 +67,25 @@ public class MetricStructuredTable implements StructuredTable {
     }
   }
 
+  @Override
+  public void multiUpsert(Collection<? extends Collection<Field<?>>> multiFields)
+    throws InvalidFieldException, IOException {
+    try {
+      if (!emitTimeMetrics) {
+        MultiRowWriter.upsert(structuredTable, multiFields);
+      } else {
+        long curTime = System.nanoTime();
+        MultiRowWriter.upsert(structuredTable, multiFields);
+        long duration = System.nanoTime() - curTime;
+        metricsCollector.increment(metricPrefix + "multi.upsert.time", duration);
+      }
+      metricsCollector.increment(metricPrefix + "multi.upsert.count", 1L);
+    } catch (Exception e) {
+      metricsCollector.increment(metricPrefix + "multi.upsert.error", 1L);
+      throw e;
+    }
+  }
+
   @Override
   public void update(Collection<Field<?>> fields) throws InvalidFieldException, IOException {
     try {
@@ -271,6 +290,25 @@ public class MetricStructuredTable implements StructuredTable {
     }
   }
 
+  @Override
+  public void multiDelete(Collection<? extends Collection<Field<?>>> multiKeys)
+    throws InvalidFieldException, IOException {
+    try {
+      if (!emitTimeMetrics) {
+        MultiRowWriter.delete(structuredTable, multiKeys);
+      } else {
+        long curTime = System.nanoTime();
+        MultiRowWriter.delete(structuredTable, multiKeys);
+        long duration = System.nanoTime() - curTime;
+        metricsCollector.increment(metricPrefix + "multi.delete.time", duration);
+      }
+      metricsCollector.increment(metricPrefix + "multi.delete.count", 1L);
+    } catch (Exception e) {
+      metricsCollector.increment(metricPrefix + "multi.delete.error", 1L);
+      throw e;
+    }
+  }
+
   @Override
   public void deleteAll(Range keyRange) throws InvalidFieldException, IOException {
     try {
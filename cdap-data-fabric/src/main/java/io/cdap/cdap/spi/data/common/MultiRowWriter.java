@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.spi.data.common;
+
+import io.cdap.cdap.spi.data.InvalidFieldException;
+import io.cdap.cdap.spi.data.StructuredTable;
+import io.cdap.cdap.spi.data.table.field.Field;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Implemented by {@link StructuredTable} implementations that can write or delete multiple rows more efficiently
+ * than doing it one row at a time, for example by batching the writes into fewer round trips to the storage.
+ * Use the static {@link #upsert(StructuredTable, Collection)} and {@link #delete(StructuredTable, Collection)}
+ * methods to make use of it when available, with fallback to one row at a time otherwise.
+ */
+public interface MultiRowWriter {
+
+  /**
+   * Inserts or replaces multiple rows. The result is the same as calling {@link StructuredTable#upsert(Collection)}
+   * for each of the rows in the iteration order.
+   *
+   * @param multiFields collection of rows, each of them must contain all the primary keys
+   * @throws InvalidFieldException if any of the fields is not part of the table schema, or their types do not match
+   * @throws IOException if failed to write to the table
+   */
+  void multiUpsert(Collection<? extends Collection<Field<?>>> multiFields) throws InvalidFieldException, IOException;
+
+  /**
+   * Deletes multiple rows. The result is the same as calling {@link StructuredTable#delete(Collection)}
+   * for each of the keys.
+   *
+   * @param multiKeys collection of primary keys of the rows to delete
+   * @throws InvalidFieldException if any of the keys is not part of the table schema, or their types do not match
+   * @throws IOException if failed to delete from the table
+   */
+  void multiDelete(Collection<? extends Collection<Field<?>>> multiKeys) throws InvalidFieldException, IOException;
+
+  /**
+   * Inserts or replaces multiple rows in the given table, using {@link #multiUpsert(Collection)} if the table
+   * supports it.
+   */
+  static void upsert(StructuredTable table,
+                     Collection<? extends Collection<Field<?>>> multiFields) throws InvalidFieldException, IOException {
+    if (table instanceof MultiRowWriter) {
+      ((MultiRowWriter) table).multiUpsert(multiFields);
+      return;
+    }
+    for (Collection<Field<?>> fields : multiFields) {
+      table.upsert(fields);
+    }
+  }
+
+  /**
+   * Deletes multiple rows from the given table, using {@link #multiDelete(Collection)} if the table supports it.
+   */
+  static void delete(StructuredTable table,
+                     Collection<? extends Collection<Field<?>>> multiKeys) throws InvalidFieldException, IOException {
+    if (table instanceof MultiRowWriter) {
+      ((MultiRowWriter) table).multiDelete(multiKeys);
+      return;
+    }
+    for (Collection<Field<?>> keys : multiKeys) {
+      table.delete(keys);
+    }
+  }
+}
@@ -31,6 +31,7 @@ import io.cdap.cdap.data2.dataset2.lib.table.MDSKey;
 import io.cdap.cdap.spi.data.InvalidFieldException;
 import io.cdap.cdap.spi.data.StructuredRow;
 import io.cdap.cdap.spi.data.StructuredTable;
+import io.cdap.cdap.spi.data.common.MultiRowWriter;
 import io.cdap.cdap.spi.data.table.StructuredTableSchema;
 import io.cdap.cdap.spi.data.table.field.Field;
 import io.cdap.cdap.spi.data.table.field.FieldType;
@@ -56,7 +57,7 @@ import java.util.stream.Collectors;
 /**
  * Nosql structured table implementation. This table will prepend the table name as the prefix for each row key.
  */
-public final class NoSqlStructuredTable implements StructuredTable {
+public final class NoSqlStructuredTable implements StructuredTable, MultiRowWriter {
   private static final Logger LOG = LoggerFactory.getLogger(NoSqlStructuredTable.class);
   private final IndexedTable table;
   private final StructuredTableSchema schema;
@@ -77,6 +78,16 @@ public final class NoSqlStructuredTable implements StructuredTable {
     table.put(convertFieldsToBytes(fields));
   }
 
+  @Override
+  public void multiUpsert(Collection<? extends Collection<Field<?>>> multiFields) throws InvalidFieldException {
+    LOG.trace("Table {}: Write multiple rows {}", schema.getTableId(), multiFields);
+    // Convert all rows first so that nothing is written if any of the rows is invalid
+    List<Put> puts = multiFields.stream().map(this::convertFieldsToBytes).collect(Collectors.toList());
+    for (Put put : puts) {
+      table.put(put);
+    }
+  }
+
   @Override
   public void update(Collection<Field<?>> fields) throws InvalidFieldException {
     LOG.trace("Table {}: Update fields {}", schema.getTableId(), fields);
@@ -225,6 +236,15 @@ public final class NoSqlStructuredTable implements StructuredTable {
     table.delete(convertKeyToBytes(keys, false));
   }
 
+  @Override
+  public void multiDelete(Collection<? extends Collection<Field<?>>> multiKeys) throws InvalidFieldException {
+    LOG.trace("Table {}: Delete with multiple keys {}", schema.getTableId(), multiKeys);
+    List<byte[]> rowKeys = multiKeys.stream().map(k -> convertKeyToBytes(k, false)).collect(Collectors.toList());
+    for (byte[] rowKey : rowKeys) {
+      table.delete(rowKey);
+    }
+  }
+
   @Override
   public void deleteAll(Range keyRange) throws InvalidFieldException, IOException {
     LOG.trace("Table {}: DeleteAll with range {}", schema.getTableId(), keyRange);
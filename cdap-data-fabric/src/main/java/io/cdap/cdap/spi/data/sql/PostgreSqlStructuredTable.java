@@ -23,6 +23,8 @@ import io.cdap.cdap.spi.data.InvalidFieldException;
 import io.cdap.cdap.spi.data.SortOrder;
 import io.cdap.cdap.spi.data.StructuredRow;
 import io.cdap.cdap.spi.data.StructuredTable;
+import io.cdap.cdap.spi.data.common.MultiRowWriter;
+import io.cdap.cdap.spi.data.sql.StatementCache.CachedStatement;
 import io.cdap.cdap.spi.data.table.StructuredTableSchema;
 import io.cdap.cdap.spi.data.table.field.Field;
 import io.cdap.cdap.spi.data.table.field.FieldType;
@@ -38,7 +40,6 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -52,6 +53,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.annotation.Nullable;
@@ -59,43 +61,60 @@ import javax.annotation.Nullable;
 /**
  * Sql structured table implementation.
  */
-public class PostgreSqlStructuredTable implements StructuredTable {
+public class PostgreSqlStructuredTable implements StructuredTable, MultiRowWriter {
   private static final Logger LOG = LoggerFactory.getLogger(PostgreSqlStructuredTable.class);
-
+  // Maximum number of statements to send to the database in one JDBC batch
+  private static final int MAX_BATCH_SIZE = 1000;
 
   private final Connection connection;
   private final StructuredTableSchema tableSchema;
   private final FieldValidator fieldValidator;
   private final int fetchSize;
+  private final StatementCache statementCache;
 
   public PostgreSqlStructuredTable(Connection connection, StructuredTableSchema tableSchema, int fetchSize) {
+    this(connection, tableSchema, fetchSize, new StatementCache(connection, 0));
+  }
+
+  /**
+   * Creates an instance that prepares statements through the given {@link StatementCache}, which can be shared
+   * by all tables using the same connection.
+   */
+  PostgreSqlStructuredTable(Connection connection, StructuredTableSchema tableSchema, int fetchSize,
+                            StatementCache statementCache) {
     this.connection = connection;
     this.tableSchema = tableSchema;
     this.fieldValidator = new FieldValidator(tableSchema);
     this.fetchSize = fetchSize;
+    this.statementCache = statementCache;
   }
 
   @Override
   public void upsert(Collection<Field<?>> fields) throws InvalidFieldException, IOException {
     LOG.trace("Table {}: Write fields {}", tableSchema.getTableId(), fields);
-    Set<String> fieldNames = fields.stream().map(Field::getName).collect(Collectors.toSet());
-    if (!fieldNames.containsAll(tableSchema.getPrimaryKeys())) {
-      throw new InvalidFieldException(tableSchema.getTableId(), fields,
-                                      String.format("Given fields %s do not contain all the " +
-                                                      "primary keys %s", fieldNames, tableSchema.getPrimaryKeys()));
-    }
+    checkPrimaryKeys(fields);
     upsertInternal(fields);
   }
 
+  @Override
+  public void multiUpsert(Collection<? extends Collection<Field<?>>> multiFields)
+    throws InvalidFieldException, IOException {
+    LOG.trace("Table {}: Write multiple rows {}", tableSchema.getTableId(), multiFields);
+    for (Collection<Field<?>> fields : multiFields) {
+      checkPrimaryKeys(fields);
+    }
+    try {
+      executeBatch(multiFields, fields -> getWriteSqlQuery(fields, null));
+    } catch (SQLException e) {
+      throw new IOException(String.format("Failed to write %d rows to table %s",
+                                          multiFields.size(), tableSchema.getTableId().getName()), e);
+    }
+  }
+
   @Override
   public void update(Collection<Field<?>> fields) throws InvalidFieldException, IOException {
     LOG.trace("Table {}: Update fields {}", tableSchema.getTableId(), fields);
-    Set<String> fieldNames = fields.stream().map(Field::getName).collect(Collectors.toSet());
-    if (!fieldNames.containsAll(tableSchema.getPrimaryKeys())) {
-      throw new InvalidFieldException(tableSchema.getTableId(), fields,
-                                      String.format("Given fields %s do not contain all the " +
-                                                      "primary keys %s", fieldNames, tableSchema.getPrimaryKeys()));
-    }
+    checkPrimaryKeys(fields);
     updateInternal(fields);
   }
 
@@ -136,7 +155,8 @@ public class PostgreSqlStructuredTable implements StructuredTable {
       .flatMap(Collection::stream)
       .forEach(field -> keyFields.computeIfAbsent(field.getName(), k -> new LinkedHashSet<>()).add(field));
 
-    try (PreparedStatement statement = prepareMultiReadQuery(keyFields)) {
+    try (CachedStatement cachedStatement = prepareMultiReadQuery(keyFields)) {
+      PreparedStatement statement = cachedStatement.getStatement();
       LOG.trace("SQL statement: {}", statement);
       Collection<StructuredRow> result = new ArrayList<>();
       try (ResultSet resultSet = statement.executeQuery()) {
@@ -157,7 +177,7 @@ public class PostgreSqlStructuredTable implements StructuredTable {
    * @param keyFields a map from field name to set of field values to query
    * @return a SELECT query ready to be used for creating prepared statement
    */
-  private PreparedStatement prepareMultiReadQuery(Map<String, Set<Field<?>>> keyFields) throws SQLException {
+  private CachedStatement prepareMultiReadQuery(Map<String, Set<Field<?>>> keyFields) throws SQLException {
     StringBuilder queryString =
       new StringBuilder("SELECT ")
         .append("*")
@@ -175,12 +195,13 @@ public class PostgreSqlStructuredTable implements StructuredTable {
     );
     queryString.append(";");
 
-    PreparedStatement preparedStatement = connection.prepareStatement(queryString.toString());
+    CachedStatement cachedStatement = statementCache.prepare(queryString.toString());
+    PreparedStatement preparedStatement = cachedStatement.getStatement();
     preparedStatement.setFetchSize(fetchSize);
 
     // Set fields to the statement
     setFields(preparedStatement, keyFields.values().stream().flatMap(Collection::stream)::iterator, 1);
-    return preparedStatement;
+    return cachedStatement;
   }
 
   /**
@@ -212,17 +233,19 @@ public class PostgreSqlStructuredTable implements StructuredTable {
     LOG.trace("Table {}: Scan range {} with limit {} order {}", tableSchema.getTableId(), keyRange, limit, sortOrder);
     fieldValidator.validatePrimaryKeys(keyRange.getBegin(), true);
     fieldValidator.validatePrimaryKeys(keyRange.getEnd(), true);
-    String scanQuery = getScanQuery(keyRange, limit, sortOrder);
+    String scanQuery = getScanQuery(keyRange, sortOrder);
 
-    // We don't close the statement here because once it is closed, the result set is also closed.
+    // We don't release the statement here because once it is closed, the result set is also closed.
     try {
-      PreparedStatement statement = connection.prepareStatement(scanQuery);
+      CachedStatement cachedStatement = statementCache.prepare(scanQuery);
+      PreparedStatement statement = cachedStatement.getStatement();
       statement.setFetchSize(fetchSize);
-      setStatementFieldByRange(keyRange, statement);
+      int index = setStatementFieldByRange(keyRange, statement, 1);
+      statement.setInt(index, limit);
       LOG.trace("SQL statement: {}", statement);
 
       ResultSet resultSet = statement.executeQuery();
-      return new ResultSetIterator(statement, resultSet, tableSchema);
+      return new ResultSetIterator(cachedStatement, resultSet, tableSchema);
     } catch (SQLException e) {
       throw new IOException(String.format("Failed to scan from table %s with range %s",
                                           tableSchema.getTableId().getName(), keyRange), e);
@@ -261,12 +284,13 @@ public class PostgreSqlStructuredTable implements StructuredTable {
     }
 
     try {
-      // Don't close the statement. Leave it to the ResultSetIterator.close() to close it.
-      PreparedStatement statement = prepareMultiScanQuery(keyFields, rangeScans, limit);
+      // Don't release the statement. Leave it to the ResultSetIterator.close() to release it.
+      CachedStatement cachedStatement = prepareMultiScanQuery(keyFields, rangeScans, limit);
+      PreparedStatement statement = cachedStatement.getStatement();
       LOG.trace("MultiScan SQL statement: {}", statement);
 
       ResultSet resultSet = statement.executeQuery();
-      return new ResultSetIterator(statement, resultSet, tableSchema);
+      return new ResultSetIterator(cachedStatement, resultSet, tableSchema);
     } catch (SQLException e) {
       throw new IOException(String.format("Failed to scan from table %s with ranges %s",
                                           tableSchema.getTableId().getName(), keyRanges), e);
@@ -279,14 +303,14 @@ public class PostgreSqlStructuredTable implements StructuredTable {
    * E.g.
    *
    * SELECT * FROM table WHERE key1 in (?,?) AND key2 in (?,?)
-   * OR ((key3 >= ?) AND (key3 <= ?)) OR ((key4 >= ?) AND (key4 <= ?)) LIMIT limit
+   * OR ((key3 >= ?) AND (key3 <= ?)) OR ((key4 >= ?) AND (key4 <= ?)) LIMIT ?
    *
    * @param keyFields a map from field name to field values that the query has to match with
    * @param ranges the list of ranges to scan
    * @param limit number of result
-   * @return a select query
+   * @return a {@link CachedStatement} for the select query with all the parameters set
    */
-  private PreparedStatement prepareMultiScanQuery(Map<String, Set<Field<?>>> keyFields,
+  private CachedStatement prepareMultiScanQuery(Map<String, Set<Field<?>>> keyFields,
                                                   Collection<Range> ranges, int limit) throws SQLException {
     StringBuilder query = new StringBuilder("SELECT * FROM ")
       .append(tableSchema.getTableId().getName()).append(" WHERE ");
@@ -314,9 +338,10 @@ public class PostgreSqlStructuredTable implements StructuredTable {
       query.append(")");
     }
     query.append(getOrderByClause(tableSchema.getPrimaryKeys()));
-    query.append(" LIMIT ").append(limit).append(";");
+    query.append(" LIMIT ?;");
 
-    PreparedStatement statement = connection.prepareStatement(query.toString());
+    CachedStatement cachedStatement = statementCache.prepare(query.toString());
+    PreparedStatement statement = cachedStatement.getStatement();
     statement.setFetchSize(fetchSize);
 
     // Set the parameters
@@ -324,7 +349,8 @@ public class PostgreSqlStructuredTable implements StructuredTable {
     for (Range range : ranges) {
       index = setStatementFieldByRange(range, statement, index);
     }
-    return statement;
+    statement.setInt(index, limit);
+    return cachedStatement;
   }
 
   @Override
@@ -336,14 +362,15 @@ public class PostgreSqlStructuredTable implements StructuredTable {
     }
 
     String sql = getReadQuery(Collections.singleton(index), null, false);
-    // We don't close the statement here because once it is closed, the result set is also closed.
+    // We don't release the statement here because once it is closed, the result set is also closed.
     try {
-      PreparedStatement statement = connection.prepareStatement(sql);
+      CachedStatement cachedStatement = statementCache.prepare(sql);
+      PreparedStatement statement = cachedStatement.getStatement();
       statement.setFetchSize(fetchSize);
       setField(statement, index, 1);
       LOG.trace("SQL statement: {}", statement);
       ResultSet resultSet = statement.executeQuery();
-      return new ResultSetIterator(statement, resultSet, tableSchema);
+      return new ResultSetIterator(cachedStatement, resultSet, tableSchema);
     } catch (SQLException e) {
       throw new IOException(String.format("Failed to scan from table %s with index %s",
                                           tableSchema.getTableId().getName(), index), e);
@@ -373,7 +400,8 @@ public class PostgreSqlStructuredTable implements StructuredTable {
 
     // First compare
     String readQuery = getReadQuery(keys, Collections.singleton(oldValue.getName()), true);
-    try (PreparedStatement statement = connection.prepareStatement(readQuery)) {
+    try (CachedStatement cachedStatement = statementCache.prepare(readQuery)) {
+      PreparedStatement statement = cachedStatement.getStatement();
       statement.setFetchSize(fetchSize);
       int index = 1;
       for (Field<?> key : keys) {
@@ -430,7 +458,8 @@ public class PostgreSqlStructuredTable implements StructuredTable {
     // If the row does not exist, insert it with long field = amount
     fieldsWithValue.add(Fields.longField(column, amount));
     String sql = getWriteSqlQuery(fieldsWithValue, column);
-    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+    try (CachedStatement cachedStatement = statementCache.prepare(sql)) {
+      PreparedStatement statement = cachedStatement.getStatement();
       int index = 1;
       for (Field<?> key : fieldsWithValue) {
         setField(statement, key, index);
@@ -451,7 +480,8 @@ public class PostgreSqlStructuredTable implements StructuredTable {
     LOG.trace("Table {}: Delete with keys {}", tableSchema.getTableId(), keys);
     fieldValidator.validatePrimaryKeys(keys, false);
     String sqlQuery = getDeleteQuery(keys);
-    try (PreparedStatement statement = connection.prepareStatement(sqlQuery)) {
+    try (CachedStatement cachedStatement = statementCache.prepare(sqlQuery)) {
+      PreparedStatement statement = cachedStatement.getStatement();
       int index = 1;
       for (Field<?> key : keys) {
         setField(statement, key, index);
@@ -465,13 +495,29 @@ public class PostgreSqlStructuredTable implements StructuredTable {
     }
   }
 
+  @Override
+  public void multiDelete(Collection<? extends Collection<Field<?>>> multiKeys)
+    throws InvalidFieldException, IOException {
+    LOG.trace("Table {}: Delete with multiple keys {}", tableSchema.getTableId(), multiKeys);
+    for (Collection<Field<?>> keys : multiKeys) {
+      fieldValidator.validatePrimaryKeys(keys, false);
+    }
+    try {
+      executeBatch(multiKeys, this::getDeleteQuery);
+    } catch (SQLException e) {
+      throw new IOException(String.format("Failed to delete %d rows from table %s",
+                                          multiKeys.size(), tableSchema.getTableId().getName()), e);
+    }
+  }
+
   @Override
   public void deleteAll(Range keyRange) throws InvalidFieldException, IOException {
     LOG.trace("Table {}: DeleteAll with range {}", tableSchema.getTableId(), keyRange);
     fieldValidator.validatePrimaryKeys(keyRange.getBegin(), true);
     fieldValidator.validatePrimaryKeys(keyRange.getEnd(), true);
     String sql = getDeleteAllStatement(keyRange);
-    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+    try (CachedStatement cachedStatement = statementCache.prepare(sql)) {
+      PreparedStatement statement = cachedStatement.getStatement();
       setStatementFieldByRange(keyRange, statement);
       LOG.trace("SQL statement: {}", statement);
 
@@ -486,12 +532,12 @@ public class PostgreSqlStructuredTable implements StructuredTable {
   public long count(Collection<Range> keyRanges) throws IOException {
     LOG.trace("Table {}: count with ranges {}", tableSchema.getTableId(), keyRanges);
     String sql = getCountStatement(keyRanges);
-    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+    try (CachedStatement cachedStatement = statementCache.prepare(sql)) {
+      PreparedStatement statement = cachedStatement.getStatement();
       statement.setFetchSize(fetchSize);
       setStatementFieldByRange(keyRanges, statement);
       LOG.trace("SQL statement: {}", statement);
 
-      statement.executeQuery();
       try (ResultSet resultSet = statement.executeQuery()) {
         if (!resultSet.next()) {
           LOG.warn("Failed to get count from table {}", tableSchema.getTableId().getName());
@@ -514,9 +560,68 @@ public class PostgreSqlStructuredTable implements StructuredTable {
     }
   }
 
+  private void checkPrimaryKeys(Collection<Field<?>> fields) throws InvalidFieldException {
+    Set<String> fieldNames = fields.stream().map(Field::getName).collect(Collectors.toSet());
+    if (!fieldNames.containsAll(tableSchema.getPrimaryKeys())) {
+      throw new InvalidFieldException(tableSchema.getTableId(), fields,
+                                      String.format("Given fields %s do not contain all the " +
+                                                      "primary keys %s", fieldNames, tableSchema.getPrimaryKeys()));
+    }
+  }
+
+  /**
+   * Executes a statement for each of the given rows using JDBC batching. Consecutive rows that map to the same
+   * SQL query share the same {@link PreparedStatement}, so that rows are executed in the same order as given.
+   *
+   * @param rows the rows to execute the statements for. The fields of each row are set to the statement in order
+   * @param queryFunction function to generate the SQL query for a row
+   */
+  private void executeBatch(Iterable<? extends Collection<Field<?>>> rows,
+                            Function<Collection<Field<?>>, String> queryFunction) throws SQLException {
+    CachedStatement cachedStatement = null;
+    String statementQuery = null;
+    int batchSize = 0;
+    try {
+      for (Collection<Field<?>> row : rows) {
+        String query = queryFunction.apply(row);
+        if (!query.equals(statementQuery)) {
+          if (cachedStatement != null) {
+            executeBatch(cachedStatement.getStatement(), batchSize);
+            cachedStatement.close();
+          }
+          cachedStatement = statementCache.prepare(query);
+          statementQuery = query;
+          batchSize = 0;
+        }
+        PreparedStatement statement = cachedStatement.getStatement();
+        setFields(statement, row, 1);
+        statement.addBatch();
+        if (++batchSize >= MAX_BATCH_SIZE) {
+          executeBatch(statement, batchSize);
+          batchSize = 0;
+        }
+      }
+      if (cachedStatement != null) {
+        executeBatch(cachedStatement.getStatement(), batchSize);
+      }
+    } finally {
+      if (cachedStatement != null) {
+        cachedStatement.close();
+      }
+    }
+  }
+
+  private void executeBatch(PreparedStatement statement, int batchSize) throws SQLException {
+    if (batchSize > 0) {
+      LOG.trace("SQL statement: {} with batch size {}", statement, batchSize);
+      statement.executeBatch();
+    }
+  }
+
   private void upsertInternal(Collection<Field<?>> fields) throws IOException {
     String sqlQuery = getWriteSqlQuery(fields, null);
-    try (PreparedStatement statement = connection.prepareStatement(sqlQuery)) {
+    try (CachedStatement cachedStatement = statementCache.prepare(sqlQuery)) {
+      PreparedStatement statement = cachedStatement.getStatement();
       int index = 1;
       for (Field<?> field : fields) {
         setField(statement, field, index);
@@ -532,7 +637,8 @@ public class PostgreSqlStructuredTable implements StructuredTable {
 
   private void updateInternal(Collection<Field<?>> fields) throws IOException {
     String sqlQuery = getUpdateSqlQuery(fields);
-    try (PreparedStatement statement = connection.prepareStatement(sqlQuery)) {
+    try (CachedStatement cachedStatement = statementCache.prepare(sqlQuery)) {
+      PreparedStatement statement = cachedStatement.getStatement();
       Map<Boolean, List<Field<?>>> lists = fields.stream().collect(
         Collectors.partitioningBy(field -> tableSchema.isPrimaryKeyColumn(field.getName())));
       int index = 1;
@@ -566,7 +672,8 @@ public class PostgreSqlStructuredTable implements StructuredTable {
     LOG.trace("Table {}: Read with keys {} and columns {}", tableSchema.getTableId(), keys, columns);
     fieldValidator.validatePrimaryKeys(keys, false);
     String readQuery = getReadQuery(keys, columns, false);
-    try (PreparedStatement statement = connection.prepareStatement(readQuery)) {
+    try (CachedStatement cachedStatement = statementCache.prepare(readQuery)) {
+      PreparedStatement statement = cachedStatement.getStatement();
       statement.setFetchSize(fetchSize);
 
       int index = 1;
@@ -765,14 +872,14 @@ public class PostgreSqlStructuredTable implements StructuredTable {
   /**
    * Get the scan query for the range given. For example, if the range provides key1, key2 as the begin and end to
    * scan, both rows are inclusive, it will generate the following query:
-   * SELECT * FROM simpletable WHERE (key1,key2)>=(?,?) AND (key1,key2)<=(?,?) LIMIT 10;
+   * SELECT * FROM simpletable WHERE (key1,key2)>=(?,?) AND (key1,key2)<=(?,?) LIMIT ?;
+   * The limit is passed as the last parameter, so that scans with different limits share the same query.
    *
    * @param range the range to scan.
-   * @param limit limit number of row
    * @param sortOrder sort order
    * @return the scan query
    */
-  private String getScanQuery(Range range, int limit, SortOrder sortOrder) {
+  private String getScanQuery(Range range, SortOrder sortOrder) {
     StringBuilder queryString = new StringBuilder("SELECT * FROM ").append(tableSchema.getTableId().getName());
     if (!range.getBegin().isEmpty() || !range.getEnd().isEmpty()) {
       queryString.append(" WHERE ");
@@ -780,7 +887,7 @@ public class PostgreSqlStructuredTable implements StructuredTable {
     }
 
     queryString.append(getOrderByClause(tableSchema.getPrimaryKeys(), sortOrder));
-    queryString.append(" LIMIT ").append(limit).append(";");
+    queryString.append(" LIMIT ?;");
     return queryString.toString();
   }
 
@@ -886,14 +993,15 @@ public class PostgreSqlStructuredTable implements StructuredTable {
   }
 
   private static final class ResultSetIterator extends AbstractCloseableIterator<StructuredRow> {
-    private final Statement statement;
+    private final CachedStatement cachedStatement;
     private final ResultSet resultSet;
     private final Set<String> columnNames;
     private final StructuredTableSchema schema;
 
 
-    ResultSetIterator(Statement statement, ResultSet resultSet, StructuredTableSchema schema) throws SQLException {
-      this.statement = statement;
+    ResultSetIterator(CachedStatement cachedStatement, ResultSet resultSet,
+                      StructuredTableSchema schema) throws SQLException {
+      this.cachedStatement = cachedStatement;
       this.resultSet = resultSet;
       this.columnNames = createColNames(resultSet.getMetaData());
       this.schema = schema;
@@ -919,8 +1027,8 @@ public class PostgreSqlStructuredTable implements StructuredTable {
     @Override
     public void close() {
       try {
-        statement.close();
         resultSet.close();
+        cachedStatement.close();
       } catch (SQLException e) {
         LOG.warn("Failed to close the result set", e);
       }
@@ -53,7 +53,7 @@ public class RetryingSqlTransactionRunner implements TransactionRunner {
     this.transactionRunner =
       new SqlTransactionRunner(tableAdmin, dataSource, metricsCollectionService,
                                cConf.getBoolean(Constants.Metrics.STRUCTURED_TABLE_TIME_METRICS_ENABLED),
-                               scanFetchSize);
+                               scanFetchSize, cConf.getInt(Constants.Dataset.DATA_STORAGE_SQL_STATEMENT_CACHE_SIZE));
     this.metricsCollectionService = metricsCollectionService;
   }
 
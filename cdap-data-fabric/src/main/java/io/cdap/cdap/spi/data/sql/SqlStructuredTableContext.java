@@ -17,6 +17,7 @@
 package io.cdap.cdap.spi.data.sql;
 
 import io.cdap.cdap.api.metrics.MetricsCollector;
+import io.cdap.cdap.common.conf.Constants;
 import io.cdap.cdap.spi.data.StructuredTable;
 import io.cdap.cdap.spi.data.StructuredTableAdmin;
 import io.cdap.cdap.spi.data.StructuredTableContext;
@@ -29,22 +30,31 @@ import java.io.IOException;
 import java.sql.Connection;
 
 /**
- * The Sql context to get the table.
+ * The Sql context to get the table. All tables returned by the same context share a {@link StatementCache}
+ * for the connection, which is closed when the context is closed.
  */
-public class SqlStructuredTableContext implements StructuredTableContext {
+public class SqlStructuredTableContext implements StructuredTableContext, AutoCloseable {
   private final StructuredTableAdmin admin;
   private final Connection connection;
   private final MetricsCollector metricsCollector;
   private final boolean emitTimeMetrics;
   private final int scanFetchSize;
+  private final StatementCache statementCache;
 
   public SqlStructuredTableContext(StructuredTableAdmin structuredTableAdmin, Connection connection,
                                    MetricsCollector metricsCollector, boolean emitTimeMetrics, int scanFetchSize) {
+    this(structuredTableAdmin, connection, metricsCollector, emitTimeMetrics, scanFetchSize, 0);
+  }
+
+  public SqlStructuredTableContext(StructuredTableAdmin structuredTableAdmin, Connection connection,
+                                   MetricsCollector metricsCollector, boolean emitTimeMetrics, int scanFetchSize,
+                                   int statementCacheSize) {
     this.admin = structuredTableAdmin;
     this.connection = connection;
     this.metricsCollector = metricsCollector;
     this.emitTimeMetrics = emitTimeMetrics;
     this.scanFetchSize = scanFetchSize;
+    this.statementCache = new StatementCache(connection, statementCacheSize);
   }
 
   @Override
@@ -53,9 +63,23 @@ public class SqlStructuredTableContext implements StructuredTableContext {
 
     try {
       return new MetricStructuredTable(tableId, new PostgreSqlStructuredTable(connection, admin.getSchema(tableId),
-          scanFetchSize), metricsCollector, emitTimeMetrics);
+          scanFetchSize, statementCache), metricsCollector, emitTimeMetrics);
     } catch (IOException e) {
       throw new StructuredTableInstantiationException(tableId, "Failed to get the table schema", e);
     }
   }
+
+  /**
+   * Closes all the cached statements and emits the statement cache metrics. The connection is not closed.
+   */
+  @Override
+  public void close() {
+    statementCache.close();
+    if (statementCache.getHits() > 0) {
+      metricsCollector.increment(Constants.Metrics.StructuredTable.STATEMENT_CACHE_HIT, statementCache.getHits());
+    }
+    if (statementCache.getMisses() > 0) {
+      metricsCollector.increment(Constants.Metrics.StructuredTable.STATEMENT_CACHE_MISS, statementCache.getMisses());
+    }
+  }
 }
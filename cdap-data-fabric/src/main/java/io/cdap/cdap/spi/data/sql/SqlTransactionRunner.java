@@ -41,15 +41,23 @@ public class SqlTransactionRunner implements TransactionRunner {
   private final MetricsCollectionService metricsCollectionService;
   private final boolean emitTimeMetrics;
   private final int scanFetchSize;
+  private final int statementCacheSize;
 
   public SqlTransactionRunner(StructuredTableAdmin tableAdmin, DataSource dataSource,
                               MetricsCollectionService metricsCollectionService,
                               boolean emitTimeMetrics, int scanFetchSize) {
+    this(tableAdmin, dataSource, metricsCollectionService, emitTimeMetrics, scanFetchSize, 0);
+  }
+
+  public SqlTransactionRunner(StructuredTableAdmin tableAdmin, DataSource dataSource,
+                              MetricsCollectionService metricsCollectionService,
+                              boolean emitTimeMetrics, int scanFetchSize, int statementCacheSize) {
     this.admin = tableAdmin;
     this.dataSource = dataSource;
     this.metricsCollectionService = metricsCollectionService;
     this.emitTimeMetrics = emitTimeMetrics;
     this.scanFetchSize = scanFetchSize;
+    this.statementCacheSize = statementCacheSize;
   }
 
   @Override
@@ -67,8 +75,11 @@ public class SqlTransactionRunner implements TransactionRunner {
       metricsCollector.increment(Constants.Metrics.StructuredTable.TRANSACTION_COUNT, 1L);
       connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
       connection.setAutoCommit(false);
-      runnable.run(new SqlStructuredTableContext(admin, connection, metricsCollector, emitTimeMetrics,
-          this.scanFetchSize));
+      try (SqlStructuredTableContext context = new SqlStructuredTableContext(admin, connection, metricsCollector,
+                                                                             emitTimeMetrics, this.scanFetchSize,
+                                                                             statementCacheSize)) {
+        runnable.run(context);
+      }
       connection.commit();
     } catch (Exception e) {
       Throwable cause = e.getCause();
@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.spi.data.sql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded LRU cache of {@link PreparedStatement} for a single {@link Connection}, keyed by the SQL query.
+ * The SQL generated by {@link PostgreSqlStructuredTable} only depends on the table, the operation, the key columns,
+ * the range shape and the sort order, with all values passed as parameters. Reusing the same statement object for
+ * the same query avoids preparing it again, and lets the JDBC driver switch to a server side prepared statement
+ * once the driver's prepare threshold is reached.
+ *
+ * Statements are checked out by {@link #prepare(String)} and returned to the cache when the returned
+ * {@link CachedStatement} is closed, hence a statement is never shared by two concurrent users, e.g. two open scans
+ * with the same query. This class is not thread safe, which is fine since a {@link Connection} is only used
+ * by one transaction at a time.
+ */
+final class StatementCache implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StatementCache.class);
+
+  private final Connection connection;
+  private final int maxSize;
+  private final Map<String, PreparedStatement> statements;
+  private long hits;
+  private long misses;
+  private boolean closed;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param connection the connection for preparing statements
+   * @param maxSize maximum number of idle statements to keep. If it is {@code 0}, statements are not cached.
+   */
+  StatementCache(Connection connection, int maxSize) {
+    this.connection = connection;
+    this.maxSize = maxSize;
+    this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+        if (size() <= StatementCache.this.maxSize) {
+          return false;
+        }
+        closeQuietly(eldest.getValue());
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Returns a {@link CachedStatement} for the given SQL query. The statement is either taken from the cache,
+   * with all its parameters cleared, or newly prepared from the connection. The returned {@link CachedStatement}
+   * must be closed to return the statement to the cache.
+   */
+  CachedStatement prepare(String sql) throws SQLException {
+    PreparedStatement statement = statements.remove(sql);
+    if (statement != null) {
+      hits++;
+      statement.clearParameters();
+      statement.clearBatch();
+    } else {
+      misses++;
+      statement = connection.prepareStatement(sql);
+    }
+    return new CachedStatement(sql, statement);
+  }
+
+  /**
+   * Returns the number of times a statement was found in the cache.
+   */
+  long getHits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of times a statement needed to be prepared from the connection.
+   */
+  long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Closes all the cached statements. Statements that are still checked out will be closed when they are released.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    List<PreparedStatement> idle = new ArrayList<>(statements.values());
+    statements.clear();
+    idle.forEach(StatementCache::closeQuietly);
+  }
+
+  private void release(String sql, PreparedStatement statement) throws SQLException {
+    // Only keep one idle statement per query. If there is already one, the one being released is redundant.
+    if (closed || maxSize <= 0 || statements.containsKey(sql)) {
+      statement.close();
+      return;
+    }
+    statements.put(sql, statement);
+  }
+
+  private static void closeQuietly(PreparedStatement statement) {
+    try {
+      statement.close();
+    } catch (SQLException e) {
+      LOG.debug("Failed to close cached statement {}", statement, e);
+    }
+  }
+
+  /**
+   * A {@link PreparedStatement} checked out from the {@link StatementCache}.
+   * Closing it returns the statement to the cache instead of closing the statement.
+   */
+  final class CachedStatement implements AutoCloseable {
+
+    private final String sql;
+    private final PreparedStatement statement;
+    private boolean released;
+
+    private CachedStatement(String sql, PreparedStatement statement) {
+      this.sql = sql;
+      this.statement = statement;
+    }
+
+    PreparedStatement getStatement() {
+      return statement;
+    }
+
+    @Override
+    public void close() throws SQLException {
+      if (!released) {
+        released = true;
+        release(sql, statement);
+      }
+    }
+  }
+}
@@ -16,6 +16,7 @@
 
 package io.cdap.cdap.spi.metadata.dataset;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -65,6 +66,7 @@ import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import javax.annotation.Nullable;
 
@@ -86,6 +88,9 @@ public class SearchHelper {
   private static final Comparator<Map.Entry<MetadataEntity, Integer>> SEARCH_RESULT_DESC_SCORE_COMPARATOR =
     // sort in descending order
     (o1, o2) -> o2.getValue() - o1.getValue();
+  // sort in descending order of the score, and break ties with the entity, such that every page has the same order
+  private static final Comparator<Map.Entry<MetadataEntity, Integer>> SEARCH_RESULT_DESC_SCORE_ENTITY_COMPARATOR =
+    SEARCH_RESULT_DESC_SCORE_COMPARATOR.thenComparing(entry -> entry.getKey().toString());
 
   private final DatasetDefinition<MetadataDataset, DatasetAdmin> metaDatasetDefinition;
   private final Map<String, DatasetSpecification> datasetSpecs;
@@ -261,35 +266,48 @@ public class SearchHelper {
   }
 
   private MetadataSearchResponse search(Set<MetadataScope> scopes, SearchRequest request) {
-    List<MetadataEntry> results = new LinkedList<>();
-    List<String> cursors = new LinkedList<>();
-    for (MetadataScope scope : scopes) {
-      SearchResults searchResults = execute(context -> context.getDataset(scope).search(request));
-      results.addAll(searchResults.getResults());
-      cursors.addAll(searchResults.getCursors());
-    }
-
     int offset = request.getOffset();
     int limit = request.getLimit();
     SortInfo sortInfo = request.getSortInfo();
-    // sort if required
-    Set<MetadataEntity> sortedEntities = getSortedEntities(results, sortInfo);
-    int total = sortedEntities.size();
-
-    // pagination is not performed at the dataset level, because:
-    // 1. scoring is needed for DEFAULT sort info. So perform it here for now.
-    // 2. Even when using custom sorting, we need to remove elements from the beginning to the offset and the cursors
-    //    at the end
-    // TODO: Figure out how all of this can be done server (HBase) side
-    int startIndex = Math.min(request.getOffset(), sortedEntities.size());
-    // Account for overflow
-    int endIndex = (int) Math.min(Integer.MAX_VALUE, (long) offset + limit);
-    endIndex = Math.min(endIndex, sortedEntities.size());
+    List<String> cursors = new LinkedList<>();
+    int total;
+    Set<MetadataEntity> subSortedEntities;
+
+    if (SortInfo.DEFAULT.equals(sortInfo)) {
+      // Score the entities while scanning the indexes, and only keep the highest scored entities up to the page end
+      Map<MetadataEntity, Integer> scores = new HashMap<>();
+      for (MetadataScope scope : scopes) {
+        Map<MetadataEntity, Integer> scopeScores =
+          execute(context -> context.getDataset(scope).searchEntityScores(request));
+        scopeScores.forEach((entity, score) -> scores.merge(entity, score, Integer::sum));
+      }
+      total = scores.size();
+      subSortedEntities = getTopEntities(scores, offset, limit);
+    } else {
+      List<MetadataEntry> results = new LinkedList<>();
+      for (MetadataScope scope : scopes) {
+        SearchResults searchResults = execute(context -> context.getDataset(scope).search(request));
+        results.addAll(searchResults.getResults());
+        cursors.addAll(searchResults.getCursors());
+      }
 
-    // add 1 to maxIndex because end index is exclusive
-    Set<MetadataEntity> subSortedEntities = new LinkedHashSet<>(
-      ImmutableList.copyOf(sortedEntities).subList(startIndex, endIndex)
-    );
+      // sort if required
+      Set<MetadataEntity> sortedEntities = getSortedEntities(results, sortInfo);
+      total = sortedEntities.size();
+
+      // pagination is not performed at the dataset level, because even when using custom sorting, we need to remove
+      // elements from the beginning to the offset and the cursors at the end
+      // TODO: Figure out how all of this can be done server (HBase) side
+      int startIndex = Math.min(request.getOffset(), sortedEntities.size());
+      // Account for overflow
+      int endIndex = (int) Math.min(Integer.MAX_VALUE, (long) offset + limit);
+      endIndex = Math.min(endIndex, sortedEntities.size());
+
+      // add 1 to maxIndex because end index is exclusive
+      subSortedEntities = new LinkedHashSet<>(
+        ImmutableList.copyOf(sortedEntities).subList(startIndex, endIndex)
+      );
+    }
 
     // Fetch metadata for entities in the result list
     // Note: since the fetch is happening in a different transaction, the metadata for entities may have been
@@ -304,6 +322,41 @@ public class SearchHelper {
       finalResults, cursors, request.shouldShowHidden(), request.getEntityScopes());
   }
 
+  /**
+   * Returns the entities of the page starting at the given offset, in descending order of the scores. Only the
+   * highest scored entities up to the end of the page are kept in a bounded heap, instead of sorting all the entities.
+   * Entities with the same score are ordered by the entity, such that consecutive pages neither overlap nor skip
+   * any entity.
+   */
+  @VisibleForTesting
+  static Set<MetadataEntity> getTopEntities(Map<MetadataEntity, Integer> scores, int offset, int limit) {
+    // Account for overflow
+    int size = (int) Math.min(scores.size(), Math.min(Integer.MAX_VALUE, (long) offset + limit));
+    if (size <= offset) {
+      return Collections.emptySet();
+    }
+
+    // min heap on the score, the lowest ranked entity is evicted when a higher ranked entity is found
+    PriorityQueue<Map.Entry<MetadataEntity, Integer>> heap =
+      new PriorityQueue<>(size, SEARCH_RESULT_DESC_SCORE_ENTITY_COMPARATOR.reversed());
+    for (Map.Entry<MetadataEntity, Integer> entry : scores.entrySet()) {
+      if (heap.size() < size) {
+        heap.add(entry);
+      } else if (SEARCH_RESULT_DESC_SCORE_ENTITY_COMPARATOR.compare(entry, heap.peek()) < 0) {
+        heap.poll();
+        heap.add(entry);
+      }
+    }
+
+    List<Map.Entry<MetadataEntity, Integer>> resultList = new ArrayList<>(heap);
+    resultList.sort(SEARCH_RESULT_DESC_SCORE_ENTITY_COMPARATOR);
+    Set<MetadataEntity> result = new LinkedHashSet<>(size - offset);
+    for (Map.Entry<MetadataEntity, Integer> entry : resultList.subList(offset, size)) {
+      result.add(entry.getKey());
+    }
+    return result;
+  }
+
   private Set<MetadataEntity> getSortedEntities(List<MetadataEntry> results, SortInfo sortInfo) {
     // if sort order is not weighted, return entities in the order received.
     // in this case, the backing storage is expected to return results in the expected order.
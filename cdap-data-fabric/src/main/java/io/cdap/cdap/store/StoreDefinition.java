@@ -168,6 +168,8 @@ public final class StoreDefinition {
    */
   public static final class WorkflowStore {
     public static final StructuredTableId WORKFLOW_STATISTICS = new StructuredTableId("workflow_statistics");
+    public static final StructuredTableId WORKFLOW_STATISTICS_BUCKETS =
+      new StructuredTableId("workflow_statistics_buckets");
 
     public static final String NAMESPACE_FIELD = "namespace";
     public static final String APPLICATION_FIELD = "application";
@@ -177,6 +179,9 @@ public final class StoreDefinition {
     public static final String RUN_ID_FIELD = "run_id";
     public static final String TIME_TAKEN_FIELD = "time_taken";
     public static final String PROGRAM_RUN_DATA = "program_run_data";
+    public static final String BUCKET_TIME_FIELD = "bucket_time";
+    public static final String RUN_COUNT_FIELD = "run_count";
+    public static final String NODE_STATISTICS_FIELD = "node_statistics";
 
     public static final StructuredTableSpecification WORKFLOW_TABLE_SPEC = new StructuredTableSpecification.Builder()
       .withId(WORKFLOW_STATISTICS)
@@ -191,8 +196,22 @@ public final class StoreDefinition {
       .withPrimaryKeys(NAMESPACE_FIELD, APPLICATION_FIELD, VERSION_FIELD, PROGRAM_FIELD, START_TIME_FIELD)
       .build();
 
+    public static final StructuredTableSpecification WORKFLOW_BUCKETS_TABLE_SPEC =
+      new StructuredTableSpecification.Builder()
+        .withId(WORKFLOW_STATISTICS_BUCKETS)
+        .withFields(Fields.stringType(NAMESPACE_FIELD),
+                    Fields.stringType(APPLICATION_FIELD),
+                    Fields.stringType(VERSION_FIELD),
+                    Fields.stringType(PROGRAM_FIELD),
+                    Fields.longType(BUCKET_TIME_FIELD),
+                    Fields.longType(RUN_COUNT_FIELD),
+                    Fields.stringType(NODE_STATISTICS_FIELD))
+        .withPrimaryKeys(NAMESPACE_FIELD, APPLICATION_FIELD, VERSION_FIELD, PROGRAM_FIELD, BUCKET_TIME_FIELD)
+        .build();
+
     public static void create(StructuredTableAdmin tableAdmin) throws IOException {
       createIfNotExists(tableAdmin, WORKFLOW_TABLE_SPEC);
+      createIfNotExists(tableAdmin, WORKFLOW_BUCKETS_TABLE_SPEC);
     }
   }
 
@@ -25,6 +25,7 @@ import com.google.common.collect.Sets;
 import io.cdap.cdap.api.Predicate;
 import io.cdap.cdap.api.dataset.DataSetException;
 import io.cdap.cdap.api.dataset.PartitionNotFoundException;
+import io.cdap.cdap.api.dataset.lib.CloseableIterator;
 import io.cdap.cdap.api.dataset.lib.FileSet;
 import io.cdap.cdap.api.dataset.lib.FileSetArguments;
 import io.cdap.cdap.api.dataset.lib.FileSetProperties;
@@ -65,6 +66,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -945,9 +947,26 @@ public class PartitionedFileSetTest {
   @Test
   @Category(SlowTests.class)
   public void testAddRemoveGetPartitions() throws Exception {
+    testAddRemoveGetPartitions(dsFrameworkUtil.getInstance(pfsInstance));
+  }
 
-    final PartitionedFileSet dataset = dsFrameworkUtil.getInstance(pfsInstance);
+  @Test
+  @Category(SlowTests.class)
+  public void testAddRemoveGetPartitionsWithIndexedFields() throws Exception {
+    // the leading field is numeric, so that filters on the other fields use the indexes or the fuzzy row filter
+    DatasetId instance = DatasetFrameworkTestUtil.NAMESPACE_ID.dataset("indexed");
+    dsFrameworkUtil.createInstance("partitionedFileSet", instance, PartitionedFileSetProperties.builder()
+      .setPartitioning(Partitioning.builder().addIntField("i").addLongField("l").addStringField("s").build())
+      .setIndexedFields("s", "l")
+      .build());
+    try {
+      testAddRemoveGetPartitions(dsFrameworkUtil.getInstance(instance));
+    } finally {
+      dsFrameworkUtil.deleteInstance(instance);
+    }
+  }
 
+  private void testAddRemoveGetPartitions(final PartitionedFileSet dataset) throws Exception {
     final PartitionKey[][][] keys = new PartitionKey[4][4][4];
     final String[][][] paths = new String[4][4][4];
     final Set<BasicPartition> allPartitionDetails = Sets.newHashSet();
@@ -1077,6 +1096,18 @@ public class PartitionedFileSetTest {
                                                           retrievedPartition.getPartitionKey()));
         }
         Assert.assertEquals(matching, retrievedBasicPartitions);
+
+        // the iterator returns the same partitions, each of them once
+        List<BasicPartition> iteratedPartitions = new ArrayList<>();
+        try (CloseableIterator<PartitionDetail> iterator = dataset.getPartitionIterator(filter)) {
+          while (iterator.hasNext()) {
+            PartitionDetail partition = iterator.next();
+            iteratedPartitions.add(new BasicPartition((PartitionedFileSetDataset) dataset,
+                                                      partition.getRelativePath(), partition.getPartitionKey()));
+          }
+        }
+        Assert.assertEquals(matching.size(), iteratedPartitions.size());
+        Assert.assertEquals(matching, new HashSet<>(iteratedPartitions));
       }
     });
 
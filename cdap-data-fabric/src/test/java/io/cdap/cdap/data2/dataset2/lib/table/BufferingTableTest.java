@@ -27,6 +27,7 @@ import io.cdap.cdap.api.dataset.table.Scan;
 import io.cdap.cdap.api.dataset.table.Scanner;
 import io.cdap.cdap.api.dataset.table.Table;
 import io.cdap.cdap.api.dataset.table.TableProperties;
+import io.cdap.cdap.common.conf.Constants;
 import io.cdap.cdap.data2.dataset2.TableAssert;
 import org.apache.tephra.Transaction;
 import org.apache.tephra.TransactionAware;
@@ -497,6 +498,59 @@ public abstract class BufferingTableTest<T extends BufferingTable> extends Table
     }
   }
 
+  @Test
+  public void testBufferPersistedBeforeCommit() throws Exception {
+    // with a tiny buffer limit, every write except readless increments is persisted before commit
+    DatasetProperties props = TableProperties.builder()
+      .setReadlessIncrementSupport(isReadlessIncrementSupported())
+      .add(Constants.Dataset.TABLE_BUFFER_MAX_BYTES, "1")
+      .build();
+    DatasetAdmin admin = getTableAdmin(CONTEXT1, MY_TABLE, props);
+    admin.create();
+    try (BufferingTable table = getTable(CONTEXT1, MY_TABLE, props)) {
+      Transaction tx1 = txClient.startShort();
+      table.startTx(tx1);
+      table.put(R1, a(C1, C2), a(V1, V2));
+      table.put(R2, C1, L1);
+      table.increment(R2, a(C1), new long[] {2L});
+      table.increment(R3, a(C1), new long[] {1L});
+      table.increment(R3, a(C1), new long[] {1L});
+      table.delete(R1, a(C2));
+
+      // changes must be visible within the tx, and included in the tx changes
+      TableAssert.assertRow(a(C1, V1), table.get(R1));
+      Assert.assertEquals(3L, Bytes.toLong(table.get(R2, C1)));
+      Assert.assertEquals(2L, Bytes.toLong(table.get(R3, C1)));
+      Assert.assertEquals(3, table.getTxChanges().size());
+
+      // rolling back must undo the persisted changes
+      Assert.assertTrue(table.rollbackTx());
+      txClient.abort(tx1);
+
+      Transaction tx2 = txClient.startShort();
+      table.startTx(tx2);
+      Assert.assertTrue(table.get(R1).isEmpty());
+      Assert.assertTrue(table.get(R2).isEmpty());
+      Assert.assertTrue(table.get(R3).isEmpty());
+      table.put(R1, a(C1, C2), a(V1, V2));
+      table.increment(R1, a(C3), new long[] {1L});
+      Collection<byte[]> txChanges = table.getTxChanges();
+      txClient.canCommitOrThrow(tx2, txChanges);
+      Assert.assertTrue(table.commitTx());
+      txClient.commitOrThrow(tx2);
+      table.postTxCommit();
+
+      Transaction tx3 = txClient.startShort();
+      table.startTx(tx3);
+      TableAssert.assertRow(a(C1, V1), table.get(R1, a(C1)));
+      TableAssert.assertRow(a(C2, V2), table.get(R1, a(C2)));
+      Assert.assertEquals(1L, Bytes.toLong(table.get(R1, C3)));
+      txClient.commitOrThrow(tx3);
+    } finally {
+      admin.drop();
+    }
+  }
+
   private void verify123(BufferingTable table) throws Exception {
     byte[] row = new byte[] {1};
     byte[] col = new byte[] {2};
@@ -41,8 +41,13 @@ import org.junit.rules.TemporaryFolder;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 
 
@@ -276,6 +281,49 @@ public class LevelDBTableCoreTest {
     }
   }
 
+  @Test
+  public void testConcurrentIncrement() throws Exception {
+    String tableName = "testConcurrentIncrementTable";
+    service.ensureTableExists(tableName);
+
+    int numThreads = 8;
+    int numIncrements = 100;
+    byte[] row = Bytes.toBytes("row");
+    byte[] col = Bytes.toBytes("col");
+
+    // Each thread uses its own table instance, incrementing the same row concurrently
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < numThreads; i++) {
+        LevelDBTableCore table = new LevelDBTableCore(tableName, service);
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < numIncrements; j++) {
+            table.increment(row, Collections.singletonMap(col, 1L));
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    LevelDBTableCore table = new LevelDBTableCore(tableName, service);
+    Assert.assertEquals(numThreads * numIncrements, Bytes.toLong(table.getDefaultVersion(row, col)));
+
+    // All writes should have gone through group commit, since fsync is enabled by default
+    long[] batchSizes = service.getGroupCommitStats().drainBatchSizeHistogram();
+    long numBatches = 0;
+    for (int i = 0; i < batchSizes.length; i++) {
+      numBatches += batchSizes[i];
+    }
+    Assert.assertTrue(numBatches > 0);
+    service.dropTable(tableName);
+  }
+
   /**
    * Write the given value as the latest at the target row and col.
    */
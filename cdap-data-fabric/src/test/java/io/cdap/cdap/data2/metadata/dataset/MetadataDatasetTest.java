@@ -452,6 +452,42 @@ public class MetadataDatasetTest {
     });
   }
 
+  @Test
+  public void testSearchEntityScores() throws Exception {
+    txnl.execute(() -> {
+      dataset.addTags(app1, "tag1", "tag2", "tag3");
+      dataset.addTags(program1, "tag1");
+      dataset.addTags(dataset1, "tag3", "tag2", "tag12-tag33");
+      dataset.addProperty(dataset2, "key1", "tag1 value1");
+      dataset.addProperty(dataset2, "key2", "value2");
+    });
+
+    txnl.execute(() -> {
+      for (String query : ImmutableList.of("*", "tag*", "tags:tag1", "tag3*", "tag1 value*", "tag1 tag3",
+                                           "key1:tag1", "none")) {
+        for (Set<String> types : ImmutableList.of(ALL_TYPES, ImmutableSet.of(MetadataEntity.APPLICATION))) {
+          SearchRequest request = new SearchRequest(new NamespaceId("ns1"), query, types, SortInfo.DEFAULT,
+                                                    0, Integer.MAX_VALUE, 1, null, false,
+                                                    EnumSet.allOf(EntityScope.class));
+          // the score of an entity is the number of its entries in the search results
+          Map<MetadataEntity, Integer> expected = new HashMap<>();
+          for (MetadataEntry entry : dataset.search(request).getResults()) {
+            expected.merge(entry.getMetadataEntity(), 1, Integer::sum);
+          }
+          Assert.assertEquals(query, expected, dataset.searchEntityScores(request));
+        }
+      }
+    });
+
+    // cleanup
+    txnl.execute(() -> {
+      dataset.removeTags(app1);
+      dataset.removeTags(program1);
+      dataset.removeTags(dataset1);
+      dataset.removeProperties(dataset2);
+    });
+  }
+
   @Test
   public void testSearchOnTypes() throws Exception {
     MetadataEntity myField1 =
@@ -17,6 +17,7 @@
 package io.cdap.cdap.data2.metadata.lineage;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.cdap.cdap.common.app.RunIds;
 import io.cdap.cdap.proto.ProgramType;
@@ -31,6 +32,8 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -136,6 +139,64 @@ public abstract class LineageTableTest {
     });
   }
 
+  @Test
+  public void testBatchRelations() {
+    final RunId runId1 = RunIds.generate(10000);
+    final RunId runId2 = RunIds.generate(20000);
+    final RunId runId3 = RunIds.generate(30000);
+
+    final DatasetId datasetInstance1 = NamespaceId.DEFAULT.dataset("dataset1");
+    final DatasetId datasetInstance2 = NamespaceId.DEFAULT.dataset("dataset2");
+    final DatasetId datasetInstance3 = NamespaceId.DEFAULT.dataset("dataset3");
+
+    final ProgramId program1 = NamespaceId.DEFAULT.app("app1").spark("spark1");
+    final ProgramId program2 = NamespaceId.DEFAULT.app("app2").worker("worker2");
+    final ProgramId program3 = NamespaceId.DEFAULT.app("app3").service("service3");
+
+    TransactionRunners.run(transactionRunner, context -> {
+      LineageTable lineageTable = LineageTable.create(context);
+      lineageTable.addAccess(program1.run(runId1.getId()), datasetInstance1, AccessType.READ, 1L);
+      lineageTable.addAccess(program1.run(runId1.getId()), datasetInstance2, AccessType.WRITE, 2L);
+      lineageTable.addAccess(program2.run(runId2.getId()), datasetInstance2, AccessType.READ, 3L);
+      lineageTable.addAccess(program2.run(runId2.getId()), datasetInstance3, AccessType.WRITE, 4L);
+      lineageTable.addAccess(program3.run(runId3.getId()), datasetInstance3, AccessType.READ, 5L);
+    });
+
+    TransactionRunners.run(transactionRunner, context -> {
+      LineageTable lineageTable = LineageTable.create(context);
+
+      // The batch scans should return the same relations as the scans of individual entities
+      for (long end : new long[] { 100000L, 25000L }) {
+        Map<DatasetId, Set<Relation>> datasetRelations =
+          lineageTable.getDatasetRelations(ImmutableSet.of(datasetInstance1, datasetInstance2, datasetInstance3),
+                                           0, end, x -> true);
+        for (DatasetId datasetInstance : ImmutableSet.of(datasetInstance1, datasetInstance2, datasetInstance3)) {
+          Assert.assertEquals(lineageTable.getRelations(datasetInstance, 0, end, x -> true),
+                              datasetRelations.getOrDefault(datasetInstance, Collections.emptySet()));
+        }
+
+        Map<ProgramId, Set<Relation>> programRelations =
+          lineageTable.getProgramRelations(ImmutableSet.of(program1, program2, program3), 0, end, x -> true);
+        for (ProgramId program : ImmutableSet.of(program1, program2, program3)) {
+          Assert.assertEquals(lineageTable.getRelations(program, 0, end, x -> true),
+                              programRelations.getOrDefault(program, Collections.emptySet()));
+        }
+      }
+
+      // Only the requested entities are returned, with the filter applied
+      Map<DatasetId, Set<Relation>> datasetRelations =
+        lineageTable.getDatasetRelations(ImmutableSet.of(datasetInstance1, datasetInstance3), 0, 100000,
+                                         relation -> !relation.getRun().equals(runId3));
+      Assert.assertEquals(
+        ImmutableMap.of(datasetInstance1,
+                        ImmutableSet.of(new Relation(datasetInstance1, program1, AccessType.READ, runId1)),
+                        datasetInstance3,
+                        ImmutableSet.of(new Relation(datasetInstance3, program2, AccessType.WRITE, runId2))),
+        datasetRelations);
+      Assert.assertTrue(lineageTable.getProgramRelations(Collections.emptySet(), 0, 100000, x -> true).isEmpty());
+    });
+  }
+
   @SafeVarargs
   private static <T> Set<T> toSet(T... elements) {
     return ImmutableSet.copyOf(elements);
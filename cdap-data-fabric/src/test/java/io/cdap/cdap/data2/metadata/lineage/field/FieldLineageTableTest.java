@@ -39,6 +39,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -225,6 +226,53 @@ public abstract class FieldLineageTableTest {
     });
   }
 
+  @Test
+  public void testBulkSummaries() {
+    ProgramId program = new ProgramId("default", "app1", ProgramType.WORKFLOW, "workflow1");
+    final ProgramRunId programRun1 = program.run(RunIds.generate(10000).getId());
+    // the second run has the same operations as the first run, hence shares the same checksum
+    final ProgramRunId programRun2 = program.run(RunIds.generate(10500).getId());
+    final ProgramRunId programRun3 = program.run(RunIds.generate(11000).getId());
+
+    final FieldLineageInfo info1 = new FieldLineageInfo(generateOperations(false));
+    final FieldLineageInfo info2 = new FieldLineageInfo(generateOperations(true));
+    TransactionRunners.run(transactionRunner, context -> {
+      FieldLineageTable fieldLineageTable = FieldLineageTable.create(context);
+      fieldLineageTable.addFieldLineageInfo(programRun1, info1);
+      fieldLineageTable.addFieldLineageInfo(programRun2, info1);
+      fieldLineageTable.addFieldLineageInfo(programRun3, info2);
+    });
+
+    TransactionRunners.run(transactionRunner, context -> {
+      FieldLineageTable fieldLineageTable = FieldLineageTable.create(context);
+      EndPoint source = EndPoint.of("ns1", "endpoint1");
+      EndPoint destination = EndPoint.of("myns", "another_file");
+
+      // The bulk summaries should be the same as the summaries of individual fields
+      for (long end : new long[] { 10001, 11001 }) {
+        for (EndPoint endPoint : Arrays.asList(source, destination)) {
+          Map<String, Set<EndPointField>> incomingSummaries =
+            fieldLineageTable.getIncomingSummaries(endPoint, 0, end);
+          Map<String, Set<EndPointField>> outgoingSummaries =
+            fieldLineageTable.getOutgoingSummaries(endPoint, 0, end);
+          for (String field : fieldLineageTable.getFields(endPoint, 0, end)) {
+            EndPointField endPointField = new EndPointField(endPoint, field);
+            Assert.assertEquals(fieldLineageTable.getIncomingSummary(endPointField, 0, end),
+                                incomingSummaries.getOrDefault(field, Collections.emptySet()));
+            Assert.assertEquals(fieldLineageTable.getOutgoingSummary(endPointField, 0, end),
+                                outgoingSummaries.getOrDefault(field, Collections.emptySet()));
+          }
+        }
+      }
+
+      Set<EndPointField> expected = new HashSet<>();
+      expected.add(new EndPointField(destination, "file_name"));
+      Assert.assertEquals(expected, fieldLineageTable.getOutgoingSummaries(source, 0, 11001).get("file_name"));
+      Assert.assertFalse(fieldLineageTable.getOutgoingSummaries(source, 0, 10001).containsKey("file_name"));
+      Assert.assertTrue(fieldLineageTable.getIncomingSummaries(source, 0, 11001).isEmpty());
+    });
+  }
+
   private List<Operation> generateOperations(boolean addAditionalField) {
     // read: file -> (offset, body)
     // parse: (body) -> (first_name, last_name)
@@ -21,25 +21,56 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Scopes;
+import io.cdap.cdap.api.dataset.lib.CloseableIterator;
 import io.cdap.cdap.api.metrics.MetricsCollectionService;
 import io.cdap.cdap.common.conf.CConfiguration;
 import io.cdap.cdap.common.guice.ConfigModule;
 import io.cdap.cdap.common.metrics.NoOpMetricsCollectionService;
 import io.cdap.cdap.data.runtime.StorageModule;
+import io.cdap.cdap.spi.data.StructuredRow;
+import io.cdap.cdap.spi.data.StructuredTable;
 import io.cdap.cdap.spi.data.StructuredTableAdmin;
 import io.cdap.cdap.spi.data.StructuredTableTest;
+import io.cdap.cdap.spi.data.common.MultiRowWriter;
+import io.cdap.cdap.spi.data.table.StructuredTableId;
+import io.cdap.cdap.spi.data.table.StructuredTableSpecification;
+import io.cdap.cdap.spi.data.table.field.Field;
+import io.cdap.cdap.spi.data.table.field.FieldType;
+import io.cdap.cdap.spi.data.table.field.Fields;
+import io.cdap.cdap.spi.data.table.field.Range;
 import io.cdap.cdap.spi.data.transaction.TransactionRunner;
+import io.cdap.cdap.spi.data.transaction.TransactionRunners;
 import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
+import org.junit.Ignore;
+import org.junit.Test;
 
 import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Test for SQL structured table.
  */
 public class SqlStructuredTableTest extends StructuredTableTest {
+  private static final FieldType MULTI_KEY_FIELD = Fields.intType("key");
+  private static final FieldType MULTI_VALUE_FIELD = Fields.stringType("value");
+  private static final StructuredTableId MULTI_ROW_TABLE = new StructuredTableId("multi_row_table");
+  private static final StructuredTableSpecification MULTI_ROW_SPEC = new StructuredTableSpecification.Builder()
+    .withId(MULTI_ROW_TABLE)
+    .withFields(MULTI_KEY_FIELD, MULTI_VALUE_FIELD)
+    .withPrimaryKeys(MULTI_KEY_FIELD.getName())
+    .build();
+
   private static EmbeddedPostgres pg;
   private static StructuredTableAdmin tableAdmin;
   private static TransactionRunner transactionRunner;
@@ -83,4 +114,132 @@ public class SqlStructuredTableTest extends StructuredTableTest {
   protected TransactionRunner getTransactionRunner() {
     return transactionRunner;
   }
+
+  @Test
+  public void testMultiUpsertDelete() throws Exception {
+    tableAdmin.create(MULTI_ROW_SPEC);
+    try {
+      List<Collection<Field<?>>> rows = new ArrayList<>();
+      Map<Integer, String> expected = new HashMap<>();
+      for (int i = 0; i < 100; i++) {
+        // Mix rows with different set of fields, which require different statements
+        if (i % 10 == 0) {
+          rows.add(Arrays.asList(Fields.intField(MULTI_KEY_FIELD.getName(), i)));
+          expected.put(i, null);
+        } else {
+          rows.add(createRow(i, "v" + i));
+          expected.put(i, "v" + i);
+        }
+      }
+      // Later rows with the same key should override earlier ones
+      rows.add(createRow(1, "first"));
+      rows.add(createRow(1, "second"));
+      expected.put(1, "second");
+
+      TransactionRunners.run(transactionRunner, context -> {
+        StructuredTable table = context.getTable(MULTI_ROW_TABLE);
+        Assert.assertTrue(table instanceof MultiRowWriter);
+        MultiRowWriter.upsert(table, rows);
+      });
+      Assert.assertEquals(expected, readAll());
+
+      // Delete all the even rows
+      List<Collection<Field<?>>> keys = new ArrayList<>();
+      for (int i = 0; i < 100; i += 2) {
+        keys.add(Arrays.asList(Fields.intField(MULTI_KEY_FIELD.getName(), i)));
+        expected.remove(i);
+      }
+      TransactionRunners.run(transactionRunner, context -> {
+        MultiRowWriter.delete(context.getTable(MULTI_ROW_TABLE), keys);
+      });
+      Assert.assertEquals(expected, readAll());
+    } finally {
+      tableAdmin.drop(MULTI_ROW_TABLE);
+    }
+  }
+
+  @Test
+  public void testStatementCache() throws Exception {
+    try (Connection connection = pg.getPostgresDatabase().getConnection()) {
+      StatementCache cache = new StatementCache(connection, 2);
+      PreparedStatement statement;
+      try (StatementCache.CachedStatement cachedStatement = cache.prepare("SELECT 1")) {
+        statement = cachedStatement.getStatement();
+      }
+      // Released statement should be reused
+      try (StatementCache.CachedStatement cachedStatement = cache.prepare("SELECT 1")) {
+        Assert.assertSame(statement, cachedStatement.getStatement());
+
+        // Statement that is in use shouldn't be shared
+        try (StatementCache.CachedStatement other = cache.prepare("SELECT 1")) {
+          Assert.assertNotSame(statement, other.getStatement());
+        }
+      }
+      Assert.assertEquals(1L, cache.getHits());
+      Assert.assertEquals(2L, cache.getMisses());
+      // Only one idle statement is kept for the same query
+      Assert.assertTrue(statement.isClosed());
+
+      // The least recently used statement should be closed when the cache is full
+      try (StatementCache.CachedStatement cachedStatement = cache.prepare("SELECT 1")) {
+        statement = cachedStatement.getStatement();
+      }
+      Assert.assertFalse(statement.isClosed());
+      cache.prepare("SELECT 2").close();
+      cache.prepare("SELECT 3").close();
+      Assert.assertTrue(statement.isClosed());
+
+      try (StatementCache.CachedStatement cachedStatement = cache.prepare("SELECT 3")) {
+        statement = cachedStatement.getStatement();
+        cache.close();
+        Assert.assertFalse(statement.isClosed());
+      }
+      // Statement released after the cache is closed should be closed
+      Assert.assertTrue(statement.isClosed());
+      Assert.assertEquals(3L, cache.getHits());
+    }
+  }
+
+  @Ignore
+  @Test
+  public void testMultiUpsertSpeed() throws Exception {
+    int numRows = 10000;
+    tableAdmin.create(MULTI_ROW_SPEC);
+    try {
+      for (int batchSize : new int[] { 1, 10, 100, 1000 }) {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < numRows; i += batchSize) {
+          List<Collection<Field<?>>> rows = new ArrayList<>();
+          for (int j = i; j < i + batchSize; j++) {
+            rows.add(createRow(j, "value" + j));
+          }
+          TransactionRunners.run(transactionRunner, context -> {
+            MultiRowWriter.upsert(context.getTable(MULTI_ROW_TABLE), rows);
+          });
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        System.out.println("Batch size " + batchSize + ": " + (numRows * 1000L / Math.max(1L, millis))
+                             + " rows/sec");
+      }
+    } finally {
+      tableAdmin.drop(MULTI_ROW_TABLE);
+    }
+  }
+
+  private static List<Field<?>> createRow(int key, String value) {
+    return Arrays.asList(Fields.intField(MULTI_KEY_FIELD.getName(), key),
+                         Fields.stringField(MULTI_VALUE_FIELD.getName(), value));
+  }
+
+  private static Map<Integer, String> readAll() {
+    return TransactionRunners.run(transactionRunner, context -> {
+      Map<Integer, String> result = new HashMap<>();
+      try (CloseableIterator<StructuredRow> iterator = context.getTable(MULTI_ROW_TABLE)
+        .scan(Range.all(), Integer.MAX_VALUE)) {
+        iterator.forEachRemaining(row -> result.put(row.getInteger(MULTI_KEY_FIELD.getName()),
+                                                    row.getString(MULTI_VALUE_FIELD.getName())));
+      }
+      return result;
+    });
+  }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.cdap.spi.metadata.dataset;
+
+import com.google.common.collect.ImmutableMap;
+import io.cdap.cdap.api.metadata.MetadataEntity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit tests for the pagination of the default sort in {@link SearchHelper}.
+ */
+public class SearchHelperTest {
+
+  @Test
+  public void testTiedScores() {
+    MetadataEntity a = MetadataEntity.ofDataset("default", "a");
+    MetadataEntity b = MetadataEntity.ofDataset("default", "b");
+    MetadataEntity c = MetadataEntity.ofDataset("default", "c");
+    MetadataEntity d = MetadataEntity.ofDataset("default", "d");
+    Map<MetadataEntity, Integer> scores = ImmutableMap.of(a, 1, b, 1, c, 1, d, 2);
+
+    Assert.assertEquals(Arrays.asList(d, a), new ArrayList<>(SearchHelper.getTopEntities(scores, 0, 2)));
+    Assert.assertEquals(Arrays.asList(b, c), new ArrayList<>(SearchHelper.getTopEntities(scores, 2, 2)));
+    Assert.assertTrue(SearchHelper.getTopEntities(scores, 4, 2).isEmpty());
+  }
+
+  @Test
+  public void testPagination() {
+    Random random = new Random(0);
+    Map<MetadataEntity, Integer> scores = new HashMap<>();
+    for (int i = 0; i < 200; i++) {
+      scores.put(MetadataEntity.ofDataset("default", "ds" + i), random.nextInt(5));
+    }
+
+    for (int limit = 1; limit <= 16; limit++) {
+      List<MetadataEntity> entities = new ArrayList<>();
+      for (int offset = 0; offset < scores.size(); offset += limit) {
+        Set<MetadataEntity> page = SearchHelper.getTopEntities(scores, offset, limit);
+        Assert.assertEquals(Math.min(limit, scores.size() - offset), page.size());
+        entities.addAll(page);
+      }
+
+      // every entity appears exactly once over all the pages, in descending order of the scores
+      Assert.assertEquals(scores.size(), entities.size());
+      Assert.assertEquals(scores.keySet(), new HashSet<>(entities));
+      for (int i = 1; i < entities.size(); i++) {
+        Assert.assertTrue(scores.get(entities.get(i - 1)) >= scores.get(entities.get(i)));
+      }
+      Assert.assertEquals(entities, new ArrayList<>(SearchHelper.getTopEntities(scores, 0, scores.size())));
+    }
+  }
+}